@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.io.File;
+import java.sql.SQLException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import databasePart1.DatabaseHelper;
+import logic.SearchIndex;
+import logic.StatusData;
+
+/**
+ * Synthetic H2 database shared by the benchmarks, one file per scale.
+ *
+ * <p>{@link #rows} is the number of questions; the other tables are sized from it by
+ * {@link WorkloadGenerator.Volumes#forQuestions(int)}. A database
+ * file is filled once and reused by later runs at the same scale, so only the first run pays
+ * for the inserts. Files live under {@code ~/cse360-bench} unless {@code -Dcse360.bench.dir}
+ * says otherwise. The data is generated from a fixed seed, so every run sees the same rows.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    /** Number of questions in the database. */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    static final long SEED = 360L;
+
+    DatabaseHelper db;
+
+    /** The most active generated user, so it has received messages. */
+    int userId = 1;
+
+    @Setup(Level.Trial)
+    public void open() throws SQLException {
+        String dir = System.getProperty("cse360.bench.dir",
+                System.getProperty("user.home") + File.separator + "cse360-bench");
+        db = new DatabaseHelper("jdbc:h2:" + dir + File.separator + "bench-" + rows);
+        db.connectToDatabase();
+        StatusData.databaseHelper = db;
+
+        if (db.countQuestions() < rows) {
+            System.out.println("Filling benchmark database with " + rows + " questions...");
+            fill();
+        }
+        SearchIndex.getInstance().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        SearchIndex.getInstance().clear();
+        db.closeConnection();
+    }
+
+    private void fill() throws SQLException {
+        // user 1 is staff and the most active user, so the per-user benchmarks have data
+        WorkloadGenerator.Volumes volumes = WorkloadGenerator.Volumes.forQuestions(rows);
+        new WorkloadGenerator(db, SEED, volumes).generate();
+    }
+}
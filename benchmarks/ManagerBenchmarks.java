@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.SearchFunction;
+import logic.StatusData;
+import model.Answers;
+import model.Question;
+import model.Questions;
+
+/**
+ * Cost of the model managers the pages go through: building the shared {@link Questions}
+ * cache at startup and the search page's {@link SearchFunction#searchQuestions}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManagerBenchmarks {
+
+    /**
+     * Managers built once per trial, as the application does at startup.
+     */
+    @State(Scope.Benchmark)
+    public static class Managers {
+        SearchFunction search;
+
+        @Setup(Level.Trial)
+        public void build(BenchmarkDatabase data) {
+            StatusData.questions = new Questions(data.db);
+            StatusData.answers = new Answers(data.db);
+            search = new SearchFunction(StatusData.questions, StatusData.answers);
+        }
+    }
+
+    /** Startup: load every question into the shared cache. */
+    @Benchmark
+    public Questions questionsConstruction(BenchmarkDatabase data) {
+        return new Questions(data.db);
+    }
+
+    /** Keyword plus "Resolved" filter, as typed into the search page (the index is built during warmup). */
+    @Benchmark
+    public List<Question> searchFunctionKeyword(Managers managers) {
+        return managers.search.searchQuestions("eclipse merge", "Resolved", null);
+    }
+
+    /** "Recent" filter without a keyword. */
+    @Benchmark
+    public List<Question> searchFunctionRecent(Managers managers) {
+        return managers.search.searchQuestions(null, "Recent", null);
+    }
+}
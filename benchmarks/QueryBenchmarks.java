@@ -0,0 +1,57 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Announcement;
+import model.Answer;
+import model.Messages;
+import model.Question;
+
+/**
+ * Latency of the {@link databasePart1.DatabaseHelper} queries behind the main pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmarks {
+
+    /** Home page question table (unpaged). */
+    @Benchmark
+    public List<Question> loadAllQs(BenchmarkDatabase data) {
+        return data.db.loadAllQs();
+    }
+
+    /** Question search with a keyword that is in about a quarter of the titles. */
+    @Benchmark
+    public List<Question> searchQuestions(BenchmarkDatabase data) {
+        return data.db.searchQuestions("eclipse", null, null);
+    }
+
+    @Benchmark
+    public List<Answer> searchAnswers(BenchmarkDatabase data) {
+        return data.db.searchAnswers("junit", null, null);
+    }
+
+    /** Announcement popup shown after login (cached active set plus the user's read marks). */
+    @Benchmark
+    public List<Announcement> getActiveAnnouncementsForUser(BenchmarkDatabase data) {
+        return data.db.getActiveAnnouncementsForUser(data.userId);
+    }
+
+    /** Messaging page inbox (unpaged). */
+    @Benchmark
+    public List<Messages> getMessagesForUser(BenchmarkDatabase data) {
+        return data.db.getMessagesForUser(data.userId);
+    }
+}
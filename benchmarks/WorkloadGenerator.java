@@ -0,0 +1,660 @@
+package benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import databasePart1.DatabaseHelper;
+import model.Answer;
+import model.Question;
+import model.Review;
+import model.User;
+
+/**
+ * Fills the schema created by {@link DatabaseHelper} with a synthetic course: users and their
+ * roles, questions (some of them follow-ups), answers and accepted solutions, clarifications,
+ * private messages, reviews, trusted-reviewer ratings, FAQs and announcements.
+ *
+ * <p>The data is skewed like a real class. Who posts, answers, messages and reviews follows a
+ * Zipf distribution (a handful of users write most of the content), and timestamps come in
+ * bursts: activity picks up in the two days before the weekly Friday deadline and drops at
+ * night. The same seed and {@link Volumes} always give the same rows when the target database
+ * starts empty, so benchmarks and load tests can be repeated.
+ *
+ * <p>Run it on its own with
+ * <pre>
+ *   java benchmarks.WorkloadGenerator --url jdbc:h2:~/cse360-load --questions 100000 --seed 42
+ * </pre>
+ * Every {@link Volumes} field can be given as {@code --name value}.
+ */
+public class WorkloadGenerator {
+
+    /**
+     * How much of everything to generate. Rates are per question, per answer or per user as
+     * noted; {@link #forQuestions(int)} gives volumes in the proportions of a typical semester.
+     */
+    public static class Volumes {
+        public int users = 200;
+        public int questions = 1000;
+        /** Share of users with the reviewer role (on top of student). */
+        public double reviewerRate = 0.05;
+        /** Share of users that are staff; the first user is always staff. */
+        public double staffRate = 0.01;
+        public double instructorRate = 0.005;
+        /** Share of questions that follow up on an earlier question. */
+        public double followUpRate = 0.1;
+        /** Mean answers per question. */
+        public double answersPerQuestion = 2.0;
+        /** Share of answered questions with an accepted solution. */
+        public double solutionRate = 0.35;
+        /** Mean clarifications per question. */
+        public double clarificationsPerQuestion = 0.3;
+        /** Mean private messages per user. */
+        public double messagesPerUser = 20;
+        /** Mean reviews per answer. */
+        public double reviewsPerAnswer = 0.2;
+        /** Trusted reviewers rated by each student (capped by the number of reviewers). */
+        public int trustedPerStudent = 3;
+        /** Share of solved questions promoted to the FAQ. */
+        public double faqRate = 0.02;
+        public int announcements = 20;
+        /** Zipf exponent for picking authors; higher is more skewed. */
+        public double zipfExponent = 1.1;
+        /** Day the simulated semester starts. */
+        public LocalDateTime start = LocalDateTime.of(2025, 8, 18, 8, 0);
+
+        /**
+         * @param questions number of questions
+         * @return volumes scaled from the question count (one user per 50 questions, at least 50)
+         */
+        public static Volumes forQuestions(int questions) {
+            Volumes v = new Volumes();
+            v.questions = questions;
+            v.users = Math.max(50, questions / 50);
+            v.announcements = Math.max(20, questions / 1000);
+            return v;
+        }
+    }
+
+    static final String[] WORDS = {
+        "eclipse", "junit", "github", "homework", "exam", "javafx", "database", "h2", "merge",
+        "conflict", "test", "deadline", "extension", "grading", "rubric", "lecture", "module",
+        "canvas", "team", "standup", "sprint", "review", "bug", "compile", "error", "maven",
+        "how", "do", "i", "why", "is", "my", "the", "project", "submit", "quiz", "question"
+    };
+
+    private static final String[] FAQ_CATEGORIES = {"General", "Homework", "Exams", "Tools", "Projects"};
+    private static final DateTimeFormatter TS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CHUNK = 5_000;
+
+    private final DatabaseHelper db;
+    private final Volumes v;
+    private final Random random;
+
+    // Filled by generateUsers()
+    private int[] userIds;
+    private String[] userNames;
+    private int[] reviewerIds;
+    private int[] studentIds;
+    private int[] staffIds;
+    private Zipf userZipf;
+    private Zipf reviewerZipf;
+
+    private final List<Integer> solvedQuestionIds = new ArrayList<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+
+    /**
+     * @param db connected helper for the target database (ideally empty)
+     * @param seed random seed; the same seed and volumes give the same data
+     * @param volumes how much to generate
+     */
+    public WorkloadGenerator(DatabaseHelper db, long seed, Volumes volumes) {
+        this.db = db;
+        this.v = volumes;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generate everything.
+     *
+     * @return rows inserted per table
+     * @throws SQLException if an insert fails
+     */
+    public Map<String, Integer> generate() throws SQLException {
+        long started = System.currentTimeMillis();
+        generateUsers();
+        generateQuestionsAndAnswers();
+        generateMessages();
+        generateTrustedReviewers();
+        generateFaqs();
+        generateAnnouncements();
+        System.out.println("Generated " + counts + " in " + (System.currentTimeMillis() - started) + " ms");
+        return counts;
+    }
+
+    /* -------------------- Users and roles -------------------- */
+
+    private void generateUsers() throws SQLException {
+        int n = Math.max(1, v.users);
+        userIds = new int[n];
+        userNames = new String[n];
+        User.Role[] roles = new User.Role[n];
+        for (int i = 0; i < n; i++) {
+            double r = random.nextDouble();
+            if (i == 0 || r < v.staffRate) {
+                roles[i] = User.Role.STAFF;
+            } else if (r < v.staffRate + v.instructorRate) {
+                roles[i] = User.Role.INSTRUCTOR;
+            } else if (r < v.staffRate + v.instructorRate + v.reviewerRate) {
+                roles[i] = User.Role.REVIEWER;
+            } else {
+                roles[i] = User.Role.STUDENT;
+            }
+            userNames[i] = "user" + (i + 1);
+        }
+
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO cse360users (userName, password, role, name, email, role_mask) VALUES (?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < n; start += CHUNK) {
+                    int end = Math.min(n, start + CHUNK);
+                    for (int i = start; i < end; i++) {
+                        ps.setString(1, userNames[i]);
+                        ps.setString(2, "Password123!");
+                        ps.setString(3, roles[i].name());
+                        ps.setString(4, "Generated User " + (i + 1));
+                        ps.setString(5, userNames[i] + "@example.com");
+                        // Reviewers keep their student role as well
+                        int mask = roles[i].bit();
+                        if (roles[i] == User.Role.REVIEWER) {
+                            mask |= User.Role.STUDENT.bit();
+                        }
+                        ps.setInt(6, mask);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (int i = start; i < end && keys.next(); i++) {
+                            userIds[i] = keys.getInt(1);
+                        }
+                    }
+                }
+            }
+
+            conn.commit();
+            counts.put("users", n);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        reviewerIds = idsWithRole(roles, User.Role.REVIEWER);
+        studentIds = idsWithRole(roles, User.Role.STUDENT, User.Role.REVIEWER);
+        staffIds = idsWithRole(roles, User.Role.STAFF);
+        userZipf = new Zipf(n, v.zipfExponent);
+        reviewerZipf = reviewerIds.length == 0 ? null : new Zipf(reviewerIds.length, v.zipfExponent);
+    }
+
+    private int[] idsWithRole(User.Role[] roles, User.Role... wanted) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < roles.length; i++) {
+            if (Arrays.asList(wanted).contains(roles[i])) {
+                ids.add(userIds[i]);
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /* -------------------- Questions, answers, reviews, clarifications -------------------- */
+
+    private void generateQuestionsAndAnswers() throws SQLException {
+        BurstyClock clock = new BurstyClock(v.start, averageGapSeconds(v.questions));
+        int[] questionIds = new int[v.questions];
+        int[] questionAuthors = new int[v.questions];
+        int followUps = 0, answerCount = 0, solutions = 0, reviewCount = 0, clarifications = 0;
+
+        for (int start = 0; start < v.questions; start += CHUNK) {
+            int end = Math.min(v.questions, start + CHUNK);
+            List<Question> questions = new ArrayList<>(end - start);
+            List<LocalDateTime> times = new ArrayList<>(end - start);
+            boolean[] solved = new boolean[end - start];
+            for (int i = start; i < end; i++) {
+                int author = userZipf.next(random);
+                LocalDateTime ts = clock.next(random);
+                solved[i - start] = random.nextDouble() < v.solutionRate;
+                Question q = new Question(0, userIds[author], userNames[author], sentence(4 + random.nextInt(6)),
+                        sentence(15 + random.nextInt(60)), ts.format(TS), solved[i - start] ? "Resolved" : "open",
+                        new ArrayList<>());
+                questions.add(q);
+                times.add(ts);
+                questionAuthors[i] = author;
+            }
+            db.insertQuestions(questions);
+            for (int i = start; i < end; i++) {
+                questionIds[i] = questions.get(i - start).getQuestionId();
+            }
+
+            // Follow-ups point back at an earlier question, by the same author when possible
+            followUps += linkFollowUps(questionIds, questionAuthors, start, end);
+
+            List<Answer> answers = new ArrayList<>();
+            List<int[]> clarificationRows = new ArrayList<>(); // {questionId, authorIdx, recipientId}
+            List<LocalDateTime> clarificationTimes = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                Question q = questions.get(i - start);
+                int k = poisson(v.answersPerQuestion);
+                if (solved[i - start] && k == 0) {
+                    k = 1; // a resolved question has at least its solution
+                }
+                for (int a = 0; a < k; a++) {
+                    int author = userZipf.next(random);
+                    LocalDateTime ts = times.get(i - start).plusMinutes(1 + (long) exponential(360));
+                    answers.add(new Answer(0, userIds[author], q.getQuestionId(), userNames[author],
+                            sentence(8 + random.nextInt(40)), ts.format(TS), solved[i - start] && a == 0));
+                }
+                if (solved[i - start]) {
+                    solutions++;
+                    solvedQuestionIds.add(q.getQuestionId());
+                }
+                for (int c = poisson(v.clarificationsPerQuestion); c > 0; c--) {
+                    clarificationRows.add(new int[] {q.getQuestionId(), userZipf.next(random), q.getUserId()});
+                    clarificationTimes.add(times.get(i - start).plusMinutes(1 + (long) exponential(120)));
+                }
+            }
+            db.insertAnswers(answers);
+            answerCount += answers.size();
+            clarifications += insertClarifications(clarificationRows, clarificationTimes);
+
+            if (reviewerZipf != null) {
+                List<Review> reviews = new ArrayList<>();
+                for (Answer a : answers) {
+                    for (int r = poisson(v.reviewsPerAnswer); r > 0; r--) {
+                        int reviewer = reviewerIds[reviewerZipf.next(random)];
+                        Review review = new Review(0, reviewer, a.getAnswerId(), nameOf(reviewer), sentence(6 + random.nextInt(20)));
+                        review.setTimestamp(a.getTimestamp());
+                        reviews.add(review);
+                    }
+                }
+                db.insertReviews(reviews);
+                reviewCount += reviews.size();
+            }
+        }
+        counts.put("questions", v.questions);
+        counts.put("followUps", followUps);
+        counts.put("answers", answerCount);
+        counts.put("solutions", solutions);
+        counts.put("reviews", reviewCount);
+        counts.put("clarifications", clarifications);
+    }
+
+    private int linkFollowUps(int[] questionIds, int[] questionAuthors, int start, int end) throws SQLException {
+        Map<Integer, Integer> lastByAuthor = new LinkedHashMap<>();
+        for (int i = Math.max(0, start - CHUNK); i < start; i++) {
+            lastByAuthor.put(questionAuthors[i], questionIds[i]);
+        }
+        int linked = 0;
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE questions SET follow_up = ? WHERE question_id = ?")) {
+            for (int i = start; i < end; i++) {
+                if (i > 0 && random.nextDouble() < v.followUpRate) {
+                    Integer earlier = lastByAuthor.get(questionAuthors[i]);
+                    ps.setInt(1, earlier != null ? earlier : questionIds[random.nextInt(i)]);
+                    ps.setInt(2, questionIds[i]);
+                    ps.addBatch();
+                    linked++;
+                }
+                lastByAuthor.put(questionAuthors[i], questionIds[i]);
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        return linked;
+    }
+
+    private int insertClarifications(List<int[]> rows, List<LocalDateTime> times) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO clarifications (question_id, answer_id, author_id, recipient_id, author, content, timestamp, is_read) "
+                + "VALUES (?, NULL, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows.size(); i++) {
+                int[] row = rows.get(i);
+                ps.setInt(1, row[0]);
+                ps.setInt(2, userIds[row[1]]);
+                ps.setInt(3, row[2]);
+                ps.setString(4, userNames[row[1]]);
+                ps.setString(5, sentence(6 + random.nextInt(25)));
+                ps.setTimestamp(6, Timestamp.valueOf(times.get(i)));
+                ps.setBoolean(7, random.nextBoolean());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        return rows.size();
+    }
+
+    /* -------------------- Messages -------------------- */
+
+    private void generateMessages() throws SQLException {
+        int total = (int) Math.round(v.messagesPerUser * userIds.length);
+        BurstyClock clock = new BurstyClock(v.start, averageGapSeconds(total));
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO privateMessages (sender_id, recipient_id, message, timestamp, is_read) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < total; i++) {
+                int sender = userZipf.next(random);
+                int recipient = userZipf.next(random);
+                if (recipient == sender) {
+                    recipient = (recipient + 1) % userIds.length;
+                }
+                ps.setInt(1, userIds[sender]);
+                ps.setInt(2, userIds[recipient]);
+                ps.setString(3, sentence(5 + random.nextInt(30)));
+                ps.setTimestamp(4, Timestamp.valueOf(clock.next(random)));
+                ps.setBoolean(5, random.nextDouble() < 0.7);
+                ps.addBatch();
+                if ((i + 1) % CHUNK == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        // the rows above bypass sendMessage, so put them into their conversation threads
+        db.rebuildMessageThreads();
+        counts.put("messages", total);
+    }
+
+    /* -------------------- Trusted reviewers -------------------- */
+
+    private void generateTrustedReviewers() throws SQLException {
+        int edges = 0;
+        if (reviewerZipf != null && v.trustedPerStudent > 0) {
+            int perStudent = Math.min(v.trustedPerStudent, reviewerIds.length);
+            Connection conn = db.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO trustedReviewers (student_id, reviewer_id, rating) VALUES (?, ?, ?)")) {
+                for (int s = 0; s < studentIds.length; s++) {
+                    int student = studentIds[s];
+                    // popular reviewers are trusted by more students
+                    int[] chosen = new int[perStudent];
+                    int found = 0;
+                    for (int tries = 0; found < perStudent && tries < perStudent * 20; tries++) {
+                        int reviewer = reviewerIds[reviewerZipf.next(random)];
+                        if (reviewer == student || contains(chosen, found, reviewer)) {
+                            continue;
+                        }
+                        chosen[found++] = reviewer;
+                        ps.setInt(1, student);
+                        ps.setInt(2, reviewer);
+                        ps.setInt(3, 1 + random.nextInt(5));
+                        ps.addBatch();
+                        edges++;
+                    }
+                    if ((s + 1) % CHUNK == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        counts.put("trustedReviewers", edges);
+    }
+
+    private static boolean contains(int[] values, int n, int value) {
+        for (int i = 0; i < n; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    /* -------------------- FAQs and announcements -------------------- */
+
+    private void generateFaqs() throws SQLException {
+        int n = (int) Math.round(solvedQuestionIds.size() * v.faqRate);
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO faqs (question_id, category, display_title, staff_notes, date_marked, marked_by_staff_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            // every k-th solved question, so FAQs spread over the semester
+            int step = n == 0 ? 1 : Math.max(1, solvedQuestionIds.size() / n);
+            for (int i = 0; i < n; i++) {
+                ps.setInt(1, solvedQuestionIds.get(i * step));
+                ps.setString(2, FAQ_CATEGORIES[random.nextInt(FAQ_CATEGORIES.length)]);
+                ps.setString(3, sentence(4 + random.nextInt(6)));
+                ps.setString(4, random.nextInt(3) == 0 ? sentence(10) : null);
+                ps.setTimestamp(5, Timestamp.valueOf(v.start.plusDays(random.nextInt(100))));
+                ps.setInt(6, staffIds[random.nextInt(staffIds.length)]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        counts.put("faqs", n);
+    }
+
+    private void generateAnnouncements() throws SQLException {
+        String[] priorities = {"URGENT", "IMPORTANT", "NORMAL", "NORMAL", "NORMAL"};
+        String[] displayTypes = {"SHOW_ONCE", "SHOW_ALWAYS"};
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO announcements (title, content, priority, start_date, end_date, display_type, "
+                + "created_by_staff_id, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < v.announcements; i++) {
+                LocalDateTime from = v.start.plusHours((long) i * 24 * 100 / Math.max(1, v.announcements));
+                ps.setString(1, sentence(3 + random.nextInt(6)));
+                ps.setString(2, sentence(15 + random.nextInt(40)));
+                ps.setString(3, priorities[random.nextInt(priorities.length)]);
+                ps.setTimestamp(4, Timestamp.valueOf(from));
+                // about a third never expire, so some are always active
+                ps.setTimestamp(5, random.nextInt(3) == 0 ? null : Timestamp.valueOf(from.plusDays(1 + random.nextInt(14))));
+                ps.setString(6, displayTypes[random.nextInt(displayTypes.length)]);
+                ps.setInt(7, staffIds[random.nextInt(staffIds.length)]);
+                ps.setTimestamp(8, Timestamp.valueOf(from));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        counts.put("announcements", v.announcements);
+    }
+
+    /* -------------------- Distributions -------------------- */
+
+    private String nameOf(int userId) {
+        // ids are assigned in insertion order, so search only if the database was not empty
+        int i = userId - userIds[0];
+        if (i >= 0 && i < userIds.length && userIds[i] == userId) {
+            return userNames[i];
+        }
+        for (int j = 0; j < userIds.length; j++) {
+            if (userIds[j] == userId) return userNames[j];
+        }
+        return "unknown";
+    }
+
+    private String sentence(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /** Spread {@code events} over a 15-week semester. */
+    private static double averageGapSeconds(int events) {
+        return 15.0 * 7 * 24 * 3600 / Math.max(1, events);
+    }
+
+    private double exponential(double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private int poisson(double mean) {
+        if (mean <= 0) return 0;
+        double limit = Math.exp(-mean), p = 1;
+        int k = 0;
+        do {
+            k++;
+            p *= random.nextDouble();
+        } while (p > limit);
+        return k - 1;
+    }
+
+    /**
+     * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^s.
+     */
+    static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double s) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / Math.pow(i + 1, s);
+                cdf[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            i = i < 0 ? -i - 1 : i;
+            return Math.min(i, cdf.length - 1);
+        }
+    }
+
+    /**
+     * Increasing timestamps with exponential gaps whose mean shrinks in the two days before the
+     * weekly Friday 23:59 deadline and grows at night, so events cluster like real coursework.
+     */
+    static final class BurstyClock {
+        private LocalDateTime now;
+        private final double averageGap;
+
+        BurstyClock(LocalDateTime start, double averageGapSeconds) {
+            this.now = start;
+            this.averageGap = averageGapSeconds;
+        }
+
+        LocalDateTime next(Random random) {
+            double gap = averageGap;
+            DayOfWeek day = now.getDayOfWeek();
+            if (day == DayOfWeek.THURSDAY || day == DayOfWeek.FRIDAY) {
+                gap /= 4; // deadline rush
+            } else if (day == DayOfWeek.SATURDAY) {
+                gap *= 2;
+            }
+            int hour = now.getHour();
+            if (hour < 8) {
+                gap *= 4; // quiet nights
+            }
+            now = now.plusSeconds(1 + (long) (-gap * Math.log(1 - random.nextDouble())));
+            return now;
+        }
+    }
+
+    /* -------------------- Command line -------------------- */
+
+    /**
+     * {@code --url <jdbc url>} (default {@code jdbc:h2:~/cse360-load}), {@code --seed <n>}
+     * (default 42) and any {@link Volumes} field as {@code --<field> <value>}.
+     */
+    public static void main(String[] args) throws Exception {
+        String url = "jdbc:h2:~/cse360-load";
+        long seed = 42;
+        Volumes volumes = null;
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String key = args[i].replaceFirst("^--", "");
+            String value = args[i + 1];
+            switch (key) {
+                case "url": url = value; break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "questions": volumes = Volumes.forQuestions(Integer.parseInt(value)); break;
+                default: fields.put(key, value);
+            }
+        }
+        if (volumes == null) {
+            volumes = new Volumes();
+        }
+        for (Map.Entry<String, String> e : fields.entrySet()) {
+            java.lang.reflect.Field f = Volumes.class.getField(e.getKey());
+            if (f.getType() == int.class) {
+                f.setInt(volumes, Integer.parseInt(e.getValue()));
+            } else if (f.getType() == double.class) {
+                f.setDouble(volumes, Double.parseDouble(e.getValue()));
+            } else {
+                f.set(volumes, LocalDateTime.parse(e.getValue()));
+            }
+        }
+
+        DatabaseHelper db = new DatabaseHelper(url);
+        db.connectToDatabase();
+        try {
+            new WorkloadGenerator(db, seed, volumes).generate();
+        } finally {
+            db.closeConnection();
+        }
+    }
+}
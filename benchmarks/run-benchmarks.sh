@@ -0,0 +1,30 @@
+#!/bin/sh
+# Compile the application and the JMH benchmarks, then run them.
+#
+# BENCH_LIBS must name a directory holding the jars the benchmarks need:
+#   jmh-core, jmh-generator-annprocess (and their jopt-simple / commons-math3 deps),
+#   the H2 driver and the JavaFX SDK jars (the model classes reference JavaFX types).
+#
+# Arguments are passed to JMH, e.g.
+#   BENCH_LIBS=~/bench-libs benchmarks/run-benchmarks.sh QueryBenchmarks -p rows=1000
+#   BENCH_LIBS=~/bench-libs benchmarks/run-benchmarks.sh -rf json -rff bench_output.json
+#
+# The synthetic databases are kept in ~/cse360-bench (override with
+# -jvmArgsAppend -Dcse360.bench.dir=...); delete them to regenerate.
+set -e
+
+cd "$(dirname "$0")/.."
+: "${BENCH_LIBS:?set BENCH_LIBS to a directory with the JMH, H2 and JavaFX jars}"
+
+CP=$(find "$BENCH_LIBS" -name '*.jar' | tr '\n' ':')
+OUT=build/benchmarks
+rm -rf "$OUT"
+mkdir -p "$OUT"
+
+# module-info is left out: the benchmarks run on the class path
+find src benchmarks -name '*.java' ! -name module-info.java > "$OUT/sources.txt"
+javac -encoding UTF-8 -nowarn -cp "$CP" -d "$OUT" \
+    -processor org.openjdk.jmh.generators.BenchmarkProcessor \
+    @"$OUT/sources.txt"
+
+exec java -cp "$OUT:$CP" org.openjdk.jmh.Main "$@"
@@ -2,8 +2,11 @@ package application;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import logic.StatusData;
+import model.Answer;
 import model.Answers;
+import model.Question;
 import model.Questions;
+import model.Review;
 import model.Reviews;
 import model.User;
 import pages.FirstPage;
@@ -51,27 +54,33 @@ public class StartCSE360 extends Application {
 
             StatusData.questions = new Questions(databaseHelper);
             StatusData.answers = new Answers(databaseHelper);
+            StatusData.reviews = new Reviews(databaseHelper);
             
  //StatusData.databaseHelper.deleteOneTime();
             
             if (StatusData.questions.size() == 0) {
 	          //=======DUMMY Qs ==========
-	    		StatusData.questions.create(50, "Meg", "Eclipse", "Where do we download eclipse?", List.of("eclipse", "download"));
-	    		StatusData.questions.create(51, "Charles", "HW2 homework", "Is there an extension on HW2?", List.of("HW2", "due"));
-	    		StatusData.questions.create(52, "User1", "Github", "Does anyone have experience using github via eclipse?", List.of("github", "eclipse"));
-	    		StatusData.questions.create(53, "AviUser", "Exam", "Is there a final exam?", List.of("exam", "final"));
-	    		StatusData.questions.create(54, "User1", "Confused", "How do we know what to do?", null);
-	    		StatusData.questions.create(55, "James", "Homework 1", "How did everyone else do on HW1?", null);
-	    		StatusData.questions.create(56, "Meg", "CSE Majors", "Has anyone found a cheap place to purchase textbooks?", List.of("CSE", "textbooks"));
+	    		// One transaction per table instead of one auto-committed insert per row
+	    		List<Question> seededQs = new ArrayList<>(List.of(
+	    				seedQuestion(50, "Meg", "Eclipse", "Where do we download eclipse?", "eclipse", "download"),
+	    				seedQuestion(51, "Charles", "HW2 homework", "Is there an extension on HW2?", "HW2", "due"),
+	    				seedQuestion(52, "User1", "Github", "Does anyone have experience using github via eclipse?", "github", "eclipse"),
+	    				seedQuestion(53, "AviUser", "Exam", "Is there a final exam?", "exam", "final"),
+	    				seedQuestion(54, "User1", "Confused", "How do we know what to do?"),
+	    				seedQuestion(55, "James", "Homework 1", "How did everyone else do on HW1?"),
+	    				seedQuestion(56, "Meg", "CSE Majors", "Has anyone found a cheap place to purchase textbooks?", "CSE", "textbooks")));
+	    		StatusData.questions.createAll(seededQs);
 	    		
 	    		//=======DUMMY As ==========
-	    		StatusData.answers.create(50, 1, "User1", "Look on Module 0 in canvas");
-	    		StatusData.answers.create(51, 1, "AviUser", "Go to this website: hyperlink");
-	    		StatusData.answers.create(52, 7, "Charles", "If you search for them in Bing you're more likely to find them");
-	    		StatusData.answers.create(53, 4, "User1", "The final exam is optional");
-	    		StatusData.answers.create(54, 5, "Meg", "Go to myasu, then canvas, then dashboard, then click on class cse360, then look at the pages there");
-	    		StatusData.answers.create(55, 5, "James", "The graders said it was confusing on purpose");
-	    		StatusData.answers.create(56, 2, "James", "There was an extension but it's past now");
+	    		// question numbers are positions in the list above, so they hold whatever ids the database assigned
+	    		StatusData.answers.createAll(new ArrayList<>(List.of(
+	    				new Answer(0, 50, seededQs.get(0).getQuestionId(), "User1", "Look on Module 0 in canvas"),
+	    				new Answer(0, 51, seededQs.get(0).getQuestionId(), "AviUser", "Go to this website: hyperlink"),
+	    				new Answer(0, 52, seededQs.get(6).getQuestionId(), "Charles", "If you search for them in Bing you're more likely to find them"),
+	    				new Answer(0, 53, seededQs.get(3).getQuestionId(), "User1", "The final exam is optional"),
+	    				new Answer(0, 54, seededQs.get(4).getQuestionId(), "Meg", "Go to myasu, then canvas, then dashboard, then click on class cse360, then look at the pages there"),
+	    				new Answer(0, 55, seededQs.get(4).getQuestionId(), "James", "The graders said it was confusing on purpose"),
+	    				new Answer(0, 56, seededQs.get(1).getQuestionId(), "James", "There was an extension but it's past now"))));
             }
             
 
@@ -98,49 +107,27 @@ public class StartCSE360 extends Application {
             			System.out.println("Reviewers created successfully.");
             			
             			//Create sample reviews
-            			Reviews reviewsManager = new Reviews(databaseHelper);
+            			Reviews reviewsManager = StatusData.reviews;
             			
             			
             			if (reviewsManager.readAll().size() == 0)  {
                             System.out.println("No reviews found, adding sample reviews from auto-created reviewers.");
 
-                            // Amy reviews Answer #1 and #2
-                            reviewsManager.create(
-                                    r1.getId(),
-                                    1,  
-                                    r1.getName(),
-                                    "This answer gives a clear pointer to where Eclipse can be downloaded."
-                            );
-                            reviewsManager.create(
-                                    r1.getId(),
-                                    2,
-                                    r1.getName(),
-                                    "Good explanation of the homework extension timing."
-                            );
-
-                            // Bob reviews Answer #3
-                            reviewsManager.create(
-                                    r2.getId(),
-                                    3,
-                                    r2.getName(),
-                                    "Nice suggestion about using Bing; might also mention official docs."
-                            );
-
-                            // Stanley reviews Answer #5
-                            reviewsManager.create(
-                                    r3.getId(),
-                                    5,
-                                    r3.getName(),
-                                    "Very detailed steps, this should help confused students a lot."
-                            );
-
-                            // Claire reviews Answer #7
-                            reviewsManager.create(
-                                    r4.getId(),
-                                    7,
-                                    r4.getName(),
-                                    "Accurate information about the extension; short but useful."
-                            );
+                            reviewsManager.createAll(new ArrayList<>(List.of(
+                                    // Amy reviews Answer #1 and #2
+                                    new Review(0, r1.getId(), 1, r1.getName(),
+                                            "This answer gives a clear pointer to where Eclipse can be downloaded."),
+                                    new Review(0, r1.getId(), 2, r1.getName(),
+                                            "Good explanation of the homework extension timing."),
+                                    // Bob reviews Answer #3
+                                    new Review(0, r2.getId(), 3, r2.getName(),
+                                            "Nice suggestion about using Bing; might also mention official docs."),
+                                    // Stanley reviews Answer #5
+                                    new Review(0, r3.getId(), 5, r3.getName(),
+                                            "Very detailed steps, this should help confused students a lot."),
+                                    // Claire reviews Answer #7
+                                    new Review(0, r4.getId(), 7, r4.getName(),
+                                            "Accurate information about the extension; short but useful."))));
 
                             System.out.println("Sample reviews created successfully.");
                         } else {
@@ -162,6 +149,10 @@ public class StartCSE360 extends Application {
         	System.out.println(e.getMessage());
         }
     }
+
+    private static Question seedQuestion(int userId, String author, String title, String description, String... tags) {
+    	return new Question(0, userId, author, title, description, null, "open", new ArrayList<>(List.of(tags)));
+    }
 	
 
 }
\ No newline at end of file
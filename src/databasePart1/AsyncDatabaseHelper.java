@@ -0,0 +1,302 @@
+package databasePart1;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Asynchronous facade over {@link DatabaseHelper} so pages never run JDBC on the JavaFX thread.
+ *
+ * <p>Calls run on a dedicated pool of daemon threads sized to the connection pool, and results
+ * are handed back on the FX thread. Pages normally work through a {@link Scope}:
+ *
+ * <pre>
+ *   scope = StatusData.async().newScope().bindTo(scene);
+ *   scope.load(db -&gt; db.getAllFAQs(), faqs -&gt; table.getItems().setAll(faqs));
+ * </pre>
+ *
+ * A scope bound to a scene is cancelled as soon as that scene leaves its window (the user
+ * navigated to another page). Reads of a cancelled scope that have not started yet are
+ * skipped, and results of calls that were already running are dropped instead of being
+ * delivered to a page that is no longer shown. Writes always run; only their callbacks are
+ * dropped.
+ *
+ * <p>A scope can also {@linkplain Scope#subscribe subscribe} to the {@link DataEvent}s the
+ * writes publish, so a page applies changes to the rows it shows instead of loading them again:
+ *
+ * <pre>
+ *   scope.subscribe(DataEvent.FaqRemoved.class, e -&gt;
+ *           table.getItems().removeIf(f -&gt; f.getQuestionId() == e.getQuestionId()));
+ * </pre>
+ */
+public class AsyncDatabaseHelper {
+
+    /** Runs tasks on the JavaFX application thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    /**
+     * A database read.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T apply(DatabaseHelper db) throws Exception;
+    }
+
+    /**
+     * A database write with no result.
+     */
+    @FunctionalInterface
+    public interface Update {
+        void apply(DatabaseHelper db) throws Exception;
+    }
+
+    private final DatabaseHelper db;
+    private final ExecutorService executor;
+
+    /**
+     * @param db connected helper to run calls against
+     * @param threads number of worker threads (more than the pool's max connections only adds waiting)
+     */
+    public AsyncDatabaseHelper(DatabaseHelper db, int threads) {
+        this.db = db;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "db-async-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Create a facade sized to the database helper's connection pool.
+     *
+     * @param db connected helper
+     */
+    public AsyncDatabaseHelper(DatabaseHelper db) {
+        this(db, DatabaseHelper.POOL_MAX_SIZE);
+    }
+
+    /**
+     * Run a read on the database executor.
+     *
+     * @param query the read
+     * @return future completed with the result, or exceptionally with the thrown exception
+     */
+    public <T> CompletableFuture<T> supply(Query<T> query) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return; // cancelled before it started
+            }
+            try {
+                future.complete(query.apply(db));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run a write on the database executor.
+     *
+     * @param update the write
+     * @return future completed when the write is done
+     */
+    public CompletableFuture<Void> run(Update update) {
+        return supply(d -> {
+            update.apply(d);
+            return null;
+        });
+    }
+
+    /** @return a new scope for one page */
+    public Scope newScope() {
+        return new Scope();
+    }
+
+    /**
+     * Stop accepting work. Calls already queued still run.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Unwrap the {@link CompletionException} layer CompletableFuture adds around failures.
+     */
+    public static Throwable rootCause(Throwable t) {
+        while (t instanceof CompletionException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    private static void logFailure(Throwable t) {
+        Throwable cause = rootCause(t);
+        System.err.println("Async database call failed: " + cause.getMessage());
+        cause.printStackTrace();
+    }
+
+    /**
+     * Group of calls made on behalf of one page, cancelled together.
+     */
+    public class Scope {
+        private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+        private final Set<DataEventBus.Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled = false;
+
+        private Scope() {}
+
+        /**
+         * Cancel this scope once {@code scene} is no longer shown in a window.
+         *
+         * @param scene the page's scene
+         * @return this scope
+         */
+        public Scope bindTo(Scene scene) {
+            scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+                if (newWindow == null) {
+                    cancel();
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Run a read in this scope without FX delivery; useful for combining several reads.
+         *
+         * @param query the read
+         * @return future that is cancelled with the scope
+         */
+        public <T> CompletableFuture<T> supply(Query<T> query) {
+            if (cancelled) {
+                CompletableFuture<T> f = new CompletableFuture<>();
+                f.cancel(false);
+                return f;
+            }
+            CompletableFuture<T> f = AsyncDatabaseHelper.this.supply(query);
+            pending.add(f);
+            f.whenComplete((r, e) -> pending.remove(f));
+            return f;
+        }
+
+        /**
+         * Run a read and hand the result to {@code onSuccess} on the FX thread.
+         * Failures are logged.
+         */
+        public <T> CompletableFuture<T> load(Query<T> query, Consumer<T> onSuccess) {
+            return load(query, onSuccess, AsyncDatabaseHelper::logFailure);
+        }
+
+        /**
+         * Run a read and hand the result or the failure to the callbacks on the FX thread.
+         * Nothing is delivered once the scope is cancelled.
+         */
+        public <T> CompletableFuture<T> load(Query<T> query, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            CompletableFuture<T> f = supply(query);
+            deliver(f, onSuccess, onError);
+            return f;
+        }
+
+        /**
+         * Run a write whose outcome the page picks up through its {@link #subscribe subscriptions}.
+         * Failures are logged.
+         */
+        public CompletableFuture<Void> update(Update update) {
+            return update(update, () -> {});
+        }
+
+        /**
+         * Run a write and call {@code onDone} on the FX thread when it succeeds.
+         * Failures are logged.
+         */
+        public CompletableFuture<Void> update(Update update, Runnable onDone) {
+            return update(update, onDone, AsyncDatabaseHelper::logFailure);
+        }
+
+        /**
+         * Run a write and call {@code onDone} or {@code onError} on the FX thread. The write is
+         * not part of this scope: it still runs if the scope is cancelled, only the callback is
+         * dropped.
+         */
+        public CompletableFuture<Void> update(Update update, Runnable onDone, Consumer<Throwable> onError) {
+            CompletableFuture<Void> f = run(update);
+            deliver(f, v -> onDone.run(), onError);
+            return f;
+        }
+
+        /**
+         * Hand the outcome of any future (e.g. several reads combined with
+         * {@link CompletableFuture#allOf}) to the callbacks on the FX thread, unless this scope
+         * is cancelled by then.
+         */
+        public <T> void deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            future.whenCompleteAsync((result, error) -> {
+                if (cancelled) {
+                    return;
+                }
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else if (!(rootCause(error) instanceof CancellationException)) {
+                    onError.accept(rootCause(error));
+                }
+            }, FX_THREAD);
+        }
+
+        /**
+         * Hand every event of {@code type} (or a subclass) to {@code listener} on the FX thread
+         * until this scope is cancelled. Events from writes made on this page arrive as well,
+         * so a page does not need to reload after its own writes.
+         *
+         * @param type event class
+         * @param listener applies the change to the page
+         * @return this scope
+         */
+        public <E extends DataEvent> Scope subscribe(Class<E> type, Consumer<? super E> listener) {
+            DataEventBus.Subscription s = db.getEventBus().subscribe(type, event -> FX_THREAD.execute(() -> {
+                if (!cancelled) {
+                    listener.accept(event);
+                }
+            }));
+            subscriptions.add(s);
+            if (cancelled) { // cancelled meanwhile: cancel() may have missed it
+                s.cancel();
+                subscriptions.remove(s);
+            }
+            return this;
+        }
+
+        /**
+         * Cancel every pending read of this scope, drop all results and stop its subscriptions.
+         */
+        public void cancel() {
+            cancelled = true;
+            for (CompletableFuture<?> f : pending) {
+                f.cancel(false);
+            }
+            pending.clear();
+            for (DataEventBus.Subscription s : subscriptions) {
+                s.cancel();
+            }
+            subscriptions.clear();
+        }
+
+        /** @return true once {@link #cancel()} has been called */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package databasePart1;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small bounded JDBC connection pool used by {@link DatabaseHelper}.
+ *
+ * <p>Every data-access method borrows a connection for the duration of one operation and
+ * returns it by calling {@link Connection#close()} (normally through try-with-resources).
+ * The connection handed out is a proxy; closing it returns the physical connection to the
+ * pool instead of closing it.
+ *
+ * <p>Features:
+ * <ul>
+ *   <li>Configurable minimum (pre-opened) and maximum (hard bound) size.</li>
+ *   <li>Validation on borrow via {@link Connection#isValid(int)}; broken connections are replaced.</li>
+ *   <li>Re-entrant borrowing: a thread that already holds a connection gets the same physical
+ *       connection back, so nested helper calls never need a second slot and cannot deadlock
+ *       the pool against themselves.</li>
+ *   <li>Leak detection: connections held longer than the leak threshold are reported once on
+ *       {@code System.err} together with the stack trace of the borrow site.</li>
+ *   <li>Metrics: active/idle counts, borrow count, total and max wait time, timeouts and leaks.</li>
+ *   <li>A per-connection {@link StatementCache}, so prepared statements are parsed once per
+ *       physical connection and reused across borrows.</li>
+ *   <li>{@link QueryMetrics}: latency, rows and errors per borrowing method and per statement,
+ *       plus a slow-query log.</li>
+ * </ul>
+ *
+ * @see DatabaseHelper
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> active = new ConcurrentHashMap<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+    private final QueryMetrics queryMetrics = new QueryMetrics();
+    private final Semaphore permits;
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed = false;
+
+    // metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    /**
+     * Tracks one checked-out physical connection.
+     */
+    private static class Lease {
+        final Connection physical;
+        final long borrowedAt = System.currentTimeMillis();
+        final String threadName = Thread.currentThread().getName();
+        final Throwable borrowSite;
+        final QueryMetrics.Operation operation;
+        int depth = 0;
+        boolean leakReported = false;
+
+        Lease(Connection physical, boolean captureSite, QueryMetrics.Operation operation) {
+            this.physical = physical;
+            this.borrowSite = captureSite ? new Throwable("Connection borrowed here") : null;
+            this.operation = operation;
+        }
+    }
+
+    /** Statements cached per physical connection unless configured otherwise. */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = Integer.getInteger("cse360.db.stmtcache.size", 64);
+
+    /**
+     * Create a pool with the default statement cache size.
+     *
+     * @see #ConnectionPool(String, String, String, int, int, long, long, int)
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long leakThresholdMillis) throws SQLException {
+        this(url, user, password, minSize, maxSize, borrowTimeoutMillis, leakThresholdMillis,
+                DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a pool and pre-open {@code minSize} connections.
+     *
+     * @param url JDBC url
+     * @param user database user
+     * @param password database password
+     * @param minSize number of connections kept open while idle
+     * @param maxSize maximum number of connections checked out at once
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection
+     * @param leakThresholdMillis how long a connection may be held before it is reported as leaked (0 disables)
+     * @param statementCacheSize prepared statements kept per physical connection (0 disables caching)
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long leakThresholdMillis, int statementCacheSize) throws SQLException {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < minSize; i++) {
+            idle.offerLast(openPhysical());
+        }
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = leakThresholdMillis > 0 ? Math.max(1000, leakThresholdMillis / 2) : 30_000;
+        maintenance.scheduleAtFixedRate(this::runMaintenance, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection. Close the returned connection to give it back.
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is closed, no connection frees up within the timeout,
+     *         or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        // Same thread already holds a connection: share it
+        Lease held = currentLease.get();
+        if (held != null) {
+            held.depth++;
+            return wrap(held);
+        }
+
+        QueryMetrics.Operation operation = queryMetrics.begin();
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                queryMetrics.end(operation, true);
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + statsSummary() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queryMetrics.end(operation, true);
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        Connection physical;
+        try {
+            physical = takeValidIdle();
+            if (physical == null) {
+                physical = openPhysical();
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            queryMetrics.end(operation, true);
+            throw e;
+        }
+
+        long waited = System.nanoTime() - start;
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        Lease lease = new Lease(physical, leakThresholdMillis > 0, operation);
+        lease.depth = 1;
+        active.put(physical, lease);
+        currentLease.set(lease);
+        return wrap(lease);
+    }
+
+    private Connection takeValidIdle() {
+        Connection c;
+        while ((c = idle.pollFirst()) != null) {
+            try {
+                if (!c.isClosed() && c.isValid(2)) {
+                    return c;
+                }
+            } catch (SQLException ignored) {
+                // fall through and discard
+            }
+            validationFailures.incrementAndGet();
+            closeQuietly(c);
+        }
+        return null;
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection c = DriverManager.getConnection(url, user, password);
+        createdCount.incrementAndGet();
+        if (statementCacheSize > 0) {
+            statementCaches.put(c, new StatementCache(c, statementCacheSize, statementCounters));
+        }
+        return c;
+    }
+
+    /**
+     * Called when a proxy is closed.
+     */
+    private void release(Lease lease) {
+        if (--lease.depth > 0) {
+            return; // an outer caller on this thread still uses it
+        }
+        currentLease.remove();
+        active.remove(lease.physical);
+        queryMetrics.end(lease.operation, false);
+
+        Connection physical = lease.physical;
+        boolean reusable = !closed;
+        try {
+            if (reusable && !physical.getAutoCommit()) {
+                // never hand out a connection with a half-finished transaction
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        if (reusable) {
+            idle.offerFirst(physical); // LIFO keeps the hottest connections in use
+        } else {
+            closeQuietly(physical);
+        }
+        permits.release();
+    }
+
+    private Connection wrap(Lease lease) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean proxyClosed = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                switch (name) {
+                    case "close":
+                        if (!proxyClosed) {
+                            proxyClosed = true;
+                            release(lease);
+                        }
+                        return null;
+                    case "isClosed":
+                        return proxyClosed || lease.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + lease.physical + "]";
+                    default:
+                        break;
+                }
+                if (proxyClosed) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                Object result = null;
+                if (name.equals("prepareStatement") && args[0] instanceof String
+                        && (args.length == 1 || (args.length == 2 && args[1] instanceof Integer))) {
+                    StatementCache cache = statementCaches.get(lease.physical);
+                    if (cache != null) {
+                        result = cache.prepare((String) args[0], args.length == 2 ? (Integer) args[1] : null);
+                    }
+                }
+                if (result == null) {
+                    try {
+                        result = method.invoke(lease.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+                if (result instanceof Statement && lease.operation != null) {
+                    // prepareStatement/prepareCall take the SQL first; createStatement has none
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return queryMetrics.instrument((Statement) result, sql, lease.operation);
+                }
+                return result;
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Periodic task: report leaked connections and trim idle connections back to the minimum.
+     */
+    private void runMaintenance() {
+        if (leakThresholdMillis > 0) {
+            long now = System.currentTimeMillis();
+            for (Lease lease : active.values()) {
+                if (!lease.leakReported && now - lease.borrowedAt > leakThresholdMillis) {
+                    lease.leakReported = true;
+                    leakCount.incrementAndGet();
+                    System.err.println("Possible connection leak: held for " + (now - lease.borrowedAt)
+                            + " ms by thread " + lease.threadName);
+                    if (lease.borrowSite != null) {
+                        lease.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        }
+        while (idle.size() > minSize) {
+            Connection extra = idle.pollLast();
+            if (extra == null) break;
+            closeQuietly(extra);
+        }
+    }
+
+    private void closeQuietly(Connection c) {
+        StatementCache cache = statementCaches.remove(c);
+        if (cache != null) {
+            cache.closeAll();
+        }
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // nothing useful to do
+        }
+    }
+
+    /* -------------------- Metrics -------------------- */
+
+    /** @return connections currently checked out */
+    public int getActiveCount() { return active.size(); }
+
+    /** @return open connections waiting in the pool */
+    public int getIdleCount() { return idle.size(); }
+
+    /** @return the configured minimum size */
+    public int getMinSize() { return minSize; }
+
+    /** @return the configured maximum size */
+    public int getMaxSize() { return maxSize; }
+
+    /** @return number of successful (non re-entrant) borrows */
+    public long getBorrowCount() { return borrowCount.get(); }
+
+    /** @return total time callers spent waiting in {@link #borrow()}, in milliseconds */
+    public double getTotalWaitMillis() { return totalWaitNanos.get() / 1_000_000.0; }
+
+    /** @return average wait per borrow in milliseconds */
+    public double getAverageWaitMillis() {
+        long n = borrowCount.get();
+        return n == 0 ? 0 : getTotalWaitMillis() / n;
+    }
+
+    /** @return longest single wait in milliseconds */
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+    /** @return number of borrows that timed out */
+    public long getTimeoutCount() { return timeoutCount.get(); }
+
+    /** @return number of leaked connections reported */
+    public long getLeakCount() { return leakCount.get(); }
+
+    /** @return number of idle connections discarded because they failed validation */
+    public long getValidationFailures() { return validationFailures.get(); }
+
+    /** @return number of physical connections opened over the pool's lifetime */
+    public long getCreatedCount() { return createdCount.get(); }
+
+    /** @return prepared-statement cache hit/miss/eviction counters across all connections */
+    public StatementCache.Counters getStatementCounters() { return statementCounters; }
+
+    /** @return per-method and per-statement timings for this pool */
+    public QueryMetrics getQueryMetrics() { return queryMetrics; }
+
+    /**
+     * One-line summary of the pool state, handy for logging.
+     *
+     * @return summary string
+     */
+    public String statsSummary() {
+        return String.format("active=%d, idle=%d, max=%d, borrows=%d, avgWait=%.3fms, maxWait=%.3fms, timeouts=%d, leaks=%d, "
+                + "stmtCache hits=%d misses=%d evictions=%d",
+                getActiveCount(), getIdleCount(), maxSize, getBorrowCount(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount(), getLeakCount(),
+                statementCounters.getHits(), statementCounters.getMisses(), statementCounters.getEvictions());
+    }
+
+    /**
+     * Close all idle connections and stop maintenance. Connections still checked out are
+     * closed when their borrowers return them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        Connection c;
+        while ((c = idle.pollFirst()) != null) {
+            closeQuietly(c);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package databasePart1;
+
+import model.Announcement;
+import model.Answer;
+import model.Clarification;
+import model.FAQ;
+import model.Messages;
+import model.Question;
+import model.Review;
+
+/**
+ * A change {@link DatabaseHelper} has written, published on its {@link DataEventBus} once the
+ * write is stored.
+ *
+ * <p>Events carry the row that was written (or just its id when it was deleted) so a page or a
+ * cache can apply the change to what it already holds instead of querying everything again.
+ * They are published on the thread that made the write; pages receive them on the FX thread
+ * through {@link AsyncDatabaseHelper.Scope#subscribe}.
+ *
+ * <p>Subscribing to a class also delivers its subclasses, e.g. {@link AnswerMarkedSolution} is
+ * an {@link AnswerUpdated}, and subscribing to {@code DataEvent} itself delivers everything.
+ */
+public abstract class DataEvent {
+
+    // ----- questions -----
+
+    /** A question was stored; it has its generated id. */
+    public static class QuestionCreated extends DataEvent {
+        private final Question question;
+        public QuestionCreated(Question question) { this.question = question; }
+        public Question getQuestion() { return question; }
+    }
+
+    /** A question's title, description or status changed. */
+    public static class QuestionUpdated extends DataEvent {
+        private final Question question;
+        public QuestionUpdated(Question question) { this.question = question; }
+        public Question getQuestion() { return question; }
+    }
+
+    /** A question and its answers were deleted. */
+    public static class QuestionDeleted extends DataEvent {
+        private final int questionId;
+        public QuestionDeleted(int questionId) { this.questionId = questionId; }
+        public int getQuestionId() { return questionId; }
+    }
+
+    // ----- answers -----
+
+    /** An answer was stored; it has its generated id. */
+    public static class AnswerCreated extends DataEvent {
+        private final Answer answer;
+        public AnswerCreated(Answer answer) { this.answer = answer; }
+        public Answer getAnswer() { return answer; }
+    }
+
+    /** An answer's content or solution flag changed. */
+    public static class AnswerUpdated extends DataEvent {
+        private final Answer answer;
+        public AnswerUpdated(Answer answer) { this.answer = answer; }
+        public Answer getAnswer() { return answer; }
+    }
+
+    /** An answer was saved as a solution of its question. */
+    public static class AnswerMarkedSolution extends AnswerUpdated {
+        public AnswerMarkedSolution(Answer answer) { super(answer); }
+        public int getQuestionId() { return getAnswer().getQuestionId(); }
+    }
+
+    /** An answer was deleted. */
+    public static class AnswerDeleted extends DataEvent {
+        private final int answerId;
+        public AnswerDeleted(int answerId) { this.answerId = answerId; }
+        public int getAnswerId() { return answerId; }
+    }
+
+    // ----- reviews -----
+
+    /** A review was stored; it has its generated id. */
+    public static class ReviewCreated extends DataEvent {
+        private final Review review;
+        public ReviewCreated(Review review) { this.review = review; }
+        public Review getReview() { return review; }
+    }
+
+    /** A review's content changed. */
+    public static class ReviewUpdated extends DataEvent {
+        private final Review review;
+        public ReviewUpdated(Review review) { this.review = review; }
+        public Review getReview() { return review; }
+    }
+
+    /** A review was deleted. */
+    public static class ReviewDeleted extends DataEvent {
+        private final int reviewId;
+        public ReviewDeleted(int reviewId) { this.reviewId = reviewId; }
+        public int getReviewId() { return reviewId; }
+    }
+
+    // ----- trusted reviewers -----
+
+    /** A student added a reviewer to their trusted list (or added one that was already there). */
+    public static class TrustedReviewerAdded extends DataEvent {
+        private final int studentId;
+        private final int reviewerId;
+        public TrustedReviewerAdded(int studentId, int reviewerId) {
+            this.studentId = studentId;
+            this.reviewerId = reviewerId;
+        }
+        public int getStudentId() { return studentId; }
+        public int getReviewerId() { return reviewerId; }
+    }
+
+    /** A student changed the weight of a reviewer on their trusted list. */
+    public static class TrustedReviewerRated extends DataEvent {
+        private final int studentId;
+        private final int reviewerId;
+        private final int rating;
+        public TrustedReviewerRated(int studentId, int reviewerId, int rating) {
+            this.studentId = studentId;
+            this.reviewerId = reviewerId;
+            this.rating = rating;
+        }
+        public int getStudentId() { return studentId; }
+        public int getReviewerId() { return reviewerId; }
+        public int getRating() { return rating; }
+    }
+
+    /** A student took a reviewer off their trusted list. */
+    public static class TrustedReviewerRemoved extends DataEvent {
+        private final int studentId;
+        private final int reviewerId;
+        public TrustedReviewerRemoved(int studentId, int reviewerId) {
+            this.studentId = studentId;
+            this.reviewerId = reviewerId;
+        }
+        public int getStudentId() { return studentId; }
+        public int getReviewerId() { return reviewerId; }
+    }
+
+    // ----- clarifications -----
+
+    /** A clarification suggestion was stored. */
+    public static class ClarificationCreated extends DataEvent {
+        private final Clarification clarification;
+        public ClarificationCreated(Clarification clarification) { this.clarification = clarification; }
+        public Clarification getClarification() { return clarification; }
+    }
+
+    /** A clarification suggestion changed from unread to read. */
+    public static class ClarificationRead extends DataEvent {
+        private final int clarificationId;
+        private final int recipientId;
+        private final int questionId;
+        public ClarificationRead(int clarificationId, int recipientId, int questionId) {
+            this.clarificationId = clarificationId;
+            this.recipientId = recipientId;
+            this.questionId = questionId;
+        }
+        public int getClarificationId() { return clarificationId; }
+        public int getRecipientId() { return recipientId; }
+        public int getQuestionId() { return questionId; }
+    }
+
+    // ----- private messages -----
+
+    /** A private message was stored; it has its id and thread id. */
+    public static class MessageSent extends DataEvent {
+        private final Messages message;
+        public MessageSent(Messages message) { this.message = message; }
+        public Messages getMessage() { return message; }
+    }
+
+    /** One private message changed from unread to read. */
+    public static class MessageRead extends DataEvent {
+        private final int messageId;
+        private final int senderId;
+        private final int recipientId;
+        public MessageRead(int messageId, int senderId, int recipientId) {
+            this.messageId = messageId;
+            this.senderId = senderId;
+            this.recipientId = recipientId;
+        }
+        public int getMessageId() { return messageId; }
+        public int getSenderId() { return senderId; }
+        public int getRecipientId() { return recipientId; }
+    }
+
+    /** Every message {@code otherUserId} sent to {@code userId} is now read. */
+    public static class ThreadRead extends DataEvent {
+        private final int userId;
+        private final int otherUserId;
+        private final int count;
+        public ThreadRead(int userId, int otherUserId, int count) {
+            this.userId = userId;
+            this.otherUserId = otherUserId;
+            this.count = count;
+        }
+        public int getUserId() { return userId; }
+        public int getOtherUserId() { return otherUserId; }
+        /** @return how many messages changed from unread to read */
+        public int getCount() { return count; }
+    }
+
+    // ----- FAQs -----
+
+    /** A question was added to the FAQ list. */
+    public static class FaqMarked extends DataEvent {
+        private final FAQ faq;
+        public FaqMarked(FAQ faq) { this.faq = faq; }
+        public FAQ getFaq() { return faq; }
+    }
+
+    /** An FAQ entry's category, title or notes changed. */
+    public static class FaqUpdated extends DataEvent {
+        private final FAQ faq;
+        public FaqUpdated(FAQ faq) { this.faq = faq; }
+        public FAQ getFaq() { return faq; }
+    }
+
+    /** A question was taken off the FAQ list. */
+    public static class FaqRemoved extends DataEvent {
+        private final int questionId;
+        public FaqRemoved(int questionId) { this.questionId = questionId; }
+        public int getQuestionId() { return questionId; }
+    }
+
+    // ----- announcements -----
+
+    /** An announcement was created; it has its generated id. */
+    public static class AnnouncementPublished extends DataEvent {
+        private final Announcement announcement;
+        public AnnouncementPublished(Announcement announcement) { this.announcement = announcement; }
+        public Announcement getAnnouncement() { return announcement; }
+    }
+
+    /** An announcement's text, priority, dates or display type changed. */
+    public static class AnnouncementUpdated extends DataEvent {
+        private final Announcement announcement;
+        public AnnouncementUpdated(Announcement announcement) { this.announcement = announcement; }
+        public Announcement getAnnouncement() { return announcement; }
+    }
+
+    /** An announcement and its read marks were deleted. */
+    public static class AnnouncementDeleted extends DataEvent {
+        private final int announcementId;
+        public AnnouncementDeleted(int announcementId) { this.announcementId = announcementId; }
+        public int getAnnouncementId() { return announcementId; }
+    }
+
+    /** A user read an announcement for the first time. */
+    public static class AnnouncementMarkedRead extends DataEvent {
+        private final int announcementId;
+        private final int userId;
+        public AnnouncementMarkedRead(int announcementId, int userId) {
+            this.announcementId = announcementId;
+            this.userId = userId;
+        }
+        public int getAnnouncementId() { return announcementId; }
+        public int getUserId() { return userId; }
+    }
+
+    // ----- users -----
+
+    /**
+     * A user's account row changed: details, password, temporary password or stored role.
+     * Writes keyed by id do not know the user name and vice versa, so one of them may be missing.
+     */
+    public static class UserUpdated extends DataEvent {
+        private final int userId;
+        private final String userName;
+        public UserUpdated(int userId, String userName) {
+            this.userId = userId;
+            this.userName = userName;
+        }
+        /** @return the user's id, or 0 if the write did not know it */
+        public int getUserId() { return userId; }
+        /** @return the user's name before the write, or null if the write did not know it */
+        public String getUserName() { return userName; }
+    }
+
+    /** A role was granted to or taken from a user. */
+    public static class UserRolesChanged extends DataEvent {
+        private final String userName;
+        public UserRolesChanged(String userName) { this.userName = userName; }
+        public String getUserName() { return userName; }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
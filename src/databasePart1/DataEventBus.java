@@ -0,0 +1,66 @@
+package databasePart1;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe for {@link DataEvent}s.
+ *
+ * <p>{@link #publish} calls the listeners synchronously on the publishing thread, in the order
+ * they subscribed. A listener that throws is logged and does not stop the others or the write
+ * that published the event. Listeners should be quick: pages hand events over to the FX thread
+ * (see {@link AsyncDatabaseHelper.Scope#subscribe}) rather than doing work here.
+ *
+ * <p>Subscribing and publishing are safe from any thread.
+ */
+public class DataEventBus {
+
+    /**
+     * A registered listener; {@link #cancel()} removes it.
+     */
+    @FunctionalInterface
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final Map<Class<?>, List<Consumer<DataEvent>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Call {@code listener} for every event of {@code type} or a subclass of it.
+     *
+     * @param type event class
+     * @param listener receives the events on the publishing thread
+     * @return handle to unsubscribe with
+     */
+    public <E extends DataEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Consumer<DataEvent> wrapper = event -> listener.accept(type.cast(event));
+        List<Consumer<DataEvent>> list = listeners.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+        list.add(wrapper);
+        return () -> list.remove(wrapper);
+    }
+
+    /**
+     * Deliver {@code event} to the listeners of its class and of each of its superclasses.
+     *
+     * @param event the change that was written
+     */
+    public void publish(DataEvent event) {
+        for (Class<?> type = event.getClass(); type != Object.class; type = type.getSuperclass()) {
+            List<Consumer<DataEvent>> list = listeners.get(type);
+            if (list == null) {
+                continue;
+            }
+            for (Consumer<DataEvent> listener : list) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Listener for " + event + " failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
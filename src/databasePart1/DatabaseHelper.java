@@ -1,5 +1,6 @@
 package databasePart1;
 
+import java.lang.management.ManagementFactory;
 import java.sql.*;
 import java.util.List;
 import java.util.Map;
@@ -11,8 +12,18 @@ import model.*;
 import model.User.Role;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.sql.SQLException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import application.*; //we can delete this import if we don't want to have it once the messaging features get relocated
 
@@ -33,30 +44,251 @@ public class DatabaseHelper {
     static final String USER = "sa";
     static final String PASS = "";
 
-    private Connection connection = null;
-    private Statement statement = null;
+    // Connection pool sizing; override with -Dcse360.db.pool.min / -Dcse360.db.pool.max
+    static final int POOL_MIN_SIZE = Integer.getInteger("cse360.db.pool.min", 2);
+    static final int POOL_MAX_SIZE = Integer.getInteger("cse360.db.pool.max", 10);
+    static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    static final long POOL_LEAK_THRESHOLD_MS = 30_000;
+
+    // Rows sent per executeBatch() round trip by the bulk insert methods
+    static final int INSERT_BATCH_SIZE = 500;
+
+    // User account cache sizing; override with -Dcse360.users.cache.size / -Dcse360.users.cache.ttl.ms
+    static final int USER_CACHE_SIZE = Integer.getInteger("cse360.users.cache.size", 1000);
+    static final long USER_CACHE_TTL_MS = Long.getLong("cse360.users.cache.ttl.ms", 5 * 60_000L);
+
+    private final String dbUrl;
+    private ConnectionPool pool = null;
+    private Connection connection = null; // dedicated connection handed out by getConnection()
+    private ObjectName metricsName = null;   // JMX name of the pool's QueryMetrics while connected
+
+    // Inbox summaries built so far, kept up to date by the message and clarification writes.
+    // Guarded by itself: a summary is built and updated under the lock so no write is missed.
+    private final Map<Integer, InboxSummary> inboxSummaries = new HashMap<>();
+
+    // Write methods publish what they changed here once it is stored
+    private final DataEventBus events = new DataEventBus();
+    private boolean cachesSubscribed = false;
+
+    // Announcements that have not ended, loaded on first use and dropped by announcement writes.
+    // Guarded by announcementLock; the version counts drops so a load that raced a write is not kept.
+    private final Object announcementLock = new Object();
+    private ActiveAnnouncements activeAnnouncements = null;
+    private int announcementsVersion = 0;
+
+    // Who has read each announcement, loaded per announcement on first use. Writes of one
+    // announcement's bitmap are serialised on its write lock, so the stored copy never goes back
+    // to an older state; lookups only take the bitmap's own monitor and never wait on the write.
+    private final Map<Integer, ReadBitmap> announcementReaders = new ConcurrentHashMap<>();
+    private final Map<Integer, Object> announcementReaderWriteLocks = new ConcurrentHashMap<>();
+
+    // FAQ entries with their questions and solutions, loaded on first use and then kept up to date
+    // by the question, answer and FAQ writes. Guarded by faqLock, versioned like the announcements.
+    private final Object faqLock = new Object();
+    private FAQView faqView = null;
+    private int faqVersion = 0;
+
+    // Question statuses loaded so far, kept up to date by the answer, FAQ and clarification writes.
+    // Guarded by itself; the version counts writes so a load that raced one is not kept.
+    private final Map<Integer, QuestionStatus> questionStatuses = new HashMap<>();
+    private int questionStatusVersion = 0;
+
+    // Trusted-review feeds of the students who opened them, kept up to date by the review and
+    // trusted-reviewer writes. Guarded by itself; versioned like the question statuses.
+    private final Map<Integer, TrustedReviewFeed> trustedFeeds = new HashMap<>();
+    private int trustedFeedVersion = 0;
+
+    // Accounts with their roles, loaded by login and dropped by the user and role writes
+    private final UserCache userCache = new UserCache(USER_CACHE_SIZE, USER_CACHE_TTL_MS);
+
+    /**
+     * Helper for the application database ({@value #DB_URL}).
+     */
+    public DatabaseHelper() {
+        this(DB_URL);
+    }
+
+    /**
+     * Helper for another H2 database, e.g. a scratch database for benchmarks or load tests.
+     *
+     * @param dbUrl JDBC URL of the database; its schema is created on {@link #connectToDatabase()}
+     */
+    public DatabaseHelper(String dbUrl) {
+        this.dbUrl = dbUrl;
+    }
+
+    /**
+     * Keep the caches in step with the writes that publish {@link DataEvent}s. Done once, on the
+     * first {@link #connectToDatabase()}, as nothing is written or cached before that.
+     */
+    private void subscribeCaches() {
+        if (cachesSubscribed) {
+            return;
+        }
+        cachesSubscribed = true;
+        events.subscribe(DataEvent.AnnouncementPublished.class, e -> invalidateActiveAnnouncements());
+        events.subscribe(DataEvent.AnnouncementUpdated.class, e -> invalidateActiveAnnouncements());
+        events.subscribe(DataEvent.AnnouncementDeleted.class, e -> invalidateActiveAnnouncements());
+        // a new entry's id and date come from the database, so marking reloads the view
+        events.subscribe(DataEvent.FaqMarked.class, e -> invalidateFAQView());
+        events.subscribe(DataEvent.FaqUpdated.class, e -> updateFAQView(v -> v.updateDetails(e.getFaq())));
+        events.subscribe(DataEvent.FaqRemoved.class, e -> updateFAQView(v -> v.removeQuestion(e.getQuestionId())));
+        events.subscribe(DataEvent.QuestionUpdated.class, e -> updateFAQView(v -> v.updateQuestion(e.getQuestion())));
+        events.subscribe(DataEvent.QuestionDeleted.class, e -> updateFAQView(v -> v.removeQuestion(e.getQuestionId())));
+        events.subscribe(DataEvent.AnswerCreated.class, e -> updateFAQView(v -> v.updateAnswer(e.getAnswer())));
+        events.subscribe(DataEvent.AnswerUpdated.class, e -> updateFAQView(v -> v.updateAnswer(e.getAnswer())));
+        events.subscribe(DataEvent.AnswerDeleted.class, e -> updateFAQView(v -> v.removeAnswer(e.getAnswerId())));
+        // Counts are dropped and recounted with the next page rather than adjusted: a status
+        // loaded between a write and its event would otherwise count the write twice.
+        events.subscribe(DataEvent.AnswerCreated.class, e -> updateQuestionStatus(e.getAnswer().getQuestionId(), s -> null));
+        events.subscribe(DataEvent.AnswerUpdated.class, e -> updateQuestionStatus(e.getAnswer().getQuestionId(), s -> null));
+        events.subscribe(DataEvent.AnswerDeleted.class, e -> invalidateQuestionStatuses()); // question unknown
+        events.subscribe(DataEvent.QuestionDeleted.class, e -> updateQuestionStatus(e.getQuestionId(), s -> null));
+        events.subscribe(DataEvent.ClarificationCreated.class, e -> updateQuestionStatus(e.getClarification().getQuestionId(), s -> null));
+        events.subscribe(DataEvent.ClarificationRead.class, e -> updateQuestionStatus(e.getQuestionId(), s -> null));
+        events.subscribe(DataEvent.FaqMarked.class, e -> updateQuestionStatus(e.getFaq().getQuestionId(), s -> s.withFAQ(true)));
+        events.subscribe(DataEvent.FaqRemoved.class, e -> updateQuestionStatus(e.getQuestionId(), s -> s.withFAQ(false)));
+        events.subscribe(DataEvent.ReviewCreated.class, e -> updateTrustedFeeds(f -> f.putReview(e.getReview())));
+        events.subscribe(DataEvent.ReviewUpdated.class, e -> updateTrustedFeeds(f -> f.putReview(e.getReview())));
+        events.subscribe(DataEvent.ReviewDeleted.class, e -> updateTrustedFeeds(f -> f.removeReview(e.getReviewId())));
+        events.subscribe(DataEvent.TrustedReviewerAdded.class, e -> addToTrustedFeed(e.getStudentId(), e.getReviewerId()));
+        events.subscribe(DataEvent.TrustedReviewerRemoved.class,
+                e -> updateTrustedFeed(e.getStudentId(), f -> f.removeReviewer(e.getReviewerId())));
+        events.subscribe(DataEvent.TrustedReviewerRated.class,
+                e -> updateTrustedFeed(e.getStudentId(), f -> f.setWeight(e.getReviewerId(), e.getRating())));
+        events.subscribe(DataEvent.UserUpdated.class, e -> userCache.invalidate(e.getUserName(), e.getUserId()));
+        events.subscribe(DataEvent.UserRolesChanged.class, e -> userCache.invalidate(e.getUserName(), 0));
+    }
 
     public void connectToDatabase() throws SQLException {
         try {
             Class.forName(JDBC_DRIVER); // Load the JDBC driver
+            subscribeCaches();
             System.out.println("Connecting to database...");
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
-            statement = connection.createStatement();
+            pool = new ConnectionPool(dbUrl, USER, PASS, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                    POOL_BORROW_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS);
+            registerMetricsMBean();
             try {
                 createTables();  // Create necessary tables if they don't exist
             } catch (SQLException e) {
                 System.err.println("Table creation failed: " + e.getMessage());
             }
+            try (Connection conn = borrowConnection()) {
+                int version = SchemaMigrations.migrate(conn); // upgrade older database files
+                System.out.println("Database schema at version " + version);
+            } catch (SQLException e) {
+                System.err.println("Schema migration failed: " + e.getMessage());
+            }
         } catch (ClassNotFoundException e) {
             System.err.println("JDBC Driver not found: " + e.getMessage());
         }
     }
     
-    public Connection getConnection() {
+    /**
+     * Returns a dedicated, long-lived connection for callers that run their own SQL
+     * (mostly tests). It is not part of the pool, so it is safe to keep using it
+     * without closing it. DatabaseHelper itself never uses this connection.
+     */
+    public synchronized Connection getConnection() {
+        try {
+            if (connection == null || connection.isClosed()) {
+                connection = DriverManager.getConnection(dbUrl, USER, PASS);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return connection;
     }
+
+    /**
+     * Borrow a pooled connection for one operation. Always use it in try-with-resources;
+     * closing it returns it to the pool.
+     */
+    private Connection borrowConnection() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("Not connected: call connectToDatabase() first");
+        }
+        return pool.borrow();
+    }
+
+    /**
+     * Start one timed operation around a method that borrows more than once, so that
+     * {@link QueryMetrics} counts the method once. Pair with {@link #endOperation} in a finally block.
+     */
+    private QueryMetrics.Operation beginOperation() {
+        return pool == null ? null : pool.getQueryMetrics().begin();
+    }
+
+    private void endOperation(QueryMetrics.Operation op) {
+        if (op != null) {
+            pool.getQueryMetrics().end(op, false);
+        }
+    }
+
+    /**
+     * @return the schema version recorded in this database file (see {@link SchemaMigrations})
+     * @throws SQLException if the version table cannot be read
+     */
+    public int getSchemaVersion() throws SQLException {
+        try (Connection conn = borrowConnection()) {
+            return SchemaMigrations.currentVersion(conn);
+        }
+    }
+
+    /**
+     * @return the connection pool (for metrics), or null before {@link #connectToDatabase()}
+     */
+    public ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+    /**
+     * @return per-method and per-statement timings and the slow-query log, or null before
+     *         {@link #connectToDatabase()}
+     */
+    public QueryMetrics getQueryMetrics() {
+        return pool == null ? null : pool.getQueryMetrics();
+    }
+
+    /**
+     * @return the cache behind {@link #getUserAccount(String)} (for its hit counts)
+     */
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * @return the bus the write methods publish {@link DataEvent}s on
+     */
+    public DataEventBus getEventBus() {
+        return events;
+    }
+
+    /**
+     * Publish the pool's {@link QueryMetrics} over JMX as {@code cse360:type=QueryMetrics,db="<url>"}.
+     * A helper reconnecting to the same database replaces the earlier registration.
+     */
+    private void registerMetricsMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("cse360:type=QueryMetrics,db=" + ObjectName.quote(dbUrl));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(pool.getQueryMetrics(), name);
+            metricsName = name;
+        } catch (JMException e) {
+            System.err.println("Could not register query metrics MBean: " + e.getMessage());
+        }
+    }
     
     private void createTables() throws SQLException {
+        try (Connection conn = borrowConnection(); Statement statement = conn.createStatement()) {
+            createTables(statement);
+        }
+    }
+
+    private void createTables(Statement statement) throws SQLException {
         String userTable = "CREATE TABLE IF NOT EXISTS cse360users ("
                 + "id INT AUTO_INCREMENT PRIMARY KEY, "
                 + "userName VARCHAR(255) UNIQUE, "
@@ -178,27 +410,31 @@ public class DatabaseHelper {
         
         createFAQTable();
         createAnnouncementsTable();
-        createAnnouncementReadsTable();
+        // read receipts live in announcement_read_bitmaps (schema migration 4)
     }
     
 
     public boolean isDatabaseEmpty() throws SQLException {
         String query = "SELECT COUNT(*) AS count FROM cse360users";
-        ResultSet resultSet = statement.executeQuery(query);
-        if (resultSet.next()) {
-            return resultSet.getInt("count") == 0;
+        try (Connection conn = borrowConnection();
+             Statement statement = conn.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            if (resultSet.next()) {
+                return resultSet.getInt("count") == 0;
+            }
         }
         return true;
     }
 
     public void register(User user) throws SQLException {
-        String insertUser = "INSERT INTO cse360users (userName, password, role, name, email) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS)) {
+        String insertUser = "INSERT INTO cse360users (userName, password, role, name, email, role_mask) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, user.getUserName());
             pstmt.setString(2, user.getPassword());
             pstmt.setString(3, user.getRoleName()); // store enum as string
             pstmt.setString(4, user.getName());
             pstmt.setString(5, user.getEmail());
+            pstmt.setInt(6, user.getRole().bit()); // a user can always act as their own role
             
             int affected = pstmt.executeUpdate();
             
@@ -215,7 +451,7 @@ public class DatabaseHelper {
 
     public String loginWithOTPcheck(String userName, String enteredPw, String role) throws SQLException {
         String query = "SELECT password, temp_password FROM cse360users WHERE userName = ? AND role = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
             pstmt.setString(2, role);
 
@@ -239,9 +475,76 @@ public class DatabaseHelper {
         return null;
     }
 
+    /**
+     * Look up an account with its granted roles. Served from the user cache when possible;
+     * otherwise one query reads the account row, whose role_mask holds the roles.
+     *
+     * @param userName exact user name
+     * @return the account, or null if there is none with that name
+     * @throws SQLException if the account cannot be read
+     */
+    public UserAccount getUserAccount(String userName) throws SQLException {
+        if (userName == null) {
+            return null;
+        }
+        UserAccount cached = userCache.get(userName);
+        if (cached != null) {
+            return cached;
+        }
+        int version = userCache.version();
+        UserAccount account = null;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.USER_ACCOUNT)) {
+            pstmt.setString(1, userName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    account = new UserAccount(
+                        rs.getInt("id"),
+                        rs.getString("userName"),
+                        rs.getString("password"),
+                        rs.getString("role"),
+                        rs.getString("name"),
+                        rs.getString("email"),
+                        rs.getString("phone"),
+                        rs.getString("bio"),
+                        rs.getString("temp_password"),
+                        Role.fromMask(rs.getInt("role_mask"))
+                    );
+                }
+            }
+        }
+        if (account != null) {
+            userCache.put(account, version);
+        }
+        return account;
+    }
+
+    /**
+     * Check a password against an account, the way {@link #loginWithOTPcheck} does: while the
+     * account has a temporary password only that one is accepted, and it is cleared once used.
+     *
+     * @param account the account from {@link #getUserAccount(String)}
+     * @param enteredPw the password the user typed
+     * @return "normal", "temp" for a temporary password, or null if it does not match
+     */
+    public String login(UserAccount account, String enteredPw) {
+        if (account == null || enteredPw == null) {
+            return null;
+        }
+        if (account.getTempPassword() != null) {
+            if (enteredPw.equals(account.getTempPassword())) {
+                clearTempPassword(account.getUserName());
+                return "temp";
+            }
+            return null; // OTP incorrect
+        } else if (enteredPw.equals(account.getPassword())) {
+            return "normal";
+        }
+        return null;
+    }
+
     public boolean doesUserExist(String userName) {
         String query = "SELECT COUNT(*) FROM cse360users WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -254,8 +557,8 @@ public class DatabaseHelper {
     }
 
     public String getUserRole(String userName) {
-        String query = "SELECT role FROM cse360users WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        String query = StatementRegistry.USER_ROLE;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -270,20 +573,22 @@ public class DatabaseHelper {
     // Updates an existing user in the database
     public void updateUser(User user, String oldUserName) throws SQLException {
         String updateUser = "UPDATE cse360users SET userName=?, password=?, role=?, name=?, email=? WHERE userName=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(updateUser)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(updateUser)) {
             pstmt.setString(1, user.getUserName());
             pstmt.setString(2, user.getPassword());
             pstmt.setString(3, user.getRoleName()); // store enum as string
             pstmt.setString(4, user.getName());
             pstmt.setString(5, user.getEmail());
             pstmt.setString(6, oldUserName);
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserUpdated(user.getId(), oldUserName));
+            }
         }
     }
 
     public void loadUserDetails(User user) {
         String query = "SELECT id, name, email, phone, bio FROM cse360users WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, user.getUserName());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -300,7 +605,7 @@ public class DatabaseHelper {
 
     public void updateFullProfile(User user) throws SQLException {
     	String sql = "UPDATE cse360users SET userName=?, password=?, role=?, name=?, email=?, phone=?, bio=? WHERE id=?";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setString(1, user.getUserName());
             pstmt.setString(2, user.getPassword());
             pstmt.setString(3, user.getRoleName()); // store enum as string
@@ -314,12 +619,14 @@ public class DatabaseHelper {
 
     public void updateUserProfile(int userId, String name, String email, String phone, String bio) throws SQLException {
         String sql = "UPDATE cse360users SET email = ?, phone = ?, bio = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, email);
             pstmt.setString(2, phone);
             pstmt.setString(3, bio);
             pstmt.setInt(4, userId);
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserUpdated(userId, null));
+            }
     	}
     }
 
@@ -327,7 +634,7 @@ public class DatabaseHelper {
         String sql = "SELECT username, role, name, email, phone, bio FROM cse360users WHERE id = ?";
         Map<String, String> profile = new HashMap<>();
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -346,10 +653,10 @@ public class DatabaseHelper {
     public String generateInvitationCode() {
         final int MAX_TRIES = 10;
         for (int attempt = 0; attempt < MAX_TRIES; attempt++) {
-            String code = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8).toUpperCase();
+            String code = newInvitationCode();
 
-            String query = "INSERT INTO InvitationCodes (code, isUsed) VALUES (?, FALSE)";
-            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            String query = StatementRegistry.INSERT_INVITATION_CODE;
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
                 pstmt.setString(1, code);
                 pstmt.executeUpdate();
                 return code;
@@ -364,10 +671,98 @@ public class DatabaseHelper {
         return null;
     }
 
+    private static String newInvitationCode() {
+        return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8).toUpperCase();
+    }
+
+    /**
+     * Create many invitation codes with their roles, e.g. for a class roster (see
+     * {@link logic.RosterOnboarding}). The codes are chosen up front so that none is already
+     * taken, then every code and role row is written in one transaction with JDBC batching.
+     *
+     * @param rolesPerCode the roles of each code to create, in order
+     * @return the new codes, in the same order
+     * @throws SQLException if the codes cannot be stored (e.g. another admin took one of them
+     *         meanwhile); none are stored in that case
+     */
+    public List<String> createInvitationCodes(List<? extends Collection<Role>> rolesPerCode) throws SQLException {
+        List<String> codes = new ArrayList<>();
+        if (rolesPerCode == null || rolesPerCode.isEmpty()) {
+            return codes;
+        }
+        try (Connection conn = borrowConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement codeStmt = conn.prepareStatement(StatementRegistry.INSERT_INVITATION_CODE);
+                 PreparedStatement roleStmt = conn.prepareStatement(StatementRegistry.INSERT_CODE_ROLE)) {
+                codes.addAll(unusedInvitationCodes(conn, rolesPerCode.size()));
+                for (int i = 0; i < codes.size(); i++) {
+                    codeStmt.setString(1, codes.get(i));
+                    codeStmt.addBatch();
+                    for (Role role : rolesPerCode.get(i)) {
+                        roleStmt.setString(1, codes.get(i));
+                        roleStmt.setString(2, role.name());
+                        roleStmt.addBatch();
+                    }
+                    if ((i + 1) % INSERT_BATCH_SIZE == 0 || i == codes.size() - 1) {
+                        codeStmt.executeBatch();
+                        roleStmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                return codes;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Draw {@code count} distinct codes that are not in InvitationCodes yet. Candidates are
+     * checked against the table {@value #INSERT_BATCH_SIZE} per query; taken ones are redrawn.
+     */
+    private static Set<String> unusedInvitationCodes(Connection conn, int count) throws SQLException {
+        Set<String> codes = new LinkedHashSet<>();
+        while (codes.size() < count) {
+            List<String> candidates = new ArrayList<>();
+            Set<String> drawn = new HashSet<>(codes);
+            while (codes.size() + candidates.size() < count) {
+                String code = newInvitationCode();
+                if (drawn.add(code)) {
+                    candidates.add(code);
+                }
+            }
+            for (int start = 0; start < candidates.size(); start += INSERT_BATCH_SIZE) {
+                List<String> chunk = candidates.subList(start, Math.min(start + INSERT_BATCH_SIZE, candidates.size()));
+                String sql = "SELECT code FROM InvitationCodes WHERE code IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                Set<String> taken = new HashSet<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            taken.add(rs.getString(1));
+                        }
+                    }
+                }
+                for (String code : chunk) {
+                    if (!taken.contains(code)) {
+                        codes.add(code);
+                    }
+                }
+            }
+        }
+        return codes;
+    }
 
     public boolean validateInvitationCode(String code) {
         String query = "SELECT * FROM InvitationCodes WHERE code = ? AND isUsed = FALSE";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, code);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -382,7 +777,7 @@ public class DatabaseHelper {
 
     private void markInvitationCodeAsUsed(String code) {
         String query = "UPDATE InvitationCodes SET isUsed = TRUE WHERE code = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, code);
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -393,11 +788,14 @@ public class DatabaseHelper {
     public String generatePassword(String userName) {
         String otp = UUID.randomUUID().toString().substring(0, 8);
         String sql = "UPDATE cse360users SET temp_password = ? WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, otp);
             pstmt.setString(2, userName);
             int updated = pstmt.executeUpdate();
-            if (updated > 0) return otp;
+            if (updated > 0) {
+                events.publish(new DataEvent.UserUpdated(0, userName));
+                return otp;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -407,10 +805,14 @@ public class DatabaseHelper {
     // add marker to Admin's table for user's who need OTP
     public boolean requestedPw(String userName, String email) {
         String sql = "UPDATE cse360users SET temp_password = 'PENDING' WHERE userName = ? AND email = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, userName);
             pstmt.setString(2, email);
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserUpdated(0, userName));
+                return true;
+            }
+            return false;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -419,7 +821,7 @@ public class DatabaseHelper {
 
     public boolean validateOTP(String otp) {
         String query = "SELECT userName FROM cse360users WHERE temp_password = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, otp);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -435,20 +837,48 @@ public class DatabaseHelper {
 
     public void clearTempPassword(String userName) {
         String query = "UPDATE cse360users SET temp_password = NULL WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserUpdated(0, userName));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Move a user from their current role to {@code newRole}. The old role is also taken out of
+     * the user's role mask and the new one is put in, so the user is no longer found by, or able
+     * to act as, the role they had. Roles granted separately from the old role are kept.
+     *
+     * @param id user id
+     * @param newRole name of the new role
+     */
     public void updateUserRole(int id, String newRole) throws SQLException {
-        String query = "UPDATE cse360users SET role = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, newRole);
-            pstmt.setInt(2, id);
-            pstmt.executeUpdate();
+        try (Connection conn = borrowConnection()) {
+            String userName, oldRole;
+            try (PreparedStatement find = conn.prepareStatement(StatementRegistry.USER_NAME_AND_ROLE)) {
+                find.setInt(1, id);
+                try (ResultSet rs = find.executeQuery()) {
+                    if (!rs.next()) {
+                        return;
+                    }
+                    userName = rs.getString("userName");
+                    oldRole = rs.getString("role");
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.CHANGE_ROLE)) {
+                pstmt.setString(1, newRole);
+                pstmt.setInt(2, Role.ALL_BITS & ~Role.fromString(oldRole).bit());
+                pstmt.setInt(3, Role.fromString(newRole).bit());
+                pstmt.setInt(4, id);
+                pstmt.setString(5, oldRole); // unchanged since it was read
+                if (pstmt.executeUpdate() > 0) {
+                    events.publish(new DataEvent.UserUpdated(id, userName));
+                    events.publish(new DataEvent.UserRolesChanged(userName));
+                }
+            }
         }
     }
 
@@ -460,30 +890,21 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("role must be a valid Role enum");
         }
 
-        String roleName = role.name(); // store enum name in DB
-
-        String check = "SELECT COUNT(*) FROM UserRoles WHERE userName = ? AND role = ?";
-        try (PreparedStatement checkStmt = connection.prepareStatement(check)) {
-            checkStmt.setString(1, userName);
-            checkStmt.setString(2, roleName);
-            try (ResultSet rs = checkStmt.executeQuery()) {
-                rs.next();
-                if (rs.getInt(1) == 0) { // only insert if it doesn't exist
-                    String insertRole = "INSERT INTO UserRoles (userName, role) VALUES (?, ?)";
-                    try (PreparedStatement pstmt = connection.prepareStatement(insertRole)) {
-                        pstmt.setString(1, userName);
-                        pstmt.setString(2, roleName);
-                        pstmt.executeUpdate();
-                    }
-                }
+        // set the role's bit on the user row; no row changes if it is already set
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.GRANT_ROLE)) {
+            pstmt.setInt(1, role.bit());
+            pstmt.setString(2, userName);
+            pstmt.setInt(3, role.bit());
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserRolesChanged(userName));
             }
         }
     }
 
     //where invitation codes will assigned
     public void addRoleVIACode(String code, Role role) throws SQLException {
-        String query = "INSERT INTO CodeRoles (code, initialRole) VALUES (?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        String query = StatementRegistry.INSERT_CODE_ROLE;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, code);
             pstmt.setString(2, role.name());
             pstmt.executeUpdate();
@@ -496,7 +917,7 @@ public class DatabaseHelper {
         List<String> roles = new ArrayList<>();
         String query = "SELECT initialRole FROM CodeRoles WHERE code =?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, code);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -508,33 +929,89 @@ public class DatabaseHelper {
 
 
     public void deleteUserRole(String userName, Role role) throws SQLException {
-        String query = "DELETE FROM UserRoles WHERE userName =? and role = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, userName);
-            pstmt.setString(2, role.name());
-            pstmt.executeUpdate();
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.REVOKE_ROLE)) {
+            pstmt.setInt(1, Role.ALL_BITS & ~role.bit());
+            pstmt.setString(2, userName);
+            pstmt.setInt(3, role.bit());
+            if (pstmt.executeUpdate() > 0) {
+                events.publish(new DataEvent.UserRolesChanged(userName));
+            }
         }
     }
 
     //List all roles for user
     public List<String> allUserRoles(String userName) throws SQLException {
         List<String> roles = new ArrayList<>();
-        String query = "SELECT role FROM UserRoles WHERE userName =?";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, userName);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                roles.add(rs.getString("role"));
+        UserAccount account = getUserAccount(userName);
+        if (account != null) {
+            for (Role role : account.getRoles()) {
+                roles.add(role.name());
             }
         }
         return roles;
     }
 
+    /**
+     * The roles of every user, read with one query, for tables that show the roles of many
+     * users at once.
+     *
+     * @return role set per user name; users without any role are missing
+     * @throws SQLException if the roles cannot be read
+     */
+    public Map<String, EnumSet<Role>> getRolesByUser() throws SQLException {
+        Map<String, EnumSet<Role>> rolesByUser = new HashMap<>();
+        try (Connection conn = borrowConnection();
+             PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.ALL_ROLE_MASKS);
+             ResultSet rs = pstmt.executeQuery()) {
+            addRoles(rs, rolesByUser);
+        }
+        return rolesByUser;
+    }
+
+    /**
+     * The roles of some users, e.g. the rows of one page of a table, with one query per
+     * {@value #INSERT_BATCH_SIZE} names.
+     *
+     * @param userNames the users to look up
+     * @return role set per requested user name; empty for a user without roles
+     * @throws SQLException if the roles cannot be read
+     */
+    public Map<String, EnumSet<Role>> getRolesByUser(Collection<String> userNames) throws SQLException {
+        Map<String, EnumSet<Role>> rolesByUser = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (String userName : userNames) {
+            if (userName != null && rolesByUser.putIfAbsent(userName, EnumSet.noneOf(Role.class)) == null) {
+                names.add(userName);
+            }
+        }
+        try (Connection conn = borrowConnection()) {
+            for (int start = 0; start < names.size(); start += INSERT_BATCH_SIZE) {
+                List<String> chunk = names.subList(start, Math.min(start + INSERT_BATCH_SIZE, names.size()));
+                String sql = StatementRegistry.ROLE_MASKS + " WHERE userName IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        addRoles(rs, rolesByUser);
+                    }
+                }
+            }
+        }
+        return rolesByUser;
+    }
+
+    private static void addRoles(ResultSet rs, Map<String, EnumSet<Role>> rolesByUser) throws SQLException {
+        while (rs.next()) {
+            rolesByUser.put(rs.getString("userName"), Role.fromMask(rs.getInt("role_mask")));
+        }
+    }
+
     public ObservableList<User> getAllUsers() {
         ObservableList<User> users = FXCollections.observableArrayList();
         String query = "SELECT * FROM cse360users";
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
 
             while (rs.next()) {
@@ -559,10 +1036,38 @@ public class DatabaseHelper {
         return users;
     }
     
+    /**
+     * Load one page of users ordered by id.
+     *
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if the query fails
+     */
+    public Page<User> getUsersPage(String afterCursor, int limit) {
+        int size = Page.clampLimit(limit);
+        Page.Cursor cursor = Page.decode(afterCursor);
+        List<User> rows = new ArrayList<>();
+        String sql = "SELECT * FROM cse360users WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, cursor == null ? Integer.MIN_VALUE : cursor.id);
+            pstmt.setInt(2, size + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(User.createUser(rs.getInt("id"), rs.getString("userName"), rs.getString("password"),
+                            rs.getString("role"), rs.getString("name"), rs.getString("email"),
+                            rs.getString("phone"), rs.getString("bio"), rs.getString("temp_password")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return toPage(rows, size, u -> Page.encode(u.getId()));
+    }
+    
     public List<User> getAllUsersExcept(int excludeUserId) {
     	List<User> users = new ArrayList<>();
     	String query = "SELECT * FROM cse360users WHERE id != ?";
-    	try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
     		pstmt.setInt(1, excludeUserId);
     		ResultSet rs = pstmt.executeQuery();
     		
@@ -588,7 +1093,7 @@ public class DatabaseHelper {
     //where request will be 
     public void reviewerRequest(String userName) throws SQLException{
         String query = "INSERT INTO requestReviewerRole (userName) VALUES (?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
             pstmt.executeUpdate();
             System.out.println("Inserting: " + userName);
@@ -597,7 +1102,7 @@ public class DatabaseHelper {
     
     public void deleteReviewerRequest(String userName) throws SQLException {
         String query = "DELETE FROM requestReviewerRole WHERE userName = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, userName);
             pstmt.executeUpdate();
             System.out.println("Deleted reviewer request for user: " + userName);
@@ -607,7 +1112,7 @@ public class DatabaseHelper {
     public ObservableList<User> getAllReviewerRequest() {
         ObservableList<User> users = FXCollections.observableArrayList();
         String query = "SELECT * FROM requestReviewerRole";
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
 
             while (rs.next()) {
@@ -623,14 +1128,20 @@ public class DatabaseHelper {
 		return users;
     }
 
+    // Users who have the role, whether as their own role or granted later
     public List<User> getUsersByRole(Role role) throws SQLException {
-    	String sql = "SELECT id, userName, password, role, name, email, temp_password " +
-    				 "FROM cse360users WHERE LOWER(role) = LOWER(?)";
+    	String sql = StatementRegistry.USERS_WITH_ROLE;
     	
     	List<User> users = new ArrayList<>();
+    	if (role == null || role == Role.UNKNOWN) {
+    		return users;
+    	}
     	
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
-    		ps.setString(1,  role.name());
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+    		int[] masks = Role.masksWith(role);
+    		for (int i = 0; i < masks.length; i++) {
+    			ps.setInt(i + 1, masks[i]);
+    		}
     		try (ResultSet rs = ps.executeQuery()) {
     			while (rs.next()) {
     				User u = User.createUser(
@@ -651,8 +1162,8 @@ public class DatabaseHelper {
     }
     
     public User getUserById(int id) throws SQLException {
-    	String sql = "SELECT id, userName, password, role, name, email, temp_password " + "FROM cse360users WHERE id = ?";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	String sql = StatementRegistry.USER_BY_ID;
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1, id);
     		try (ResultSet rs = ps.executeQuery()) {
     			if (rs.next()) {
@@ -680,7 +1191,7 @@ public class DatabaseHelper {
     			+ "OR LOWER(userName) LIKE LOWER(?) "
     			+ "OR LOWER(name) LIKE LOWER(?) "
     			+ "LIMIT 1";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		// Exact match
     		ps.setString(1, name);
     		ps.setString(2, name);
@@ -711,7 +1222,7 @@ public class DatabaseHelper {
     // Store questions and answers
     public void insertQuestion1(Question question) throws SQLException {
     	String sql = "INSERT INTO questions (author, title, description, timestamp, status, follow_up) VALUES (?, ?, ?, ?, ?, ?)";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setString(1, question.getAuthor());
     		pstmt.setString(2, question.getTitle());
     		pstmt.setString(3, question.getDescription());
@@ -723,20 +1234,9 @@ public class DatabaseHelper {
     	}
     }
     public void insertQuestion(Question question) throws SQLException {
-    	String sql = "INSERT INTO questions (author, title, description, timestamp, status, follow_up, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-    		pstmt.setString(1, question.getAuthor());
-    		pstmt.setString(2, question.getTitle());
-    		pstmt.setString(3, question.getDescription());
-    		pstmt.setString(4, question.getTimestamp());
-    		pstmt.setString(5, question.getStatus());
-    		if (question.getFollowUp() > 0) {
-    			pstmt.setInt(6, question.getFollowUp());
-    		}
-    		else {
-    			pstmt.setNull(6, Types.INTEGER);
-    		}
-    		pstmt.setInt(7, question.getUserId());
+    	String sql = StatementRegistry.INSERT_QUESTION;
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    		bindQuestion(pstmt, question);
     		
     		int rowsInserted = pstmt.executeUpdate();
     		System.out.println("Rows inserted: " + rowsInserted);
@@ -748,6 +1248,7 @@ public class DatabaseHelper {
     			question.setQuestionId(generateId);
     		}
     		System.out.println("Question author: " + question.getAuthor() + ", userId: " + question.getUserId());
+    		events.publish(new DataEvent.QuestionCreated(question));
     	}
     	catch (SQLException e) {
     		e.printStackTrace();
@@ -756,21 +1257,145 @@ public class DatabaseHelper {
     }
 
     public void insertAnswer(Answer answer) throws SQLException {
-        String sql = "INSERT INTO answers (user_id, question_id, author, content, timestamp, is_solution) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, answer.getUserId());
-            pstmt.setInt(2, answer.getQuestionId());
-            pstmt.setString(3, answer.getAuthor());
-            pstmt.setString(4, answer.getContent());
-            pstmt.setString(5, answer.getTimestamp());
-            pstmt.setBoolean(6, answer.isSolution());
+        String sql = StatementRegistry.INSERT_ANSWER;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bindAnswer(pstmt, answer);
             pstmt.executeUpdate();
+
+            // Add the auto generated ID number to the answer object
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    answer.setAnswerId(generatedKeys.getInt(1));
+                }
+            }
+        }
+        events.publish(new DataEvent.AnswerCreated(answer));
+    }
+
+    private static void bindQuestion(PreparedStatement pstmt, Question question) throws SQLException {
+        pstmt.setString(1, question.getAuthor());
+        pstmt.setString(2, question.getTitle());
+        pstmt.setString(3, question.getDescription());
+        if (question.getTimestamp() == null) {
+            // questions.timestamp is NOT NULL (keyset pagination sorts on it)
+            question.setTimestamp(java.time.LocalDateTime.now()
+                    .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        }
+        pstmt.setString(4, question.getTimestamp());
+        pstmt.setString(5, question.getStatus());
+        if (question.getFollowUp() > 0) {
+            pstmt.setInt(6, question.getFollowUp());
+        }
+        else {
+            pstmt.setNull(6, Types.INTEGER);
+        }
+        pstmt.setInt(7, question.getUserId());
+    }
+
+    private static void bindAnswer(PreparedStatement pstmt, Answer answer) throws SQLException {
+        pstmt.setInt(1, answer.getUserId());
+        pstmt.setInt(2, answer.getQuestionId());
+        pstmt.setString(3, answer.getAuthor());
+        pstmt.setString(4, answer.getContent());
+        pstmt.setString(5, answer.getTimestamp());
+        pstmt.setBoolean(6, answer.isSolution());
+    }
+
+    /**
+     * Binds one row of a bulk insert.
+     */
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Receives the generated key of one inserted row.
+     */
+    @FunctionalInterface
+    private interface KeySetter<T> {
+        void set(T row, int generatedId);
+    }
+
+    /**
+     * Insert many rows with JDBC batching in one transaction. Rows go to the database
+     * {@value #INSERT_BATCH_SIZE} per round trip and the generated keys are handed back
+     * in insertion order. Either every row is stored or, on failure, none is.
+     *
+     * @return number of rows inserted
+     */
+    private <T> int insertBatch(String sql, List<T> rows, RowBinder<T> binder, KeySetter<T> keySetter) throws SQLException {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        try (Connection conn = borrowConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < rows.size(); start += INSERT_BATCH_SIZE) {
+                    List<T> chunk = rows.subList(start, Math.min(start + INSERT_BATCH_SIZE, rows.size()));
+                    for (T row : chunk) {
+                        binder.bind(pstmt, row);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        for (T row : chunk) {
+                            if (!keys.next()) {
+                                break;
+                            }
+                            keySetter.set(row, keys.getInt(1));
+                        }
+                    }
+                }
+                conn.commit();
+                return rows.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Insert many questions in one transaction (see {@link #insertQuestion(Question)} for a
+     * single row). The generated ids are set on the question objects.
+     *
+     * @param questions questions to store, in order
+     * @return number of rows inserted
+     * @throws SQLException if any row fails; nothing is stored in that case
+     */
+    public int insertQuestions(List<Question> questions) throws SQLException {
+        int inserted = insertBatch(StatementRegistry.INSERT_QUESTION, questions,
+                DatabaseHelper::bindQuestion, Question::setQuestionId);
+        for (int i = 0; i < inserted; i++) {
+            events.publish(new DataEvent.QuestionCreated(questions.get(i)));
         }
+        return inserted;
+    }
+
+    /**
+     * Insert many answers in one transaction. The generated ids are set on the answer objects.
+     *
+     * @param answers answers to store, in order
+     * @return number of rows inserted
+     * @throws SQLException if any row fails; nothing is stored in that case
+     */
+    public int insertAnswers(List<Answer> answers) throws SQLException {
+        int inserted = insertBatch(StatementRegistry.INSERT_ANSWER, answers,
+                DatabaseHelper::bindAnswer, Answer::setAnswerId);
+        for (int i = 0; i < inserted; i++) {
+            events.publish(new DataEvent.AnswerCreated(answers.get(i)));
+        }
+        return inserted;
     }
     
     public Question getQuestionById(int questionId) throws SQLException {
-    	String sql = "SELECT question_id, user_id, author, title, description, timestamp, status, follow_up " + "FROM questions WHERE question_id = ?";
-    	 try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	String sql = StatementRegistry.QUESTION_BY_ID;
+    	 try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     	        pstmt.setInt(1, questionId);
     	        try (ResultSet rs = pstmt.executeQuery()) {
     	            if (rs.next()) {
@@ -800,7 +1425,7 @@ public class DatabaseHelper {
     
     public Question getQuestionByUser(String userName) throws SQLException{
     	String sql = "SELECT question_id, user_id, author, title, description, timestamp, status, follow_up " + "FROM questions WHERE author = ?";
-   	 	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+   	 	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
    	        pstmt.setString(1, userName);
    	        try (ResultSet rs = pstmt.executeQuery()) {
    	            if (rs.next()) {
@@ -829,7 +1454,7 @@ public class DatabaseHelper {
     public Answer getAnswerById(int answerId) throws SQLException {
         String sql = "SELECT answer_id, user_id, question_id, author, content, timestamp, is_solution "
                    + "FROM answers WHERE answer_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, answerId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
@@ -852,46 +1477,280 @@ public class DatabaseHelper {
     }
     
     public List<Question> loadAllQs() {
-
-    	List<Question> questions = new ArrayList<>();
-    	String sql = "SELECT * FROM questions";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-    		ResultSet rs = pstmt.executeQuery();
-    		while (rs.next()) {
-    			int id = rs.getInt("question_id");
-    			String author = rs.getString("author");
-    			String title = rs.getString("title");
-    			String description = rs.getString("description");
-    			String timestamp = rs.getString("timestamp");
-    			String status = rs.getString("status");
-    			int followUp = rs.getInt("follow_up");
-    			int userId = rs.getInt("user_id");
-    			if (rs.wasNull()) { followUp = 0; }
-    			
-    			Question q = new Question(id, userId, author, title, description, timestamp, status, new ArrayList<>());
-    			//add timestamp and status when needed
-    			q.setTimestamp(timestamp);
-    			q.setStatus(status);
-    			q.setFollowUp(followUp);
-    			
-    			//Attach the answers and load them
-    			List<Answer> answers = loadAnswersForQs(id);
-    			q.setAnswers(answers);
-    			
-    			questions.add(q);
-    		}
-    	}
-    	catch (SQLException e) {
-    		e.printStackTrace();
-    	}
-    	return questions;
+    	return loadQuestionsWithAnswers("", new ArrayList<>(), true);
     }
 
-    //Load all answers
-    public List<Answer> loadAllAnswers() {
+    /**
+     * Bulk loader shared by {@link #loadAllQs()}, {@link #searchQuestions(String, String, String)}
+     * and {@link #getQuestionsByUser(String)}.
+     *
+     * Runs one query for the matching questions and one joined query for all of their answers,
+     * then attaches the answers to each question in memory grouped by question_id. This replaces
+     * the old pattern of calling {@link #loadAnswersForQs(int)} once per question row.
+     *
+     * @param where optional WHERE clause (columns qualified with the {@code q.} alias), or "" for all rows
+     * @param params bind values for the WHERE clause, in order
+     * @param withUserId whether to copy user_id onto the question (the search paths historically use -1)
+     * @return questions in primary key order with their answers attached
+     */
+    private List<Question> loadQuestionsWithAnswers(String where, List<Object> params, boolean withUserId) {
+    	return loadQuestionsWithAnswers(where, params, withUserId, " ORDER BY q.question_id", 0);
+    }
+
+    /**
+     * Same as {@link #loadQuestionsWithAnswers(String, List, boolean)} with a caller supplied
+     * ORDER BY and an optional row limit. When a limit is given the answers are fetched for the
+     * selected question ids only, since the WHERE clause alone no longer describes the rows.
+     *
+     * @param orderBy ORDER BY clause over alias {@code q}, with a leading space
+     * @param limit maximum number of questions, or 0 for no limit
+     */
+    private List<Question> loadQuestionsWithAnswers(String where, List<Object> params, boolean withUserId,
+    		String orderBy, int limit) {
+    	// two borrows, one operation for the calling method
+    	QueryMetrics.Operation op = beginOperation();
+    	try {
+    		return queryQuestionsWithAnswers(where, params, withUserId, orderBy, limit);
+    	} finally {
+    		endOperation(op);
+    	}
+    }
+
+    private List<Question> queryQuestionsWithAnswers(String where, List<Object> params, boolean withUserId,
+    		String orderBy, int limit) {
+    	List<Question> questions = new ArrayList<>();
+    	Map<Integer, List<Answer>> answersByQuestion = new HashMap<>();
+
+    	String questionSql = "SELECT * FROM questions q" + where + orderBy + (limit > 0 ? " LIMIT ?" : "");
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(questionSql)) {
+    		bindParams(pstmt, params);
+    		if (limit > 0) {
+    			pstmt.setInt(params.size() + 1, limit);
+    		}
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			while (rs.next()) {
+    				int id = rs.getInt("question_id");
+    				String author = rs.getString("author");
+    				String title = rs.getString("title");
+    				String description = rs.getString("description");
+    				String timestamp = rs.getString("timestamp");
+    				String status = rs.getString("status");
+    				int followUp = rs.getInt("follow_up");
+    				if (rs.wasNull()) { followUp = 0; }
+    				int userId = withUserId ? rs.getInt("user_id") : -1;
+
+    				Question q = new Question(id, userId, author, title, description, timestamp, status, new ArrayList<>());
+    				q.setFollowUp(followUp);
+
+    				List<Answer> answers = new ArrayList<>();
+    				q.setAnswers(answers);
+    				answersByQuestion.put(id, answers);
+    				questions.add(q);
+    			}
+    		}
+    	}
+    	catch (SQLException e) {
+    		e.printStackTrace();
+    		return questions;
+    	}
+
+    	if (questions.isEmpty()) {
+    		return questions;
+    	}
+
+    	// One joined query for every answer that belongs to the selected questions
+    	String answerSql;
+    	List<Object> answerParams;
+    	if (limit > 0) {
+    		answerParams = new ArrayList<>(answersByQuestion.keySet());
+    		answerSql = "SELECT * FROM answers a WHERE a.question_id IN ("
+    				+ String.join(", ", Collections.nCopies(answerParams.size(), "?")) + ") ORDER BY a.answer_id";
+    	}
+    	else if (where.isEmpty()) {
+    		answerParams = new ArrayList<>();
+    		answerSql = "SELECT * FROM answers a ORDER BY a.answer_id";
+    	}
+    	else {
+    		answerParams = params;
+    		answerSql = "SELECT a.* FROM answers a JOIN questions q ON a.question_id = q.question_id" + where + " ORDER BY a.answer_id";
+    	}
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(answerSql)) {
+    		bindParams(pstmt, answerParams);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			while (rs.next()) {
+    				List<Answer> answers = answersByQuestion.get(rs.getInt("question_id"));
+    				if (answers == null) {
+    					continue; // orphaned answer
+    				}
+    				answers.add(new Answer(
+    						rs.getInt("answer_id"),
+    						rs.getInt("user_id"),
+    						rs.getInt("question_id"),
+    						rs.getString("author"),
+    						rs.getString("content"),
+    						rs.getString("timestamp"),
+    						rs.getBoolean("is_solution")));
+    			}
+    		}
+    	}
+    	catch (SQLException e) {
+    		e.printStackTrace();
+    	}
+    	return questions;
+    }
+
+    private static void bindParams(PreparedStatement pstmt, List<Object> params) throws SQLException {
+    	for (int i = 0; i < params.size(); i++) {
+    		pstmt.setObject(i + 1, params.get(i));
+    	}
+    }
+
+    /* -------------------- Keyset pagination -------------------- */
+
+    /**
+     * Build the "rows after the cursor" predicate for a (timestamp, id) keyset and append its
+     * parameters. The predicate has the form {@code ts <= ? AND (ts < ? OR id < ?)} (mirrored for
+     * ascending order), so its leading conjunct bounds a range scan on a (timestamp, id) index
+     * sorted in the same direction; see schema migration 8. Both columns must be NOT NULL.
+     *
+     * @param tsCol timestamp column
+     * @param idCol primary key column
+     * @param cursor last row of the previous page (null for the first page)
+     * @param descending true for newest first
+     * @param params parameter list to append to
+     * @return a parenthesised SQL predicate, or null for the first page
+     * @throws IllegalArgumentException if the cursor carries no timestamp
+     */
+    private static String keysetPredicate(String tsCol, String idCol, Page.Cursor cursor,
+    		boolean descending, List<Object> params) {
+    	if (cursor == null) {
+    		return null;
+    	}
+    	if (cursor.timestamp == null) {
+    		throw new IllegalArgumentException("Page cursor has no timestamp");
+    	}
+    	String cmp = descending ? "<" : ">";
+    	params.add(cursor.timestamp);
+    	params.add(cursor.timestamp);
+    	params.add(cursor.id);
+    	return "(" + tsCol + " " + cmp + "= ? AND (" + tsCol + " " + cmp + " ? OR " + idCol + " " + cmp + " ?))";
+    }
+
+    private static String keysetOrder(String tsCol, String idCol, boolean descending) {
+    	String dir = descending ? " DESC" : " ASC";
+    	return " ORDER BY " + tsCol + dir + ", " + idCol + dir;
+    }
+
+    /**
+     * Turn an over-fetched row list (limit + 1 rows) into a page. The extra row only signals
+     * that another page exists and is dropped.
+     */
+    private static <T> Page<T> toPage(List<T> rows, int limit, java.util.function.Function<T, String> cursorOf) {
+    	if (rows.size() <= limit) {
+    		return new Page<>(rows, null);
+    	}
+    	List<T> items = new ArrayList<>(rows.subList(0, limit));
+    	return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    private static Timestamp toTimestamp(String value) {
+    	if (value == null) {
+    		return null;
+    	}
+    	try {
+    		return Timestamp.valueOf(value);
+    	} catch (IllegalArgumentException e) {
+    		// ISO form, as produced by LocalDateTime.toString()
+    		return Timestamp.valueOf(java.time.LocalDateTime.parse(value));
+    	}
+    }
+
+    /**
+     * Load one page of questions (with their answers) ordered by (timestamp, question_id).
+     *
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @param sort newest or oldest first
+     * @return the page; empty if nothing matches or the query fails
+     */
+    public Page<Question> loadQuestionsPage(String afterCursor, int limit, Page.Sort sort) {
+    	int size = Page.clampLimit(limit);
+    	boolean desc = sort != Page.Sort.OLDEST_FIRST;
+    	List<Object> params = new ArrayList<>();
+    	String predicate = keysetPredicate("q.timestamp", "q.question_id", Page.decode(afterCursor), desc, params);
+    	String where = predicate == null ? "" : " WHERE " + predicate;
+
+    	List<Question> rows = loadQuestionsWithAnswers(where, params, true,
+    			keysetOrder("q.timestamp", "q.question_id", desc), size + 1);
+    	return toPage(rows, size, q -> Page.encode(toTimestamp(q.getTimestamp()), q.getQuestionId()));
+    }
+
+    /**
+     * Load one page of answers ordered by answer_id.
+     *
+     * @param questionId only answers to this question, or 0 for every answer
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if nothing matches or the query fails
+     */
+    public Page<Answer> loadAnswersPage(int questionId, String afterCursor, int limit) {
+    	int size = Page.clampLimit(limit);
+    	Page.Cursor cursor = Page.decode(afterCursor);
+    	List<Object> params = new ArrayList<>();
+    	List<String> conditions = new ArrayList<>();
+    	if (questionId > 0) {
+    		conditions.add("question_id = ?");
+    		params.add(questionId);
+    	}
+    	if (cursor != null) {
+    		conditions.add("answer_id > ?");
+    		params.add(cursor.id);
+    	}
+    	params.add(size + 1);
+
+    	String sql = "SELECT * FROM answers"
+    			+ (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+    			+ " ORDER BY answer_id LIMIT ?";
+    	List<Answer> rows = new ArrayList<>();
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    		bindParams(pstmt, params);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			while (rs.next()) {
+    				rows.add(new Answer(
+    						rs.getInt("answer_id"),
+    						rs.getInt("user_id"),
+    						rs.getInt("question_id"),
+    						rs.getString("author"),
+    						rs.getString("content"),
+    						rs.getString("timestamp"),
+    						rs.getBoolean("is_solution")));
+    			}
+    		}
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		System.err.println("Error loading answers page: " + e.getMessage());
+    	}
+    	return toPage(rows, size, a -> Page.encode(a.getAnswerId()));
+    }
+
+    /**
+     * @return total number of questions, or 0 if the count fails
+     */
+    public int countQuestions() {
+    	try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
+    			ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM questions")) {
+    		return rs.next() ? rs.getInt(1) : 0;
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		return 0;
+    	}
+    }
+
+    //Load all answers
+    public List<Answer> loadAllAnswers() {
         List<Answer> answers = new ArrayList<>();
         String sql = "SELECT * FROM answers";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
                 int answerId = rs.getInt("answer_id");
@@ -916,8 +1775,8 @@ public class DatabaseHelper {
     //Load answers for questions
     public List<Answer> loadAnswersForQs(int questionId) {
     	List<Answer> answers = new ArrayList<>();
-    	String sql = "SELECT * FROM answers WHERE question_id = ?";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	String sql = StatementRegistry.ANSWERS_FOR_QUESTION;
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setInt(1, questionId);
     		ResultSet rs = pstmt.executeQuery();
     		
@@ -940,59 +1799,54 @@ public class DatabaseHelper {
     }
 
     public List<Question> searchQuestions(String keyword, String status, String author) {
-        List<Question> result = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT * FROM questions WHERE 1=1");
+        StringBuilder where = new StringBuilder(" WHERE 1=1");
+        List<Object> params = new ArrayList<>();
 
         if (keyword != null && !keyword.isBlank()) {
-            sql.append(" AND (title LIKE ? OR description LIKE ?)");
+            where.append(" AND (q.title LIKE ? OR q.description LIKE ?)");
+            params.add("%" + keyword + "%");
+            params.add("%" + keyword + "%");
         }
 
         if (status != null && !status.isBlank()) {
-            sql.append(" AND status = ?");
+            where.append(" AND q.status = ?");
+            params.add(status);
         }
 
         if (author != null && !author.isBlank()) {
-            sql.append(" AND LOWER(author) LIKE ?");
+            where.append(" AND LOWER(q.author) LIKE ?");
+            params.add("%" + author.toLowerCase() + "%");
         }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
-            int index = 1;
-
-            if (keyword != null && !keyword.isBlank()) {
-                pstmt.setString(index++, "%" + keyword + "%");
-                pstmt.setString(index++, "%" + keyword + "%");
-            }
-            if (status != null && !status.isBlank()) {
-                pstmt.setString(index++, status);
-            }
-            if (author != null && !author.isBlank()) {
-                pstmt.setString(index++, "%" + author.toLowerCase() + "%");
-            }
-
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("question_id");
-                String title = rs.getString("title");
-                String description = rs.getString("description");
-                String auth = rs.getString("author");
-                String time = rs.getString("timestamp");
-                String stat = rs.getString("status");
-                int followUp = rs.getInt("follow_up");
-                if (rs.wasNull()) {
-                    followUp = 0;
-                }
+        return loadQuestionsWithAnswers(where.toString(), params, false);
+    }
 
-                Question q = new Question(id, -1, auth, title, description);
-                q.setTimestamp(time);
-                q.setStatus(stat);
-                q.setFollowUp(followUp);
-                q.setAnswers(loadAnswersForQs(id));
-                result.add(q);
+    /**
+     * Load the given questions (with answers), returned in the order of {@code ids}. Ids that no
+     * longer exist are skipped.
+     *
+     * @param ids question ids, e.g. ranked search hits
+     * @return the questions, in id-list order
+     */
+    public List<Question> loadQuestionsByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String where = " WHERE q.question_id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        List<Question> loaded = loadQuestionsWithAnswers(where, new ArrayList<>(ids), true);
+
+        Map<Integer, Question> byId = new HashMap<>();
+        for (Question q : loaded) {
+            byId.put(q.getQuestionId(), q);
+        }
+        List<Question> ordered = new ArrayList<>(loaded.size());
+        for (int id : ids) {
+            Question q = byId.get(id);
+            if (q != null) {
+                ordered.add(q);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return result;
+        return ordered;
     }
 
     // Search answers
@@ -1010,7 +1864,7 @@ public class DatabaseHelper {
             sql.append(" AND is_solution = ?");
         }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
             int paramIndex = 1;
 
             if (keyword != null && !keyword.isBlank()) {
@@ -1047,7 +1901,7 @@ public class DatabaseHelper {
     // Update existing question (title, description, status)
     public void updateQuestion(Question question) throws SQLException {
         String sql = "UPDATE questions SET title = ?, description = ?, status = ?, timestamp = ? WHERE question_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, question.getTitle());
             pstmt.setString(2, question.getDescription());
             pstmt.setString(3, question.getStatus());
@@ -1059,6 +1913,7 @@ public class DatabaseHelper {
                 System.err.println("⚠️ No question found with ID: " + question.getQuestionId());
             } else {
                 System.out.println("✅ Question " + question.getQuestionId() + " updated successfully!");
+                events.publish(new DataEvent.QuestionUpdated(question));
             }
         } catch (SQLException e) {
             System.err.println("❌ updateQuestion failed: " + e.getMessage());
@@ -1068,36 +1923,43 @@ public class DatabaseHelper {
 
     // Delete a question by ID
     public void deleteQuestion(int questionId) throws SQLException {
-        // First delete all answers associated with this question
-        String deleteAnswers = "DELETE FROM answers WHERE question_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteAnswers)) {
-            pstmt.setInt(1, questionId);
-            pstmt.executeUpdate();
-        }
+        QueryMetrics.Operation op = beginOperation();
+        try {
+            // First delete all answers associated with this question
+            String deleteAnswers = "DELETE FROM answers WHERE question_id = ?";
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(deleteAnswers)) {
+                pstmt.setInt(1, questionId);
+                pstmt.executeUpdate();
+            }
 
-        // Then delete the question itself
-        String deleteQuestion = "DELETE FROM questions WHERE question_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteQuestion)) {
-            pstmt.setInt(1, questionId);
-            int rowsDeleted = pstmt.executeUpdate();
-            if (rowsDeleted == 0) {
-                System.err.println("⚠️ No question found with ID: " + questionId);
-            } else {
-                System.out.println("✅ Question " + questionId + " deleted successfully!");
+            // Then delete the question itself
+            String deleteQuestion = "DELETE FROM questions WHERE question_id = ?";
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(deleteQuestion)) {
+                pstmt.setInt(1, questionId);
+                int rowsDeleted = pstmt.executeUpdate();
+                if (rowsDeleted == 0) {
+                    System.err.println("⚠️ No question found with ID: " + questionId);
+                } else {
+                    System.out.println("✅ Question " + questionId + " deleted successfully!");
+                    events.publish(new DataEvent.QuestionDeleted(questionId));
+                }
             }
+        } finally {
+            endOperation(op);
         }
     }
 
     // Delete an answer by ID
     public void deleteAnswer(int answerId) throws SQLException {
         String deleteAnswer = "DELETE FROM answers WHERE answer_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteAnswer)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(deleteAnswer)) {
             pstmt.setInt(1, answerId);
             int rowsDeleted = pstmt.executeUpdate();
             if (rowsDeleted == 0) {
                 System.err.println("⚠️ No answer found with ID: " + answerId);
             } else {
                 System.out.println("✅ Answer " + answerId + " deleted successfully!");
+                events.publish(new DataEvent.AnswerDeleted(answerId));
             }
         }
     }
@@ -1106,7 +1968,7 @@ public class DatabaseHelper {
     public void updateAnswer(Answer answer) throws SQLException {
         String sql = "UPDATE answers SET content = ?, is_solution = ? WHERE answer_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, answer.getContent());
             pstmt.setBoolean(2, answer.isSolution());
             pstmt.setInt(3, answer.getAnswerId());
@@ -1117,48 +1979,23 @@ public class DatabaseHelper {
                 System.err.println("⚠️ No answer found with ID: " + answer.getAnswerId());
             } else {
                 System.out.println("✅ Answer " + answer.getAnswerId() + " updated successfully!");
+                events.publish(answer.isSolution()
+                        ? new DataEvent.AnswerMarkedSolution(answer)
+                        : new DataEvent.AnswerUpdated(answer));
             }
         }
     }
 
     public List<Question> getQuestionsByUser(String username) {
-        List<Question> questionsByUser = new ArrayList<>();
-        String sql = "SELECT * FROM questions WHERE author = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, username.toLowerCase());
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                int id = rs.getInt("question_id");
-                String title = rs.getString("title");
-                String description = rs.getString("description");
-                String author = rs.getString("author");
-                String timestamp = rs.getString("timestamp");
-                String status = rs.getString("status");
-                int followUp = rs.getInt("follow_up");
-                if (rs.wasNull()) followUp = 0;
-                
-                Question q = new Question(id, -1, author, title, description);
-                q.setTimestamp(timestamp);
-                q.setStatus(status);
-                q.setFollowUp(followUp);
-
-                q.setAnswers(loadAnswersForQs(id));
-                
-                questionsByUser.add(q);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        return questionsByUser;
+        List<Object> params = new ArrayList<>();
+        params.add(username.toLowerCase());
+        return loadQuestionsWithAnswers(" WHERE q.author = ?", params, false);
     }
     
     public List<Answer> getAnswersByUser(String username) {
         List<Answer> answersByUser = new ArrayList<>();
         String sql = "SELECT * FROM answers WHERE LOWER(author) = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username.toLowerCase());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -1201,7 +2038,7 @@ public class DatabaseHelper {
                      "FOREIGN KEY (marked_by_staff_id) REFERENCES cse360users(id)" +
                      ")";
         
-        try (Statement stmt = connection.createStatement()) {
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
         }
     }
@@ -1210,7 +2047,7 @@ public class DatabaseHelper {
     //Insert Clarifictaion
     public void insertClarification(Clarification clarification) throws SQLException {
     	String sql = "INSERT INTO clarifications (question_id, answer_id, author_id, recipient_id, author, content, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-    	 try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	 try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
     	        pstmt.setObject(1, clarification.getQuestionId() > 0 ? clarification.getQuestionId() : null);
     	        if (clarification.getAnswerId() > 0) {
     	        	pstmt.setObject(2, clarification.getAnswerId());
@@ -1225,7 +2062,21 @@ public class DatabaseHelper {
     	        pstmt.setBoolean(8, clarification.isRead());
     	        
     	        pstmt.executeUpdate();
+    	        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+    	        	if (keys.next()) {
+    	        		clarification.setId(keys.getInt(1));
+    	        	}
+    	        }
     	 }
+    	 if (!clarification.isRead()) {
+    		 synchronized (inboxSummaries) {
+    			 InboxSummary summary = inboxSummaries.get(clarification.getRecipientId());
+    			 if (summary != null) {
+    				 summary.clarificationsChanged(1);
+    			 }
+    		 }
+    	 }
+    	 events.publish(new DataEvent.ClarificationCreated(clarification));
     }
 
     // Load clarifications logic
@@ -1248,7 +2099,7 @@ public class DatabaseHelper {
     			throw new IllegalArgumentException("Invalid clarification type: " + type);
     	}
     	
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setInt(1, id);
     		ResultSet rs = pstmt.executeQuery();
     		while (rs.next()) {
@@ -1289,10 +2140,28 @@ public class DatabaseHelper {
     }
     
     public void closeConnection() {
-        try {
-            if (statement != null) statement.close();
-        } catch (SQLException se) {
-            se.printStackTrace();
+        if (pool != null) {
+            // stats are available through getConnectionPool(); only report trouble here
+            if (pool.getLeakCount() > 0 || pool.getActiveCount() > 0 || pool.getTimeoutCount() > 0) {
+                System.err.println("Connection pool at shutdown: " + pool.statsSummary());
+            }
+            pool.close();
+        }
+        invalidateInboxSummaries();
+        invalidateActiveAnnouncements();
+        announcementReaders.clear();
+        announcementReaderWriteLocks.clear();
+        invalidateFAQView();
+        invalidateQuestionStatuses();
+        invalidateTrustedReviewFeeds();
+        userCache.invalidateAll();
+        if (metricsName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsName);
+            } catch (JMException e) {
+                // already gone, e.g. replaced by another helper for the same database
+            }
+            metricsName = null;
         }
         try {
             if (connection != null) connection.close();
@@ -1302,10 +2171,31 @@ public class DatabaseHelper {
     }
 
     public void markClarificationAsRead(int clarificationId) throws SQLException {
-    	String sql = "UPDATE clarifications SET is_read = TRUE WHERE id=?";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	String sql = StatementRegistry.MARK_CLARIFICATION_READ;
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setInt(1, clarificationId);
-    		pstmt.executeUpdate();
+    		if (pstmt.executeUpdate() == 0) {
+    			return; // already read (or gone): nothing to count down
+    		}
+    		int recipientId;
+    		int questionId;
+    		try (PreparedStatement find = conn.prepareStatement(StatementRegistry.CLARIFICATION_RECIPIENT)) {
+    			find.setInt(1, clarificationId);
+    			try (ResultSet rs = find.executeQuery()) {
+    				if (!rs.next()) {
+    					return;
+    				}
+    				recipientId = rs.getInt(1);
+    				questionId = rs.getInt(2);
+    			}
+    		}
+    		synchronized (inboxSummaries) {
+    			InboxSummary summary = inboxSummaries.get(recipientId);
+    			if (summary != null) {
+    				summary.clarificationsChanged(-1);
+    			}
+    		}
+    		events.publish(new DataEvent.ClarificationRead(clarificationId, recipientId, questionId));
     	} catch (SQLException e) {
             System.err.println("Error marking clarifications as read: " + e.getMessage());
         }
@@ -1328,14 +2218,44 @@ public class DatabaseHelper {
 		}
 
     	try {
-    		String sql = "INSERT INTO privateMessages (sender_id, recipient_id, message, timestamp, is_read) VALUES (?, ?, ?, ?, ?)";
-    		PreparedStatement pstmt = connection.prepareStatement(sql);
-    		pstmt.setInt(1, msg.getSenderId());
-    		pstmt.setInt(2, msg.getRecipientId());
-    		pstmt.setString(3, msg.getMessage());
-    		pstmt.setTimestamp(4, Timestamp.valueOf(msg.getTimestamp()));
-    		pstmt.setBoolean(5, msg.isRead());
-    		pstmt.executeUpdate();
+    		String sql = StatementRegistry.SEND_MESSAGE;
+    		try (Connection conn = borrowConnection()) {
+    			// message and thread metadata change together
+    			boolean autoCommit = conn.getAutoCommit();
+    			conn.setAutoCommit(false);
+    			try {
+    				int threadId = threadFor(conn, msg.getSenderId(), msg.getRecipientId());
+    				try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    					pstmt.setInt(1, msg.getSenderId());
+    					pstmt.setInt(2, msg.getRecipientId());
+    					pstmt.setString(3, msg.getMessage());
+    					pstmt.setTimestamp(4, Timestamp.valueOf(msg.getTimestamp()));
+    					pstmt.setBoolean(5, msg.isRead());
+    					pstmt.setInt(6, threadId);
+    					pstmt.executeUpdate();
+    					try (ResultSet keys = pstmt.getGeneratedKeys()) {
+    						if (keys.next()) {
+    							msg.setId(keys.getInt(1));
+    						}
+    					}
+    				}
+    				try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.TOUCH_THREAD)) {
+    					pstmt.setInt(1, msg.getId());
+    					pstmt.setTimestamp(2, Timestamp.valueOf(msg.getTimestamp()));
+    					pstmt.setInt(3, threadId);
+    					pstmt.executeUpdate();
+    				}
+    				conn.commit();
+    				msg.setThreadId(threadId);
+    			} catch (SQLException e) {
+    				conn.rollback();
+    				throw e;
+    			} finally {
+    				conn.setAutoCommit(autoCommit);
+    			}
+    			addToInboxSummaries(conn, msg);
+    		}
+    		events.publish(new DataEvent.MessageSent(msg));
     	}
     	catch (SQLException e) {
     		System.err.println("Error sending message: " + e.getMessage());
@@ -1349,28 +2269,24 @@ public class DatabaseHelper {
     	List<Messages> messages = new ArrayList<>();
     	try {
     		//join messages table with users table to be able to get sender's name via sender_id
-        	String sql = "SELECT m.id, m.sender_id, m.recipient_id, m.message, m.timestamp, m.is_read, " +
-        	"COALESCE(u.name, u.userName) AS sender_name " +
-        	"FROM privateMessages m " +
-        	"JOIN cse360users u ON m.sender_id = u.id " +
-        	"WHERE m.recipient_id=? " +
-        	"ORDER BY m.timestamp DESC";
-        	PreparedStatement pstmt = connection.prepareStatement(sql);
-    		pstmt.setInt(1, userId);
-    		
-    		ResultSet rs = pstmt.executeQuery();
-    		while (rs.next()) {
-    			Messages msg = new Messages(
-    					rs.getInt("id"),
-    					rs.getInt("sender_id"),
-    					rs.getInt("recipient_id"),
-    					rs.getString("message"),
-    					rs.getTimestamp("timestamp").toLocalDateTime(),
-    					rs.getBoolean("is_read")
-    			);
-    			msg.setSenderName(rs.getString("sender_name"));
-    			messages.add(msg);
-    		}
+        	String sql = StatementRegistry.MESSAGES_FOR_USER;
+        	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        		pstmt.setInt(1, userId);
+
+        		ResultSet rs = pstmt.executeQuery();
+        		while (rs.next()) {
+        			Messages msg = new Messages(
+        					rs.getInt("id"),
+        					rs.getInt("sender_id"),
+        					rs.getInt("recipient_id"),
+        					rs.getString("message"),
+        					rs.getTimestamp("timestamp").toLocalDateTime(),
+        					rs.getBoolean("is_read")
+        			);
+        			msg.setSenderName(rs.getString("sender_name"));
+        			messages.add(msg);
+        		}
+        	}
     	} catch (SQLException e) {
     		System.err.println("Error retrieving inbox for user " + userId + ": " + e.getMessage());
     		e.printStackTrace();
@@ -1382,27 +2298,23 @@ public class DatabaseHelper {
         
         List<Messages> sentMessages = new ArrayList<>();
         try {
-        	String sql = "SELECT m.id, m.sender_id, m.recipient_id, m.message, m.timestamp, m.is_read, " +
-                    "COALESCE(u.name, u.userName) AS recipient_name " +
-                    "FROM privateMessages m " +
-                    "JOIN cse360users u ON m.recipient_id = u.id " +
-                    "WHERE m.sender_id = ? " +
-                    "ORDER BY m.timestamp DESC";
-        	PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setInt(1, userId);
+        	String sql = StatementRegistry.SENT_MESSAGES_FOR_USER;
+        	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
 
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Messages msg = new Messages(
-                        rs.getInt("id"),
-                        rs.getInt("sender_id"),
-                        rs.getInt("recipient_id"),
-                        rs.getString("message"),
-                        rs.getTimestamp("timestamp").toLocalDateTime(),
-                        rs.getBoolean("is_read")
-                );
-                msg.setRecipientName(rs.getString("recipient_name"));
-                sentMessages.add(msg);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    Messages msg = new Messages(
+                            rs.getInt("id"),
+                            rs.getInt("sender_id"),
+                            rs.getInt("recipient_id"),
+                            rs.getString("message"),
+                            rs.getTimestamp("timestamp").toLocalDateTime(),
+                            rs.getBoolean("is_read")
+                    );
+                    msg.setRecipientName(rs.getString("recipient_name"));
+                    sentMessages.add(msg);
+                }
             }
         } catch (SQLException e) {
     		System.err.println("Error retrieving sent messages for user " + userId + ": " + e.getMessage());
@@ -1411,29 +2323,355 @@ public class DatabaseHelper {
         return sentMessages;
     }
     
+    /**
+     * Load one page of a user's inbox, newest first.
+     *
+     * @param userId recipient
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if the query fails
+     */
+    public Page<Messages> getMessagesForUserPage(int userId, String afterCursor, int limit) {
+    	return loadMessagesPage("m.recipient_id", "m.sender_id", userId, afterCursor, limit);
+    }
+
+    /**
+     * Load one page of the messages a user has sent, newest first.
+     *
+     * @param userId sender
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if the query fails
+     */
+    public Page<Messages> getSentMessagesForUserPage(int userId, String afterCursor, int limit) {
+    	return loadMessagesPage("m.sender_id", "m.recipient_id", userId, afterCursor, limit);
+    }
+
+    /**
+     * Shared body of the inbox/sent pages. {@code otherCol} is joined to cse360users to get the
+     * display name of the other party.
+     */
+    private Page<Messages> loadMessagesPage(String ownerCol, String otherCol, int userId, String afterCursor, int limit) {
+    	int size = Page.clampLimit(limit);
+    	boolean inbox = ownerCol.equals("m.recipient_id");
+    	List<Object> params = new ArrayList<>();
+    	params.add(userId);
+    	String predicate = keysetPredicate("m.timestamp", "m.id", Page.decode(afterCursor), true, params);
+    	params.add(size + 1);
+
+    	String sql = "SELECT m.id, m.sender_id, m.recipient_id, m.message, m.timestamp, m.is_read, "
+    			+ "COALESCE(u.name, u.userName) AS other_name "
+    			+ "FROM privateMessages m "
+    			+ "JOIN cse360users u ON " + otherCol + " = u.id "
+    			+ "WHERE " + ownerCol + " = ?"
+    			+ (predicate == null ? "" : " AND " + predicate)
+    			+ keysetOrder("m.timestamp", "m.id", true)
+    			+ " LIMIT ?";
+
+    	List<Messages> rows = new ArrayList<>();
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    		bindParams(pstmt, params);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			while (rs.next()) {
+    				Timestamp ts = rs.getTimestamp("timestamp");
+    				Messages msg = new Messages(
+    						rs.getInt("id"),
+    						rs.getInt("sender_id"),
+    						rs.getInt("recipient_id"),
+    						rs.getString("message"),
+    						ts != null ? ts.toLocalDateTime() : null,
+    						rs.getBoolean("is_read")
+    				);
+    				if (inbox) {
+    					msg.setSenderName(rs.getString("other_name"));
+    				} else {
+    					msg.setRecipientName(rs.getString("other_name"));
+    				}
+    				rows.add(msg);
+    			}
+    		}
+    	} catch (SQLException e) {
+    		System.err.println("Error retrieving messages page for user " + userId + ": " + e.getMessage());
+    		e.printStackTrace();
+    	}
+    	return toPage(rows, size, m -> Page.encode(
+    			m.getTimestamp() != null ? Timestamp.valueOf(m.getTimestamp()) : null, m.getId()));
+    }
+
+    /**
+     * @param userId recipient
+     * @return number of unread messages in the user's inbox, or 0 if the count fails
+     */
+    public int countUnreadMessages(int userId) {
+    	String sql = "SELECT COUNT(*) FROM privateMessages WHERE recipient_id = ? AND is_read = FALSE";
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    		pstmt.setInt(1, userId);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			return rs.next() ? rs.getInt(1) : 0;
+    		}
+    	} catch (SQLException e) {
+    		System.err.println("Error counting unread messages for user " + userId + ": " + e.getMessage());
+    		e.printStackTrace();
+    		return 0;
+    	}
+    }
+    
+    /**
+     * Unread counts and conversations for a user's inbox. The first call for a user reads their
+     * messages once; after that the summary is kept current by {@link #sendMessage(Messages)},
+     * {@link #markMessagesAsRead(int)}, {@link #insertClarification(Clarification)} and
+     * {@link #markClarificationAsRead(int)}, so later calls do not touch the database.
+     *
+     * @param userId owner of the inbox
+     * @return the live summary (empty if it could not be loaded; the next call tries again)
+     */
+    public InboxSummary getInboxSummary(int userId) {
+    	synchronized (inboxSummaries) {
+    		InboxSummary summary = inboxSummaries.get(userId);
+    		if (summary != null) {
+    			return summary;
+    		}
+    	}
+    	// Borrow before locking, like the writers do, so a full pool cannot deadlock against the lock
+    	try (Connection conn = borrowConnection()) {
+    		synchronized (inboxSummaries) {
+    			InboxSummary summary = inboxSummaries.get(userId);
+    			if (summary != null) {
+    				return summary;
+    			}
+    			summary = new InboxSummary(userId);
+    			try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.INBOX_SUMMARY_MESSAGES)) {
+    				pstmt.setInt(1, userId);
+    				pstmt.setInt(2, userId);
+    				pstmt.setInt(3, userId);
+    				try (ResultSet rs = pstmt.executeQuery()) {
+    					while (rs.next()) {
+    						Timestamp ts = rs.getTimestamp("timestamp");
+    						Messages msg = new Messages(
+    								rs.getInt("id"),
+    								rs.getInt("sender_id"),
+    								rs.getInt("recipient_id"),
+    								rs.getString("message"),
+    								ts != null ? ts.toLocalDateTime() : null,
+    								rs.getBoolean("is_read")
+    						);
+    						summary.addMessage(msg, rs.getString("other_name"));
+    					}
+    				}
+    			}
+    			try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.UNREAD_CLARIFICATIONS)) {
+    				pstmt.setInt(1, userId);
+    				try (ResultSet rs = pstmt.executeQuery()) {
+    					summary.setUnreadClarifications(rs.next() ? rs.getInt(1) : 0);
+    				}
+    			}
+    			inboxSummaries.put(userId, summary);
+    			return summary;
+    		}
+    	} catch (SQLException e) {
+    		System.err.println("Error loading inbox summary for user " + userId + ": " + e.getMessage());
+    		e.printStackTrace();
+    		return new InboxSummary(userId);
+    	}
+    }
+
+    /**
+     * Drop the cached inbox summaries, e.g. after messages were written with plain SQL.
+     */
+    public void invalidateInboxSummaries() {
+    	synchronized (inboxSummaries) {
+    		inboxSummaries.clear();
+    	}
+    }
+
+    /**
+     * Add a just-sent message to the sender's and recipient's summaries, if they are loaded.
+     */
+    private void addToInboxSummaries(Connection conn, Messages msg) throws SQLException {
+    	synchronized (inboxSummaries) {
+    		InboxSummary sender = inboxSummaries.get(msg.getSenderId());
+    		if (sender != null) {
+    			int other = msg.getRecipientId();
+    			sender.addMessage(msg, sender.hasConversation(other) ? null : displayName(conn, other));
+    		}
+    		InboxSummary recipient = msg.getRecipientId() == msg.getSenderId() ? null : inboxSummaries.get(msg.getRecipientId());
+    		if (recipient != null) {
+    			int other = msg.getSenderId();
+    			recipient.addMessage(msg, recipient.hasConversation(other) ? null : displayName(conn, other));
+    		}
+    	}
+    }
+
+    private String displayName(Connection conn, int userId) throws SQLException {
+    	try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.USER_DISPLAY_NAME)) {
+    		pstmt.setInt(1, userId);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			return rs.next() ? rs.getString(1) : null;
+    		}
+    	}
+    }
+
+    /**
+     * Thread of the conversation between two users, created on first use. Threads are keyed by
+     * the (lower id, higher id) pair, so both directions share one.
+     */
+    private int threadFor(Connection conn, int user1, int user2) throws SQLException {
+    	int low = Math.min(user1, user2);
+    	int high = Math.max(user1, user2);
+    	Integer existing = findThread(conn, low, high);
+    	if (existing != null) {
+    		return existing;
+    	}
+    	try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.INSERT_THREAD, Statement.RETURN_GENERATED_KEYS)) {
+    		pstmt.setInt(1, low);
+    		pstmt.setInt(2, high);
+    		pstmt.executeUpdate();
+    		try (ResultSet keys = pstmt.getGeneratedKeys()) {
+    			if (keys.next()) {
+    				return keys.getInt(1);
+    			}
+    		}
+    	} catch (SQLException e) {
+    		// another sender created it first; the unique (user_low, user_high) key rejected ours
+    		existing = findThread(conn, low, high);
+    		if (existing != null) {
+    			return existing;
+    		}
+    		throw e;
+    	}
+    	throw new SQLException("No id generated for thread " + low + "/" + high);
+    }
+
+    private Integer findThread(Connection conn, int low, int high) throws SQLException {
+    	try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.THREAD_FOR_PAIR)) {
+    		pstmt.setInt(1, low);
+    		pstmt.setInt(2, high);
+    		try (ResultSet rs = pstmt.executeQuery()) {
+    			return rs.next() ? rs.getInt(1) : null;
+    		}
+    	}
+    }
+
+    /**
+     * Mark every message the other user has sent to {@code userId} as read, in one statement
+     * over the thread, and move the reader's watermark to the thread's latest message. Does
+     * nothing if the watermark is already there.
+     *
+     * @param userId the reader
+     * @param otherUserId the other participant
+     * @return number of messages that changed from unread to read
+     * @throws SQLException if the update fails (nothing changes in that case)
+     */
+    public int markThreadRead(int userId, int otherUserId) throws SQLException {
+    	int changed;
+    	try (Connection conn = borrowConnection()) {
+    		boolean autoCommit = conn.getAutoCommit();
+    		conn.setAutoCommit(false);
+    		try {
+    			int threadId, lastMessageId, watermark;
+    			try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.THREAD_READ_STATE)) {
+    				pstmt.setInt(1, Math.min(userId, otherUserId));
+    				pstmt.setInt(2, Math.max(userId, otherUserId));
+    				try (ResultSet rs = pstmt.executeQuery()) {
+    					if (!rs.next()) {
+    						return 0; // they have never written to each other
+    					}
+    					threadId = rs.getInt("thread_id");
+    					lastMessageId = rs.getInt("last_message_id");
+    					watermark = rs.getInt(rs.getInt("user_low") == userId ? "low_read_upto" : "high_read_upto");
+    				}
+    			}
+    			if (watermark >= lastMessageId) {
+    				return 0;
+    			}
+    			try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.MARK_THREAD_MESSAGES_READ)) {
+    				pstmt.setInt(1, threadId);
+    				pstmt.setInt(2, userId);
+    				pstmt.setInt(3, watermark);
+    				pstmt.setInt(4, lastMessageId);
+    				changed = pstmt.executeUpdate();
+    			}
+    			try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.SET_THREAD_WATERMARK)) {
+    				pstmt.setInt(1, userId);
+    				pstmt.setInt(2, lastMessageId);
+    				pstmt.setInt(3, userId);
+    				pstmt.setInt(4, lastMessageId);
+    				pstmt.setInt(5, threadId);
+    				pstmt.executeUpdate();
+    			}
+    			conn.commit();
+    		} catch (SQLException e) {
+    			conn.rollback();
+    			throw e;
+    		} finally {
+    			conn.setAutoCommit(autoCommit);
+    		}
+    	}
+    	if (changed > 0) {
+    		synchronized (inboxSummaries) {
+    			InboxSummary summary = inboxSummaries.get(userId);
+    			if (summary != null) {
+    				summary.threadRead(otherUserId, changed);
+    			}
+    		}
+    		events.publish(new DataEvent.ThreadRead(userId, otherUserId, changed));
+    	}
+    	return changed;
+    }
+
+    /**
+     * Put messages written with plain SQL (imports, load generators) into their threads and
+     * recompute every thread's last message and read watermarks.
+     *
+     * @throws SQLException if the rebuild fails (it is rolled back)
+     */
+    public void rebuildMessageThreads() throws SQLException {
+    	try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
+    		boolean autoCommit = conn.getAutoCommit();
+    		conn.setAutoCommit(false);
+    		try {
+    			for (String sql : SchemaMigrations.THREAD_BACKFILL) {
+    				stmt.executeUpdate(sql);
+    			}
+    			conn.commit();
+    		} catch (SQLException e) {
+    			conn.rollback();
+    			throw e;
+    		} finally {
+    			conn.setAutoCommit(autoCommit);
+    		}
+    	}
+    	invalidateInboxSummaries();
+    }
+
+    /**
+     * @param user1 one participant
+     * @param user2 the other participant
+     * @return their conversation, newest first; read from the thread, so only that thread's
+     *         messages are scanned
+     */
     public List<Messages> getMessagesBetweenUsers(int user1, int user2) {
     	List<Messages> messages = new ArrayList<>();
     	
     	try {
-    		String sql = "SELECT * FROM privateMessages WHERE " +
-        			"((sender_id=? AND recipient_id=?) OR (sender_id=? AND recipient_id=?)) " +
-        			"ORDER BY timestamp DESC";
-    		PreparedStatement pstmt = connection.prepareStatement(sql);
-    		pstmt.setInt(1, user1);
-    		pstmt.setInt(2, user2);
-    		pstmt.setInt(3, user2);
-    		pstmt.setInt(4, user1);
-    		
-    		ResultSet rs = pstmt.executeQuery();
-    		while (rs.next()) {
-    			messages.add(new Messages(
-    					rs.getInt("id"),
-    					rs.getInt("sender_id"),
-    					rs.getInt("recipient_id"),
-    					rs.getString("message"),
-    					rs.getTimestamp("timestamp").toLocalDateTime(),
-    					rs.getBoolean("is_read")
-    			));
+    		String sql = StatementRegistry.MESSAGES_BETWEEN_USERS;
+    		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    			pstmt.setInt(1, Math.min(user1, user2));
+    			pstmt.setInt(2, Math.max(user1, user2));
+
+    			ResultSet rs = pstmt.executeQuery();
+    			while (rs.next()) {
+    				Messages msg = new Messages(
+    						rs.getInt("id"),
+    						rs.getInt("sender_id"),
+    						rs.getInt("recipient_id"),
+    						rs.getString("message"),
+    						rs.getTimestamp("timestamp").toLocalDateTime(),
+    						rs.getBoolean("is_read")
+    				);
+    				msg.setThreadId(rs.getInt("thread_id"));
+    				messages.add(msg);
+    			}
     		}
     	} catch (SQLException e) {
     		System.err.println("Error retrieving messages between users " + user1 + ", " + user2 + ": " + e.getMessage());
@@ -1443,10 +2681,30 @@ public class DatabaseHelper {
     }
     
     public void markMessagesAsRead(int messageId) throws SQLException {
-    	String sql = "UPDATE privateMessages SET is_read = TRUE WHERE id=?";
-    	try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	String sql = StatementRegistry.MARK_MESSAGE_READ;
+    	try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     		pstmt.setInt(1, messageId);
-    		pstmt.executeUpdate();
+    		if (pstmt.executeUpdate() == 0) {
+    			return; // already read (or gone): nothing to count down
+    		}
+    		int senderId, recipientId;
+    		try (PreparedStatement find = conn.prepareStatement(StatementRegistry.MESSAGE_PARTIES)) {
+    			find.setInt(1, messageId);
+    			try (ResultSet rs = find.executeQuery()) {
+    				if (!rs.next()) {
+    					return;
+    				}
+    				senderId = rs.getInt("sender_id");
+    				recipientId = rs.getInt("recipient_id");
+    			}
+    		}
+    		synchronized (inboxSummaries) {
+    			InboxSummary summary = inboxSummaries.get(recipientId);
+    			if (summary != null) {
+    				summary.messageRead(senderId);
+    			}
+    		}
+    		events.publish(new DataEvent.MessageRead(messageId, senderId, recipientId));
     	} catch (SQLException e) {
             System.err.println("Error marking messages as read: " + e.getMessage());
         }
@@ -1459,7 +2717,7 @@ public class DatabaseHelper {
    /* public User insertTestUser() throws SQLException {
     	String sql = "INSERT INTO cse360users (id, userName, password, role, name, email, phone, bio, temp_password) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
     	
-    	 try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    	 try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
     	        pstmt.setInt(1, 9);  // ID
     	        pstmt.setString(2, "testUser1");  
     	        pstmt.setString(3, "testPassword1");  
@@ -1484,26 +2742,34 @@ public class DatabaseHelper {
     public boolean addTrustedReviewer(int studentId, int reviewerId) throws SQLException {
     	String sql = "MERGE INTO trustedReviewers (student_id, reviewer_id) "
     			+ "KEY (student_id, reviewer_id) VALUES (?, ?)";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1,  studentId);
     		ps.setInt(2, reviewerId);
-    		return ps.executeUpdate() > 0;
+    		boolean added = ps.executeUpdate() > 0;
+    		if (added) {
+    			events.publish(new DataEvent.TrustedReviewerAdded(studentId, reviewerId));
+    		}
+    		return added;
     	}
     }
     
     public boolean removeTrustedReviewer(int studentId, int reviewerId) throws SQLException {
     	String sql = "DELETE FROM trustedReviewers WHERE student_id=? AND reviewer_id=?";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1, studentId);
     		ps.setInt(2, reviewerId);
-    		return ps.executeUpdate() > 0;
+    		boolean removed = ps.executeUpdate() > 0;
+    		if (removed) {
+    			events.publish(new DataEvent.TrustedReviewerRemoved(studentId, reviewerId));
+    		}
+    		return removed;
     	}
     }
     
     public List<Integer> getTrustedReviewerIds(int studentId) throws SQLException {
     	String sql = "SELECT reviewer_id FROM trustedReviewers WHERE student_id=?";
     	List<Integer> ids = new ArrayList<>();
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1,  studentId);
     		try (ResultSet rs = ps.executeQuery()) {
     			while (rs.next()) ids.add(rs.getInt(1));
@@ -1514,7 +2780,7 @@ public class DatabaseHelper {
     
     public boolean isTrusted(int studentId, int reviewerId) throws SQLException {
     	String sql = "SELECT 1 FROM trustedReviewers WHERE student_id=? AND reviewer_id=? LIMIT 1";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1,  studentId);
     		ps.setInt(2,  reviewerId);
     		try (ResultSet rs = ps.executeQuery()) {
@@ -1526,18 +2792,20 @@ public class DatabaseHelper {
     public void updateTrustedReviewerRating(int studentId, int reviewerId, int rating) throws SQLException {
     	String sql = "UPDATE trustedReviewers SET rating = ? " +
     				"WHERE student_id = ? AND reviewer_id = ?";
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1, rating);
     		ps.setInt(2, studentId);
     		ps.setInt(3, reviewerId);
-    		ps.executeUpdate();
+    		if (ps.executeUpdate() > 0) {
+    			events.publish(new DataEvent.TrustedReviewerRated(studentId, reviewerId, rating));
+    		}
     	}
     }
     
     public Map<Integer, Integer> getTrustedReviewerRatings(int studentId) throws SQLException {
     	String sql = "SELECT reviewer_id, rating FROM trustedReviewers WHERE student_id=?";
     	Map<Integer, Integer> map = new HashMap<>();
-    	try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
     		ps.setInt(1, studentId);
     		try (ResultSet rs = ps.executeQuery()) {
     			while (rs.next()) {
@@ -1547,7 +2815,192 @@ public class DatabaseHelper {
     			}
     		}
     	}
-    	return map;
+    	return map;
+    }
+
+    /**
+     * @param studentId the student
+     * @return the student's trusted reviewers, with one query
+     * @throws SQLException if the query fails
+     */
+    public List<User> getTrustedReviewers(int studentId) throws SQLException {
+    	List<User> users = new ArrayList<>();
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(StatementRegistry.TRUSTED_REVIEWER_USERS)) {
+    		ps.setInt(1, studentId);
+    		try (ResultSet rs = ps.executeQuery()) {
+    			while (rs.next()) {
+    				users.add(User.createUser(
+    						rs.getInt("id"),
+    						rs.getString("userName"),
+    						rs.getString("password"),
+    						rs.getString("role"),
+    						rs.getString("name"),
+    						rs.getString("email"),
+    						rs.getString("temp_password")
+    				));
+    			}
+    		}
+    	}
+    	return users;
+    }
+
+    /**
+     * The reviews by a student's trusted reviewers, ranked by the weight the student gave each
+     * reviewer.
+     *
+     * <p>The feed is loaded with one query the first time and kept; review writes and changes
+     * to the student's trusted list or weights are applied to it as they happen.
+     *
+     * @param studentId the student
+     * @return the feed; empty if the query fails
+     */
+    public TrustedReviewFeed getTrustedReviewFeed(int studentId) {
+    	int version;
+    	synchronized (trustedFeeds) {
+    		TrustedReviewFeed feed = trustedFeeds.get(studentId);
+    		if (feed != null) {
+    			return feed;
+    		}
+    		version = trustedFeedVersion;
+    	}
+    	// Load outside the lock, as for the question statuses
+    	Map<Integer, Integer> weights = new HashMap<>();
+    	List<Review> reviews = new ArrayList<>();
+    	try {
+    		loadTrustedFeedRows(StatementRegistry.TRUSTED_FEED, studentId, 0, weights, reviews);
+    	} catch (SQLException e) {
+    		System.err.println("Error loading trusted review feed: " + e.getMessage());
+    		e.printStackTrace();
+    		return new TrustedReviewFeed(studentId, Collections.emptyMap(), Collections.emptyList()); // not kept
+    	}
+    	TrustedReviewFeed loaded = new TrustedReviewFeed(studentId, weights, reviews);
+    	synchronized (trustedFeeds) {
+    		if (version == trustedFeedVersion) { // else a write may have missed it
+    			trustedFeeds.put(studentId, loaded);
+    		}
+    	}
+    	return loaded;
+    }
+
+    /**
+     * Load one page of a student's trusted-review feed, in {@link TrustedReviewFeed#RANK_ORDER}.
+     *
+     * @param studentId the student
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page
+     */
+    public Page<TrustedReviewFeed.Entry> getTrustedReviewFeedPage(int studentId, String afterCursor, int limit) {
+    	int size = Page.clampLimit(limit);
+    	Page.Cursor cursor = Page.decode(afterCursor);
+    	TrustedReviewFeed feed = getTrustedReviewFeed(studentId);
+    	List<TrustedReviewFeed.Entry> rows;
+    	if (cursor == null || cursor.rank == null) {
+    		List<TrustedReviewFeed.Entry> ranked = feed.getRanked();
+    		rows = ranked.subList(0, Math.min(ranked.size(), size + 1));
+    	} else {
+    		rows = feed.getRankedAfter(cursor.rank, cursor.id, size + 1);
+    	}
+    	return toPage(new ArrayList<>(rows), size, e -> Page.encodeRanked(e.getWeight(), e.getReview().getReviewId()));
+    }
+
+    /**
+     * Drop every cached trusted-review feed, e.g. after reviews were written with plain SQL.
+     */
+    public void invalidateTrustedReviewFeeds() {
+    	synchronized (trustedFeeds) {
+    		trustedFeedVersion++;
+    		trustedFeeds.clear();
+    	}
+    }
+
+    /**
+     * Reads the weight and reviews of every trusted reviewer of a student, or of just one if
+     * {@code reviewerId} is positive.
+     */
+    private void loadTrustedFeedRows(String sql, int studentId, int reviewerId,
+    		Map<Integer, Integer> weights, List<Review> reviews) throws SQLException {
+    	try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+    		ps.setInt(1, studentId);
+    		if (reviewerId > 0) {
+    			ps.setInt(2, reviewerId);
+    		}
+    		try (ResultSet rs = ps.executeQuery()) {
+    			while (rs.next()) {
+    				weights.put(rs.getInt("reviewer_id"), rs.getInt("weight"));
+    				int reviewId = rs.getInt("review_id");
+    				if (rs.wasNull()) {
+    					continue; // a reviewer who has not written any reviews
+    				}
+    				Review r = new Review(reviewId, rs.getInt("user_id"), rs.getInt("answer_id"),
+    						rs.getString("author"), rs.getString("content"));
+    				r.setTimestamp(rs.getString("timestamp"));
+    				reviews.add(r);
+    			}
+    		}
+    	}
+    }
+
+    /**
+     * Apply a change to every cached feed (a review write may concern any student).
+     */
+    private void updateTrustedFeeds(java.util.function.Consumer<TrustedReviewFeed> change) {
+    	synchronized (trustedFeeds) {
+    		trustedFeedVersion++;
+    		for (TrustedReviewFeed feed : trustedFeeds.values()) {
+    			change.accept(feed);
+    		}
+    	}
+    }
+
+    /**
+     * Apply a change to one student's cached feed, if there is one.
+     */
+    private void updateTrustedFeed(int studentId, java.util.function.Consumer<TrustedReviewFeed> change) {
+    	synchronized (trustedFeeds) {
+    		trustedFeedVersion++;
+    		TrustedReviewFeed feed = trustedFeeds.get(studentId);
+    		if (feed != null) {
+    			change.accept(feed);
+    		}
+    	}
+    }
+
+    /**
+     * Bring a newly trusted reviewer's reviews into the student's cached feed. Only that
+     * reviewer's rows are read; if another write lands meanwhile the feed is dropped instead
+     * and reloaded by the next call.
+     */
+    private void addToTrustedFeed(int studentId, int reviewerId) {
+    	int version;
+    	synchronized (trustedFeeds) {
+    		if (!trustedFeeds.containsKey(studentId)) {
+    			return;
+    		}
+    		version = trustedFeedVersion;
+    	}
+    	Map<Integer, Integer> weights = new HashMap<>();
+    	List<Review> written = new ArrayList<>();
+    	try {
+    		loadTrustedFeedRows(StatementRegistry.TRUSTED_FEED_REVIEWER, studentId, reviewerId, weights, written);
+    	} catch (SQLException e) {
+    		System.err.println("Error loading trusted reviewer reviews: " + e.getMessage());
+    		e.printStackTrace();
+    		weights.clear(); // drop the feed below
+    	}
+    	synchronized (trustedFeeds) {
+    		boolean current = version == trustedFeedVersion;
+    		trustedFeedVersion++;
+    		TrustedReviewFeed feed = trustedFeeds.get(studentId);
+    		if (feed == null) {
+    			return;
+    		}
+    		if (current && weights.containsKey(reviewerId)) {
+    			feed.addReviewer(reviewerId, weights.get(reviewerId), written);
+    		} else {
+    			trustedFeeds.remove(studentId);
+    		}
+    	}
     }
     
 //======================End: Trusted Reviewer Functions===================================
@@ -1557,7 +3010,7 @@ public class DatabaseHelper {
     public List<Review> loadAllReviews() {
         List<Review> reviews = new ArrayList<>();
         String sql = "SELECT * FROM reviews";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
                 int reviewId = rs.getInt("review_id");
@@ -1579,38 +3032,43 @@ public class DatabaseHelper {
         return reviews;
     }
 
+    /**
+     * Load one page of reviews ordered by review_id. (The reviews timestamp column is text, so
+     * the id is the only reliable sort key.)
+     *
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if the query fails
+     */
+    public Page<Review> loadReviewsPage(String afterCursor, int limit) {
+        int size = Page.clampLimit(limit);
+        Page.Cursor cursor = Page.decode(afterCursor);
+        List<Review> rows = new ArrayList<>();
+        String sql = "SELECT * FROM reviews WHERE review_id > ? ORDER BY review_id LIMIT ?";
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, cursor == null ? Integer.MIN_VALUE : cursor.id);
+            pstmt.setInt(2, size + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Review(rs.getInt("review_id"), rs.getInt("user_id"), rs.getInt("answer_id"),
+                            rs.getString("author"), rs.getString("content")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error loading reviews page: " + e.getMessage());
+        }
+        return toPage(rows, size, r -> Page.encode(r.getReviewId()));
+    }
+
     /**
      * Insert a Review (no rating column).
      * Upon success, the generated review_id is set into the Review object (if Review has a setter).
      */
     public void insertReview(Review review) throws SQLException {
-        String sql = "INSERT INTO reviews (user_id, answer_id, author, content, timestamp) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            if (review.getUserId() > 0) {
-                pstmt.setInt(1, review.getUserId());
-            } else {
-                pstmt.setNull(1, Types.INTEGER);
-            }
-
-            if (review.getAnswerId() > 0) {
-                pstmt.setInt(2, review.getAnswerId());
-            } else {
-                pstmt.setNull(2, Types.INTEGER);
-            }
-
-            pstmt.setString(3, review.getAuthor());
-            pstmt.setString(4, review.getContent());
-
-            // timestamp (if Review provides one, otherwise generate)
-            String ts = null;
-            try {
-                ts = review.getTimestamp();
-            } catch (NoSuchMethodError ignored) { /* ignore if Review doesn't expose timestamp */ }
-
-            if (ts == null || ts.isBlank()) {
-                ts = String.valueOf(System.currentTimeMillis());
-            }
-            pstmt.setString(5, ts);
+        String sql = StatementRegistry.INSERT_REVIEW;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bindReview(pstmt, review);
 
             int rows = pstmt.executeUpdate();
 
@@ -1625,13 +3083,58 @@ public class DatabaseHelper {
                 }
             }
         }
+        events.publish(new DataEvent.ReviewCreated(review));
+    }
+
+    private static void bindReview(PreparedStatement pstmt, Review review) throws SQLException {
+        if (review.getUserId() > 0) {
+            pstmt.setInt(1, review.getUserId());
+        } else {
+            pstmt.setNull(1, Types.INTEGER);
+        }
+
+        if (review.getAnswerId() > 0) {
+            pstmt.setInt(2, review.getAnswerId());
+        } else {
+            pstmt.setNull(2, Types.INTEGER);
+        }
+
+        pstmt.setString(3, review.getAuthor());
+        pstmt.setString(4, review.getContent());
+
+        // timestamp (if Review provides one, otherwise generate)
+        String ts = null;
+        try {
+            ts = review.getTimestamp();
+        } catch (NoSuchMethodError ignored) { /* ignore if Review doesn't expose timestamp */ }
+
+        if (ts == null || ts.isBlank()) {
+            ts = String.valueOf(System.currentTimeMillis());
+        }
+        pstmt.setString(5, ts);
+    }
+
+    /**
+     * Insert many reviews in one transaction. The generated ids are set on the review objects.
+     *
+     * @param reviews reviews to store, in order
+     * @return number of rows inserted
+     * @throws SQLException if any row fails; nothing is stored in that case
+     */
+    public int insertReviews(List<Review> reviews) throws SQLException {
+        int inserted = insertBatch(StatementRegistry.INSERT_REVIEW, reviews,
+                DatabaseHelper::bindReview, Review::setReviewId);
+        for (int i = 0; i < inserted; i++) {
+            events.publish(new DataEvent.ReviewCreated(reviews.get(i)));
+        }
+        return inserted;
     }
 
     // Load reviews for a specific answer
     public List<Review> loadReviewsForAnswer(int answerId) throws SQLException {
         List<Review> reviews = new ArrayList<>();
         String sql = "SELECT * FROM reviews WHERE answer_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, answerId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -1654,7 +3157,7 @@ public class DatabaseHelper {
     // Update an existing review
     public void updateReview(Review review) throws SQLException {
         String sql = "UPDATE reviews SET content = ?, timestamp = ? WHERE review_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, review.getContent());
             // timestamp parameter
             try {
@@ -1669,6 +3172,7 @@ public class DatabaseHelper {
                 System.err.println("⚠️ No review found with ID: " + review.getReviewId());
             } else {
                 System.out.println("✅ Review " + review.getReviewId() + " updated successfully!");
+                events.publish(new DataEvent.ReviewUpdated(review));
             }
         }
     }
@@ -1676,13 +3180,14 @@ public class DatabaseHelper {
     // Delete a review by ID
     public void deleteReview(int reviewId) throws SQLException {
         String sql = "DELETE FROM reviews WHERE review_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, reviewId);
             int rowsDeleted = pstmt.executeUpdate();
             if (rowsDeleted == 0) {
                 System.err.println("⚠️ No review found with ID: " + reviewId);
             } else {
                 System.out.println("✅ Review " + reviewId + " deleted successfully!");
+                events.publish(new DataEvent.ReviewDeleted(reviewId));
             }
         }
     }
@@ -1695,39 +3200,47 @@ public class DatabaseHelper {
      * @return true if FAQ was created successfully; false if unauthorized or failed
      */
     public boolean markQuestionAsFAQ(FAQ faq, User actingUser) {
-        if (actingUser == null || actingUser.getRole() == null) {
-            System.err.println("❌ Unauthorized: null user");
-            return false;
-        }
+        QueryMetrics.Operation op = beginOperation();
+        try {
+            if (actingUser == null || actingUser.getRole() == null) {
+                System.err.println("❌ Unauthorized: null user");
+                return false;
+            }
 
-        String roleName = actingUser.getRole().name().toUpperCase();
-        boolean isAuthorized = roleName.equals("STAFF") || roleName.equals("ADMIN");
+            String roleName = actingUser.getRole().name().toUpperCase();
+            boolean isAuthorized = roleName.equals("STAFF") || roleName.equals("ADMIN");
 
-        if (!isAuthorized) {
-            System.err.println("❌ Unauthorized: " + actingUser.getUserName() + " (" + roleName + ")");
-            return false;
-        }
+            if (!isAuthorized) {
+                System.err.println("❌ Unauthorized: " + actingUser.getUserName() + " (" + roleName + ")");
+                return false;
+            }
 
-        // Ensure the question has at least one solution
-        if (!questionHasSolution(faq.getQuestionId())) {
-            System.err.println("⚠️ Cannot mark FAQ — no solution answers exist.");
-            return false;
-        }
+            // Ensure the question has at least one solution
+            if (!questionHasSolution(faq.getQuestionId())) {
+                System.err.println("⚠️ Cannot mark FAQ — no solution answers exist.");
+                return false;
+            }
 
-        String sql = "INSERT INTO faqs (question_id, category, display_title, staff_notes, marked_by_staff_id, date_marked) " +
-                     "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, faq.getQuestionId());
-            pstmt.setString(2, faq.getCategory());
-            pstmt.setString(3, faq.getDisplayTitle());
-            pstmt.setString(4, faq.getStaffNotes());
-            pstmt.setInt(5, actingUser.getId());
-            int rows = pstmt.executeUpdate();
-            System.out.println("✅ FAQ marked by " + actingUser.getRole() + ": " + rows + " row(s) inserted.");
-            return rows > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+            String sql = "INSERT INTO faqs (question_id, category, display_title, staff_notes, marked_by_staff_id, date_marked) " +
+                         "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, faq.getQuestionId());
+                pstmt.setString(2, faq.getCategory());
+                pstmt.setString(3, faq.getDisplayTitle());
+                pstmt.setString(4, faq.getStaffNotes());
+                pstmt.setInt(5, actingUser.getId());
+                int rows = pstmt.executeUpdate();
+                System.out.println("✅ FAQ marked by " + actingUser.getRole() + ": " + rows + " row(s) inserted.");
+                if (rows > 0) {
+                    events.publish(new DataEvent.FaqMarked(faq));
+                }
+                return rows > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            endOperation(op);
         }
     }
 
@@ -1738,9 +3251,9 @@ public class DatabaseHelper {
      * @return true if the question is already marked as an FAQ, false otherwise
      */
     public boolean isQuestionMarkedAsFAQ(int questionId) {
-        String sql = "SELECT COUNT(*) FROM faqs WHERE question_id = ?";
+        String sql = StatementRegistry.IS_QUESTION_FAQ;
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, questionId);
             ResultSet rs = pstmt.executeQuery();
             
@@ -1763,10 +3276,13 @@ public class DatabaseHelper {
      */
     public boolean removeQuestionFromFAQ(int questionId) {
         String sql = "DELETE FROM faqs WHERE question_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, questionId);
             int rows = pstmt.executeUpdate();
             System.out.println("🗑️ FAQ removed (no-actor): " + rows + " row(s) deleted.");
+            if (rows > 0) {
+                events.publish(new DataEvent.FaqRemoved(questionId));
+            }
             return rows > 0;
         } catch (SQLException e) {
             System.err.println("Error removing FAQ (no-actor): " + e.getMessage());
@@ -1790,7 +3306,7 @@ public class DatabaseHelper {
                      "LEFT JOIN questions q ON f.question_id = q.question_id " +
                      "ORDER BY f.category, f.date_marked DESC";
         
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
@@ -1811,19 +3327,115 @@ public class DatabaseHelper {
         return faqs;
     }
     
+    /**
+     * The FAQ page's data: every FAQ entry with its question's title and description and its
+     * solution answers, grouped by category.
+     *
+     * <p>Loaded with two queries on first use and kept in memory; the question, answer and FAQ
+     * writes keep it current, so later calls run no query.
+     *
+     * @return the cached view, loading it if needed
+     */
+    public FAQView getFAQView() {
+        int version;
+        synchronized (faqLock) {
+            if (faqView != null) {
+                return faqView;
+            }
+            version = faqVersion;
+        }
+        // Load outside the lock, as for the active announcements
+        Map<Integer, FAQ> faqs = new HashMap<>();
+        Map<Integer, List<Answer>> solutions = new HashMap<>();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(StatementRegistry.FAQ_VIEW_ENTRIES)) {
+                while (rs.next()) {
+                    FAQ faq = new FAQ();
+                    faq.setFaqId(rs.getInt("faq_id"));
+                    faq.setQuestionId(rs.getInt("question_id"));
+                    faq.setCategory(rs.getString("category"));
+                    faq.setDisplayTitle(rs.getString("display_title"));
+                    faq.setStaffNotes(rs.getString("staff_notes"));
+                    faq.setDateMarked(rs.getString("date_marked"));
+                    faq.setMarkedByStaffId(rs.getInt("marked_by_staff_id"));
+                    faq.setQuestionTitle(rs.getString("question_title"));
+                    faq.setQuestionDescription(rs.getString("question_description"));
+                    faqs.put(faq.getFaqId(), faq);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(StatementRegistry.FAQ_VIEW_SOLUTIONS)) {
+                while (rs.next()) {
+                    Answer a = new Answer(
+                        rs.getInt("answer_id"),
+                        rs.getInt("user_id"),
+                        rs.getInt("question_id"),
+                        rs.getString("author"),
+                        rs.getString("content"),
+                        rs.getString("timestamp"),
+                        rs.getBoolean("is_solution")
+                    );
+                    solutions.computeIfAbsent(a.getQuestionId(), id -> new ArrayList<>()).add(a);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading FAQ view: " + e.getMessage());
+            e.printStackTrace();
+            return new FAQView(Collections.emptyList()); // not kept, so the next call retries
+        }
+        for (FAQ faq : faqs.values()) {
+            faq.setSolutions(new ArrayList<>(solutions.getOrDefault(faq.getQuestionId(), Collections.emptyList())));
+        }
+        FAQView loaded = new FAQView(new ArrayList<>(faqs.values()));
+        synchronized (faqLock) {
+            if (faqView != null) {
+                return faqView; // another caller loaded it meanwhile
+            }
+            if (version == faqVersion) {
+                faqView = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop the cached FAQ view, e.g. after FAQs, questions or answers were written with plain SQL.
+     */
+    public void invalidateFAQView() {
+        synchronized (faqLock) {
+            faqVersion++;
+            faqView = null;
+        }
+    }
+
+    /**
+     * Apply a write to the cached FAQ view, if loaded. The version still moves so a load that
+     * raced the write is not kept.
+     */
+    private void updateFAQView(java.util.function.Consumer<FAQView> change) {
+        synchronized (faqLock) {
+            faqVersion++;
+            if (faqView != null) {
+                change.accept(faqView);
+            }
+        }
+    }
+
     /**
      * Update FAQ details
      */
     public boolean updateFAQ(FAQ faq) {
         String sql = "UPDATE faqs SET category = ?, display_title = ?, staff_notes = ? WHERE faq_id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, faq.getCategory());
             pstmt.setString(2, faq.getDisplayTitle());
             pstmt.setString(3, faq.getStaffNotes());
             pstmt.setInt(4, faq.getFaqId());
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                events.publish(new DataEvent.FaqUpdated(faq));
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error updating FAQ: " + e.getMessage());
@@ -1838,9 +3450,9 @@ public class DatabaseHelper {
      * @return true if at least one answer has is_solution = TRUE
      */
     public boolean questionHasSolution(int questionId) {
-        String sql = "SELECT COUNT(*) FROM answers WHERE question_id = ? AND is_solution = TRUE";
+        String sql = StatementRegistry.QUESTION_HAS_SOLUTION;
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, questionId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -1853,13 +3465,103 @@ public class DatabaseHelper {
         return false;
     }
 
+    /**
+     * Status flags of many questions at once, for drawing a page of the question table.
+     *
+     * <p>Statuses already cached are returned as they are; the rest are computed with one query
+     * and cached. The answer, FAQ and clarification writes update or drop the statuses they
+     * change, so redrawing the table only recounts questions that were written to.
+     *
+     * @param questionIds the questions on screen
+     * @return status per question id; ids of questions that do not exist are absent
+     */
+    public Map<Integer, QuestionStatus> getQuestionStatuses(Collection<Integer> questionIds) {
+        Map<Integer, QuestionStatus> statuses = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        int version;
+        synchronized (questionStatuses) {
+            version = questionStatusVersion;
+            for (int id : questionIds) {
+                QuestionStatus status = questionStatuses.get(id);
+                if (status != null) {
+                    statuses.put(id, status);
+                } else if (!missing.contains(id)) {
+                    missing.add(id);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return statuses;
+        }
+        String sql = "SELECT q.question_id, "
+                + "(SELECT COUNT(*) FROM answers a WHERE a.question_id = q.question_id) AS answer_count, "
+                + "(SELECT COUNT(*) FROM answers a WHERE a.question_id = q.question_id AND a.is_solution = TRUE) AS solution_count, "
+                + "(SELECT COUNT(*) FROM faqs f WHERE f.question_id = q.question_id) AS faq_count, "
+                + "(SELECT COUNT(*) FROM clarifications c WHERE c.question_id = q.question_id AND c.is_read = FALSE) AS unread_count "
+                + "FROM questions q WHERE q.question_id IN (" + String.join(", ", Collections.nCopies(missing.size(), "?")) + ")";
+        List<QuestionStatus> loaded = new ArrayList<>();
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < missing.size(); i++) {
+                pstmt.setInt(i + 1, missing.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    loaded.add(new QuestionStatus(rs.getInt("question_id"), rs.getInt("answer_count"),
+                            rs.getInt("solution_count"), rs.getInt("faq_count") > 0, rs.getInt("unread_count")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading question statuses: " + e.getMessage());
+            e.printStackTrace();
+            return statuses;
+        }
+        synchronized (questionStatuses) {
+            boolean keep = version == questionStatusVersion; // else a write may have missed these
+            for (QuestionStatus status : loaded) {
+                if (keep) {
+                    questionStatuses.put(status.getQuestionId(), status);
+                }
+                statuses.put(status.getQuestionId(), status);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Drop every cached question status, e.g. after answers or FAQs were written with plain SQL.
+     */
+    public void invalidateQuestionStatuses() {
+        synchronized (questionStatuses) {
+            questionStatusVersion++;
+            questionStatuses.clear();
+        }
+    }
+
+    /**
+     * Replace a cached question status, if there is one; a null result drops it.
+     */
+    private void updateQuestionStatus(int questionId, java.util.function.UnaryOperator<QuestionStatus> change) {
+        synchronized (questionStatuses) {
+            questionStatusVersion++;
+            QuestionStatus status = questionStatuses.get(questionId);
+            if (status != null) {
+                QuestionStatus updated = change.apply(status);
+                if (updated != null) {
+                    questionStatuses.put(questionId, updated);
+                } else {
+                    questionStatuses.remove(questionId);
+                }
+            }
+        }
+    }
+
     /**
      * Get the solution answer for a question
      */
     public Answer getSolutionForQuestion(int questionId) {
     	 String sql = "SELECT * FROM answers WHERE question_id = ? AND is_solution = TRUE LIMIT 1";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, questionId);
             ResultSet rs = pstmt.executeQuery();
             
@@ -1892,8 +3594,8 @@ public class DatabaseHelper {
     public List<Answer> getSolutionsForQuestion(int questionId) {
         List<Answer> solutions = new ArrayList<>();
         // Use boolean literal TRUE for H2 (don't compare BOOLEAN to INTEGER)
-        String sql = "SELECT * FROM answers WHERE question_id = ? AND is_solution = TRUE ORDER BY timestamp ASC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = StatementRegistry.SOLUTIONS_FOR_QUESTION;
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, questionId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -1939,28 +3641,12 @@ public class DatabaseHelper {
                      "FOREIGN KEY (created_by_staff_id) REFERENCES cse360users(id)" +
                      ")";
         
-        try (Statement stmt = connection.createStatement()) {
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
         }
     }
 
 
-    private void createAnnouncementReadsTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS announcement_reads (" +
-                     "read_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                     "announcement_id INT NOT NULL, " +
-                     "user_id INT NOT NULL, " +
-                     "read_date TIMESTAMP NOT NULL, " +
-                     "FOREIGN KEY (announcement_id) REFERENCES announcements(announcement_id), " +
-                     "FOREIGN KEY (user_id) REFERENCES cse360users(id), " +
-                     "UNIQUE(announcement_id, user_id)" +
-                     ")";
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
-        }
-    }
-
     /**
      * Persist a new Announcement.
      *
@@ -1975,7 +3661,7 @@ public class DatabaseHelper {
                      "display_type, created_by_staff_id, created_date, last_modified_date) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP())";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, announcement.getTitle());
             pstmt.setString(2, announcement.getContent());
             pstmt.setString(3, announcement.getPriority().name());
@@ -1991,6 +3677,14 @@ public class DatabaseHelper {
             pstmt.setInt(7, announcement.getCreatedByStaffId());
             
             int rowsAffected = pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    announcement.setAnnouncementId(keys.getInt(1));
+                }
+            }
+            if (rowsAffected > 0) {
+                events.publish(new DataEvent.AnnouncementPublished(announcement));
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error creating announcement: " + e.getMessage());
@@ -2011,32 +3705,11 @@ public class DatabaseHelper {
                      "LEFT JOIN cse360users u ON a.created_by_staff_id = u.id " +
                      "ORDER BY a.created_date DESC";
         
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                Announcement announcement = new Announcement();
-                announcement.setAnnouncementId(rs.getInt("announcement_id"));
-                announcement.setTitle(rs.getString("title"));
-                announcement.setContent(rs.getString("content"));
-                announcement.setPriority(Announcement.Priority.valueOf(rs.getString("priority")));
-                
-                Timestamp startTs = rs.getTimestamp("start_date");
-                announcement.setStartDate(startTs != null ? startTs.toLocalDateTime().toString() : null);
-                
-                Timestamp endTs = rs.getTimestamp("end_date");
-                announcement.setEndDate(endTs != null ? endTs.toLocalDateTime().toString() : null);
-                
-                announcement.setDisplayType(Announcement.DisplayType.valueOf(rs.getString("display_type")));
-                announcement.setCreatedByStaffId(rs.getInt("created_by_staff_id"));
-                announcement.setCreatedByStaffName(rs.getString("staff_name"));
-                
-                Timestamp createdTs = rs.getTimestamp("created_date");
-                announcement.setCreatedDate(createdTs != null ? createdTs.toLocalDateTime().toString() : null);
-                
-                Timestamp modifiedTs = rs.getTimestamp("last_modified_date");
-                announcement.setLastModifiedDate(modifiedTs != null ? modifiedTs.toLocalDateTime().toString() : null);
-                
+                Announcement announcement = mapAnnouncement(rs);
                 announcements.add(announcement);
             }
         } catch (SQLException e) {
@@ -2047,61 +3720,147 @@ public class DatabaseHelper {
     }
 
     /**
-     * Get active announcements for a user (H2 syntax)
+     * Load one page of announcements, newest first (same order as {@link #getAllAnnouncements()}).
+     *
+     * @param afterCursor {@link Page#getNextCursor()} of the previous page, or null for the first page
+     * @param limit page size (clamped to 1..{@link Page#MAX_LIMIT})
+     * @return the page; empty if the query fails
      */
-    public List<Announcement> getActiveAnnouncementsForUser(int userId) {
-        List<Announcement> announcements = new ArrayList<>();
-        Timestamp now = Timestamp.valueOf(java.time.LocalDateTime.now());
-        
-        String sql = "SELECT DISTINCT a.*, u.userName as staff_name " +
+    public Page<Announcement> getAnnouncementsPage(String afterCursor, int limit) {
+        int size = Page.clampLimit(limit);
+        List<Object> params = new ArrayList<>();
+        String predicate = keysetPredicate("a.created_date", "a.announcement_id", Page.decode(afterCursor), true, params);
+        params.add(size + 1);
+        String sql = "SELECT a.*, u.userName as staff_name " +
                      "FROM announcements a " +
-                     "LEFT JOIN cse360users u ON a.created_by_staff_id = u.id " +
-                     "LEFT JOIN announcement_reads ar ON a.announcement_id = ar.announcement_id AND ar.user_id = ? " +
-                     "WHERE a.start_date <= ? " +
-                     "AND (a.end_date IS NULL OR a.end_date >= ?) " +
-                     "AND (a.display_type = 'SHOW_ALWAYS' OR ar.read_id IS NULL) " +
-                     "ORDER BY CASE a.priority " +
-                     "  WHEN 'URGENT' THEN 1 " +
-                     "  WHEN 'IMPORTANT' THEN 2 " +
-                     "  WHEN 'NORMAL' THEN 3 " +
-                     "END, a.created_date DESC";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setTimestamp(2, now);
-            pstmt.setTimestamp(3, now);
-            
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Announcement announcement = new Announcement();
-                announcement.setAnnouncementId(rs.getInt("announcement_id"));
-                announcement.setTitle(rs.getString("title"));
-                announcement.setContent(rs.getString("content"));
-                announcement.setPriority(Announcement.Priority.valueOf(rs.getString("priority")));
-                
-                Timestamp startTs = rs.getTimestamp("start_date");
-                announcement.setStartDate(startTs != null ? startTs.toLocalDateTime().toString() : null);
-                
-                Timestamp endTs = rs.getTimestamp("end_date");
-                announcement.setEndDate(endTs != null ? endTs.toLocalDateTime().toString() : null);
-                
-                announcement.setDisplayType(Announcement.DisplayType.valueOf(rs.getString("display_type")));
-                announcement.setCreatedByStaffId(rs.getInt("created_by_staff_id"));
-                announcement.setCreatedByStaffName(rs.getString("staff_name"));
-                
-                Timestamp createdTs = rs.getTimestamp("created_date");
-                announcement.setCreatedDate(createdTs != null ? createdTs.toLocalDateTime().toString() : null);
-                
-                Timestamp modifiedTs = rs.getTimestamp("last_modified_date");
-                announcement.setLastModifiedDate(modifiedTs != null ? modifiedTs.toLocalDateTime().toString() : null);
-                
+                     "LEFT JOIN cse360users u ON a.created_by_staff_id = u.id" +
+                     (predicate == null ? "" : " WHERE " + predicate) +
+                     keysetOrder("a.created_date", "a.announcement_id", true) +
+                     " LIMIT ?";
+
+        List<Announcement> rows = new ArrayList<>();
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            bindParams(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapAnnouncement(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading announcements page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return toPage(rows, size, a -> Page.encode(
+                toTimestamp(a.getCreatedDate()),
+                a.getAnnouncementId()));
+    }
+
+    /**
+     * Map the current row of an announcements query that also selects {@code staff_name}.
+     */
+    private static Announcement mapAnnouncement(ResultSet rs) throws SQLException {
+        Announcement announcement = new Announcement();
+        announcement.setAnnouncementId(rs.getInt("announcement_id"));
+        announcement.setTitle(rs.getString("title"));
+        announcement.setContent(rs.getString("content"));
+        announcement.setPriority(Announcement.Priority.valueOf(rs.getString("priority")));
+
+        Timestamp startTs = rs.getTimestamp("start_date");
+        announcement.setStartDate(startTs != null ? startTs.toLocalDateTime().toString() : null);
+
+        Timestamp endTs = rs.getTimestamp("end_date");
+        announcement.setEndDate(endTs != null ? endTs.toLocalDateTime().toString() : null);
+
+        announcement.setDisplayType(Announcement.DisplayType.valueOf(rs.getString("display_type")));
+        announcement.setCreatedByStaffId(rs.getInt("created_by_staff_id"));
+        announcement.setCreatedByStaffName(rs.getString("staff_name"));
+
+        Timestamp createdTs = rs.getTimestamp("created_date");
+        announcement.setCreatedDate(createdTs != null ? createdTs.toLocalDateTime().toString() : null);
+
+        Timestamp modifiedTs = rs.getTimestamp("last_modified_date");
+        announcement.setLastModifiedDate(modifiedTs != null ? modifiedTs.toLocalDateTime().toString() : null);
+
+        return announcement;
+    }
+
+    /**
+     * Get the active announcements a user should see: every active SHOW_ALWAYS announcement and
+     * the SHOW_ONCE ones they have not read yet, urgent first, then newest first.
+     *
+     * <p>The active set is cached in {@link ActiveAnnouncements} and read marks in one
+     * {@link ReadBitmap} per announcement, so once both are loaded this runs no query.
+     */
+    public List<Announcement> getActiveAnnouncementsForUser(int userId) {
+        QueryMetrics.Operation op = beginOperation();
+        try {
+            List<Announcement> active = getActiveAnnouncements().getActive();
+            List<Announcement> announcements = new ArrayList<>(active.size());
+            for (Announcement announcement : active) {
+                if (announcement.getDisplayType() != Announcement.DisplayType.SHOW_ALWAYS) {
+                    // unknown read state: show it rather than hide something unread
+                    ReadBitmap readers = readersOf(announcement.getAnnouncementId());
+                    if (readers != null && readers.contains(userId)) {
+                        continue;
+                    }
+                }
                 announcements.add(announcement);
             }
+            return announcements;
+        } finally {
+            endOperation(op);
+        }
+    }
+
+    /**
+     * @return the cached active announcements, loading them if an announcement write dropped them
+     */
+    public ActiveAnnouncements getActiveAnnouncements() {
+        int version;
+        synchronized (announcementLock) {
+            if (activeAnnouncements != null) {
+                return activeAnnouncements;
+            }
+            version = announcementsVersion;
+        }
+        // Load outside the lock: the writes that drop the cache must not wait for a connection
+        List<Announcement> notEnded = new ArrayList<>();
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.ANNOUNCEMENTS_NOT_ENDED)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(java.time.LocalDateTime.now()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    notEnded.add(mapAnnouncement(rs));
+                }
+            }
         } catch (SQLException e) {
             System.err.println("Error loading active announcements: " + e.getMessage());
             e.printStackTrace();
+            return new ActiveAnnouncements(Collections.emptyList()); // not kept, so the next call retries
+        }
+        ActiveAnnouncements loaded = new ActiveAnnouncements(notEnded);
+        synchronized (announcementLock) {
+            if (activeAnnouncements != null) {
+                return activeAnnouncements; // another caller loaded it meanwhile
+            }
+            if (version == announcementsVersion) {
+                loaded.startTimer();
+                activeAnnouncements = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop the cached active announcements, e.g. after announcements were written with plain SQL.
+     */
+    public void invalidateActiveAnnouncements() {
+        synchronized (announcementLock) {
+            announcementsVersion++;
+            if (activeAnnouncements != null) {
+                activeAnnouncements.close();
+                activeAnnouncements = null;
+            }
         }
-        return announcements;
     }
 
     /**
@@ -2112,7 +3871,7 @@ public class DatabaseHelper {
                      "start_date = ?, end_date = ?, display_type = ?, last_modified_date = CURRENT_TIMESTAMP() " +
                      "WHERE announcement_id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, announcement.getTitle());
             pstmt.setString(2, announcement.getContent());
             pstmt.setString(3, announcement.getPriority().name());
@@ -2128,6 +3887,9 @@ public class DatabaseHelper {
             pstmt.setInt(7, announcement.getAnnouncementId());
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                events.publish(new DataEvent.AnnouncementUpdated(announcement));
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error updating announcement: " + e.getMessage());
@@ -2140,18 +3902,23 @@ public class DatabaseHelper {
      * Delete an announcement (H2 syntax)
      */
     public boolean deleteAnnouncement(int announcementId) {
-        // First delete all read records
-        String deleteReads = "DELETE FROM announcement_reads WHERE announcement_id = ?";
+        // First delete the read receipts
+        String deleteReads = "DELETE FROM announcement_read_bitmaps WHERE announcement_id = ?";
         String deleteAnnouncement = "DELETE FROM announcements WHERE announcement_id = ?";
         
-        try (PreparedStatement pstmt1 = connection.prepareStatement(deleteReads);
-             PreparedStatement pstmt2 = connection.prepareStatement(deleteAnnouncement)) {
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt1 = conn.prepareStatement(deleteReads);
+             PreparedStatement pstmt2 = conn.prepareStatement(deleteAnnouncement)) {
             
             pstmt1.setInt(1, announcementId);
             pstmt1.executeUpdate();
             
             pstmt2.setInt(1, announcementId);
             int rowsAffected = pstmt2.executeUpdate();
+            announcementReaders.remove(announcementId);
+            announcementReaderWriteLocks.remove(announcementId);
+            if (rowsAffected > 0) {
+                events.publish(new DataEvent.AnnouncementDeleted(announcementId));
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting announcement: " + e.getMessage());
@@ -2160,27 +3927,43 @@ public class DatabaseHelper {
     }
 
     /**
-     * Create or update a user->announcement read mark.
+     * Record that a user has read an announcement.
      *
-     * Uses a MERGE/UPSERT pattern so calling this repeatedly is idempotent.
+     * <p>The user is added to the announcement's {@link ReadBitmap} and the bitmap is stored
+     * again. Calling this repeatedly is idempotent: a user who already read it costs no write.
+     * If the stored readers cannot be loaded nothing is written, so they are never overwritten.
      *
      * @param announcementId the announcement id to mark as read
      * @param userId the user id who read it
      * @return true on success, false otherwise
      */
     public boolean markAnnouncementAsRead(int announcementId, int userId) {
-        String sql = "MERGE INTO announcement_reads (announcement_id, user_id, read_date) " +
-                     "KEY(announcement_id, user_id) VALUES (?, ?, CURRENT_TIMESTAMP())";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, announcementId);
-            pstmt.setInt(2, userId);
-            
-            pstmt.executeUpdate();
+        QueryMetrics.Operation op = beginOperation();
+        try {
+            ReadBitmap readers = readersOf(announcementId);
+            if (readers == null) {
+                return false;
+            }
+            synchronized (announcementReaderWriteLocks.computeIfAbsent(announcementId, id -> new Object())) {
+                if (!readers.add(userId)) {
+                    return true;
+                }
+                try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.SAVE_ANNOUNCEMENT_READERS)) {
+                    // no other writer runs under the write lock, so count and bytes match
+                    pstmt.setInt(1, announcementId);
+                    pstmt.setInt(2, readers.getCardinality());
+                    pstmt.setBytes(3, readers.toBytes());
+                    pstmt.executeUpdate();
+                } catch (SQLException e) {
+                    readers.remove(userId); // keep memory in step with what is stored
+                    System.err.println("Error marking announcement as read: " + e.getMessage());
+                    return false;
+                }
+            }
+            events.publish(new DataEvent.AnnouncementMarkedRead(announcementId, userId));
             return true;
-        } catch (SQLException e) {
-            System.err.println("Error marking announcement as read: " + e.getMessage());
-            return false;
+        } finally {
+            endOperation(op);
         }
     }
 
@@ -2189,23 +3972,64 @@ public class DatabaseHelper {
      *
      * @param announcementId announcement id
      * @param userId user id
-     * @return true if mark exists, false otherwise
+     * @return true if mark exists, false otherwise (also if the read marks could not be loaded)
      */
     public boolean hasUserReadAnnouncement(int announcementId, int userId) {
-        String sql = "SELECT COUNT(*) FROM announcement_reads WHERE announcement_id = ? AND user_id = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, announcementId);
-            pstmt.setInt(2, userId);
-            
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+        ReadBitmap readers = readersOf(announcementId);
+        return readers != null && readers.contains(userId);
+    }
+
+    /**
+     * @param announcementId announcement id
+     * @return how many users have read it (0 if the read marks could not be loaded)
+     */
+    public int getAnnouncementReadCount(int announcementId) {
+        ReadBitmap readers = readersOf(announcementId);
+        return readers == null ? 0 : readers.getCardinality();
+    }
+
+    /**
+     * Read counts of every announcement anyone has read, from the stored counters (no bitmap
+     * is decoded).
+     *
+     * @return announcement id to number of readers; announcements nobody read are absent
+     */
+    public Map<Integer, Integer> getAnnouncementReadCounts() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(StatementRegistry.ANNOUNCEMENT_READ_COUNTS)) {
+            while (rs.next()) {
+                counts.put(rs.getInt("announcement_id"), rs.getInt("reader_count"));
             }
         } catch (SQLException e) {
+            System.err.println("Error loading announcement read counts: " + e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * The cached read bitmap of an announcement, loaded on first use. An announcement nobody has
+     * read yet (no stored row) gets an empty bitmap.
+     *
+     * @return the bitmap, or null if it could not be loaded; a failed load is not cached, so the
+     *         next call tries again
+     */
+    private ReadBitmap readersOf(int announcementId) {
+        ReadBitmap readers = announcementReaders.get(announcementId);
+        if (readers != null) {
+            return readers;
+        }
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.ANNOUNCEMENT_READERS)) {
+            pstmt.setInt(1, announcementId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                readers = ReadBitmap.fromBytes(rs.next() ? rs.getBytes(1) : null);
+            }
+        } catch (SQLException | IllegalArgumentException e) {
             System.err.println("Error checking announcement read status: " + e.getMessage());
+            return null;
         }
-        return false;
+        ReadBitmap raced = announcementReaders.putIfAbsent(announcementId, readers);
+        return raced != null ? raced : readers;
     }
-    
+
 }
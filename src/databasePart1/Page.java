@@ -0,0 +1,121 @@
+package databasePart1;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query, plus the continuation token for the next page.
+ *
+ * <p>Paged queries in {@link DatabaseHelper} order by an existing column pair such as
+ * (timestamp, id) or just id, and resume <em>after</em> the last row of the previous page
+ * instead of using OFFSET, so a deep page does not read and discard every row before it.
+ * Each (timestamp, id) query has a NOT NULL sort key and an index sorted in its direction,
+ * which the cursor predicate bounds as a range.
+ *
+ * <p>Pass {@code null} as the cursor to fetch the first page, then pass
+ * {@link #getNextCursor()} to fetch the following one. The cursor is an opaque string;
+ * callers should not parse it.
+ *
+ * @param <T> row type
+ */
+public class Page<T> {
+
+    /** Upper bound on the page size callers may request. */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Sort order for paged queries that are keyed on (timestamp, id).
+     */
+    public enum Sort {
+        NEWEST_FIRST,
+        OLDEST_FIRST
+    }
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /** @return rows on this page, in query order */
+    public List<T> getItems() { return items; }
+
+    /** @return token for the next page, or null if this is the last page */
+    public String getNextCursor() { return nextCursor; }
+
+    /** @return true if another page is available */
+    public boolean hasMore() { return nextCursor != null; }
+
+    /* -------------------- Cursor encoding -------------------- */
+
+    /**
+     * Decoded position of the last row of a page.
+     */
+    static final class Cursor {
+        final Timestamp timestamp; // null for id-only and ranked cursors
+        final Integer rank;        // only for ranked cursors
+        final int id;
+
+        Cursor(Timestamp timestamp, int id) {
+            this(timestamp, null, id);
+        }
+
+        Cursor(Timestamp timestamp, Integer rank, int id) {
+            this.timestamp = timestamp;
+            this.rank = rank;
+            this.id = id;
+        }
+    }
+
+    static String encode(Timestamp timestamp, int id) {
+        String raw = (timestamp == null ? "" : timestamp.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String encode(int id) {
+        return encode(null, id);
+    }
+
+    /**
+     * Cursor for a list ordered by an integer rank, then id (e.g. an in-memory feed).
+     */
+    static String encodeRanked(int rank, int id) {
+        String raw = "#" + rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor token from {@link #getNextCursor()}, or null
+     * @return decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.lastIndexOf('|');
+            String ts = raw.substring(0, bar);
+            int id = Integer.parseInt(raw.substring(bar + 1));
+            if (ts.startsWith("#")) {
+                return new Cursor(null, Integer.parseInt(ts.substring(1)), id);
+            }
+            return new Cursor(ts.isEmpty() ? null : Timestamp.valueOf(ts), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Clamp a requested page size to 1..{@link #MAX_LIMIT}.
+     */
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,519 @@
+package databasePart1;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing for everything that goes through a {@link ConnectionPool}.
+ *
+ * <p>Two views are kept:
+ * <ul>
+ *   <li><b>Operations</b>: one per {@link DatabaseHelper} method call, from the outermost borrow of a
+ *       connection to its release (pool wait included). Nested helper calls on the same thread count
+ *       towards the outer method, and a method that borrows more than once in a row wraps its body
+ *       in {@link #begin()}/{@link #end} so its borrows count as one call. Callers outside
+ *       {@code DatabaseHelper} are named {@code Class.method}.</li>
+ *   <li><b>Statements</b>: one per executed statement, keyed by its {@link StatementRegistry} name
+ *       (or the SQL text for unnamed SQL), the same keys as {@link StatementCache.Counters}.</li>
+ * </ul>
+ * Each keeps a call count, errors, rows (rows read from result sets plus update counts) and a
+ * latency histogram with p50/p95/p99.
+ *
+ * <p>Statements slower than the slow-query threshold ({@code -Dcse360.db.slowquery.ms}, default
+ * 250 ms) are reported on {@code System.err} with their SQL and
+ * bind parameters, and the last {@value #SLOW_LOG_SIZE} are kept for {@link #getSlowQueries()}.
+ * Parameters of SQL that touches a password column are not logged.
+ *
+ * <p>{@link DatabaseHelper} registers its pool's instance as the JMX MBean
+ * {@code cse360:type=QueryMetrics,db="<url>"}, so the same numbers can be read from JConsole or
+ * VisualVM while the application is under load. Instrumentation can be switched off with
+ * {@code -Dcse360.db.metrics=false}.
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+
+    /** Whether pools instrument their connections at all. */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("cse360.db.metrics", "true"));
+
+    /** Slow-query threshold unless configured otherwise; 0 or less disables the slow-query log. */
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = Long.getLong("cse360.db.slowquery.ms", 250);
+
+    /** Slow queries kept in memory. */
+    public static final int SLOW_LOG_SIZE = 100;
+
+    private static final int MAX_LOGGED_VALUE = 80;
+
+    private final Map<String, Stats> operations = new ConcurrentHashMap<>();
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final ThreadLocal<Operation> current = new ThreadLocal<>();
+    private volatile long slowQueryNanos = DEFAULT_SLOW_QUERY_MILLIS * 1_000_000;
+
+    /* -------------------- Recording -------------------- */
+
+    /**
+     * One data-access call in progress. Only touched by the thread that began it.
+     */
+    static final class Operation {
+        final String name;
+        final long startNanos = System.nanoTime();
+        long rows = 0;
+        boolean failed = false;
+        int depth = 1;
+
+        Operation(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Start timing an operation for the calling thread, or join the one it already has open.
+     *
+     * @return the operation, or null if instrumentation is off
+     */
+    Operation begin() {
+        if (!ENABLED) {
+            return null;
+        }
+        Operation op = current.get();
+        if (op != null) {
+            op.depth++;
+            return op;
+        }
+        op = new Operation(callerName());
+        current.set(op);
+        return op;
+    }
+
+    /**
+     * Finish an operation started by {@link #begin()}. It is recorded once the outermost
+     * {@code begin()} on the thread has ended.
+     *
+     * @param op operation (null is ignored)
+     * @param failed whether the borrow itself failed
+     */
+    void end(Operation op, boolean failed) {
+        if (op == null) {
+            return;
+        }
+        op.failed |= failed;
+        if (--op.depth > 0) {
+            return;
+        }
+        current.remove();
+        operations.computeIfAbsent(op.name, Stats::new)
+                .record(System.nanoTime() - op.startNanos, op.rows, op.failed);
+    }
+
+    /**
+     * Wrap a statement so its executions are timed.
+     *
+     * @param statement statement from the physical connection (or the statement cache)
+     * @param sql SQL it was prepared with, or null for a plain {@link Statement}
+     * @param op operation it belongs to
+     * @return timed statement implementing the same JDBC interface
+     */
+    Statement instrument(Statement statement, String sql, Operation op) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[] { type }, new TimedStatement(statement, sql, op));
+    }
+
+    /**
+     * Name of the data-access method that borrowed the connection: the outermost
+     * {@link DatabaseHelper} frame of the current call, or the first caller outside the pool.
+     */
+    private static String callerName() {
+        return StackWalker.getInstance().walk(frames -> {
+            String helper = DatabaseHelper.class.getName();
+            String inHelper = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                if (cls.equals(QueryMetrics.class.getName()) || cls.equals(ConnectionPool.class.getName())) {
+                    continue;
+                }
+                if (cls.equals(helper)) {
+                    inHelper = methodName(f.getMethodName());
+                    continue;
+                }
+                if (inHelper != null) {
+                    return inHelper;
+                }
+                return cls.substring(cls.lastIndexOf('.') + 1) + "." + methodName(f.getMethodName());
+            }
+            return inHelper != null ? inHelper : "unknown";
+        });
+    }
+
+    private static String methodName(String method) {
+        // lambda$loadAllQs$3 -> loadAllQs
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+
+    private Stats recordStatement(String sql, long nanos, long rows, boolean failed, Operation op, Object[] params) {
+        String name = StatementRegistry.nameOf(sql);
+        Stats stats = statements.computeIfAbsent(name, Stats::new);
+        stats.record(nanos, rows, failed);
+        long threshold = slowQueryNanos;
+        if (threshold > 0 && nanos >= threshold) {
+            SlowQuery slow = new SlowQuery(op.name, name, sql, formatParameters(sql, params), nanos);
+            synchronized (slowQueries) {
+                if (slowQueries.size() >= SLOW_LOG_SIZE) {
+                    slowQueries.pollFirst();
+                }
+                slowQueries.addLast(slow);
+            }
+            System.err.println("Slow query: " + slow);
+        }
+        return stats;
+    }
+
+    private static String formatParameters(String sql, Object[] params) {
+        if (params == null) {
+            return "[]";
+        }
+        if (sql.toLowerCase().contains("password")) {
+            return "[hidden]";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 1; i < params.length; i++) { // JDBC parameters are 1-based
+            if (i > 1) sb.append(", ");
+            Object v = params[i];
+            if (v instanceof String) {
+                String s = (String) v;
+                sb.append('\'').append(s.length() > MAX_LOGGED_VALUE ? s.substring(0, MAX_LOGGED_VALUE) + "..." : s).append('\'');
+            } else {
+                sb.append(v);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Times execute calls and remembers bind parameters for the slow-query log.
+     */
+    private final class TimedStatement implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final Operation op;
+        private Object[] params;
+
+        TimedStatement(Statement target, String sql, Operation op) {
+            this.target = target;
+            this.sql = sql;
+            this.op = op;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getDeclaringClass() != Statement.class) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params = null;
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return invokeTarget(method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(method, args);
+            } catch (Throwable e) {
+                op.failed = true;
+                recordStatement(String.valueOf(executed), System.nanoTime() - start, 0, true, op, params);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long rows = 0;
+            if (result instanceof Integer || result instanceof Long) {
+                rows = Math.max(0, ((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int n : (int[]) result) rows += Math.max(0, n);
+            } else if (result instanceof long[]) {
+                for (long n : (long[]) result) rows += Math.max(0, n);
+            }
+            op.rows += rows;
+            Stats stats = recordStatement(String.valueOf(executed), elapsed, rows, false, op, params);
+            if (result instanceof ResultSet) {
+                return countRows((ResultSet) result, stats, op);
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            // sized to the highest index bound, so the log shows exactly the parameters set
+            if (params == null || index >= params.length) {
+                params = Arrays.copyOf(params == null ? new Object[0] : params, index + 1);
+            }
+            params[index] = value;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Wrap a result set so rows read from it are added to the statement and operation totals.
+     */
+    private static ResultSet countRows(ResultSet rs, Stats stats, Operation op) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        op.rows++;
+                        stats.rows.increment();
+                    }
+                    return result;
+                });
+    }
+
+    /* -------------------- Queries (also exposed over JMX) -------------------- */
+
+    /** @return per-method statistics, most total time first */
+    @Override
+    public List<Stats> getOperations() {
+        return sorted(operations);
+    }
+
+    /** @return per-statement statistics, most total time first */
+    @Override
+    public List<Stats> getStatements() {
+        return sorted(statements);
+    }
+
+    /**
+     * @param name {@link DatabaseHelper} method name (or {@code Class.method})
+     * @return statistics for that operation, or null if it never ran
+     */
+    public Stats getOperation(String name) {
+        return operations.get(name);
+    }
+
+    /**
+     * @param name {@link StatementRegistry} name, or SQL text for unnamed SQL
+     * @return statistics for that statement, or null if it never ran
+     */
+    public Stats getStatement(String name) {
+        return statements.get(name);
+    }
+
+    /** @return the most recent slow queries, oldest first */
+    @Override
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryNanos / 1_000_000;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryNanos = millis * 1_000_000;
+    }
+
+    @Override
+    public void reset() {
+        operations.clear();
+        statements.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    @Override
+    public String summary(int top) {
+        StringBuilder sb = new StringBuilder("Top operations by total time:");
+        List<Stats> ops = getOperations();
+        for (int i = 0; i < Math.min(top, ops.size()); i++) {
+            sb.append(System.lineSeparator()).append("  ").append(ops.get(i));
+        }
+        return sb.toString();
+    }
+
+    private static List<Stats> sorted(Map<String, Stats> map) {
+        List<Stats> list = new ArrayList<>(map.values());
+        list.sort(Comparator.comparingDouble(Stats::getTotalMillis).reversed());
+        return list;
+    }
+
+    /* -------------------- Value types -------------------- */
+
+    /**
+     * Counters and latency histogram for one operation or statement. Latencies go into
+     * buckets about 25% wide, so percentiles are accurate to that resolution.
+     */
+    public static class Stats {
+        // 4 sub-buckets per power of two of microseconds; 160 buckets reach beyond 10^12 us
+        private static final int BUCKETS = 160;
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, long rowCount, boolean failed) {
+            count.increment();
+            if (failed) errors.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucket(nanos / 1000));
+        }
+
+        static int bucket(long micros) {
+            if (micros < 4) {
+                return (int) Math.max(0, micros);
+            }
+            int msb = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (msb - 2)) & 3;
+            return Math.min(BUCKETS - 1, (msb - 1) * 4 + sub);
+        }
+
+        /** Exclusive upper bound of a bucket, in microseconds. */
+        static long bucketLimit(int bucket) {
+            if (bucket < 4) {
+                return bucket + 1;
+            }
+            int msb = bucket / 4 + 1;
+            long lower = (4L + bucket % 4) << (msb - 2);
+            return lower + (1L << (msb - 2));
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return latency in milliseconds that this share of calls stayed under
+         */
+        public double percentileMillis(double percentile) {
+            long total = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = histogram.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(bucketLimit(i) / 1000.0, getMaxMillis());
+                }
+            }
+            return getMaxMillis();
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getRows() { return rows.sum(); }
+        public double getTotalMillis() { return totalNanos.sum() / 1_000_000.0; }
+        public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : getTotalMillis() / n;
+        }
+
+        public double getP50Millis() { return percentileMillis(50); }
+        public double getP95Millis() { return percentileMillis(95); }
+        public double getP99Millis() { return percentileMillis(99); }
+
+        @Override
+        public String toString() {
+            return String.format("%s calls=%d errors=%d rows=%d total=%.1fms p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms",
+                    name, getCount(), getErrors(), getRows(), getTotalMillis(),
+                    getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+        }
+    }
+
+    /**
+     * One entry of the slow-query log.
+     */
+    public static class SlowQuery {
+        private final String timestamp = LocalDateTime.now().toString();
+        private final String operation;
+        private final String statement;
+        private final String sql;
+        private final String parameters;
+        private final double millis;
+
+        SlowQuery(String operation, String statement, String sql, String parameters, long nanos) {
+            this.operation = operation;
+            this.statement = statement;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.millis = nanos / 1_000_000.0;
+        }
+
+        public String getTimestamp() { return timestamp; }
+        public String getOperation() { return operation; }
+        /** @return {@link StatementRegistry} name, or the SQL text for unnamed SQL */
+        public String getStatement() { return statement; }
+        public String getSql() { return sql; }
+        public String getParameters() { return parameters; }
+        public double getMillis() { return millis; }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f ms in %s: %s %s", millis, operation, sql, parameters);
+        }
+    }
+}
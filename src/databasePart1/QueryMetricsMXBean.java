@@ -0,0 +1,33 @@
+package databasePart1;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link QueryMetrics}. Registered by {@link DatabaseHelper#connectToDatabase()}
+ * as {@code cse360:type=QueryMetrics,db="<url>"}.
+ */
+public interface QueryMetricsMXBean {
+
+    /** @return per-method statistics, most total time first */
+    List<QueryMetrics.Stats> getOperations();
+
+    /** @return per-statement statistics, most total time first */
+    List<QueryMetrics.Stats> getStatements();
+
+    /** @return the most recent slow queries, oldest first */
+    List<QueryMetrics.SlowQuery> getSlowQueries();
+
+    /** @return statements at least this slow are logged; 0 or less means the log is off */
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    /**
+     * @param top number of operations to list
+     * @return the operations that took the most total time, one per line
+     */
+    String summary(int top);
+
+    /** Clear all statistics and the slow-query log. */
+    void reset();
+}
@@ -0,0 +1,303 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.ReadBitmap;
+
+/**
+ * Versioned schema migrations applied on top of the base tables created by
+ * {@link DatabaseHelper#connectToDatabase()}.
+ *
+ * <p>The {@code schema_version} table records every migration applied to a database file.
+ * On connect, {@link #migrate(Connection)} runs the pending migrations in version order, so
+ * existing {@code ~/FoundationDatabase} files upgrade automatically. A migration is recorded
+ * only once all of its steps succeeded.
+ *
+ * <p>Migrations are <b>not</b> atomic: H2 commits the open transaction on every DDL statement
+ * (CREATE, ALTER, DROP), so the steps that ran before a failure stay applied. That is why every
+ * step must be idempotent (e.g. {@code CREATE INDEX IF NOT EXISTS}, {@code ADD COLUMN IF NOT
+ * EXISTS}, updates that can run twice): a migration that failed or was interrupted half-way is
+ * simply run again, from its first step, on the next connect.
+ *
+ * <p>To change the schema, append a new {@link Migration} with the next version number to
+ * {@link #MIGRATIONS}. Never edit or reorder a migration that has already shipped.
+ */
+public final class SchemaMigrations {
+
+    /**
+     * One unit of work inside a migration.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A numbered, described list of steps.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<Step> steps;
+
+        Migration(int version, String description, List<Step> steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = steps;
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+    }
+
+    private SchemaMigrations() {}
+
+    /**
+     * Assigns every message without a thread to the thread of its (lower id, higher id) user pair,
+     * creating missing threads, then recomputes each thread's last message and read watermarks.
+     * A participant's watermark is the id just below their oldest unread message in the thread.
+     * Used by migration 3 and by {@link DatabaseHelper#rebuildMessageThreads()} after messages
+     * are written with plain SQL.
+     */
+    static final String[] THREAD_BACKFILL = {
+            "INSERT INTO message_threads (user_low, user_high) "
+                    + "SELECT DISTINCT LEAST(m.sender_id, m.recipient_id), GREATEST(m.sender_id, m.recipient_id) "
+                    + "FROM privateMessages m WHERE m.thread_id IS NULL AND NOT EXISTS ("
+                    + "SELECT 1 FROM message_threads t WHERE t.user_low = LEAST(m.sender_id, m.recipient_id) "
+                    + "AND t.user_high = GREATEST(m.sender_id, m.recipient_id))",
+            "UPDATE privateMessages m SET thread_id = (SELECT t.thread_id FROM message_threads t "
+                    + "WHERE t.user_low = LEAST(m.sender_id, m.recipient_id) "
+                    + "AND t.user_high = GREATEST(m.sender_id, m.recipient_id)) "
+                    + "WHERE m.thread_id IS NULL",
+            "UPDATE message_threads t SET "
+                    + "last_message_id = COALESCE((SELECT MAX(m.id) FROM privateMessages m WHERE m.thread_id = t.thread_id), 0), "
+                    + "last_activity = (SELECT MAX(m.timestamp) FROM privateMessages m WHERE m.thread_id = t.thread_id)",
+            "UPDATE message_threads t SET "
+                    + "low_read_upto = COALESCE((SELECT MIN(m.id) - 1 FROM privateMessages m WHERE m.thread_id = t.thread_id "
+                    + "AND m.recipient_id = t.user_low AND m.is_read = FALSE), t.last_message_id), "
+                    + "high_read_upto = COALESCE((SELECT MIN(m.id) - 1 FROM privateMessages m WHERE m.thread_id = t.thread_id "
+                    + "AND m.recipient_id = t.user_high AND m.is_read = FALSE), t.last_message_id)"
+    };
+
+    /** The User.Role bit of the role name in place of '?' (0 for an unknown name), as of migration 7. */
+    private static final String ROLE_BIT_SQL = "CASE UPPER(TRIM(?)) WHEN 'ADMIN' THEN 1 WHEN 'INSTRUCTOR' THEN 2 "
+            + "WHEN 'STUDENT' THEN 4 WHEN 'REVIEWER' THEN 8 WHEN 'TA' THEN 16 WHEN 'STAFF' THEN 32 ELSE 0 END";
+
+    /** Wrap plain DDL/DML statements as steps. */
+    private static List<Step> sql(String... statements) {
+        List<Step> steps = new ArrayList<>();
+        for (String s : statements) {
+            steps.add(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(s);
+                }
+            });
+        }
+        return steps;
+    }
+
+    /**
+     * All migrations, in version order.
+     */
+    static final List<Migration> MIGRATIONS = Collections.unmodifiableList(List.of(
+            new Migration(1, "Secondary indexes for hot lookups", sql(
+                    // loadAnswersForQs, questionHasSolution, getSolutionsForQuestion
+                    "CREATE INDEX IF NOT EXISTS idx_answers_question_solution ON answers(question_id, is_solution)",
+                    // searchAnswers(isSolution) / FAQ solution lookups
+                    "CREATE INDEX IF NOT EXISTS idx_answers_solution ON answers(is_solution)",
+                    // getMessagesForUser / getSentMessagesForUser (both ORDER BY timestamp)
+                    "CREATE INDEX IF NOT EXISTS idx_messages_recipient_time ON privateMessages(recipient_id, timestamp)",
+                    "CREATE INDEX IF NOT EXISTS idx_messages_sender_time ON privateMessages(sender_id, timestamp)",
+                    // loadClarificationsForUser
+                    "CREATE INDEX IF NOT EXISTS idx_clarifications_recipient ON clarifications(recipient_id)",
+                    // loadReviewsForAnswer
+                    "CREATE INDEX IF NOT EXISTS idx_reviews_answer ON reviews(answer_id)",
+                    // getQuestionsByUser / getQuestionByUser
+                    "CREATE INDEX IF NOT EXISTS idx_questions_author ON questions(author)",
+                    // isQuestionMarkedAsFAQ / removeQuestionFromFAQ
+                    "CREATE INDEX IF NOT EXISTS idx_faqs_question ON faqs(question_id)",
+                    // allUserRoles / addUserRoles duplicate check / deleteUserRole
+                    "CREATE INDEX IF NOT EXISTS idx_userroles_user_role ON UserRoles(userName, role)"
+            )),
+            new Migration(2, "Keyset pagination sort keys", sql(
+                    // loadQuestionsPage
+                    "CREATE INDEX IF NOT EXISTS idx_questions_time_id ON questions(timestamp, question_id)",
+                    // getAnnouncementsPage
+                    "CREATE INDEX IF NOT EXISTS idx_announcements_created_id ON announcements(created_date, announcement_id)"
+            )),
+            new Migration(3, "Conversation threads for private messages", concat(sql(
+                    "CREATE TABLE IF NOT EXISTS message_threads ("
+                            + "thread_id INT AUTO_INCREMENT PRIMARY KEY, "
+                            + "user_low INT NOT NULL, "
+                            + "user_high INT NOT NULL, "
+                            + "last_message_id INT DEFAULT 0, "
+                            + "last_activity TIMESTAMP, "
+                            + "low_read_upto INT DEFAULT 0, "
+                            + "high_read_upto INT DEFAULT 0, "
+                            + "UNIQUE (user_low, user_high))",
+                    "ALTER TABLE privateMessages ADD COLUMN IF NOT EXISTS thread_id INT",
+                    // getMessagesBetweenUsers / markThreadRead
+                    "CREATE INDEX IF NOT EXISTS idx_messages_thread_time ON privateMessages(thread_id, timestamp)"
+            ), sql(THREAD_BACKFILL))),
+            new Migration(4, "Announcement read receipts as one bitmap per announcement", concat(sql(
+                    "CREATE TABLE IF NOT EXISTS announcement_read_bitmaps ("
+                            + "announcement_id INT PRIMARY KEY, "
+                            + "reader_count INT NOT NULL DEFAULT 0, "
+                            + "readers VARBINARY, "
+                            + "FOREIGN KEY (announcement_id) REFERENCES announcements(announcement_id))"
+            ), List.of(SchemaMigrations::backfillReadBitmaps))),
+            new Migration(5, "Per-question status lookups", sql(
+                    // getQuestionStatuses (unread clarifications per question)
+                    "CREATE INDEX IF NOT EXISTS idx_clarifications_question_read ON clarifications(question_id, is_read)"
+            )),
+            new Migration(6, "Trusted review feeds", sql(
+                    // getTrustedReviewFeed (reviews joined on their author)
+                    "CREATE INDEX IF NOT EXISTS idx_reviews_user ON reviews(user_id)"
+            )),
+            new Migration(7, "Role bit masks on cse360users", sql(
+                    "ALTER TABLE cse360users ADD COLUMN IF NOT EXISTS role_mask INT DEFAULT 0 NOT NULL",
+                    // the account's own role plus every role granted in UserRoles, which is no longer
+                    // written; bits as in User.Role. SUM of distinct powers of two is their OR.
+                    "UPDATE cse360users u SET role_mask = BITOR(" + ROLE_BIT_SQL.replace("?", "u.role") + ", "
+                            + "COALESCE((SELECT SUM(DISTINCT " + ROLE_BIT_SQL.replace("?", "r.role") + ") "
+                            + "FROM UserRoles r WHERE r.userName = u.userName), 0))",
+                    // getUsersByRole
+                    "CREATE INDEX IF NOT EXISTS idx_users_role_mask ON cse360users(role_mask)"
+            )),
+            new Migration(8, "Keyset sort keys NOT NULL, indexed in both directions", sql(
+                    // undated rows used to sort last; they now sort as the oldest
+                    "UPDATE questions SET timestamp = TIMESTAMP '1970-01-01 00:00:00' WHERE timestamp IS NULL",
+                    "ALTER TABLE questions ALTER COLUMN timestamp SET DEFAULT CURRENT_TIMESTAMP",
+                    "ALTER TABLE questions ALTER COLUMN timestamp SET NOT NULL",
+                    "UPDATE privateMessages SET timestamp = TIMESTAMP '1970-01-01 00:00:00' WHERE timestamp IS NULL",
+                    "ALTER TABLE privateMessages ALTER COLUMN timestamp SET NOT NULL",
+                    // loadQuestionsPage(NEWEST_FIRST); OLDEST_FIRST keeps idx_questions_time_id
+                    "CREATE INDEX IF NOT EXISTS idx_questions_time_id_desc ON questions(timestamp DESC, question_id DESC)",
+                    // getMessagesForUserPage / getSentMessagesForUserPage; every inbox and sent
+                    // query sorts newest first, so these replace the ascending indexes of migration 1
+                    "CREATE INDEX IF NOT EXISTS idx_messages_recipient_time_id_desc "
+                            + "ON privateMessages(recipient_id, timestamp DESC, id DESC)",
+                    "CREATE INDEX IF NOT EXISTS idx_messages_sender_time_id_desc "
+                            + "ON privateMessages(sender_id, timestamp DESC, id DESC)",
+                    "DROP INDEX IF EXISTS idx_messages_recipient_time",
+                    "DROP INDEX IF EXISTS idx_messages_sender_time",
+                    // getAnnouncementsPage only pages newest first
+                    "CREATE INDEX IF NOT EXISTS idx_announcements_created_id_desc "
+                            + "ON announcements(created_date DESC, announcement_id DESC)",
+                    "DROP INDEX IF EXISTS idx_announcements_created_id"
+            ))
+    ));
+
+    /**
+     * Folds the old one-row-per-read announcement_reads table into announcement_read_bitmaps and
+     * drops it. Databases created after migration 4 never had the table.
+     */
+    private static void backfillReadBitmaps(Connection conn) throws SQLException {
+        try (ResultSet tables = conn.getMetaData().getTables(null, null, "ANNOUNCEMENT_READS", null)) {
+            if (!tables.next()) {
+                return;
+            }
+        }
+        Map<Integer, ReadBitmap> readers = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT announcement_id, user_id FROM announcement_reads")) {
+            while (rs.next()) {
+                readers.computeIfAbsent(rs.getInt(1), id -> new ReadBitmap()).add(rs.getInt(2));
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(StatementRegistry.SAVE_ANNOUNCEMENT_READERS)) {
+            for (Map.Entry<Integer, ReadBitmap> e : readers.entrySet()) {
+                pstmt.setInt(1, e.getKey());
+                pstmt.setInt(2, e.getValue().getCardinality());
+                pstmt.setBytes(3, e.getValue().toBytes());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE announcement_reads");
+        }
+    }
+
+    private static List<Step> concat(List<Step> first, List<Step> second) {
+        List<Step> steps = new ArrayList<>(first);
+        steps.addAll(second);
+        return steps;
+    }
+
+    /**
+     * @return the newest version this build knows about
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.isEmpty() ? 0 : MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Create the version table if needed and apply every pending migration.
+     *
+     * @param conn connection to migrate
+     * @return the schema version after migrating
+     * @throws SQLException if a migration fails; it is not recorded, but steps that already ran
+     *         (at least all DDL) stay applied and run again on the next call
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(255), "
+                    + "applied_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        int current = currentVersion(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            for (Migration m : MIGRATIONS) {
+                if (m.getVersion() <= current) {
+                    continue;
+                }
+                conn.setAutoCommit(false);
+                try {
+                    for (Step step : m.steps) {
+                        step.apply(conn);
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                        pstmt.setInt(1, m.getVersion());
+                        pstmt.setString(2, m.getDescription());
+                        pstmt.executeUpdate();
+                    }
+                    conn.commit();
+                    current = m.getVersion();
+                    System.out.println("Applied schema migration " + m.getVersion() + ": " + m.getDescription());
+                } catch (SQLException e) {
+                    conn.rollback(); // only undoes DML since the last DDL statement
+                    throw new SQLException("Schema migration " + m.getVersion() + " failed: " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return current;
+    }
+
+    /**
+     * @param conn connection to inspect
+     * @return highest applied version, or 0 for a database that has never been migrated
+     * @throws SQLException if the version table cannot be read
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package databasePart1;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of {@link PreparedStatement}s for one physical connection.
+ *
+ * <p>{@link ConnectionPool} creates one cache per physical connection and routes
+ * {@code prepareStatement(sql)} / {@code prepareStatement(sql, autoGeneratedKeys)} through it.
+ * The statement handed out is a proxy; closing it clears its parameters and puts it back in
+ * the cache instead of closing it, so callers keep using try-with-resources unchanged.
+ *
+ * <p>If the same SQL is requested again while its cached statement is still open (for example
+ * from a nested call), a plain uncached statement is prepared for that caller. When the cache
+ * is full the least recently used statement is closed; a statement evicted while in use is
+ * closed when its caller returns it.
+ *
+ * <p>A cache is only ever used by the thread holding its connection, so it needs no locking.
+ * Hit/miss/eviction counts go to a shared {@link Counters} instance.
+ */
+public class StatementCache {
+
+    private static final int NO_KEYS = -1;
+
+    private final Connection physical;
+    private final int capacity;
+    private final Counters counters;
+    private final LinkedHashMap<Key, Entry> lru;
+
+    private static final class Key {
+        final String sql;
+        final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return autoGeneratedKeys == k.autoGeneratedKeys && sql.equals(k.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    private static final class Entry {
+        final PreparedStatement statement;
+        boolean inUse = false;
+        boolean evicted = false;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    StatementCache(Connection physical, int capacity, Counters counters) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.counters = counters;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                Entry e = eldest.getValue();
+                e.evicted = true;
+                if (!e.inUse) {
+                    closeQuietly(e.statement);
+                }
+                StatementCache.this.counters.evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Prepare (or reuse) a statement.
+     *
+     * @param sql SQL text
+     * @param autoGeneratedKeys a {@code Statement.RETURN_GENERATED_KEYS}-style flag, or null for the one-argument form
+     * @return a statement whose {@code close()} returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, Integer autoGeneratedKeys) throws SQLException {
+        int keys = autoGeneratedKeys == null ? NO_KEYS : autoGeneratedKeys;
+        String name = StatementRegistry.nameOf(sql);
+        Key key = new Key(sql, keys);
+        Entry entry = lru.get(key);
+
+        if (entry != null && !entry.inUse) {
+            counters.hit(name);
+            entry.inUse = true;
+            return wrap(entry);
+        }
+
+        counters.miss(name);
+        PreparedStatement raw = keys == NO_KEYS
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, keys);
+        if (entry != null) {
+            return raw; // cached copy is busy; caller owns this one
+        }
+        Entry created = new Entry(raw);
+        created.inUse = true;
+        lru.put(key, created);
+        return wrap(created);
+    }
+
+    private PreparedStatement wrap(Entry entry) {
+        boolean[] proxyClosed = { false };
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!proxyClosed[0]) {
+                                proxyClosed[0] = true;
+                                giveBack(entry);
+                            }
+                            return null;
+                        case "isClosed":
+                            return proxyClosed[0] || entry.statement.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (proxyClosed[0]) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    try {
+                        return method.invoke(entry.statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void giveBack(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            closeQuietly(entry.statement);
+            return;
+        }
+        try {
+            entry.statement.clearParameters();
+            entry.statement.clearWarnings();
+        } catch (SQLException e) {
+            // a statement we cannot reset is not safe to reuse
+            entry.evicted = true;
+            closeQuietly(entry.statement);
+            lru.values().remove(entry);
+        }
+    }
+
+    /** @return number of statements currently cached for this connection */
+    int size() {
+        return lru.size();
+    }
+
+    /**
+     * Close every cached statement. Called before the physical connection is closed.
+     */
+    void closeAll() {
+        Iterator<Entry> it = lru.values().iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next().statement);
+            it.remove();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement s) {
+        try {
+            s.close();
+        } catch (SQLException ignored) {
+            // nothing useful to do
+        }
+    }
+
+    /**
+     * Hit/miss/eviction counters shared by all caches of one pool, with a per-statement
+     * breakdown keyed by the {@link StatementRegistry} name (or the SQL text for unnamed SQL).
+     */
+    public static class Counters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final Map<String, StatementStats> byStatement = new ConcurrentHashMap<>();
+
+        void hit(String name) {
+            hits.incrementAndGet();
+            byStatement.computeIfAbsent(name, StatementStats::new).hits.incrementAndGet();
+        }
+
+        void miss(String name) {
+            misses.incrementAndGet();
+            byStatement.computeIfAbsent(name, StatementStats::new).misses.incrementAndGet();
+        }
+
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+        public long getEvictions() { return evictions.get(); }
+
+        /** @return fraction of prepares served from cache (0 when nothing was prepared yet) */
+        public double getHitRatio() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0 : (double) hits.get() / total;
+        }
+
+        /** @return snapshot of per-statement counters */
+        public List<StatementStats> getByStatement() {
+            return new ArrayList<>(byStatement.values());
+        }
+
+        /**
+         * @param name registry name (or SQL text)
+         * @return counters for that statement, or null if it was never prepared
+         */
+        public StatementStats get(String name) {
+            return byStatement.get(name);
+        }
+    }
+
+    /**
+     * Hit/miss counters for one statement.
+     */
+    public static class StatementStats {
+        private final String name;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        StatementStats(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+
+        @Override
+        public String toString() {
+            return name + " hits=" + hits.get() + " misses=" + misses.get();
+        }
+    }
+}
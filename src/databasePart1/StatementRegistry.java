@@ -0,0 +1,271 @@
+package databasePart1;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.User;
+
+/**
+ * Central registry of named SQL used on the hot paths of {@link DatabaseHelper}.
+ *
+ * <p>Each constant is registered under a short name. The per-connection
+ * {@link StatementCache} reuses the parsed statement for the same SQL text across calls,
+ * and reports its hit/miss counters under the registered name, so the effect of caching
+ * can be checked per query (see {@link ConnectionPool#getStatementCounters()}).
+ *
+ * <p>SQL that is not registered here is still cached; its counters are keyed by the SQL text.
+ */
+public final class StatementRegistry {
+
+    private static final Map<String, String> nameBySql = new ConcurrentHashMap<>();
+    private static final Map<String, String> sqlByName = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private StatementRegistry() {}
+
+    private static String register(String name, String sql) {
+        if (sqlByName.putIfAbsent(name, sql) != null) {
+            throw new IllegalStateException("Duplicate statement name: " + name);
+        }
+        nameBySql.put(sql, name);
+        return sql;
+    }
+
+    /* -------------------- Users and roles -------------------- */
+
+    public static final String USER_ROLE =
+            register("getUserRole", "SELECT role FROM cse360users WHERE userName = ?");
+
+    public static final String USER_BY_ID =
+            register("getUserById", "SELECT id, userName, password, role, name, email, temp_password "
+                    + "FROM cse360users WHERE id = ?");
+
+    public static final String ROLE_MASKS =
+            register("roleMasks", "SELECT userName, role_mask FROM cse360users");
+
+    public static final String ALL_ROLE_MASKS =
+            register("allRoleMasks", ROLE_MASKS + " WHERE role_mask <> 0");
+
+    // one parameter per mask that has the role (see User.Role.masksWith), so the index on role_mask is used
+    public static final String USERS_WITH_ROLE =
+            register("getUsersByRole", "SELECT id, userName, password, role, name, email, temp_password "
+                    + "FROM cse360users WHERE role_mask IN ("
+                    + String.join(", ", Collections.nCopies(1 << (Integer.bitCount(User.Role.ALL_BITS) - 1), "?")) + ")");
+
+    // ? = bit, userName, bit. H2 cannot infer the type of a bare parameter inside BITOR/BITAND.
+    public static final String GRANT_ROLE =
+            register("grantRole", "UPDATE cse360users SET role_mask = BITOR(role_mask, CAST(? AS INT)) "
+                    + "WHERE userName = ? AND BITAND(role_mask, CAST(? AS INT)) = 0");
+
+    // ? = all bits but the role's, userName, bit
+    public static final String REVOKE_ROLE =
+            register("revokeRole", "UPDATE cse360users SET role_mask = BITAND(role_mask, CAST(? AS INT)) "
+                    + "WHERE userName = ? AND BITAND(role_mask, CAST(? AS INT)) <> 0");
+
+    public static final String USER_NAME_AND_ROLE =
+            register("userNameAndRole", "SELECT userName, role FROM cse360users WHERE id = ?");
+
+    // ? = new role, all bits but the old role's, new role's bit, id, old role
+    public static final String CHANGE_ROLE =
+            register("changeRole", "UPDATE cse360users SET role = ?, "
+                    + "role_mask = BITOR(BITAND(role_mask, CAST(? AS INT)), CAST(? AS INT)) "
+                    + "WHERE id = ? AND role IS NOT DISTINCT FROM ?");
+
+    public static final String USER_ACCOUNT =
+            register("getUserAccount", "SELECT id, userName, password, role, name, email, phone, bio, temp_password, role_mask "
+                    + "FROM cse360users WHERE userName = ?");
+
+    public static final String INSERT_INVITATION_CODE =
+            register("insertInvitationCode", "INSERT INTO InvitationCodes (code, isUsed) VALUES (?, FALSE)");
+
+    public static final String INSERT_CODE_ROLE =
+            register("insertCodeRole", "INSERT INTO CodeRoles (code, initialRole) VALUES (?, ?)");
+
+    /* -------------------- Questions and answers -------------------- */
+
+    public static final String INSERT_QUESTION =
+            register("insertQuestion", "INSERT INTO questions (author, title, description, timestamp, status, follow_up, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+
+    public static final String INSERT_ANSWER =
+            register("insertAnswer", "INSERT INTO answers (user_id, question_id, author, content, timestamp, is_solution) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)");
+
+    public static final String INSERT_REVIEW =
+            register("insertReview", "INSERT INTO reviews (user_id, answer_id, author, content, timestamp) "
+                    + "VALUES (?, ?, ?, ?, ?)");
+
+    public static final String QUESTION_BY_ID =
+            register("getQuestionById", "SELECT question_id, user_id, author, title, description, timestamp, status, follow_up "
+                    + "FROM questions WHERE question_id = ?");
+
+    public static final String ANSWERS_FOR_QUESTION =
+            register("loadAnswersForQs", "SELECT * FROM answers WHERE question_id = ?");
+
+    public static final String QUESTION_HAS_SOLUTION =
+            register("questionHasSolution", "SELECT COUNT(*) FROM answers WHERE question_id = ? AND is_solution = TRUE");
+
+    public static final String SOLUTIONS_FOR_QUESTION =
+            register("getSolutionsForQuestion", "SELECT * FROM answers WHERE question_id = ? AND is_solution = TRUE ORDER BY timestamp ASC");
+
+    public static final String IS_QUESTION_FAQ =
+            register("isQuestionMarkedAsFAQ", "SELECT COUNT(*) FROM faqs WHERE question_id = ?");
+
+    // FAQ view: every entry with its question, then the solutions of every FAQ question
+    public static final String FAQ_VIEW_ENTRIES =
+            register("faqViewEntries", "SELECT f.*, q.title AS question_title, q.description AS question_description "
+                    + "FROM faqs f LEFT JOIN questions q ON f.question_id = q.question_id");
+
+    public static final String FAQ_VIEW_SOLUTIONS =
+            register("faqViewSolutions", "SELECT * FROM answers WHERE is_solution = TRUE "
+                    + "AND question_id IN (SELECT question_id FROM faqs) ORDER BY timestamp ASC");
+
+    /* -------------------- Trusted reviewers -------------------- */
+
+    // A student's trusted reviewers with their weight and every review they wrote (one row with
+    // null review columns for a reviewer without reviews)
+    public static final String TRUSTED_FEED =
+            register("trustedFeed", "SELECT t.reviewer_id, t.rating AS weight, r.review_id, r.user_id, r.answer_id, "
+                    + "r.author, r.content, r.timestamp "
+                    + "FROM trustedReviewers t LEFT JOIN reviews r ON r.user_id = t.reviewer_id "
+                    + "WHERE t.student_id = ?");
+
+    public static final String TRUSTED_FEED_REVIEWER =
+            register("trustedFeedReviewer", TRUSTED_FEED + " AND t.reviewer_id = ?");
+
+    public static final String TRUSTED_REVIEWER_USERS =
+            register("trustedReviewerUsers", "SELECT u.id, u.userName, u.password, u.role, u.name, u.email, u.temp_password "
+                    + "FROM trustedReviewers t JOIN cse360users u ON u.id = t.reviewer_id "
+                    + "WHERE t.student_id = ?");
+
+    /* -------------------- Private messages -------------------- */
+
+    public static final String SEND_MESSAGE =
+            register("sendMessage", "INSERT INTO privateMessages (sender_id, recipient_id, message, timestamp, is_read, thread_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)");
+
+    public static final String MESSAGES_FOR_USER =
+            register("getMessagesForUser", "SELECT m.id, m.sender_id, m.recipient_id, m.message, m.timestamp, m.is_read, "
+                    + "COALESCE(u.name, u.userName) AS sender_name "
+                    + "FROM privateMessages m "
+                    + "JOIN cse360users u ON m.sender_id = u.id "
+                    + "WHERE m.recipient_id=? "
+                    + "ORDER BY m.timestamp DESC");
+
+    public static final String SENT_MESSAGES_FOR_USER =
+            register("getSentMessagesForUser", "SELECT m.id, m.sender_id, m.recipient_id, m.message, m.timestamp, m.is_read, "
+                    + "COALESCE(u.name, u.userName) AS recipient_name "
+                    + "FROM privateMessages m "
+                    + "JOIN cse360users u ON m.recipient_id = u.id "
+                    + "WHERE m.sender_id = ? "
+                    + "ORDER BY m.timestamp DESC");
+
+    public static final String MESSAGES_BETWEEN_USERS =
+            register("getMessagesBetweenUsers", "SELECT m.* FROM message_threads t "
+                    + "JOIN privateMessages m ON m.thread_id = t.thread_id "
+                    + "WHERE t.user_low = ? AND t.user_high = ? "
+                    + "ORDER BY m.timestamp DESC");
+
+    /* -------------------- Conversation threads -------------------- */
+
+    public static final String THREAD_FOR_PAIR =
+            register("threadForPair", "SELECT thread_id FROM message_threads WHERE user_low = ? AND user_high = ?");
+
+    public static final String INSERT_THREAD =
+            register("insertThread", "INSERT INTO message_threads (user_low, user_high) VALUES (?, ?)");
+
+    public static final String TOUCH_THREAD =
+            register("touchThread", "UPDATE message_threads SET last_message_id = ?, last_activity = ? WHERE thread_id = ?");
+
+    public static final String THREAD_READ_STATE =
+            register("threadReadState", "SELECT thread_id, user_low, user_high, last_message_id, low_read_upto, high_read_upto "
+                    + "FROM message_threads WHERE user_low = ? AND user_high = ?");
+
+    public static final String MARK_THREAD_MESSAGES_READ =
+            register("markThreadMessagesRead", "UPDATE privateMessages SET is_read = TRUE "
+                    + "WHERE thread_id = ? AND recipient_id = ? AND id > ? AND id <= ? AND is_read = FALSE");
+
+    // Watermark of whichever side the reader is; both sides for a thread with oneself
+    public static final String SET_THREAD_WATERMARK =
+            register("setThreadWatermark", "UPDATE message_threads SET "
+                    + "low_read_upto = CASE WHEN user_low = ? THEN ? ELSE low_read_upto END, "
+                    + "high_read_upto = CASE WHEN user_high = ? THEN ? ELSE high_read_upto END "
+                    + "WHERE thread_id = ?");
+
+    public static final String MARK_MESSAGE_READ =
+            register("markMessagesAsRead", "UPDATE privateMessages SET is_read = TRUE WHERE id=? AND is_read = FALSE");
+
+    public static final String MESSAGE_PARTIES =
+            register("messageParties", "SELECT sender_id, recipient_id FROM privateMessages WHERE id = ?");
+
+    public static final String USER_DISPLAY_NAME =
+            register("userDisplayName", "SELECT COALESCE(name, userName) FROM cse360users WHERE id = ?");
+
+    // Every message a user sent or received, with the other party's name; the preview length
+    // matches InboxSummary.PREVIEW_LENGTH
+    public static final String INBOX_SUMMARY_MESSAGES =
+            register("inboxSummaryMessages", "SELECT m.id, m.sender_id, m.recipient_id, LEFT(m.message, 80) AS message, "
+                    + "m.timestamp, m.is_read, COALESCE(u.name, u.userName) AS other_name "
+                    + "FROM privateMessages m JOIN cse360users u ON m.sender_id = u.id "
+                    + "WHERE m.recipient_id = ? "
+                    + "UNION ALL "
+                    + "SELECT m.id, m.sender_id, m.recipient_id, LEFT(m.message, 80) AS message, "
+                    + "m.timestamp, m.is_read, COALESCE(u.name, u.userName) AS other_name "
+                    + "FROM privateMessages m JOIN cse360users u ON m.recipient_id = u.id "
+                    + "WHERE m.sender_id = ? AND m.recipient_id <> ?");
+
+    /* -------------------- Clarifications -------------------- */
+
+    public static final String UNREAD_CLARIFICATIONS =
+            register("countUnreadClarifications", "SELECT COUNT(*) FROM clarifications WHERE recipient_id = ? AND is_read = FALSE");
+
+    public static final String MARK_CLARIFICATION_READ =
+            register("markClarificationAsRead", "UPDATE clarifications SET is_read = TRUE WHERE clarification_id = ? AND is_read = FALSE");
+
+    public static final String CLARIFICATION_RECIPIENT =
+            register("clarificationRecipient", "SELECT recipient_id, question_id FROM clarifications WHERE clarification_id = ?");
+
+    /* -------------------- Announcements -------------------- */
+
+    // Read receipts: one ReadBitmap of user ids per announcement
+    public static final String ANNOUNCEMENT_READERS =
+            register("announcementReaders", "SELECT readers FROM announcement_read_bitmaps WHERE announcement_id = ?");
+
+    public static final String SAVE_ANNOUNCEMENT_READERS =
+            register("saveAnnouncementReaders", "MERGE INTO announcement_read_bitmaps (announcement_id, reader_count, readers) "
+                    + "KEY(announcement_id) VALUES (?, ?, ?)");
+
+    public static final String ANNOUNCEMENT_READ_COUNTS =
+            register("announcementReadCounts", "SELECT announcement_id, reader_count FROM announcement_read_bitmaps");
+
+    // Announcements still to be shown now or later, for the active-announcement cache
+    public static final String ANNOUNCEMENTS_NOT_ENDED =
+            register("announcementsNotEnded", "SELECT a.*, u.userName AS staff_name FROM announcements a "
+                    + "LEFT JOIN cse360users u ON a.created_by_staff_id = u.id "
+                    + "WHERE a.end_date IS NULL OR a.end_date >= ?");
+
+    /**
+     * @param sql SQL text
+     * @return the registered name, or the SQL text itself if it is not registered
+     */
+    public static String nameOf(String sql) {
+        String name = nameBySql.get(sql);
+        return name != null ? name : sql;
+    }
+
+    /**
+     * @param name registered name
+     * @return SQL registered under that name, or null
+     */
+    public static String sqlFor(String name) {
+        return sqlByName.get(name);
+    }
+
+    /** @return all registered names in declaration order */
+    public static Iterable<String> names() {
+        synchronized (sqlByName) {
+            return new java.util.ArrayList<>(sqlByName.keySet());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package databasePart1;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import model.UserAccount;
+
+/**
+ * Bounded, expiring cache of {@link UserAccount}s by user name.
+ *
+ * <p>{@link DatabaseHelper} keeps one so that logging in, choosing a role and drawing the
+ * navigation bar do not query {@code cse360users} every time. Every write to that table drops
+ * the accounts it touched; entries also expire after a fixed time, which bounds how stale an
+ * account changed outside this helper can get. When the cache is full the least recently used
+ * account is dropped.
+ *
+ * <p>Loads happen outside the cache. A loader reads {@link #version()} first and hands it to
+ * {@link #put(UserAccount, int)}, which ignores the account if anything was invalidated in
+ * between, so a load that raced a write is never kept.
+ */
+public class UserCache {
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> lru;
+    private int version = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    private static final class Entry {
+        final UserAccount account;
+        final long expiresAt;
+
+        Entry(UserAccount account, long expiresAt) {
+            this.account = account;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    UserCache(int capacity, long ttlMillis) {
+        this(capacity, ttlMillis, System::currentTimeMillis);
+    }
+
+    UserCache(int capacity, long ttlMillis, LongSupplier clock) {
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @param userName exact user name
+     * @return the cached account, or null if it is not cached or has expired
+     */
+    synchronized UserAccount get(String userName) {
+        Entry entry = lru.get(userName);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (clock.getAsLong() >= entry.expiresAt) {
+            lru.remove(userName);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.account;
+    }
+
+    /** @return the current version, to pass to {@link #put(UserAccount, int)} after a load */
+    synchronized int version() {
+        return version;
+    }
+
+    /**
+     * Keep a loaded account, unless something was invalidated since {@code loadedAt} was read.
+     *
+     * @param account the account as loaded
+     * @param loadedAt {@link #version()} read before the load started
+     */
+    synchronized void put(UserAccount account, int loadedAt) {
+        if (loadedAt == version && capacity > 0) {
+            lru.put(account.getUserName(), new Entry(account, clock.getAsLong() + ttlMillis));
+        }
+    }
+
+    /**
+     * Drop one account, found by user name or by id.
+     *
+     * @param userName its user name, or null
+     * @param userId its id, or 0 if unknown
+     */
+    synchronized void invalidate(String userName, int userId) {
+        version++;
+        if (userName != null) {
+            lru.remove(userName);
+        }
+        if (userId > 0) {
+            Iterator<Entry> it = lru.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().account.getId() == userId) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /** Drop every account. */
+    synchronized void invalidateAll() {
+        version++;
+        lru.clear();
+    }
+
+    /** @return number of accounts currently cached (expired ones included until looked up) */
+    public synchronized int size() {
+        return lru.size();
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getExpirations() { return expirations.get(); }
+}
@@ -0,0 +1,297 @@
+package logic;
+
+import logic.ValidationResult.Code;
+
+/**
+ * Checks user names, passwords and email addresses as they are typed or submitted.
+ *
+ * <p>The rules are those of {@link UserNameRecognizer}, {@link PasswordRecognizer} and
+ * {@link EmailRecognizer}, with the same messages and error positions. Unlike those classes
+ * the checks keep no state between calls, so any thread may run them at the same time, and they
+ * print nothing. Characters are classified with lookup tables and the user name machine is a
+ * transition table; a valid input is checked without allocating and returns
+ * {@link ValidationResult#VALID}.
+ */
+public final class InputValidator {
+
+    /** Longest user name accepted. */
+    public static final int USER_NAME_MAX_LENGTH = 16;
+    /** Shortest user name accepted. */
+    public static final int USER_NAME_MIN_LENGTH = 4;
+    /** Shortest password accepted. */
+    public static final int PASSWORD_MIN_LENGTH = 8;
+    /** Characters that count as a password's special character. */
+    public static final String PASSWORD_SPECIAL_CHARACTERS = "~`!@#$%^&*()_-+{}[]|:,.?/";
+
+    /* -------------------- Tables -------------------- */
+
+    // Character classes of the user name machine; characters past ASCII are OTHER
+    private static final int OTHER = 0;
+    private static final int LETTER = 1;
+    private static final int DIGIT = 2;
+    private static final int SEPARATOR = 3;  // . - _
+    private static final byte[] USER_NAME_CLASS = new byte[128];
+
+    // User name machine: next state by state and character class, -1 = reject
+    private static final int START = 0;
+    private static final int IN_NAME = 1;          // the only final state
+    private static final int AFTER_SEPARATOR = 2;
+    private static final int[][] USER_NAME_NEXT = {
+            //                 OTHER LETTER DIGIT SEPARATOR
+            /* START */           { -1,  IN_NAME,  -1,      -1 },
+            /* IN_NAME */         { -1,  IN_NAME,  IN_NAME, AFTER_SEPARATOR },
+            /* AFTER_SEPARATOR */ { -1,  IN_NAME,  IN_NAME, -1 },
+    };
+
+    // What a rejected character means in each state
+    private static final Code[] USER_NAME_REJECT_CODE = {
+            Code.MUST_START_WITH_LETTER, Code.INVALID_CHARACTER, Code.SEPARATOR_NOT_FOLLOWED };
+    private static final String[] USER_NAME_REJECT_MESSAGE = {
+            "\n*** ERROR *** A UserName must start with a letter (A-Z or a-z).",
+            "\n*** ERROR *** A UserName may only contain "
+                    + "letters (A–Z, a–z), digits (0–9), or special characters '-', '_', '.'.",
+            "\n*** ERROR *** A special character ('.', '-', '_') "
+                    + "must be followed by a letter or digit." };
+
+    // Password criterion bit of each allowed character; 0 = not allowed
+    private static final byte[] PASSWORD_CLASS = new byte[128];
+
+    // The message for each set of met criteria (index = criteria bits)
+    private static final String[] PASSWORD_MISSING = new String[ValidationResult.ALL_CRITERIA + 1];
+
+    // Characters the email address pattern allows on both sides of the '@'
+    private static final boolean[] EMAIL_CHAR = new boolean[128];
+
+    private static final String[] EMAIL_EXTENSIONS = { "com", "edu", "org", "net" };
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            USER_NAME_CLASS[c] = LETTER;
+            PASSWORD_CLASS[c] = ValidationResult.UPPER_CASE;
+            EMAIL_CHAR[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            USER_NAME_CLASS[c] = LETTER;
+            PASSWORD_CLASS[c] = ValidationResult.LOWER_CASE;
+            EMAIL_CHAR[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            USER_NAME_CLASS[c] = DIGIT;
+            PASSWORD_CLASS[c] = ValidationResult.DIGIT;
+            EMAIL_CHAR[c] = true;
+        }
+        for (char c : ".-_".toCharArray()) {
+            USER_NAME_CLASS[c] = SEPARATOR;
+        }
+        for (char c : PASSWORD_SPECIAL_CHARACTERS.toCharArray()) {
+            PASSWORD_CLASS[c] = ValidationResult.SPECIAL_CHARACTER;
+        }
+        EMAIL_CHAR['.'] = true;
+        EMAIL_CHAR['-'] = true;
+
+        for (int met = 0; met <= ValidationResult.ALL_CRITERIA; met++) {
+            StringBuilder sb = new StringBuilder();
+            if ((met & ValidationResult.UPPER_CASE) == 0)
+                sb.append("The password must have at least one upper case character.\n");
+            if ((met & ValidationResult.LOWER_CASE) == 0)
+                sb.append("The password must have at least one lower case character.\n");
+            if ((met & ValidationResult.DIGIT) == 0)
+                sb.append("The password must have at least one number.\n");
+            if ((met & ValidationResult.SPECIAL_CHARACTER) == 0)
+                sb.append("The password must have at least one special character (" + PASSWORD_SPECIAL_CHARACTERS + ").\n");
+            if ((met & ValidationResult.MIN_LENGTH) == 0)
+                sb.append("The password must be at least " + PASSWORD_MIN_LENGTH + " characters long.\n");
+            PASSWORD_MISSING[met] = sb.append("Try again...").toString();
+        }
+    }
+
+    // prevent instantiation
+    private InputValidator() { }
+
+    /* -------------------- User names -------------------- */
+
+    /**
+     * A user name starts with a letter, continues with letters and digits, may contain '.',
+     * '-' or '_' each followed by a letter or digit, and is 4 to 16 characters long.
+     *
+     * @param input the user name
+     * @return {@link ValidationResult#VALID}, or why the name is rejected and where
+     */
+    public static ValidationResult checkUserName(String input) {
+        if (input == null || input.isEmpty()) {
+            return reject(Code.EMPTY, "\n*** ERROR *** The input is empty", 0);
+        }
+        int length = input.length();
+        int state = START;
+        int size = 0;
+        int ndx = 0;
+        while (true) {
+            char c = input.charAt(ndx);
+            int next = USER_NAME_NEXT[state][c < 128 ? USER_NAME_CLASS[c] : OTHER];
+            if (next < 0) {
+                return reject(USER_NAME_REJECT_CODE[state], USER_NAME_REJECT_MESSAGE[state], ndx);
+            }
+            size++;
+            if (size > USER_NAME_MAX_LENGTH) {
+                break; // halts on the character it counted, in the state it counted it in
+            }
+            ndx++;
+            state = next;
+            if (ndx >= length) {
+                break;
+            }
+        }
+
+        if (state == AFTER_SEPARATOR) {
+            return reject(Code.SEPARATOR_NOT_FOLLOWED, "\n*** ERROR *** A special character ('.', '-', '_') "
+                    + "must be followed by a letter or number (A-Z, a-z, 0-9).\n", ndx);
+        }
+        if (size < USER_NAME_MIN_LENGTH) {
+            return reject(Code.TOO_SHORT, "\n*** ERROR *** A UserName must have at least 4 characters.\n", ndx);
+        }
+        if (size > USER_NAME_MAX_LENGTH) {
+            return reject(Code.TOO_LONG, "\n*** ERROR *** A UserName must have no more than 16 character.\n", ndx);
+        }
+        if (ndx < length) {
+            return reject(Code.INVALID_CHARACTER, "\n*** ERROR *** "
+                    + "A UserName character may only contain the characters A-Z, a-z, 0-9, '.', '-', '_'.\n", ndx);
+        }
+        return ValidationResult.VALID;
+    }
+
+    /* -------------------- Passwords -------------------- */
+
+    /**
+     * A password has an upper case letter, a lower case letter, a digit, one of
+     * {@value #PASSWORD_SPECIAL_CHARACTERS} and at least 8 characters, and nothing else.
+     *
+     * @param input the password
+     * @return {@link ValidationResult#VALID}, or the criteria met so far and the error
+     */
+    public static ValidationResult checkPassword(String input) {
+        if (input == null || input.isEmpty()) {
+            return new ValidationResult(Code.EMPTY, "*** Error *** The password is empty!", 0, 0);
+        }
+        int length = input.length();
+        int met = 0;
+        for (int ndx = 0; ndx < length; ndx++) {
+            char c = input.charAt(ndx);
+            int criterion = c < 128 ? PASSWORD_CLASS[c] : 0;
+            if (criterion == 0) {
+                return new ValidationResult(Code.INVALID_CHARACTER,
+                        "*** Error *** An invalid character has been found!", ndx, met);
+            }
+            met |= criterion;
+            if (ndx >= PASSWORD_MIN_LENGTH - 1) {
+                met |= ValidationResult.MIN_LENGTH;
+            }
+        }
+        if (met == ValidationResult.ALL_CRITERIA) {
+            return ValidationResult.VALID;
+        }
+        return new ValidationResult(Code.MISSING_CRITERIA, PASSWORD_MISSING[met], length, met);
+    }
+
+    /* -------------------- Email addresses -------------------- */
+
+    /**
+     * An email address has one '@', no whitespace and no "..", a local part of letters, digits,
+     * '.' and '-' that does not start or end with '.' or '-', and a domain of at least two such
+     * labels (no label starting or ending with '-') ending in .com, .edu, .org or .net.
+     *
+     * @param input the email address
+     * @return {@link ValidationResult#VALID}, or the first rule the address breaks
+     */
+    public static ValidationResult checkEmail(String input) {
+        if (input == null || input.isBlank()) {
+            return reject(Code.EMPTY, "Email is required", -1);
+        }
+        int length = input.length();
+        int atCount = 0;
+        int at = -1;
+        int doubleDot = -1;
+        for (int ndx = 0; ndx < length; ndx++) {
+            char c = input.charAt(ndx);
+            if (Character.isWhitespace(c)) {
+                return reject(Code.WHITESPACE, "Email cannot contain whitespace characters", ndx);
+            }
+            if (c == '.' && ndx > 0 && input.charAt(ndx - 1) == '.' && doubleDot < 0) {
+                doubleDot = ndx - 1;
+            }
+            if (c == '@' && atCount++ == 0) {
+                at = ndx;
+            }
+        }
+        if (doubleDot >= 0) {
+            return reject(Code.CONSECUTIVE_PERIODS, "Email cannot contain consecutive periods", doubleDot);
+        }
+        if (atCount == 0) {
+            return reject(Code.MISSING_AT, "Email must contain exactly one '@'", 0);
+        }
+        if (atCount > 1) {
+            return reject(Code.MULTIPLE_AT, "Email cannot contain more than one '@'", at);
+        }
+        if (at == 0) {
+            return reject(Code.EMPTY_LOCAL_PART, "Invalid email: empty local part before '@'", 0);
+        }
+        if (at == length - 1) {
+            return reject(Code.EMPTY_DOMAIN, "Invalid email: empty domain address after '@'", at + 1);
+        }
+        char first = input.charAt(0);
+        char last = input.charAt(at - 1);
+        if (first == '.' || first == '-' || last == '.' || last == '-') {
+            return reject(Code.BAD_LOCAL_PART_EDGE, "Email cannot start or end with \".\" or \"-\"\nInvalid input: "
+                    + input.substring(0, at) + "\n", 0);
+        }
+
+        // Domain labels as splitting on '.' sees them: a trailing period adds no label
+        int end = input.charAt(length - 1) == '.' ? length - 1 : length;
+        int labels = 0;
+        for (int start = at + 1; start < end; ) {
+            int dot = input.indexOf('.', start);
+            int stop = dot < 0 || dot > end ? end : dot;
+            if (stop == start) {
+                return reject(Code.EMPTY_DOMAIN_LABEL, "Invalid domain: empty address", -1);
+            }
+            if (input.charAt(start) == '-' || input.charAt(stop - 1) == '-') {
+                return reject(Code.BAD_DOMAIN_LABEL_EDGE, "Invalid domain: domain cannot start or end with '-'", -1);
+            }
+            labels++;
+            start = stop + 1;
+        }
+        if (labels < 2) {
+            return reject(Code.TOO_FEW_DOMAIN_LABELS, "Invalid domain: empty domain", -1);
+        }
+
+        // Whatever else the address pattern rejects is reported as the extension
+        if (end != length || !emailChars(input, 0, at) || !emailChars(input, at + 1, length)
+                || !acceptedExtension(input, input.lastIndexOf('.') + 1)) {
+            return reject(Code.BAD_DOMAIN_EXTENSION, "Invalid domain extension. Accepted: .com, .net, .org, .edu", -1);
+        }
+        return ValidationResult.VALID;
+    }
+
+    private static boolean emailChars(String input, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c >= 128 || !EMAIL_CHAR[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean acceptedExtension(String input, int from) {
+        int length = input.length() - from;
+        for (String extension : EMAIL_EXTENSIONS) {
+            if (length == extension.length() && input.regionMatches(true, from, extension, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ValidationResult reject(Code code, String message, int errorIndex) {
+        return new ValidationResult(code, message, errorIndex, 0);
+    }
+}
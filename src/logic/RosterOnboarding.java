@@ -0,0 +1,257 @@
+package logic;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import databasePart1.DatabaseHelper;
+import model.User.Role;
+
+/**
+ * Creates the invitation codes for a whole class roster at once.
+ *
+ * <p>A roster is CSV text with one invitee per line: {@code name, email, roles}. The roles
+ * column holds one or more role names separated by ';' or '|' (e.g. {@code STUDENT;REVIEWER}).
+ * Fields may be quoted, and a first line whose second column is "email" is taken as a header.
+ *
+ * <p>{@link #onboard(DatabaseHelper, List)} checks every row (in parallel, with the stateless
+ * {@link InputValidator}), then creates one code per valid row with
+ * {@link DatabaseHelper#createInvitationCodes(List)}: all codes and their roles in a single
+ * transaction. Rows with problems get no code and report why, so the admin can fix them and
+ * import just those rows again.
+ */
+public final class RosterOnboarding {
+
+    /** One roster line and what became of it. Immutable. */
+    public static final class Row {
+        private final int line;
+        private final int columns;
+        private final String name;
+        private final String email;
+        private final List<Role> roles;
+        private final String code;
+        private final List<String> errors;
+
+        Row(int line, int columns, String name, String email, List<Role> roles, String code, List<String> errors) {
+            this.line = line;
+            this.columns = columns;
+            this.name = name;
+            this.email = email;
+            this.roles = Collections.unmodifiableList(roles);
+            this.code = code;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /** @return line number in the roster, starting at 1 */
+        public int getLine() { return line; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+        public List<Role> getRoles() { return roles; }
+
+        /** @return the roles as the roster writes them, e.g. "STUDENT;REVIEWER" */
+        public String getRolesText() {
+            return roles.stream().map(Enum::name).collect(Collectors.joining(";"));
+        }
+
+        /** @return the invitation code created for this row, or null */
+        public String getCode() { return code; }
+
+        /** @return why the row was rejected; empty if it is valid */
+        public List<String> getErrors() { return errors; }
+
+        /** @return the errors as one line, or "" */
+        public String getErrorText() { return String.join("; ", errors); }
+
+        public boolean isValid() { return errors.isEmpty(); }
+
+        Row withCode(String code) {
+            return new Row(line, columns, name, email, roles, code, errors);
+        }
+
+        Row withError(String error) {
+            List<String> more = new ArrayList<>(errors);
+            more.add(error);
+            return new Row(line, columns, name, email, roles, code, more);
+        }
+    }
+
+    // prevent instantiation
+    private RosterOnboarding() { }
+
+    /**
+     * Check a roster and create an invitation code for every valid row.
+     *
+     * @param db connected helper
+     * @param lines the roster file's lines
+     * @return every roster row in file order, with its code or its errors
+     * @throws SQLException if the codes cannot be stored; none are stored in that case
+     */
+    public static List<Row> onboard(DatabaseHelper db, List<String> lines) throws SQLException {
+        List<Row> rows = validate(parse(lines));
+        List<List<Role>> roles = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.isValid()) {
+                roles.add(row.getRoles());
+            }
+        }
+        List<String> codes = db.createInvitationCodes(roles);
+        List<Row> result = new ArrayList<>(rows.size());
+        int next = 0;
+        for (Row row : rows) {
+            result.add(row.isValid() ? row.withCode(codes.get(next++)) : row);
+        }
+        return result;
+    }
+
+    /**
+     * Split a roster into rows. Blank lines and a header line are skipped; a line that does not
+     * have three columns becomes a row with an error.
+     *
+     * @param lines the roster file's lines
+     * @return one row per invitee line, not yet validated
+     */
+    public static List<Row> parse(List<String> lines) {
+        List<Row> rows = new ArrayList<>();
+        boolean first = true;
+        for (int i = 0; i < lines.size(); i++) {
+            String text = lines.get(i);
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(text);
+            if (first && fields.size() > 1 && fields.get(1).trim().equalsIgnoreCase("email")) {
+                first = false;
+                continue; // header
+            }
+            first = false;
+            int line = i + 1;
+            if (fields.size() != 3) {
+                String email = fields.size() > 1 ? fields.get(1).trim() : "";
+                String error = "Expected 3 columns (name, email, roles) but found " + fields.size();
+                rows.add(new Row(line, fields.size(), fields.get(0).trim(), email, List.of(), null, List.of(error)));
+                continue;
+            }
+            List<Role> roles = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            Set<Role> seen = new LinkedHashSet<>();
+            for (String token : fields.get(2).split("[;|]")) {
+                if (token.isBlank()) {
+                    continue;
+                }
+                Role role = Role.fromString(token);
+                if (role == Role.UNKNOWN) {
+                    errors.add("Unknown role: " + token.trim());
+                } else if (seen.add(role)) {
+                    roles.add(role);
+                }
+            }
+            rows.add(new Row(line, 3, fields.get(0).trim(), fields.get(1).trim(), roles, null, errors));
+        }
+        return rows;
+    }
+
+    /**
+     * Check every row: a name, a valid email address (see {@link InputValidator#checkEmail}),
+     * at least one role, and an email address not already used by an earlier row. Rows are
+     * checked in parallel.
+     *
+     * @param rows parsed rows
+     * @return the rows in the same order, with any errors added
+     */
+    public static List<Row> validate(List<Row> rows) {
+        List<Row> checked = rows.parallelStream()
+                .map(RosterOnboarding::check)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // duplicates depend on the order of the rows, so they are found afterwards
+        Map<String, Integer> firstLine = new HashMap<>();
+        for (int i = 0; i < checked.size(); i++) {
+            Row row = checked.get(i);
+            if (row.columns != 3 || row.getEmail().isEmpty()) {
+                continue;
+            }
+            Integer earlier = firstLine.putIfAbsent(row.getEmail().toLowerCase(Locale.ROOT), row.getLine());
+            if (earlier != null) {
+                checked.set(i, row.withError("Same email as line " + earlier));
+            }
+        }
+        return checked;
+    }
+
+    private static Row check(Row row) {
+        if (row.columns != 3) {
+            return row; // already reported; its fields cannot be trusted
+        }
+        Row checked = row;
+        if (row.getName().isEmpty()) {
+            checked = checked.withError("Name is required");
+        }
+        ValidationResult email = InputValidator.checkEmail(row.getEmail());
+        if (!email.isValid()) {
+            checked = checked.withError(email.getMessage().trim().replace('\n', ' '));
+        }
+        if (row.getRoles().isEmpty() && row.getErrors().isEmpty()) {
+            checked = checked.withError("At least one role is required");
+        }
+        return checked;
+    }
+
+    /**
+     * @param rows onboarded rows
+     * @return the rows as CSV lines (name, email, roles, code, errors), with a header line
+     */
+    public static List<String> toCsv(List<Row> rows) {
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add("name,email,roles,code,errors");
+        for (Row row : rows) {
+            lines.add(String.join(",", csvField(row.getName()), csvField(row.getEmail()), csvField(row.getRolesText()),
+                    csvField(row.getCode() == null ? "" : row.getCode()), csvField(row.getErrorText())));
+        }
+        return lines;
+    }
+
+    /**
+     * Split one CSV line. Fields may be wrapped in double quotes, with "" for a quote inside.
+     */
+    static List<String> splitCsvLine(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
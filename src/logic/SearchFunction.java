@@ -17,23 +17,32 @@ public class SearchFunction {
     	this.answers = answers;
     }
     
+    /**
+     * Search questions for the search pages. Keywords go through the {@link SearchIndex} (best
+     * match first); the "Resolved"/"Open" filters narrow the result and "Recent" orders it by
+     * time instead of relevance.
+     */
     public List<Question> searchQuestions(String keyword, String filter, String author) {
-    	List<Question> result = StatusData.databaseHelper.loadAllQs();
+    	boolean hasKeyword = keyword != null && !keyword.isBlank();
+    	String status = null;
+    	if ("Resolved".equals(filter) || "Open".equals(filter)) {
+    		status = filter;
+    	}
     	
-    	if (filter != null) {
-    		if (filter.equals("Resolved")) {
-				result = questions.search(null, "Resolved", null);
-			}
-			else if (filter.equals("Open")) {
-				result = questions.search(null, "Open", null);
-			}
-			else if (filter.equals("Recent")) {
-				result = questions.getRecent();
-			}
+    	List<Question> result;
+    	if (hasKeyword || status != null) {
+    		result = questions.search(hasKeyword ? keyword : null, status, null);
+    	}
+    	else if ("Recent".equals(filter)) {
+    		result = questions.getRecent();
+    	}
+    	else {
+    		result = StatusData.databaseHelper.loadAllQs();
     	}
     	
-    	if (keyword != null && !keyword.isBlank()) {
-    		result = questions.search(keyword, null, null);
+    	if (hasKeyword && "Recent".equals(filter)) {
+    		result.sort(Comparator.comparing(Question::getTimestamp,
+    				Comparator.nullsFirst(Comparator.<String>naturalOrder())).reversed());
     	}
     	
     	if (author != null && !author.isBlank()) {
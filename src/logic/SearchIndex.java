@@ -0,0 +1,460 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import databasePart1.DatabaseHelper;
+import model.Answer;
+import model.Question;
+
+/**
+ * In-process inverted index over question titles/descriptions and answer content, ranked with
+ * BM25.
+ *
+ * <p>Text is lower-cased, split on non-alphanumeric characters, stripped of stop words and
+ * reduced with a subset of the Porter stemmer, so "tests", "testing" and "tested" all
+ * match "test". Question titles count twice so a hit in the title outranks the same hit in the
+ * description.
+ *
+ * <p>There is one shared index per process ({@link #getInstance()}). It is built from the
+ * database the first time it is searched ({@link #ensureLoaded(DatabaseHelper)}), and from then
+ * on {@link model.Questions} and {@link model.Answers} keep it current on every create, update
+ * and delete. Updates made before the first search are picked up by that initial build.
+ * A search costs time proportional to the postings of the query terms, not the number of rows.
+ */
+public class SearchIndex {
+
+    private static final SearchIndex INSTANCE = new SearchIndex();
+
+    /** BM25 term-frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 length normalisation. */
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into",
+            "is", "it", "no", "not", "of", "on", "or", "such", "that", "the", "their", "then",
+            "there", "these", "they", "this", "to", "was", "will", "with", "i", "my", "me", "do",
+            "does", "how", "what", "can"));
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Bm25 questions = new Bm25();
+    private final Bm25 answers = new Bm25();
+    private final Map<Integer, Set<Integer>> answerIdsByQuestion = new HashMap<>();
+    private final Map<Integer, Integer> questionIdByAnswer = new HashMap<>();
+    private boolean loaded = false;
+
+    /** @return the process-wide index */
+    public static SearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Build the index from the database if it has not been built yet.
+     *
+     * @param db database to read every question and answer from
+     */
+    public void ensureLoaded(DatabaseHelper db) {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (Question q : db.loadAllQs()) {
+                putQuestion(q);
+                if (q.getAnswers() != null) {
+                    for (Answer a : q.getAnswers()) {
+                        putAnswer(a);
+                    }
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return true once the index has been built */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything and mark the index as not built, so the next search rebuilds it.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            questions.clear();
+            answers.clear();
+            answerIdsByQuestion.clear();
+            questionIdByAnswer.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* -------------------- Incremental updates -------------------- */
+
+    /**
+     * Add or re-index a question. No-op until the index has been built.
+     */
+    public void indexQuestion(Question q) {
+        if (q == null) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                putQuestion(q);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a question and all of its answers. No-op until the index has been built.
+     */
+    public void removeQuestion(int questionId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) return;
+            questions.remove(questionId);
+            Set<Integer> answerIds = answerIdsByQuestion.remove(questionId);
+            if (answerIds != null) {
+                for (int answerId : answerIds) {
+                    answers.remove(answerId);
+                    questionIdByAnswer.remove(answerId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or re-index an answer. No-op until the index has been built.
+     */
+    public void indexAnswer(Answer a) {
+        if (a == null) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                putAnswer(a);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an answer. No-op until the index has been built.
+     */
+    public void removeAnswer(int answerId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) return;
+            answers.remove(answerId);
+            Integer questionId = questionIdByAnswer.remove(answerId);
+            if (questionId != null) {
+                Set<Integer> ids = answerIdsByQuestion.get(questionId);
+                if (ids != null) {
+                    ids.remove(answerId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putQuestion(Question q) {
+        List<String> terms = tokenize(q.getTitle());
+        terms.addAll(tokenize(q.getTitle())); // title boost
+        terms.addAll(tokenize(q.getDescription()));
+        questions.put(q.getQuestionId(), terms);
+    }
+
+    private void putAnswer(Answer a) {
+        answers.put(a.getAnswerId(), tokenize(a.getContent()));
+        Integer previous = questionIdByAnswer.put(a.getAnswerId(), a.getQuestionId());
+        if (previous != null && previous != a.getQuestionId()) {
+            Set<Integer> ids = answerIdsByQuestion.get(previous);
+            if (ids != null) ids.remove(a.getAnswerId());
+        }
+        answerIdsByQuestion.computeIfAbsent(a.getQuestionId(), k -> new HashSet<>()).add(a.getAnswerId());
+    }
+
+    /* -------------------- Queries -------------------- */
+
+    /**
+     * @param query free text
+     * @return ids of matching questions, best match first (empty for a blank query)
+     */
+    public List<Integer> searchQuestions(String query) {
+        lock.readLock().lock();
+        try {
+            return questions.search(tokenize(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query free text
+     * @return ids of matching answers, best match first (empty for a blank query)
+     */
+    public List<Integer> searchAnswers(String query) {
+        lock.readLock().lock();
+        try {
+            return answers.search(tokenize(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* -------------------- Text analysis -------------------- */
+
+    /**
+     * Split text into lower-case, stemmed terms with stop words removed.
+     *
+     * @param text any text (null gives an empty list)
+     * @return terms in text order
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                String word = current.toString();
+                current.setLength(0);
+                if (!STOP_WORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Steps 1 (plurals, -ed/-ing, terminal y) and 5a (final e) of the Porter stemmer. The
+     * remaining steps conflate derivational suffixes, which matter little for short forum posts.
+     *
+     * @param word lower-case word
+     * @return its stem
+     */
+    static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        String w = word;
+
+        // Step 1a
+        if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("ies")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (!w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is") && w.endsWith("s")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        // Step 1b
+        boolean trimmed = false;
+        if (w.endsWith("eed")) {
+            if (measure(w.substring(0, w.length() - 3)) > 0) {
+                w = w.substring(0, w.length() - 1);
+            }
+        } else if (w.endsWith("ed") && hasVowel(w.substring(0, w.length() - 2))) {
+            w = w.substring(0, w.length() - 2);
+            trimmed = true;
+        } else if (w.endsWith("ing") && hasVowel(w.substring(0, w.length() - 3))) {
+            w = w.substring(0, w.length() - 3);
+            trimmed = true;
+        }
+        if (trimmed) {
+            if (w.endsWith("at") || w.endsWith("bl") || w.endsWith("iz")) {
+                w = w + "e";
+            } else if (endsWithDoubleConsonant(w)
+                    && !(w.endsWith("l") || w.endsWith("s") || w.endsWith("z"))) {
+                w = w.substring(0, w.length() - 1);
+            } else if (measure(w) == 1 && endsCvc(w)) {
+                w = w + "e";
+            }
+        }
+
+        // Step 1c
+        if (w.endsWith("y") && hasVowel(w.substring(0, w.length() - 1))) {
+            w = w.substring(0, w.length() - 1) + "i";
+        }
+
+        // Step 5a, so "rebase" and "rebasing" meet
+        if (w.endsWith("e")) {
+            String base = w.substring(0, w.length() - 1);
+            int m = measure(base);
+            if (m > 1 || (m == 1 && !endsCvc(base))) {
+                w = base;
+            }
+        }
+        return w;
+    }
+
+    private static boolean isConsonant(String w, int i) {
+        char c = w.charAt(i);
+        if (c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u') {
+            return false;
+        }
+        if (c == 'y') {
+            return i == 0 || !isConsonant(w, i - 1);
+        }
+        return true;
+    }
+
+    private static boolean hasVowel(String w) {
+        for (int i = 0; i < w.length(); i++) {
+            if (!isConsonant(w, i)) return true;
+        }
+        return false;
+    }
+
+    /** Porter's m: the number of vowel-consonant sequences in the word. */
+    private static int measure(String w) {
+        int m = 0;
+        boolean prevVowel = false;
+        for (int i = 0; i < w.length(); i++) {
+            boolean vowel = !isConsonant(w, i);
+            if (!vowel && prevVowel) {
+                m++;
+            }
+            prevVowel = vowel;
+        }
+        return m;
+    }
+
+    private static boolean endsWithDoubleConsonant(String w) {
+        int n = w.length();
+        return n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && isConsonant(w, n - 1);
+    }
+
+    private static boolean endsCvc(String w) {
+        int n = w.length();
+        if (n < 3) return false;
+        char last = w.charAt(n - 1);
+        return isConsonant(w, n - 3) && !isConsonant(w, n - 2) && isConsonant(w, n - 1)
+                && last != 'w' && last != 'x' && last != 'y';
+    }
+
+    /* -------------------- BM25 over one document type -------------------- */
+
+    /**
+     * Postings, per-document term counts and length statistics for one kind of document.
+     * Not thread-safe; guarded by the enclosing index's lock.
+     */
+    private static final class Bm25 {
+        private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+        private final Map<Integer, Map<String, Integer>> termsByDoc = new HashMap<>();
+        private final Map<Integer, Integer> lengthByDoc = new HashMap<>();
+        private long totalLength = 0;
+
+        void put(int docId, List<String> terms) {
+            remove(docId);
+            Map<String, Integer> counts = new HashMap<>();
+            for (String t : terms) {
+                counts.merge(t, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(docId, e.getValue());
+            }
+            termsByDoc.put(docId, counts);
+            lengthByDoc.put(docId, terms.size());
+            totalLength += terms.size();
+        }
+
+        void remove(int docId) {
+            Map<String, Integer> counts = termsByDoc.remove(docId);
+            if (counts == null) {
+                return;
+            }
+            totalLength -= lengthByDoc.remove(docId);
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                Map<Integer, Integer> docs = postings.get(e.getKey());
+                if (docs != null) {
+                    docs.remove(docId);
+                    if (docs.isEmpty()) {
+                        postings.remove(e.getKey());
+                    }
+                }
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            termsByDoc.clear();
+            lengthByDoc.clear();
+            totalLength = 0;
+        }
+
+        int docCount() {
+            return termsByDoc.size();
+        }
+
+        List<Integer> search(List<String> queryTerms) {
+            int n = termsByDoc.size();
+            if (queryTerms.isEmpty() || n == 0) {
+                return new ArrayList<>();
+            }
+            double avgLength = (double) totalLength / n;
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Map<Integer, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Integer, Integer> e : docs.entrySet()) {
+                    int docLength = lengthByDoc.get(e.getKey());
+                    double tf = e.getValue();
+                    double score = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * docLength / avgLength));
+                    scores.merge(e.getKey(), score, Double::sum);
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((x, y) -> {
+                int byScore = Double.compare(y.getValue(), x.getValue());
+                return byScore != 0 ? byScore : Integer.compare(y.getKey(), x.getKey()); // newer first on ties
+            });
+            List<Integer> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Integer, Double> e : ranked) {
+                ids.add(e.getKey());
+            }
+            return ids;
+        }
+    }
+}
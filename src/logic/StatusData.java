@@ -1,25 +1,31 @@
 package logic;
 
+import databasePart1.AsyncDatabaseHelper;
 import databasePart1.DatabaseHelper;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 import model.Answers;
 import model.Questions;
+import model.Reviews;
 import model.User;
 
 
 /**
  * Holds shared application state and configuration for the JavaFX client.
  * Stores shared instances such as the {@link databasePart1.DatabaseHelper}, the primary
- * {@link javafx.stage.Stage}, and the {@link Questions} / {@link Answers} managers,
- * as well as window sizing and a utility method for setting scenes.
+ * {@link javafx.stage.Stage}, and the {@link Questions} / {@link Answers} / {@link Reviews}
+ * managers, as well as window sizing and a utility method for setting scenes.
+ * The managers are loaded once at startup and shared by every page; pages should use
+ * these instances rather than constructing their own, which would reload whole tables.
  */
 public class StatusData {
     public static DatabaseHelper databaseHelper;
     public static Stage primaryStage;
     public static Questions questions;
     public static Answers answers;
+    public static Reviews reviews;
+    private static AsyncDatabaseHelper asyncDb;
     
     public static User currUser;
     public static final boolean DEV_MODE = false;
@@ -27,6 +33,16 @@ public class StatusData {
     public static final int WINDOW_WIDTH = 1500;
     public static final int WINDOW_HEIGHT =1000;
     
+    /**
+     * @return the shared asynchronous facade over {@link #databaseHelper}, created on first use
+     */
+    public static synchronized AsyncDatabaseHelper async() {
+        if (asyncDb == null) {
+            asyncDb = new AsyncDatabaseHelper(databaseHelper);
+        }
+        return asyncDb;
+    }
+    
     // Utility method to set scene with consistent sizing
     public static void setScene(Stage stage, BorderPane root) {
         stage.setScene(new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT));
@@ -0,0 +1,92 @@
+package logic;
+
+/**
+ * The outcome of checking a user name, password or email address with {@link InputValidator}.
+ *
+ * <p>Results are immutable, so one can be handed to another thread or kept by a page. A valid
+ * input always yields the shared {@link #VALID} instance; only a rejected input creates a new
+ * result.
+ *
+ * <p>For passwords {@link #getCriteria()} tells which of the five password rules the input
+ * met (a bit set of {@link #UPPER_CASE}, {@link #LOWER_CASE}, {@link #DIGIT},
+ * {@link #SPECIAL_CHARACTER} and {@link #MIN_LENGTH}). User name and email results have no
+ * criteria of their own: they report {@link #ALL_CRITERIA} when valid and 0 otherwise.
+ */
+public final class ValidationResult {
+
+    /** Why an input was rejected. */
+    public enum Code {
+        OK,
+        EMPTY,
+        INVALID_CHARACTER,
+        // passwords
+        MISSING_CRITERIA,
+        // user names
+        MUST_START_WITH_LETTER,
+        SEPARATOR_NOT_FOLLOWED,
+        TOO_SHORT,
+        TOO_LONG,
+        // email addresses
+        WHITESPACE,
+        CONSECUTIVE_PERIODS,
+        MISSING_AT,
+        MULTIPLE_AT,
+        EMPTY_LOCAL_PART,
+        EMPTY_DOMAIN,
+        BAD_LOCAL_PART_EDGE,
+        EMPTY_DOMAIN_LABEL,
+        BAD_DOMAIN_LABEL_EDGE,
+        TOO_FEW_DOMAIN_LABELS,
+        BAD_DOMAIN_EXTENSION
+    }
+
+    // Password criteria, as bits of getCriteria()
+    public static final int UPPER_CASE = 1;
+    public static final int LOWER_CASE = 1 << 1;
+    public static final int DIGIT = 1 << 2;
+    public static final int SPECIAL_CHARACTER = 1 << 3;
+    public static final int MIN_LENGTH = 1 << 4;
+    public static final int ALL_CRITERIA = UPPER_CASE | LOWER_CASE | DIGIT | SPECIAL_CHARACTER | MIN_LENGTH;
+
+    /** The result of every valid input. */
+    public static final ValidationResult VALID = new ValidationResult(Code.OK, "", -1, ALL_CRITERIA);
+
+    private final Code code;
+    private final String message;
+    private final int errorIndex;
+    private final int criteria;
+
+    ValidationResult(Code code, String message, int errorIndex, int criteria) {
+        this.code = code;
+        this.message = message;
+        this.errorIndex = errorIndex;
+        this.criteria = criteria;
+    }
+
+    /** @return true if the input was accepted */
+    public boolean isValid() { return code == Code.OK; }
+
+    public Code getCode() { return code; }
+
+    /** @return the message to show the user; empty when valid */
+    public String getMessage() { return message; }
+
+    /** @return index of the character the error was found at, or -1 if it has no position */
+    public int getErrorIndex() { return errorIndex; }
+
+    /** @return the satisfied password criteria, as a bit set */
+    public int getCriteria() { return criteria; }
+
+    /**
+     * @param criterion one of the criteria bits, e.g. {@link #DIGIT}
+     * @return whether the input met it
+     */
+    public boolean meets(int criterion) {
+        return (criteria & criterion) == criterion;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult[" + code + ", index=" + errorIndex + ", criteria=" + Integer.toBinaryString(criteria) + "]";
+    }
+}
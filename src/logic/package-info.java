@@ -15,11 +15,15 @@
  * <ul>
  *   <li>{@link ClarificationsManager} – Manages creation, retrieval, and storage of user clarifications.</li>
  *   <li>{@link EmailRecognizer} – Provides logic to identify or validate email addresses in text input.</li>
+ *   <li>{@link InputValidator} – Stateless, thread-safe checks of user names, passwords and email addresses.</li>
  *   <li>{@link PasswordRecognizer} – Validates passwords and may contain logic for strength checks or formatting.</li>
+ *   <li>{@link RosterOnboarding} – Checks a CSV class roster and creates invitation codes for all valid rows in one transaction.</li>
  *   <li>{@link Result} – A generic wrapper for operation results, typically includes success flags and messages.</li>
  *   <li>{@link SearchFunction} – Implements search algorithms for filtering questions, answers, or users.</li>
+ *   <li>{@link SearchIndex} – In-memory inverted index with BM25 ranking for question and answer keyword search.</li>
  *   <li>{@link StatusData} – Maintains global application state such as current user, selected question, or database helper instance.</li>
  *   <li>{@link UserNameRecognizer} – Extracts or verifies usernames from text, likely used during login or message parsing.</li>
+ *   <li>{@link ValidationResult} – Immutable outcome of an {@link InputValidator} check: error code, message, position and met criteria.</li>
  *   <li>{@link UserQAMenu} – Controls the QA-related user interface menu and user interactions.</li>
  * </ul>
  *
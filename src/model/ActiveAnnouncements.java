@@ -0,0 +1,149 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * The announcements that are currently shown to users, ordered for display.
+ *
+ * <p>{@link DatabaseHelper#getActiveAnnouncementsForUser(int)} loads every announcement that has
+ * not ended yet once and keeps them here; creating, editing or deleting an announcement throws
+ * the whole set away. Between those writes the only thing that changes is the clock, so a timer
+ * recomputes the active list exactly when the next announcement starts or ends. Logins then
+ * read the list without touching the database; read marks come from the cached
+ * {@link ReadBitmap}s.
+ *
+ * <p>An announcement is active from its start date through its end date inclusive (forever if
+ * it has none), like the query it replaces. The list is ordered by {@link Announcement.Priority}
+ * (urgent first), then newest first.
+ */
+public class ActiveAnnouncements {
+
+    /** Urgent before important before normal; newest first within a priority. */
+    public static final Comparator<Announcement> DISPLAY_ORDER = Comparator
+            .comparing(Announcement::getPriority, Comparator.reverseOrder())
+            .thenComparing(Announcement::getCreatedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Announcement::getAnnouncementId, Comparator.reverseOrder());
+
+    // One daemon thread shared by every cache; each cache keeps at most one task on it
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "announcement-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final List<Announcement> pending;              // not ended yet, in display order
+    private volatile List<Announcement> active = List.of(); // immutable snapshot
+    private LocalDateTime nextBoundary;                    // next start or end after now, or null
+    private ScheduledFuture<?> timer;
+    private boolean closed = false;
+
+    /**
+     * @param notEnded announcements whose end date is not in the past (others are ignored)
+     */
+    public ActiveAnnouncements(List<Announcement> notEnded) {
+        pending = new ArrayList<>(notEnded);
+        pending.sort(DISPLAY_ORDER);
+        refresh(LocalDateTime.now());
+    }
+
+    /**
+     * @return active announcements in display order (an unmodifiable snapshot)
+     */
+    public List<Announcement> getActive() {
+        LocalDateTime boundary;
+        synchronized (this) {
+            boundary = nextBoundary;
+        }
+        if (boundary != null && !LocalDateTime.now().isBefore(boundary)) {
+            refresh(LocalDateTime.now()); // the timer has not fired yet
+        }
+        return active;
+    }
+
+    /**
+     * @return when the active list changes next without a write, or null if it never does
+     */
+    public synchronized LocalDateTime getNextBoundary() {
+        return nextBoundary;
+    }
+
+    /**
+     * Recompute the active list at each start and end date from now on.
+     */
+    public synchronized void startTimer() {
+        if (!closed) {
+            schedule();
+        }
+    }
+
+    /**
+     * Stop the timer; called when the set is thrown away.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private synchronized void refresh(LocalDateTime now) {
+        List<Announcement> current = new ArrayList<>();
+        LocalDateTime next = null;
+        for (var it = pending.iterator(); it.hasNext(); ) {
+            Announcement a = it.next();
+            LocalDateTime start = parse(a.getStartDate());
+            LocalDateTime end = parse(a.getEndDate());
+            if (end != null && now.isAfter(end)) {
+                it.remove(); // ended for good
+                continue;
+            }
+            if (start == null || !now.isBefore(start)) {
+                current.add(a);
+                // it stops being active just after its end date
+                next = earliest(next, end == null ? null : end.plusNanos(1));
+            } else {
+                next = earliest(next, start);
+            }
+        }
+        active = Collections.unmodifiableList(current);
+        nextBoundary = next;
+        if (timer != null) { // keep a started timer running
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        if (nextBoundary == null) {
+            return;
+        }
+        // round up so the task never runs before the boundary
+        long delay = Duration.between(LocalDateTime.now(), nextBoundary).toMillis() + 1;
+        timer = SCHEDULER.schedule(() -> refresh(LocalDateTime.now()), Math.max(delay, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime parse(String isoDate) {
+        return isoDate == null || isoDate.isEmpty() ? null : LocalDateTime.parse(isoDate);
+    }
+}
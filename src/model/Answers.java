@@ -3,16 +3,23 @@ package model;
 import java.util.stream.Collectors;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import databasePart1.*;
 import logic.Result;
+import logic.SearchIndex;
 
 /**
  * The Answers class handles all logic related to managing answers,
  * including creation, editing, deletion, and searching.
  * 
+ * One instance is shared by every page through {@link logic.StatusData#answers}: an identity
+ * map keyed by answer id with secondary maps by question and by author user id, kept in step
+ * with the database on every write.
+ * 
  * Permissions:
  *  - Students can edit/delete their own answers.
  *  - Admins, instructors, reviewers, and staff can edit/delete any answer.
@@ -20,11 +27,15 @@ import logic.Result;
 public class Answers {
 
     private Map<Integer, Answer> answers;
+    private Map<Integer, Map<Integer, Answer>> byQuestion;
+    private Map<Integer, Map<Integer, Answer>> byUserId;
     private int nextId;
     private DatabaseHelper db;
 
     public Answers(DatabaseHelper db) {
-        this.answers = new HashMap<>();
+        this.answers = new ConcurrentHashMap<>();
+        this.byQuestion = new ConcurrentHashMap<>();
+        this.byUserId = new ConcurrentHashMap<>();
         this.nextId = 1;
         this.db = db;
         loadAnswersFromDatabase();
@@ -33,14 +44,42 @@ public class Answers {
     private void loadAnswersFromDatabase() {
         List<Answer> dbAnswers = db.loadAllAnswers();
         for (Answer ans : dbAnswers) {
-            answers.put(ans.getAnswerId(), ans);
-            if (ans.getAnswerId() >= nextId) {
-                nextId = ans.getAnswerId() + 1;
-            }
+            cache(ans);
         }
         System.out.println("Loaded " + answers.size() + " answers from database.");
     }
 
+    // Add to the identity map and the secondary maps
+    private void cache(Answer a) {
+        answers.put(a.getAnswerId(), a);
+        byQuestion.computeIfAbsent(a.getQuestionId(), k -> new ConcurrentHashMap<>()).put(a.getAnswerId(), a);
+        byUserId.computeIfAbsent(a.getUserId(), k -> new ConcurrentHashMap<>()).put(a.getAnswerId(), a);
+        if (a.getAnswerId() >= nextId) {
+            nextId = a.getAnswerId() + 1;
+        }
+    }
+
+    private void evict(Answer a) {
+        answers.remove(a.getAnswerId());
+        Map<Integer, Answer> forQuestion = byQuestion.get(a.getQuestionId());
+        if (forQuestion != null) forQuestion.remove(a.getAnswerId());
+        Map<Integer, Answer> forUser = byUserId.get(a.getUserId());
+        if (forUser != null) forUser.remove(a.getAnswerId());
+    }
+
+    /**
+     * Drop every cached answer of a question, e.g. after the question was deleted
+     * (the database removes its answers with it).
+     */
+    public void evictQuestion(int questionId) {
+        Map<Integer, Answer> forQuestion = byQuestion.remove(questionId);
+        if (forQuestion != null) {
+            for (Answer a : new ArrayList<>(forQuestion.values())) {
+                evict(a);
+            }
+        }
+    }
+
     public Result create(int userId, int questionId, String author, String content) {
         if (author == null || author.isBlank()) {
             return new Result(false, "Author is required.", null);
@@ -52,14 +91,14 @@ public class Answers {
         Answer answer = new Answer(nextId, userId, questionId, author, content);
 
         try {
-            db.insertAnswer(answer);
+            db.insertAnswer(answer); // sets the generated id
         } catch (SQLException e) {
             e.printStackTrace();
             return new Result(false, "Failed to save to database: " + e.getMessage(), null);
         }
 
-        answers.put(nextId, answer);
-        nextId++;
+        cache(answer);
+        SearchIndex.getInstance().indexAnswer(answer);
         return new Result(true, "Answer created successfully.", answer);
     }
     
@@ -75,19 +114,67 @@ public class Answers {
         answer.setSolution(isSolution); // Mark as solution if needed
 
         try {
-            db.insertAnswer(answer);
+            db.insertAnswer(answer); // sets the generated id
         } catch (SQLException e) {
             e.printStackTrace();
             return new Result(false, "Failed to save to database: " + e.getMessage(), null);
         }
 
-        answers.put(nextId, answer);
-        nextId++;
+        cache(answer);
+        SearchIndex.getInstance().indexAnswer(answer);
         return new Result(true, "Answer created successfully.", answer);
     }
 
+    /**
+     * Creates many answers in one database transaction (bulk import and seeding).
+     * Every answer is checked like {@link #create}; one invalid answer rejects the whole batch.
+     * The generated ids are set on the answer objects, which come back as the Result data.
+     */
+    public Result createAll(List<Answer> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return new Result(false, "No answers to create.", null);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Answer a = batch.get(i);
+            if (a.getAuthor() == null || a.getAuthor().isBlank()) {
+                return new Result(false, "Answer " + (i + 1) + ": Author is required.", null);
+            }
+            if (a.getContent() == null || a.getContent().isBlank()) {
+                return new Result(false, "Answer " + (i + 1) + ": Content is required.", null);
+            }
+        }
+
+        try {
+            db.insertAnswers(batch); // sets the generated ids
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new Result(false, "Failed to save to database: " + e.getMessage(), null);
+        }
+
+        SearchIndex index = SearchIndex.getInstance();
+        for (Answer a : batch) {
+            cache(a);
+            index.indexAnswer(a);
+        }
+        return new Result(true, batch.size() + " answers created successfully.", new ArrayList<>(batch));
+    }
+
+    /**
+     * @return the cached answer, loading it from the database on a miss (null if it does not exist)
+     */
     public Answer read(int answerId) {
-        return answers.get(answerId);
+        Answer a = answers.get(answerId);
+        if (a == null) {
+            try {
+                a = db.getAnswerById(answerId);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            if (a != null) {
+                cache(a);
+            }
+        }
+        return a;
     }
 
     public List<Answer> readAll() {
@@ -95,9 +182,13 @@ public class Answers {
     }
 
     public List<Answer> readByQuestionId(int questionId) {
-        return answers.values().stream()
-                .filter(a -> a.getQuestionId() == questionId)
-                .collect(Collectors.toList());
+        Map<Integer, Answer> forQuestion = byQuestion.get(questionId);
+        return forQuestion == null ? new ArrayList<>() : new ArrayList<>(forQuestion.values());
+    }
+
+    public List<Answer> readByUserId(int userId) {
+        Map<Integer, Answer> forUser = byUserId.get(userId);
+        return forUser == null ? new ArrayList<>() : new ArrayList<>(forUser.values());
     }
 
     /**
@@ -105,13 +196,14 @@ public class Answers {
      * Students can update their own; staff/admins can update any.
      */
     public Result update(int answerId, int questionId, User currUser, String content, Boolean isSolution) {
-        List<Question> qList = db.loadAllQs();
-        Question question = qList.stream()
-                .filter(q -> q.getQuestionId() == questionId)
-                .findFirst()
-                .orElse(null);
+        Question question = null;
+        try {
+            question = db.getQuestionById(questionId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-        Answer answer = answers.get(answerId);
+        Answer answer = read(answerId);
 
         if (answer == null) {
             return new Result(false, "Answer not found.", null);
@@ -139,6 +231,7 @@ public class Answers {
             e.printStackTrace();
             return new Result(false, "Failed to update answer in database: " + e.getMessage(), null);
         }
+        SearchIndex.getInstance().indexAnswer(answer);
 
         return new Result(true, "Answer updated successfully.", answer);
     }
@@ -148,7 +241,7 @@ public class Answers {
      * Students can delete their own; staff/admins can delete any.
      */
     public Result delete(int answerId, User user) {
-        Answer answer = answers.get(answerId);
+        Answer answer = read(answerId);
 
         if (answer == null) {
             return new Result(false, "Answer not found.", null);
@@ -163,21 +256,21 @@ public class Answers {
         }
 
         // Remove from memory and database
-        answers.remove(answerId);
+        evict(answer);
         try {
             db.deleteAnswer(answerId);
         } catch (SQLException e) {
             e.printStackTrace();
             return new Result(false, "Failed to delete answer from database: " + e.getMessage(), null);
         }
+        SearchIndex.getInstance().removeAnswer(answerId);
 
         return new Result(true, "Answer deleted successfully.", null);
     }
 
     /** Search helpers */
     public List<Answer> search(int questionId, String keyword, Boolean solutionOnly) {
-        return answers.values().stream()
-                .filter(a -> a.getQuestionId() == questionId)
+        return readByQuestionId(questionId).stream()
                 .filter(a -> (keyword == null || keyword.isEmpty()
                         || a.getContent().toLowerCase().contains(keyword.toLowerCase())
                         || a.getAuthor().toLowerCase().contains(keyword.toLowerCase())))
@@ -185,14 +278,24 @@ public class Answers {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Search all answers. A keyword is matched against answer content through the
+     * {@link SearchIndex} and results come back best match first.
+     */
     public List<Answer> search(String keyword, String author, Boolean solutionOnly) {
-        String kw = keyword == null ? "" : keyword.toLowerCase();
         String au = author == null ? "" : author.toLowerCase();
 
-        return answers.values().stream()
-                .filter(a -> kw.isEmpty()
-                        || (a.getContent() != null && a.getContent().toLowerCase().contains(kw))
-                        || (a.getAuthor() != null && a.getAuthor().toLowerCase().contains(kw)))
+        Collection<Answer> candidates = answers.values();
+        if (keyword != null && !keyword.isBlank()) {
+            SearchIndex index = SearchIndex.getInstance();
+            index.ensureLoaded(db);
+            candidates = index.searchAnswers(keyword).stream()
+                    .map(answers::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        return candidates.stream()
                 .filter(a -> au.isEmpty()
                         || (a.getAuthor() != null && a.getAuthor().toLowerCase().contains(au)))
                 .filter(a -> (solutionOnly == null || !solutionOnly || a.isSolution()))
@@ -1,5 +1,8 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Model class representing a Frequently Asked Question (FAQ) entry.
  *
@@ -15,6 +18,8 @@ public class FAQ {
     private String dateMarked;
     private int markedByStaffId;
     private String questionTitle;
+    private String questionDescription;
+    private List<Answer> solutions = new ArrayList<>();
 
     // -------- Constructors --------
 
@@ -49,6 +54,17 @@ public class FAQ {
         this.markedByStaffId = markedByStaffId;
     }
 
+    /**
+     * Copy constructor (the solutions list is copied, the answers in it are shared).
+     */
+    public FAQ(FAQ other) {
+        this(other.faqId, other.questionId, other.category, other.displayTitle, other.staffNotes, other.markedByStaffId);
+        this.dateMarked = other.dateMarked;
+        this.questionTitle = other.questionTitle;
+        this.questionDescription = other.questionDescription;
+        this.solutions = new ArrayList<>(other.solutions);
+    }
+
     // -------- Getters & Setters --------
 
     public int getFaqId() { return faqId; }
@@ -74,4 +90,12 @@ public class FAQ {
 
     public String getQuestionTitle() { return questionTitle; }
     public void setQuestionTitle(String questionTitle) { this.questionTitle = questionTitle; }
+
+    /** Description of the linked question; only filled in by {@link FAQView}. */
+    public String getQuestionDescription() { return questionDescription; }
+    public void setQuestionDescription(String questionDescription) { this.questionDescription = questionDescription; }
+
+    /** Solution answers of the linked question, oldest first; only filled in by {@link FAQView}. */
+    public List<Answer> getSolutions() { return solutions; }
+    public void setSolutions(List<Answer> solutions) { this.solutions = solutions; }
 }
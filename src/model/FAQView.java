@@ -0,0 +1,173 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Every FAQ entry with its question and solution answers, grouped by category.
+ *
+ * <p>{@link DatabaseHelper#getFAQView()} builds the view from two queries the first time it is
+ * asked for and keeps it. Afterwards the question, answer and FAQ writes apply their change
+ * here, so the FAQ page renders from memory instead of looking up the question and solutions
+ * of each entry.
+ *
+ * <p>Entries are never changed in place: an update replaces the affected {@link FAQ} with a
+ * copy and publishes a new snapshot, so a map returned by {@link #getByCategory()} stays
+ * consistent while the FX thread draws it.
+ */
+public class FAQView {
+
+    /** Most recently marked first, as on the staff FAQ page. */
+    public static final Comparator<FAQ> DISPLAY_ORDER = Comparator
+            .comparing(FAQ::getDateMarked, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(FAQ::getFaqId, Comparator.reverseOrder());
+
+    private static final Comparator<Answer> SOLUTION_ORDER =
+            Comparator.comparing(Answer::getTimestamp, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<Integer, FAQ> byFaqId = new HashMap<>();
+    private volatile Map<String, List<FAQ>> byCategory = Collections.emptyMap(); // immutable snapshot
+
+    /**
+     * @param faqs every FAQ entry with its question and solutions filled in
+     */
+    public FAQView(List<FAQ> faqs) {
+        for (FAQ faq : faqs) {
+            byFaqId.put(faq.getFaqId(), faq);
+        }
+        publish();
+    }
+
+    /**
+     * @return categories in alphabetical order, each with its entries in {@link #DISPLAY_ORDER}
+     */
+    public Map<String, List<FAQ>> getByCategory() {
+        return byCategory;
+    }
+
+    /**
+     * @return number of FAQ entries
+     */
+    public synchronized int size() {
+        return byFaqId.size();
+    }
+
+    /**
+     * Apply a new category, display title or staff note.
+     *
+     * @param faq the updated entry
+     */
+    public synchronized void updateDetails(FAQ faq) {
+        FAQ old = byFaqId.get(faq.getFaqId());
+        if (old == null) {
+            return;
+        }
+        FAQ copy = new FAQ(old);
+        copy.setCategory(faq.getCategory());
+        copy.setDisplayTitle(faq.getDisplayTitle());
+        copy.setStaffNotes(faq.getStaffNotes());
+        byFaqId.put(copy.getFaqId(), copy);
+        publish();
+    }
+
+    /**
+     * Drop the entries of a question that left the FAQ list or was deleted.
+     *
+     * @param questionId the question id
+     */
+    public synchronized void removeQuestion(int questionId) {
+        if (byFaqId.values().removeIf(f -> f.getQuestionId() == questionId)) {
+            publish();
+        }
+    }
+
+    /**
+     * Apply a question's new title and description.
+     *
+     * @param question the updated question
+     */
+    public synchronized void updateQuestion(Question question) {
+        boolean changed = false;
+        for (FAQ old : new ArrayList<>(byFaqId.values())) {
+            if (old.getQuestionId() == question.getQuestionId()) {
+                FAQ copy = new FAQ(old);
+                copy.setQuestionTitle(question.getTitle());
+                copy.setQuestionDescription(question.getDescription());
+                byFaqId.put(copy.getFaqId(), copy);
+                changed = true;
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * Add or replace an answer among its question's solutions, or take it out if it is no
+     * longer a solution.
+     *
+     * @param answer a stored or updated answer
+     */
+    public synchronized void updateAnswer(Answer answer) {
+        boolean changed = false;
+        for (FAQ old : new ArrayList<>(byFaqId.values())) {
+            boolean listed = old.getSolutions().stream().anyMatch(a -> a.getAnswerId() == answer.getAnswerId());
+            boolean belongs = answer.isSolution() && old.getQuestionId() == answer.getQuestionId();
+            if (!listed && !belongs) {
+                continue;
+            }
+            FAQ copy = new FAQ(old);
+            copy.getSolutions().removeIf(a -> a.getAnswerId() == answer.getAnswerId());
+            if (belongs) {
+                // a copy, so later edits to the caller's object do not leak in unpublished
+                copy.getSolutions().add(new Answer(answer.getAnswerId(), answer.getUserId(), answer.getQuestionId(),
+                        answer.getAuthor(), answer.getContent(), answer.getTimestamp(), true));
+                copy.getSolutions().sort(SOLUTION_ORDER);
+            }
+            byFaqId.put(copy.getFaqId(), copy);
+            changed = true;
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * Take a deleted answer out of the solutions.
+     *
+     * @param answerId the answer id
+     */
+    public synchronized void removeAnswer(int answerId) {
+        boolean changed = false;
+        for (FAQ old : new ArrayList<>(byFaqId.values())) {
+            if (old.getSolutions().stream().anyMatch(a -> a.getAnswerId() == answerId)) {
+                FAQ copy = new FAQ(old);
+                copy.getSolutions().removeIf(a -> a.getAnswerId() == answerId);
+                byFaqId.put(copy.getFaqId(), copy);
+                changed = true;
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        Map<String, List<FAQ>> grouped = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (FAQ faq : byFaqId.values()) {
+            grouped.computeIfAbsent(faq.getCategory(), c -> new ArrayList<>()).add(faq);
+        }
+        for (Map.Entry<String, List<FAQ>> entry : grouped.entrySet()) {
+            entry.getValue().sort(DISPLAY_ORDER);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        byCategory = Collections.unmodifiableMap(grouped);
+    }
+}
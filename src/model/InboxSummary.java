@@ -0,0 +1,202 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Unread counts and conversation list for one user's inbox.
+ *
+ * <p>{@link DatabaseHelper#getInboxSummary(int)} builds a summary from one pass over the user's
+ * messages the first time it is asked for, and keeps it: {@code sendMessage},
+ * {@code markMessagesAsRead}, {@code insertClarification} and {@code markClarificationAsRead}
+ * update every summary they touch. The navigation bar badge and the conversation list can
+ * therefore be drawn without querying {@code privateMessages} again.
+ *
+ * <p>Conversations are kept ordered by their latest message, newest first. All methods are
+ * synchronized because writes arrive from the database threads while pages read on the FX thread.
+ *
+ * @see Messages
+ */
+public class InboxSummary {
+
+    /** Characters of the latest message kept for the conversation list. */
+    public static final int PREVIEW_LENGTH = 80;
+
+    /**
+     * The latest message exchanged with one other user, and how many of theirs are unread.
+     */
+    public static class Conversation {
+        private final int otherUserId;
+        private String otherUserName;
+        private int lastMessageId;
+        private int lastSenderId;
+        private String lastMessage;
+        private LocalDateTime lastTimestamp;
+        private int unreadCount;
+
+        Conversation(int otherUserId, String otherUserName) {
+            this.otherUserId = otherUserId;
+            this.otherUserName = otherUserName;
+        }
+
+        private Conversation(Conversation c) {
+            this(c.otherUserId, c.otherUserName);
+            lastMessageId = c.lastMessageId;
+            lastSenderId = c.lastSenderId;
+            lastMessage = c.lastMessage;
+            lastTimestamp = c.lastTimestamp;
+            unreadCount = c.unreadCount;
+        }
+
+        public int getOtherUserId() { return otherUserId; }
+        public String getOtherUserName() { return otherUserName; }
+        public int getLastMessageId() { return lastMessageId; }
+        public int getLastSenderId() { return lastSenderId; }
+        /** @return start of the latest message, at most {@link #PREVIEW_LENGTH} characters */
+        public String getLastMessage() { return lastMessage; }
+        public LocalDateTime getLastTimestamp() { return lastTimestamp; }
+        public int getUnreadCount() { return unreadCount; }
+    }
+
+    // newest first; the message id breaks ties between messages with the same timestamp
+    private static final Comparator<Conversation> BY_LATEST = Comparator
+            .comparing(Conversation::getLastTimestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Conversation::getLastMessageId, Comparator.reverseOrder())
+            .thenComparingInt(Conversation::getOtherUserId);
+
+    private final int userId;
+    private final Map<Integer, Conversation> byOtherUser = new HashMap<>();
+    private final TreeSet<Conversation> ordered = new TreeSet<>(BY_LATEST);
+    private int unreadMessages;
+    private int unreadClarifications;
+
+    /**
+     * @param userId owner of the inbox
+     */
+    public InboxSummary(int userId) {
+        this.userId = userId;
+    }
+
+    public int getUserId() { return userId; }
+
+    /** @return unread private messages addressed to this user */
+    public synchronized int getUnreadMessages() { return unreadMessages; }
+
+    /** @return unread clarification suggestions addressed to this user */
+    public synchronized int getUnreadClarifications() { return unreadClarifications; }
+
+    /** @return a copy of the conversations, most recent first */
+    public synchronized List<Conversation> getConversations() {
+        List<Conversation> list = new ArrayList<>(ordered.size());
+        for (Conversation c : ordered) {
+            list.add(new Conversation(c));
+        }
+        return list;
+    }
+
+    /**
+     * @param otherUserId another user
+     * @return whether this user has exchanged messages with them
+     */
+    public synchronized boolean hasConversation(int otherUserId) {
+        return byOtherUser.containsKey(otherUserId);
+    }
+
+    /**
+     * Fold one message into the summary. Used both to build the summary and when a message is
+     * sent; older messages only add to the unread count.
+     *
+     * @param msg a message this user sent or received (it must have its id)
+     * @param otherUserName display name of the other user, or null if not known
+     */
+    public synchronized void addMessage(Messages msg, String otherUserName) {
+        boolean incoming = msg.getRecipientId() == userId;
+        int otherId = incoming ? msg.getSenderId() : msg.getRecipientId();
+        Conversation c = byOtherUser.get(otherId);
+        if (c == null) {
+            c = new Conversation(otherId, otherUserName);
+            byOtherUser.put(otherId, c);
+        } else {
+            ordered.remove(c);
+            if (c.otherUserName == null) {
+                c.otherUserName = otherUserName;
+            }
+        }
+        if (incoming && !msg.isRead()) {
+            c.unreadCount++;
+            unreadMessages++;
+        }
+        if (c.lastTimestamp == null || isAfter(msg, c)) {
+            c.lastMessageId = msg.getId();
+            c.lastSenderId = msg.getSenderId();
+            c.lastMessage = preview(msg.getMessage());
+            c.lastTimestamp = msg.getTimestamp();
+        }
+        ordered.add(c);
+    }
+
+    /**
+     * A message from {@code senderId} to this user was marked read.
+     *
+     * @param senderId sender of the message
+     */
+    public synchronized void messageRead(int senderId) {
+        Conversation c = byOtherUser.get(senderId);
+        if (c != null && c.unreadCount > 0) {
+            c.unreadCount--; // not part of the ordering, so no re-insert
+        }
+        if (unreadMessages > 0) {
+            unreadMessages--;
+        }
+    }
+
+    /**
+     * Messages from {@code otherUserId} were marked read by marking their whole thread read.
+     *
+     * @param otherUserId the other participant
+     * @param count how many of their messages changed from unread to read
+     */
+    public synchronized void threadRead(int otherUserId, int count) {
+        Conversation c = byOtherUser.get(otherUserId);
+        if (c != null) {
+            c.unreadCount = Math.max(0, c.unreadCount - count);
+        }
+        unreadMessages = Math.max(0, unreadMessages - count);
+    }
+
+    /**
+     * @param delta change in unread clarification suggestions (+1 on insert, -1 when read)
+     */
+    public synchronized void clarificationsChanged(int delta) {
+        unreadClarifications = Math.max(0, unreadClarifications + delta);
+    }
+
+    /**
+     * @param count unread clarification suggestions when the summary is built
+     */
+    public synchronized void setUnreadClarifications(int count) {
+        unreadClarifications = count;
+    }
+
+    private static boolean isAfter(Messages msg, Conversation c) {
+        if (msg.getTimestamp() == null) {
+            return false;
+        }
+        int cmp = msg.getTimestamp().compareTo(c.lastTimestamp);
+        return cmp > 0 || (cmp == 0 && msg.getId() > c.lastMessageId);
+    }
+
+    private static String preview(String message) {
+        if (message == null || message.length() <= PREVIEW_LENGTH) {
+            return message;
+        }
+        return message.substring(0, PREVIEW_LENGTH);
+    }
+}
@@ -16,6 +16,7 @@ public class Messages {
 	private String message;
 	private LocalDateTime timestamp;
 	private boolean isRead;
+	private int threadId; // conversation thread; 0 until the message is stored
 
 	public Messages(int id, int senderId, int recipientId, String message, LocalDateTime timestamp, boolean isRead) {
 		this.id = id;
@@ -43,6 +44,7 @@ public class Messages {
 	public String getRecipientName() { return recipientName; }
 	public LocalDateTime getTimestamp() { return timestamp; }
 	public boolean isRead() { return isRead; }
+	public int getThreadId() { return threadId; }
 	
 	//setters
 	public void setId(int id) { this.id = id; }
@@ -52,6 +54,7 @@ public class Messages {
 	public void setSenderName(String senderName) { this.senderName = senderName; }
 	public void setRecipientName(String recipientName) { this.recipientName = recipientName; }
 	public void setIsRead(boolean read) { isRead = read; }
+	public void setThreadId(int threadId) { this.threadId = threadId; }
 }
 
 
@@ -8,6 +8,8 @@ import javafx.geometry.Orientation;
 import javafx.scene.control.*;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 import logic.*;
 import pages.*;
 
@@ -260,6 +262,18 @@ public class NavigationBar extends ToolBar {
         spacer.setMaxWidth(Double.MAX_VALUE);
         this.getItems().add(spacer);
         
+        // Unread messages badge, hidden until the inbox summary has loaded off the FX thread
+        Button messageNotif = new Button();
+        messageNotif.setStyle("-fx-background-color: #c0392b; -fx-text-fill: white; " +
+                              "-fx-font-weight: bold; -fx-padding: 5 15 5 15; " +
+                              "-fx-background-radius: 15;");
+        messageNotif.setOnAction(_ -> {
+            new MessagingPage().show(StatusData.primaryStage);
+        });
+        showUnreadMessages(messageNotif, 0);
+        this.getItems().add(messageNotif);
+        watchUnreadMessages(messageNotif, currentUser.getId());
+        
         // Announcements notification (if any unread)
         try {
             List<Announcement> unreadAnnouncements = 
@@ -309,6 +323,42 @@ public class NavigationBar extends ToolBar {
                                    logout);
         this.getItems().add(userMenu);
     }
+    
+    // Load the unread count now and again whenever a message to this user is sent or read.
+    // The scope follows the scene the bar ends up in and stops when that scene is closed.
+    private void watchUnreadMessages(Button badge, int userId) {
+        AsyncDatabaseHelper.Scope scope = StatusData.async().newScope();
+        sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                scope.bindTo(newScene);
+            }
+        });
+        Runnable refresh = () -> scope.load(db -> db.getInboxSummary(userId).getUnreadMessages(),
+                unread -> showUnreadMessages(badge, unread));
+        scope.subscribe(DataEvent.MessageSent.class, e -> {
+            if (e.getMessage().getRecipientId() == userId) {
+                refresh.run();
+            }
+        });
+        scope.subscribe(DataEvent.MessageRead.class, e -> {
+            if (e.getRecipientId() == userId) {
+                refresh.run();
+            }
+        });
+        scope.subscribe(DataEvent.ThreadRead.class, e -> {
+            if (e.getUserId() == userId) {
+                refresh.run();
+            }
+        });
+        refresh.run();
+    }
+    
+    private static void showUnreadMessages(Button badge, int unread) {
+        badge.setText("✉️ " + unread);
+        badge.setTooltip(new Tooltip("You have " + unread + " unread message(s)"));
+        badge.setVisible(unread > 0);
+        badge.setManaged(unread > 0);
+    }
      
     // Helper method to create styled buttons
     private Button createStyledButton(String text) {
@@ -0,0 +1,50 @@
+package model;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Per-question flags the question table shows next to each row: whether it has a solution,
+ * whether it is on the FAQ page, how many answers it has and how many clarification
+ * suggestions on it are still unread.
+ *
+ * <p>{@link DatabaseHelper#getQuestionStatuses(java.util.Collection)} loads the statuses of a
+ * whole page of questions with one query and keeps them. Writes that change a count drop the
+ * question's cached status so the next page recounts it; FAQ changes replace it with an updated
+ * copy. Instances are immutable.
+ */
+public final class QuestionStatus {
+    private final int questionId;
+    private final int answerCount;
+    private final int solutionCount;
+    private final boolean faq;
+    private final int unreadClarifications;
+
+    public QuestionStatus(int questionId, int answerCount, int solutionCount, boolean faq, int unreadClarifications) {
+        this.questionId = questionId;
+        this.answerCount = answerCount;
+        this.solutionCount = solutionCount;
+        this.faq = faq;
+        this.unreadClarifications = unreadClarifications;
+    }
+
+    public int getQuestionId() { return questionId; }
+    public int getAnswerCount() { return answerCount; }
+    public int getSolutionCount() { return solutionCount; }
+    public boolean hasSolution() { return solutionCount > 0; }
+    public boolean isFAQ() { return faq; }
+    public int getUnreadClarifications() { return unreadClarifications; }
+
+    /**
+     * @param faq whether the question is on the FAQ page now
+     * @return this status with the FAQ flag set
+     */
+    public QuestionStatus withFAQ(boolean faq) {
+        return new QuestionStatus(questionId, answerCount, solutionCount, faq, unreadClarifications);
+    }
+
+    @Override
+    public String toString() {
+        return "QuestionStatus[q" + questionId + ", answers=" + answerCount + ", solutions=" + solutionCount
+                + ", faq=" + faq + ", unreadClarifications=" + unreadClarifications + "]";
+    }
+}
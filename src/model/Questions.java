@@ -3,20 +3,27 @@ package model;
 
 import databasePart1.*;
 import logic.Result;
+import logic.SearchIndex;
+import logic.StatusData;
 
 import java.util.stream.Collectors;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * Handles CRUD and search operations for {@link QUestion} entities,
  * maintaining an in-memory map synchronized with the database.
  * Provides filtering, recent-question retrieval, and permission checks.
+ *
+ * <p>One instance is shared by every page through {@link logic.StatusData#questions}. It is an
+ * identity map keyed by question id, with a secondary map by author user id; writes go to the
+ * database first and then to the maps, and {@link #read(int)} falls back to the database for
+ * ids it has not seen, so navigating between pages needs no reload.
  */
 //importing comparator for getRecent
 import java.util.Comparator;
@@ -24,22 +31,38 @@ import java.util.Comparator;
 public class Questions {
 	private DatabaseHelper db;
     private Map<Integer, Question> questions;
+    private Map<Integer, Map<Integer, Question>> byUserId;
     private int nextId;
 
     public Questions(DatabaseHelper db) {
     	this.db = db;
-        this.questions = new HashMap<>();
+        this.questions = new ConcurrentHashMap<>();
+        this.byUserId = new ConcurrentHashMap<>();
         this.nextId = 1;
         
         List<Question> storedQuestions = db.loadAllQs();
         for (Question q : storedQuestions) {
-        	questions.put(q.getQuestionId(), q);
-        	if (q.getQuestionId() >= nextId) {
-        		nextId = q.getQuestionId() + 1;
-        	}
+        	cache(q);
         }
     }
 
+    // Add to the identity map and the secondary map
+    private void cache(Question q) {
+    	questions.put(q.getQuestionId(), q);
+    	byUserId.computeIfAbsent(q.getUserId(), k -> new ConcurrentHashMap<>()).put(q.getQuestionId(), q);
+    	if (q.getQuestionId() >= nextId) {
+    		nextId = q.getQuestionId() + 1;
+    	}
+    }
+
+    private void evict(Question q) {
+    	questions.remove(q.getQuestionId());
+    	Map<Integer, Question> mine = byUserId.get(q.getUserId());
+    	if (mine != null) {
+    		mine.remove(q.getQuestionId());
+    	}
+    }
+
     public Result create(int userId, String author, String title, String description, List<String> tags) {
     	if (author == null || author.isBlank()) {
     		return new Result(false, "Author is required.", null);
@@ -53,23 +76,82 @@ public class Questions {
         Question question = new Question(nextId, userId, author, title, description, null, "open", (tags == null ? new ArrayList<>() : new ArrayList<>(tags)));
         
         question.setTimestamp(LocalDateTime.now().toString().substring(0, 19));
-
-        questions.put(nextId, question);
         
         try {
-        	db.insertQuestion(question);
+        	db.insertQuestion(question); // sets the generated id
         }
         catch (SQLException e) {
         	e.printStackTrace();
         	return new Result(false, "Failed to save question to DB", null);
         }
+        cache(question);
+        SearchIndex.getInstance().indexQuestion(question);
         
-        nextId++;
         return new Result(true, "Question created successfully", question);
     }
 
+    /**
+     * Create many questions in one database transaction, e.g. when importing an archived
+     * semester or seeding sample data. Every question is checked like {@link #create}; one
+     * invalid question rejects the whole batch. Missing timestamps, statuses and tags are
+     * filled in, and the generated ids are set on the question objects.
+     *
+     * @param batch questions to create, in order
+     * @return Result whose data is the list of created questions
+     */
+    public Result createAll(List<Question> batch) {
+    	if (batch == null || batch.isEmpty()) {
+    		return new Result(false, "No questions to create.", null);
+    	}
+    	String now = LocalDateTime.now().toString().substring(0, 19);
+    	for (int i = 0; i < batch.size(); i++) {
+    		Question q = batch.get(i);
+    		if (q.getAuthor() == null || q.getAuthor().isBlank()) {
+    			return new Result(false, "Question " + (i + 1) + ": Author is required.", null);
+    		}
+    		if (q.getTitle() == null || q.getTitle().isBlank()) {
+    			return new Result(false, "Question " + (i + 1) + ": Title is required.", null);
+    		}
+    		if (q.getDescription() == null || q.getDescription().isBlank()) {
+    			return new Result(false, "Question " + (i + 1) + ": Description is required.", null);
+    		}
+    		if (q.getTimestamp() == null) q.setTimestamp(now);
+    		if (q.getStatus() == null) q.setStatus("open");
+    		if (q.getTags() == null) q.setTags(new ArrayList<>());
+    	}
+
+    	try {
+    		db.insertQuestions(batch); // sets the generated ids
+    	}
+    	catch (SQLException e) {
+    		e.printStackTrace();
+    		return new Result(false, "Failed to save questions to DB", null);
+    	}
+    	SearchIndex index = SearchIndex.getInstance();
+    	for (Question q : batch) {
+    		cache(q);
+    		index.indexQuestion(q);
+    	}
+
+    	return new Result(true, batch.size() + " questions created successfully", new ArrayList<>(batch));
+    }
+
+    /**
+     * @return the cached question, loading it from the database on a miss (null if it does not exist)
+     */
     public Question read(int questionId) {
-        return questions.get(questionId);
+        Question q = questions.get(questionId);
+        if (q == null) {
+        	try {
+        		q = db.getQuestionById(questionId);
+        	} catch (SQLException e) {
+        		e.printStackTrace();
+        	}
+        	if (q != null) {
+        		cache(q);
+        	}
+        }
+        return q;
     }
 
     //public List<Question> readAll() {
@@ -78,7 +160,7 @@ public class Questions {
 
     public Result update(int questionId, int userID, String title,
             String description, String status, List<String> tags, User user) {
-    		Question question = questions.get(questionId);
+    		Question question = read(questionId);
     		if (question == null) {
     			return new Result(false, "Question not found", null);
     			}
@@ -97,21 +179,22 @@ public class Questions {
     				e.printStackTrace();
     				return new Result(false, "Database update failed.", null);
     			}
+    			SearchIndex.getInstance().indexQuestion(question);
 
     			return new Result(true, "Question updated successfully.", question);
     }
 
     public Result delete(int questionId, int userID, User user) {
-    	Question question = questions.get(questionId);
-        if (!questions.containsKey(questionId)) {
+    	Question question = read(questionId);
+        if (question == null) {
             return new Result(false, "Question not found", null);
         }
         if (question.getUserId() != userID && user.getRole() == User.Role.STUDENT)
 			return new Result(false, "You must be the author to edit this question.", null);
 
         
-        // Remove from in-memory map
-        questions.remove(questionId);
+        // Remove from in-memory maps
+        evict(question);
         
         // Delete from database
         try {
@@ -120,20 +203,36 @@ public class Questions {
             e.printStackTrace();
             return new Result(false, "Failed to delete question from database.", null);
         }
+        SearchIndex.getInstance().removeQuestion(questionId);
+        if (StatusData.answers != null) {
+        	StatusData.answers.evictQuestion(questionId); // its answers were deleted with it
+        }
         
         return new Result(true, "Question deleted successfully", null);
     }
     
+    /**
+     * Search questions. A keyword is matched through the {@link SearchIndex} and results come
+     * back best match first; without a keyword the status/author filters run in the database.
+     */
     public List<Question> search(String keyword, String status, String author) {
-    	//changing this to pull results from the database
-        return db.searchQuestions(keyword, status, author);
+    	if (keyword == null || keyword.isBlank()) {
+    		//changing this to pull results from the database
+    		return db.searchQuestions(null, status, author);
+    	}
 
+    	SearchIndex index = SearchIndex.getInstance();
+    	index.ensureLoaded(db);
+    	String au = author == null ? "" : author.toLowerCase();
+    	return db.loadQuestionsByIds(index.searchQuestions(keyword)).stream()
+    			.filter(q -> status == null || status.isBlank() || status.equals(q.getStatus()))
+    			.filter(q -> au.isEmpty() || (q.getAuthor() != null && q.getAuthor().toLowerCase().contains(au)))
+    			.collect(Collectors.toList());
     }
     
     public List<Question> getQuestionsByUserId(int userId) {
-        return questions.values().stream()
-            .filter(q -> q.getUserId() == userId)
-            .collect(Collectors.toList());
+        Map<Integer, Question> mine = byUserId.get(userId);
+        return mine == null ? new ArrayList<>() : new ArrayList<>(mine.values());
     }
     
     public List<Question> getRecent() {
@@ -0,0 +1,253 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A compressed set of user ids, used to store who has read an announcement.
+ *
+ * <p>Ids are split roaring-style into a 16-bit chunk key and a 16-bit low part. Each chunk keeps
+ * its low parts in a sorted {@code char[]} while it holds at most {@value #ARRAY_LIMIT} of
+ * them (2 bytes per reader) and switches to a fixed 8 KiB bitmap once it is denser than that.
+ * Membership is a binary search over the handful of chunks plus a bit test or a search of at
+ * most 4096 sorted values, and {@link #getCardinality()} is kept as a counter.
+ *
+ * <p>{@link #toBytes()} and {@link #fromBytes(byte[])} give the stored form. All methods are
+ * synchronized; a bitmap is shared between the threads that mark and check reads.
+ */
+public class ReadBitmap {
+
+    /** Values a chunk keeps as a sorted array before it turns into a bitmap. */
+    public static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1024; // 65536 bits
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    /** The ids of one chunk: a sorted array or a bitmap. */
+    private static final class Chunk {
+        char[] values = new char[4]; // sorted, first count entries used; null once a bitmap
+        long[] bits;
+        int count;
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, count, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                count++;
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, count, low);
+            if (i >= 0) {
+                return false;
+            }
+            if (count == ARRAY_LIMIT) {
+                toBitmap();
+                return add(low);
+            }
+            i = -i - 1;
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, count * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, count - i);
+            values[i] = low;
+            count++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] &= ~mask;
+                count--;
+                if (count <= ARRAY_LIMIT / 2) {
+                    toArray(); // leave room so one add and remove do not flip back and forth
+                }
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, count, low);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(values, i + 1, values, i, count - i - 1);
+            count--;
+            return true;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < count; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        private void toArray() {
+            values = new char[Math.max(4, count)];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                }
+            }
+            bits = null;
+        }
+    }
+
+    private char[] keys = new char[1];       // sorted chunk keys (high 16 bits)
+    private Chunk[] chunks = new Chunk[1];
+    private int size;                        // chunks in use
+    private int cardinality;
+
+    /**
+     * @param userId a user id
+     * @return whether the id is in the set
+     */
+    public synchronized boolean contains(int userId) {
+        int i = Arrays.binarySearch(keys, 0, size, high(userId));
+        return i >= 0 && chunks[i].contains(low(userId));
+    }
+
+    /**
+     * @param userId a user id
+     * @return true if it was not in the set yet
+     */
+    public synchronized boolean add(int userId) {
+        char key = high(userId);
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i < 0) {
+            i = -i - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                chunks = Arrays.copyOf(chunks, size * 2);
+            }
+            System.arraycopy(keys, i, keys, i + 1, size - i);
+            System.arraycopy(chunks, i, chunks, i + 1, size - i);
+            keys[i] = key;
+            chunks[i] = new Chunk();
+            size++;
+        }
+        if (!chunks[i].add(low(userId))) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @param userId a user id
+     * @return true if it was in the set
+     */
+    public synchronized boolean remove(int userId) {
+        int i = Arrays.binarySearch(keys, 0, size, high(userId));
+        if (i < 0 || !chunks[i].remove(low(userId))) {
+            return false;
+        }
+        cardinality--;
+        if (chunks[i].count == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(chunks, i + 1, chunks, i, size - i - 1);
+            chunks[--size] = null;
+        }
+        return true;
+    }
+
+    /** @return number of ids in the set */
+    public synchronized int getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Stored form: the chunk count, then per chunk its key, its size, its kind and either the
+     * sorted low parts or the 1024 bitmap words.
+     *
+     * @return the set as bytes, for {@link #fromBytes(byte[])}
+     */
+    public synchronized byte[] toBytes() {
+        int length = 4;
+        for (int i = 0; i < size; i++) {
+            length += 2 + 4 + 1 + (chunks[i].bits != null ? BITMAP_WORDS * 8 : chunks[i].count * 2);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        buf.putInt(size);
+        for (int i = 0; i < size; i++) {
+            Chunk c = chunks[i];
+            buf.putChar(keys[i]);
+            buf.putInt(c.count);
+            if (c.bits != null) {
+                buf.put(BITMAP);
+                for (long word : c.bits) {
+                    buf.putLong(word);
+                }
+            } else {
+                buf.put(ARRAY);
+                for (int j = 0; j < c.count; j++) {
+                    buf.putChar(c.values[j]);
+                }
+            }
+        }
+        return buf.array();
+    }
+
+    /**
+     * @param bytes output of {@link #toBytes()}, or null for an empty set
+     * @return the set
+     * @throws IllegalArgumentException if the bytes are not a stored bitmap
+     */
+    public static ReadBitmap fromBytes(byte[] bytes) {
+        ReadBitmap set = new ReadBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return set;
+        }
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            int n = buf.getInt();
+            set.keys = new char[Math.max(1, n)];
+            set.chunks = new Chunk[Math.max(1, n)];
+            for (int i = 0; i < n; i++) {
+                Chunk c = new Chunk();
+                set.keys[i] = buf.getChar();
+                c.count = buf.getInt();
+                if (buf.get() == BITMAP) {
+                    c.values = null;
+                    c.bits = new long[BITMAP_WORDS];
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        c.bits[w] = buf.getLong();
+                    }
+                } else {
+                    c.values = new char[Math.max(4, c.count)];
+                    for (int j = 0; j < c.count; j++) {
+                        c.values[j] = buf.getChar();
+                    }
+                }
+                set.chunks[i] = c;
+                set.cardinality += c.count;
+            }
+            set.size = n;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a stored read bitmap: " + e.getMessage(), e);
+        }
+        return set;
+    }
+
+    private static char high(int id) {
+        return (char) (id >>> 16);
+    }
+
+    private static char low(int id) {
+        return (char) id;
+    }
+}
@@ -3,11 +3,12 @@ package model;
 import java.util.stream.Collectors;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import databasePart1.*;
 import logic.Result;
+import logic.StatusData;
 
 /**
  * In-memory manager for {@link Review} objects with backing persistence
@@ -19,7 +20,9 @@ import logic.Result;
  * may operate on any review.
  *
  * <p>On construction the manager loads existing reviews from the database
- * so that callers can operate on the cached set.
+ * so that callers can operate on the cached set. One instance is shared by every
+ * page through {@link logic.StatusData#reviews}; besides the id map it keeps
+ * secondary maps by answer, by author name and by author user id.
  *
  * @see Review
  * @see DatabaseHelper
@@ -29,6 +32,9 @@ import logic.Result;
 public class Reviews {
 
     public Map<Integer, Review> reviews;
+    private Map<Integer, Map<Integer, Review>> byAnswer;
+    private Map<String, Map<Integer, Review>> byAuthor;
+    private Map<Integer, Map<Integer, Review>> byUserId;
     private int nextId;
     private DatabaseHelper db;
 
@@ -38,7 +44,10 @@ public class Reviews {
      * @param db database helper used for loading/saving review records
      */
     public Reviews(DatabaseHelper db) {
-        this.reviews = new HashMap<>();
+        this.reviews = new ConcurrentHashMap<>();
+        this.byAnswer = new ConcurrentHashMap<>();
+        this.byAuthor = new ConcurrentHashMap<>();
+        this.byUserId = new ConcurrentHashMap<>();
         this.nextId = 1;
         this.db = db;
         loadReviewsFromDatabase();
@@ -51,14 +60,39 @@ public class Reviews {
     private void loadReviewsFromDatabase() {
         List<Review> dbReviews = db.loadAllReviews();
         for (Review review : dbReviews) {
-            reviews.put(review.getReviewId(), review);
-            if (review.getReviewId() >= nextId) {
-                nextId = review.getReviewId() + 1;
-            }
+            cache(review);
         }
         System.out.println("Loaded " + reviews.size() + " reviews from database.");
     }
 
+    /**
+     * Add a review to the id map and the secondary maps.
+     */
+    private void cache(Review r) {
+        reviews.put(r.getReviewId(), r);
+        byAnswer.computeIfAbsent(r.getAnswerId(), k -> new ConcurrentHashMap<>()).put(r.getReviewId(), r);
+        if (r.getAuthor() != null) {
+            byAuthor.computeIfAbsent(r.getAuthor(), k -> new ConcurrentHashMap<>()).put(r.getReviewId(), r);
+        }
+        byUserId.computeIfAbsent(r.getUserId(), k -> new ConcurrentHashMap<>()).put(r.getReviewId(), r);
+        if (r.getReviewId() >= nextId) {
+            nextId = r.getReviewId() + 1;
+        }
+    }
+
+    /**
+     * Remove a review from the id map and the secondary maps.
+     */
+    private void evict(Review r) {
+        reviews.remove(r.getReviewId());
+        Map<Integer, Review> m = byAnswer.get(r.getAnswerId());
+        if (m != null) m.remove(r.getReviewId());
+        m = r.getAuthor() == null ? null : byAuthor.get(r.getAuthor());
+        if (m != null) m.remove(r.getReviewId());
+        m = byUserId.get(r.getUserId());
+        if (m != null) m.remove(r.getReviewId());
+    }
+
     /**
      * Create and persist a new review.
      *
@@ -79,17 +113,51 @@ public class Reviews {
         Review review = new Review(nextId, userId, answerId, author, content);
 
         try {
-            db.insertReview(review);
+            db.insertReview(review); // sets the generated id
         } catch (SQLException e) {
             e.printStackTrace();
             return new Result(false, "Failed to save to database: " + e.getMessage(), null);
         }
 
-        reviews.put(nextId, review);
-        nextId++;
+        cache(review);
         return new Result(true, "Review created successfully.", review);
     }
 
+    /**
+     * Create and persist many reviews in one database transaction (bulk import and seeding).
+     * Every review is checked like {@link #create(int, int, String, String)}; one invalid
+     * review rejects the whole batch.
+     *
+     * @param batch reviews to create, in order; their generated ids are set on them
+     * @return Result whose data is the list of created reviews
+     */
+    public Result createAll(List<Review> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return new Result(false, "No reviews to create.", null);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Review r = batch.get(i);
+            if (r.getAuthor() == null || r.getAuthor().isBlank()) {
+                return new Result(false, "Review " + (i + 1) + ": Author is required.", null);
+            }
+            if (r.getContent() == null || r.getContent().isBlank()) {
+                return new Result(false, "Review " + (i + 1) + ": Content is required.", null);
+            }
+        }
+
+        try {
+            db.insertReviews(batch); // sets the generated ids
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new Result(false, "Failed to save to database: " + e.getMessage(), null);
+        }
+
+        for (Review r : batch) {
+            cache(r);
+        }
+        return new Result(true, batch.size() + " reviews created successfully.", new ArrayList<>(batch));
+    }
+
     /**
      * Read a single review by id from the in-memory cache.
      *
@@ -116,9 +184,30 @@ public class Reviews {
      * @return list of reviews for that answer
      */
     public List<Review> readByAnswerId(int answerId) {
-        return reviews.values().stream()
-                .filter(r -> r.getAnswerId() == answerId)
-                .collect(Collectors.toList());
+        Map<Integer, Review> m = byAnswer.get(answerId);
+        return m == null ? new ArrayList<>() : new ArrayList<>(m.values());
+    }
+
+    /**
+     * Return reviews written under a given author name.
+     *
+     * @param author author display name (exact match)
+     * @return list of that author's reviews
+     */
+    public List<Review> readByAuthor(String author) {
+        Map<Integer, Review> m = author == null ? null : byAuthor.get(author);
+        return m == null ? new ArrayList<>() : new ArrayList<>(m.values());
+    }
+
+    /**
+     * Return reviews written by a given user.
+     *
+     * @param userId author user id
+     * @return list of that user's reviews
+     */
+    public List<Review> readByUserId(int userId) {
+        Map<Integer, Review> m = byUserId.get(userId);
+        return m == null ? new ArrayList<>() : new ArrayList<>(m.values());
     }
 
     /**
@@ -132,12 +221,16 @@ public class Reviews {
      * @return Result indicating success or failure
      */
     public Result update(int reviewId, int answerId, User currUser, String content) {
-        // Verify the answer exists
-        List<Answer> answers = db.loadAllAnswers();
-        Answer answer = answers.stream()
-                .filter(a -> a.getAnswerId() == answerId)
-                .findFirst()
-                .orElse(null);
+        // Verify the answer exists (through the shared answer cache when there is one)
+        Answer answer;
+        if (StatusData.answers != null) {
+            answer = StatusData.answers.read(answerId);
+        } else {
+            answer = db.loadAllAnswers().stream()
+                    .filter(a -> a.getAnswerId() == answerId)
+                    .findFirst()
+                    .orElse(null);
+        }
 
         Review review = reviews.get(reviewId);
 
@@ -184,7 +277,7 @@ public class Reviews {
         }
 
         // Remove from memory and database
-        reviews.remove(reviewId);
+        evict(review);
         try {
             db.deleteReview(reviewId);
         } catch (SQLException e) {
@@ -205,8 +298,7 @@ public class Reviews {
      * @return list of matching reviews
      */
     public List<Review> search(int answerId, String keyword, Integer minRating) {
-        return reviews.values().stream()
-                .filter(r -> r.getAnswerId() == answerId)
+        return readByAnswerId(answerId).stream()
                 .filter(r -> (keyword == null || keyword.isEmpty()
                         || r.getContent().toLowerCase().contains(keyword.toLowerCase())
                         || r.getAuthor().toLowerCase().contains(keyword.toLowerCase())))
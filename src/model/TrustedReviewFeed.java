@@ -0,0 +1,187 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * The reviews written by one student's trusted reviewers, ranked by the weight the student gave
+ * each reviewer (the {@code rating} column of {@code trustedReviewers}).
+ *
+ * <p>{@link DatabaseHelper#getTrustedReviewFeed(int)} builds the feed with one query the first
+ * time the student's page asks for it and keeps it. Afterwards review writes and changes to the
+ * student's trusted list apply their change here, so opening the page or scrolling through it
+ * does not go back to the database.
+ *
+ * <p>Like {@link FAQView}, every change publishes a new immutable ranked snapshot, so a list
+ * returned by {@link #getRanked()} stays consistent while the FX thread draws it.
+ */
+public class TrustedReviewFeed {
+
+    /** One review in the feed with the weight of its author. Immutable. */
+    public static final class Entry {
+        private final Review review;
+        private final int weight;
+
+        public Entry(Review review, int weight) {
+            this.review = review;
+            this.weight = weight;
+        }
+
+        /** @return the review; do not modify it */
+        public Review getReview() { return review; }
+        public int getWeight() { return weight; }
+    }
+
+    /** Highest weight first; newest review (highest id) first within a weight. */
+    public static final Comparator<Entry> RANK_ORDER = Comparator
+            .comparingInt(Entry::getWeight).reversed()
+            .thenComparing(e -> e.getReview().getReviewId(), Comparator.reverseOrder());
+
+    private final int studentId;
+    private final Map<Integer, Integer> weights = new HashMap<>(); // reviewer id -> weight
+    private final Map<Integer, Review> reviews = new HashMap<>();  // review id -> review
+    private volatile List<Entry> ranked = Collections.emptyList(); // immutable snapshot
+
+    /**
+     * @param studentId the student whose feed this is
+     * @param weights weight per trusted reviewer id
+     * @param reviews every review written by those reviewers (others are ignored)
+     */
+    public TrustedReviewFeed(int studentId, Map<Integer, Integer> weights, List<Review> reviews) {
+        this.studentId = studentId;
+        this.weights.putAll(weights);
+        for (Review review : reviews) {
+            if (this.weights.containsKey(review.getUserId())) {
+                this.reviews.put(review.getReviewId(), copy(review));
+            }
+        }
+        publish();
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * @return the feed in {@link #RANK_ORDER} (an unmodifiable snapshot)
+     */
+    public List<Entry> getRanked() {
+        return ranked;
+    }
+
+    /**
+     * The entries ranked after a given one, for paging through the feed.
+     *
+     * @param weight weight of the last entry already shown
+     * @param reviewId review id of the last entry already shown
+     * @param max most entries to return
+     * @return up to {@code max} entries that follow it in {@link #RANK_ORDER}
+     */
+    public List<Entry> getRankedAfter(int weight, int reviewId, int max) {
+        List<Entry> snapshot = ranked;
+        Entry probe = new Entry(new Review(reviewId, 0, 0, null, null), weight);
+        int i = Collections.binarySearch(snapshot, probe, RANK_ORDER);
+        int from = i >= 0 ? i + 1 : -i - 1;
+        return snapshot.subList(from, Math.min(snapshot.size(), from + Math.max(0, max)));
+    }
+
+    /**
+     * @return weight per trusted reviewer id (a copy)
+     */
+    public synchronized Map<Integer, Integer> getWeights() {
+        return new HashMap<>(weights);
+    }
+
+    /**
+     * Add a new review, or apply an edit to one in the feed. Reviews by reviewers the student
+     * does not trust are ignored.
+     *
+     * @param review a stored or updated review
+     */
+    public synchronized void putReview(Review review) {
+        Review old = reviews.get(review.getReviewId());
+        if (old != null) {
+            // an edit only changes content and timestamp; keep the stored author
+            Review copy = new Review(old.getReviewId(), old.getUserId(), old.getAnswerId(), old.getAuthor(), review.getContent());
+            copy.setTimestamp(review.getTimestamp());
+            reviews.put(copy.getReviewId(), copy);
+        } else if (weights.containsKey(review.getUserId())) {
+            reviews.put(review.getReviewId(), copy(review));
+        } else {
+            return;
+        }
+        publish();
+    }
+
+    /**
+     * @param reviewId id of a deleted review
+     */
+    public synchronized void removeReview(int reviewId) {
+        if (reviews.remove(reviewId) != null) {
+            publish();
+        }
+    }
+
+    /**
+     * Trust a reviewer, or replace what the feed holds for one already trusted.
+     *
+     * @param reviewerId the reviewer's user id
+     * @param weight the reviewer's weight
+     * @param written every review the reviewer has written
+     */
+    public synchronized void addReviewer(int reviewerId, int weight, List<Review> written) {
+        weights.put(reviewerId, weight);
+        reviews.values().removeIf(r -> r.getUserId() == reviewerId);
+        for (Review review : written) {
+            if (review.getUserId() == reviewerId) {
+                reviews.put(review.getReviewId(), copy(review));
+            }
+        }
+        publish();
+    }
+
+    /**
+     * @param reviewerId a reviewer the student no longer trusts
+     */
+    public synchronized void removeReviewer(int reviewerId) {
+        if (weights.remove(reviewerId) != null) {
+            reviews.values().removeIf(r -> r.getUserId() == reviewerId);
+            publish();
+        }
+    }
+
+    /**
+     * @param reviewerId a trusted reviewer
+     * @param weight the reviewer's new weight
+     */
+    public synchronized void setWeight(int reviewerId, int weight) {
+        Integer old = weights.get(reviewerId);
+        if (old != null && old != weight) {
+            weights.put(reviewerId, weight);
+            publish();
+        }
+    }
+
+    private void publish() {
+        List<Entry> entries = new ArrayList<>(reviews.size());
+        for (Review review : reviews.values()) {
+            entries.add(new Entry(review, weights.getOrDefault(review.getUserId(), 0)));
+        }
+        entries.sort(RANK_ORDER);
+        ranked = Collections.unmodifiableList(entries);
+    }
+
+    // a copy, so later edits to the caller's object do not leak in unpublished
+    private static Review copy(Review review) {
+        Review copy = new Review(review.getReviewId(), review.getUserId(), review.getAnswerId(),
+                review.getAuthor(), review.getContent());
+        copy.setTimestamp(review.getTimestamp());
+        return copy;
+    }
+}
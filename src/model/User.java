@@ -1,6 +1,8 @@
 package model;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -96,14 +98,33 @@ public class User {
 
     /* ---------- Role enum ---------- */
 
+    /**
+     * The roles a user can have. A user's granted roles are stored as a bit mask in the
+     * {@code role_mask} column of {@code cse360users}; each role owns one fixed bit there, so
+     * never change the bit of an existing role.
+     */
     public enum Role {
-        ADMIN,
-        INSTRUCTOR,
-        STUDENT,
-        REVIEWER,
-        TA,
-        STAFF,
-        UNKNOWN;
+        ADMIN(1),
+        INSTRUCTOR(1 << 1),
+        STUDENT(1 << 2),
+        REVIEWER(1 << 3),
+        TA(1 << 4),
+        STAFF(1 << 5),
+        UNKNOWN(0);
+
+        /** Every role bit in use. */
+        public static final int ALL_BITS = ADMIN.bit | INSTRUCTOR.bit | STUDENT.bit | REVIEWER.bit | TA.bit | STAFF.bit;
+
+        private final int bit;
+
+        Role(int bit) {
+            this.bit = bit;
+        }
+
+        /** @return this role's bit in a role mask (0 for UNKNOWN) */
+        public int bit() {
+            return bit;
+        }
 
         public static Role fromString(String s) {
             if (s == null) return UNKNOWN;
@@ -113,6 +134,53 @@ public class User {
                 return UNKNOWN;
             }
         }
+
+        /**
+         * @param roles roles to store
+         * @return their role mask
+         */
+        public static int toMask(Collection<Role> roles) {
+            int mask = 0;
+            for (Role r : roles) {
+                mask |= r.bit;
+            }
+            return mask;
+        }
+
+        /**
+         * @param mask a stored role mask
+         * @return the roles whose bits are set in it
+         */
+        public static EnumSet<Role> fromMask(int mask) {
+            EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role r : values()) {
+                if (r.bit != 0 && (mask & r.bit) != 0) {
+                    roles.add(r);
+                }
+            }
+            return roles;
+        }
+
+        /**
+         * Every role mask that includes {@code role}, so "has this role" can be asked as
+         * {@code role_mask IN (...)} and answered from an index on the column.
+         *
+         * @param role a role other than UNKNOWN
+         * @return the masks, in ascending order
+         */
+        public static int[] masksWith(Role role) {
+            int others = ALL_BITS & ~role.bit;
+            int[] masks = new int[1 << Integer.bitCount(others)];
+            int i = 0;
+            // walk every subset of the other bits
+            for (int subset = 0; ; subset = (subset - others) & others) {
+                masks[i++] = subset | role.bit;
+                if (subset == others) {
+                    break;
+                }
+            }
+            return masks;
+        }
     }
 
     /* ---------- Getters / Setters ---------- */
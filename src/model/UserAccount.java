@@ -0,0 +1,77 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Everything login needs to know about one account: its {@code cse360users} row, including the
+ * roles it holds (the {@code role_mask} column, see {@link User.Role#fromMask(int)}).
+ *
+ * <p>{@link DatabaseHelper#getUserAccount(String)} reads it with one query and keeps the
+ * account in a small cache for a few minutes, so the login page, the role selection page and the
+ * navigation bar do not each query the user again. Accounts are immutable; use
+ * {@link #toUser(User.Role)} to get a {@link User} to work with.
+ */
+public final class UserAccount {
+
+    private final int id;
+    private final String userName;
+    private final String password;
+    private final String role;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String bio;
+    private final String tempPassword;
+    private final EnumSet<User.Role> roles;
+
+    public UserAccount(int id, String userName, String password, String role, String name, String email,
+            String phone, String bio, String tempPassword, EnumSet<User.Role> roles) {
+        this.id = id;
+        this.userName = userName;
+        this.password = password;
+        this.role = role;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.bio = bio;
+        this.tempPassword = tempPassword;
+        this.roles = EnumSet.copyOf(roles);
+    }
+
+    public int getId() { return id; }
+    public String getUserName() { return userName; }
+    public String getPassword() { return password; }
+
+    /** @return the role stored with the account itself (the {@code role} column) */
+    public String getRole() { return role; }
+
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getBio() { return bio; }
+
+    /** @return the one-time password the user must log in with, or null */
+    public String getTempPassword() { return tempPassword; }
+
+    /** @return a copy of the roles the account holds, its own role included */
+    public EnumSet<User.Role> getRoles() { return EnumSet.copyOf(roles); }
+
+    /** @return the roles the user can choose to act as, in {@link User.Role} order */
+    public List<User.Role> getSelectableRoles() {
+        return new ArrayList<>(roles);
+    }
+
+    /**
+     * @param actingRole the role the user acts as
+     * @return a new {@link User} with this account's details
+     */
+    public User toUser(User.Role actingRole) {
+        User user = User.createUser(id, userName, password, role, name, email, phone, bio, tempPassword);
+        user.setRole(actingRole);
+        return user;
+    }
+}
@@ -5,6 +5,7 @@ module FoundationCode {
     requires javafx.graphics;
     requires javafx.base;
     requires java.sql;
+    requires java.management;
     
     requires org.junit.jupiter.api;
     requires org.junit.platform.commons;
@@ -1,9 +1,16 @@
 package pages;
 
 import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 import databasePart1.DatabaseHelper;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Scene;
@@ -123,25 +130,10 @@ public class AdminHomePage {
         TableColumn<User, String> roleCol = new TableColumn<>("Current Role");
         roleCol.setCellValueFactory(new PropertyValueFactory<>("role"));
 
-        // Show all roles a user currently has
+        // Show all roles a user currently has, from one bulk load instead of a query per cell
+        Map<String, EnumSet<User.Role>> rolesByUser = new HashMap<>();
         TableColumn<User, String> allRolesCol = new TableColumn<>("All Roles");
-        allRolesCol.setCellFactory(col -> new TableCell<>() {
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
-                if (!empty) {
-                    User user = getTableRow().getItem();
-                    if (user != null) {
-                        try {
-                            List<String> roles = databaseHelper.allUserRoles(user.getUserName());
-                            setText(String.join(", ", roles));
-                        } catch (SQLException e) {
-                            setText("Error loading roles");
-                        }
-                    }
-                }
-            }
-        });
+        allRolesCol.setCellValueFactory(cd -> new SimpleStringProperty(rolesText(rolesByUser.get(cd.getValue().getUserName()))));
         
         // ✅ Allow admin to assign or remove any roles, including student
         TableColumn<User, User.Role> addRolesCol = new TableColumn<>("Add Role");
@@ -183,13 +175,6 @@ public class AdminHomePage {
             idCol, userNameCol, emailCol, pwCol, roleCol, allRolesCol, addRolesCol, delRolesCol
         );
 
-        try {
-            ObservableList<User> users = databaseHelper.getAllUsers();
-            userTable.setItems(users);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-
         layout.getChildren().addAll(adminLabel, updateAccountButton, otpSection, userTable);
         borderPane.setCenter(layout);
 
@@ -197,5 +182,23 @@ public class AdminHomePage {
         primaryStage.setScene(adminScene);
         primaryStage.setTitle("Admin Page");
         primaryStage.show();
+
+        AsyncDatabaseHelper.Scope scope = StatusData.async().newScope().bindTo(adminScene);
+        scope.load(db -> db.getRolesByUser(), roles -> {
+            rolesByUser.putAll(roles);
+            userTable.refresh();
+        });
+        scope.load(db -> db.getAllUsers(), users -> userTable.setItems(users));
+
+        // reload just the roles of a user whose roles were changed
+        scope.subscribe(DataEvent.UserRolesChanged.class, e ->
+            scope.load(db -> db.getRolesByUser(List.of(e.getUserName())), roles -> {
+                rolesByUser.putAll(roles);
+                userTable.refresh();
+            }));
+    }
+
+    static String rolesText(EnumSet<User.Role> roles) {
+        return roles == null ? "" : roles.stream().map(Enum::name).collect(Collectors.joining(", "));
     }
 }
@@ -11,9 +11,8 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import logic.PasswordRecognizer;
+import logic.InputValidator;
 import logic.StatusData;
-import logic.UserNameRecognizer;
 import model.User;
 
 import java.sql.SQLException;
@@ -174,14 +173,14 @@ public class AdminSetupPage {
         String password = passwordField.getText() == null ? "" : passwordField.getText();
 
         // Validate username
-        String userNameError = UserNameRecognizer.checkForValidUserName(userName);
+        String userNameError = InputValidator.checkUserName(userName).getMessage();
         if (!userNameError.isEmpty()) {
             errorLabel.setText(userNameError);
             return;
         }
 
         // Validate password
-        String passwordError = PasswordRecognizer.evaluatePassword(password);
+        String passwordError = InputValidator.checkPassword(password).getMessage();
         if (!passwordError.isEmpty()) {
             errorLabel.setText(passwordError);
             return;
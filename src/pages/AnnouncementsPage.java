@@ -44,9 +44,34 @@ public class AnnouncementsPage {
         sep.setPadding(new Insets(4, 0, 8, 0));
         content.getChildren().add(sep);
 
-        // Load announcements (you can switch to getActiveAnnouncements() if desired)
-        List<Announcement> announcements = StatusData.databaseHelper.getAllAnnouncements();
+        Label loading = new Label("Loading announcements...");
+        loading.setStyle("-fx-font-size: 13px; -fx-text-fill: #666;");
+        content.getChildren().add(loading);
 
+        // center content and limit width for better reading on wide displays
+        HBox centerWrap = new HBox();
+        centerWrap.setAlignment(Pos.TOP_CENTER);
+        centerWrap.getChildren().add(content);
+        pageContainer.getChildren().add(centerWrap);
+
+        ScrollPane sp = new ScrollPane(pageContainer);
+        sp.setFitToWidth(true);
+        sp.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+
+        main.setCenter(sp);
+
+        Scene scene = new Scene(main, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
+        stage.setScene(scene);
+        stage.show();
+
+        // Load announcements off the FX thread (you can switch to getActiveAnnouncements() if desired)
+        StatusData.async().newScope().bindTo(scene).load(db -> db.getAllAnnouncements(), announcements -> {
+            content.getChildren().remove(loading);
+            showAnnouncements(content, announcements);
+        });
+    }
+
+    private void showAnnouncements(VBox content, List<Announcement> announcements) {
         if (announcements == null || announcements.isEmpty()) {
             VBox noneBox = new VBox(8);
             noneBox.setAlignment(Pos.CENTER);
@@ -109,22 +134,6 @@ public class AnnouncementsPage {
 
             content.getChildren().add(cardsContainer);
         }
-
-        // center content and limit width for better reading on wide displays
-        HBox centerWrap = new HBox();
-        centerWrap.setAlignment(Pos.TOP_CENTER);
-        centerWrap.getChildren().add(content);
-        pageContainer.getChildren().add(centerWrap);
-
-        ScrollPane sp = new ScrollPane(pageContainer);
-        sp.setFitToWidth(true);
-        sp.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
-
-        main.setCenter(sp);
-
-        Scene scene = new Scene(main, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
-        stage.setScene(scene);
-        stage.show();
     }
 
     private String formatDate(String iso) {
@@ -7,6 +7,8 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 import logic.Result;
 import logic.StatusData;
 import model.Answer;
@@ -26,6 +28,14 @@ public class AnswersPage {
     private User user;
 
     private static TableView<Answer> answerTable;
+
+    // Answers are loaded one page at a time as the table is scrolled
+    private static final int PAGE_SIZE = 50;
+    private static String nextAnswerCursor;
+    private static boolean loadingAnswers = false;
+
+    // Database calls run off the FX thread and are dropped when the page is left
+    private static AsyncDatabaseHelper.Scope scope;
     private TextArea answerDetails;
     private TextArea answerInput;
     private CheckBox markAsSolution;
@@ -45,7 +55,7 @@ public class AnswersPage {
 
     public void show(Stage stage, User user) {
         this.user = user;
-        answers = new Answers(StatusData.databaseHelper);
+        answers = StatusData.answers;
     
 
 
@@ -188,7 +198,6 @@ public class AnswersPage {
             if (result.isSuccess()) {
                 answerInput.clear();
                 markAsSolution.setSelected(false);
-                loadAnswers();
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Your answer has been submitted!");
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error", result.getMessage());
@@ -533,7 +542,11 @@ public class AnswersPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
+        subscribeToChanges();
+        loadingAnswers = false;
 
+        ScrollPaging.onScrolledToEnd(answerTable, AnswersPage::loadMoreAnswers);
         loadAnswers();
     }
 
@@ -563,18 +576,69 @@ public class AnswersPage {
     }
 
     static void loadAnswers() {
-        List<Answer> allAnswers = answers.readAll();
-        List<Answer> questionAnswers = allAnswers.stream()
-                .filter(a -> a.getQuestionId() == question.getQuestionId())
-                .toList();
-        answerTable.getItems().setAll(questionAnswers);
+        int questionId = question.getQuestionId();
+        scope.load(db -> db.loadAnswersPage(questionId, null, PAGE_SIZE), page -> {
+            answerTable.getItems().setAll(page.getItems());
+            nextAnswerCursor = page.getNextCursor();
+            updateAnswerCountLabel();
+        });
+    }
 
+    /**
+     * Apply answer writes for the shown question to the table instead of reloading it.
+     * A new answer is appended only once every page is loaded; until then scrolling reaches it.
+     */
+    private static void subscribeToChanges() {
+        int questionId = question.getQuestionId();
+        scope.subscribe(DataEvent.AnswerCreated.class, e -> {
+            Answer created = e.getAnswer();
+            if (created.getQuestionId() == questionId && nextAnswerCursor == null) {
+                answerTable.getItems().add(created);
+                updateAnswerCountLabel();
+            }
+        });
+        scope.subscribe(DataEvent.AnswerUpdated.class, e -> {
+            Answer changed = e.getAnswer();
+            List<Answer> items = answerTable.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).getAnswerId() == changed.getAnswerId()) {
+                    items.set(i, changed);
+                }
+            }
+        });
+        scope.subscribe(DataEvent.AnswerDeleted.class, e -> {
+            if (answerTable.getItems().removeIf(a -> a.getAnswerId() == e.getAnswerId())) {
+                updateAnswerCountLabel();
+            }
+        });
+    }
+
+    private static void loadMoreAnswers() {
+        if (nextAnswerCursor == null || loadingAnswers) {
+            return;
+        }
+        loadingAnswers = true;
+        int questionId = question.getQuestionId();
+        String cursor = nextAnswerCursor;
+        scope.load(db -> db.loadAnswersPage(questionId, cursor, PAGE_SIZE), page -> {
+            answerTable.getItems().addAll(page.getItems());
+            nextAnswerCursor = page.getNextCursor();
+            loadingAnswers = false;
+            updateAnswerCountLabel();
+        }, e -> {
+            e.printStackTrace();
+            loadingAnswers = false;
+        });
+    }
+
+    private static void updateAnswerCountLabel() {
         // Update answer count (table title is first child of the VBox parent)
         if (answerTable.getParent() instanceof VBox) {
             VBox parent = (VBox) answerTable.getParent();
             if (!parent.getChildren().isEmpty() && parent.getChildren().get(0) instanceof Label) {
                 Label tableTitle = (Label) parent.getChildren().get(0);
-                tableTitle.setText("All Answers (" + questionAnswers.size() + ")");
+                int loaded = answerTable.getItems().size();
+                tableTitle.setText("All Answers (" + loaded + (nextAnswerCursor != null ? "+" : "") + ")");
             }
         }
     }
@@ -586,10 +650,7 @@ public class AnswersPage {
     }
 
     private int getAnswerCount() {
-        List<Answer> allAnswers = answers.readAll();
-        return (int) allAnswers.stream()
-                .filter(a -> a.getQuestionId() == question.getQuestionId())
-                .count();
+        return answers.readByQuestionId(question.getQuestionId()).size();
     }
 
     private void displayAnswerDetails(Answer a) {
@@ -658,7 +719,6 @@ public class AnswersPage {
         if (result.isSuccess()) {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Your answer has been updated!");
             clearAnswerForm();
-            loadAnswers();
         } else {
             showAlert(Alert.AlertType.ERROR, "Error", result.getMessage());
         }
@@ -687,7 +747,6 @@ public class AnswersPage {
 
                 if (result.isSuccess()) {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Answer deleted successfully!");
-                    AnswersPage.reloadAnswers();
                     clearAnswerForm();
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Error", result.getMessage());
@@ -184,7 +184,7 @@ public class EditReviewPage {
 
     private void goBackToReviewPage() {
         // Get the answer associated with this review
-        Answers answersManager = new Answers(StatusData.databaseHelper);
+        Answers answersManager = StatusData.answers;
         Answer answer = answersManager.read(editingReview.getAnswerId());
         
         if (answer != null && reviewPage != null) {
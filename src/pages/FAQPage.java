@@ -8,17 +8,19 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import logic.StatusData;
 import model.*;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * FAQPage - UI page that displays frequently asked questions grouped by category.
  *
- * Staff users create FAQ entries in the administration UI; FAQPage reads those
- * entries (from the faqs table) and renders them in an Accordion grouped by category.
+ * Staff users create FAQ entries in the administration UI; FAQPage renders them in an
+ * Accordion grouped by category. Everything it shows comes from the cached
+ * {@link FAQView}, so drawing the page runs no per-entry query.
  *
  * Each FAQ displays:
  * - Question title (as the FAQ display title)
@@ -33,6 +35,9 @@ import java.util.stream.Collectors;
 public class FAQPage {
     private Stage stage;
     private User user;
+    private VBox content;
+    private VBox header;
+    private AsyncDatabaseHelper.Scope scope;
 
     public void show(Stage stage, User user) throws SQLException {
         this.stage = stage;
@@ -47,7 +52,7 @@ public class FAQPage {
         mainPane.setTop(navBar);
 
         // Content
-        VBox content = new VBox(15);
+        content = new VBox(15);
         content.setPadding(new Insets(20));
 
         // Header
@@ -57,24 +62,46 @@ public class FAQPage {
         Label subHeader = new Label("Common questions and their resolved answers");
         subHeader.setStyle("-fx-font-size: 14px; -fx-text-fill: gray;");
 
-        VBox header = new VBox(5, headerLabel, subHeader);
+        header = new VBox(5, headerLabel, subHeader);
         header.setAlignment(Pos.CENTER);
 
-        // Load FAQs
-        List<FAQ> faqs = StatusData.databaseHelper.getAllFAQs();
+        Label loadingLabel = new Label("Loading FAQs...");
+        loadingLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: gray;");
+        content.getChildren().addAll(header, loadingLabel);
 
-        if (faqs.isEmpty()) {
+        ScrollPane scrollPane = new ScrollPane(content);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setStyle("-fx-background-color: white;");
+
+        mainPane.setCenter(scrollPane);
+
+        Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
+        stage.setScene(scene);
+        stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
+
+        // The view already reflects the change when the event arrives; redraw from memory
+        scope.subscribe(DataEvent.FaqMarked.class, e -> loadFAQs());
+        scope.subscribe(DataEvent.FaqUpdated.class, e -> loadFAQs());
+        scope.subscribe(DataEvent.FaqRemoved.class, e -> loadFAQs());
+        scope.subscribe(DataEvent.AnswerUpdated.class, e -> loadFAQs());
+
+        loadFAQs();
+    }
+
+    private void loadFAQs() {
+        scope.load(db -> db.getFAQView().getByCategory(), this::showFAQs);
+    }
+
+    private void showFAQs(Map<String, List<FAQ>> faqsByCategory) {
+        if (faqsByCategory.isEmpty()) {
             Label emptyLabel = new Label("No FAQs available yet.");
             emptyLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
             VBox emptyBox = new VBox(emptyLabel);
             emptyBox.setAlignment(Pos.CENTER);
             emptyBox.setPadding(new Insets(50));
-            content.getChildren().addAll(header, emptyBox);
+            content.getChildren().setAll(header, emptyBox);
         } else {
-            // Group FAQs by category
-            Map<String, List<FAQ>> faqsByCategory = faqs.stream()
-                .collect(Collectors.groupingBy(FAQ::getCategory));
-
             Accordion accordion = new Accordion();
 
             for (Map.Entry<String, List<FAQ>> entry : faqsByCategory.entrySet()) {
@@ -101,30 +128,18 @@ public class FAQPage {
                 accordion.setExpandedPane(accordion.getPanes().get(0));
             }
 
-            content.getChildren().addAll(header, accordion);
+            content.getChildren().setAll(header, accordion);
         }
-
-        ScrollPane scrollPane = new ScrollPane(content);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setStyle("-fx-background-color: white;");
-
-        mainPane.setCenter(scrollPane);
-
-        Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
-        stage.setScene(scene);
-        stage.show();
     }
 
-    private VBox createFAQBox(FAQ faq) throws SQLException {
+    private VBox createFAQBox(FAQ faq) {
         VBox box = new VBox(10);
         box.setPadding(new Insets(15));
         box.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #ddd; " +
                      "-fx-border-radius: 5; -fx-background-radius: 5;");
 
-        // Get the question
-        Question question = StatusData.databaseHelper.getQuestionById(faq.getQuestionId());
-
-        if (question == null) {
+        // The question's details are part of the view; missing if the question is gone
+        if (faq.getQuestionDescription() == null) {
             Label errorLabel = new Label("Question not found.");
             errorLabel.setStyle("-fx-text-fill: red;");
             box.getChildren().add(errorLabel);
@@ -137,15 +152,15 @@ public class FAQPage {
         titleLabel.setWrapText(true);
 
         // Question description
-        Label descLabel = new Label(question.getDescription());
+        Label descLabel = new Label(faq.getQuestionDescription());
         descLabel.setWrapText(true);
         descLabel.setStyle("-fx-text-fill: #555;");
 
         box.getChildren().addAll(titleLabel, descLabel);
 
 
-     // Get all solution answers for this question
-        List<Answer> solutions = StatusData.databaseHelper.getSolutionsForQuestion(faq.getQuestionId());
+        // Solution answers, also from the view
+        List<Answer> solutions = faq.getSolutions();
 
         if (solutions != null && !solutions.isEmpty()) {
             for (Answer solution : solutions) {
@@ -12,6 +12,7 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
 import model.User;
+import model.UserAccount;
 import logic.*;
 
 import java.sql.SQLException;
@@ -389,17 +390,14 @@ public class InitialAccessPage {
             }
 
             try {
-                String role = databaseHelper.getUserRole(enteredUser);
-                if (role == null) {
+                UserAccount account = databaseHelper.getUserAccount(enteredUser);
+                if (account == null) {
                     messageLabel.setStyle("-fx-text-fill: red;");
                     messageLabel.setText("Username does not exist.");
                     return;
                 }
 
-                User user = User.createUser(enteredUser, "", role);
-                databaseHelper.loadUserDetails(user);
-
-                if (enteredEmail.equals(user.getEmail())) {
+                if (enteredEmail.equals(account.getEmail())) {
                     messageLabel.setStyle("-fx-text-fill: green;");
                     boolean ok = databaseHelper.requestedPw(enteredUser, enteredEmail);
                     if (ok) {
@@ -580,14 +578,14 @@ public class InitialAccessPage {
         String inviteCode = inviteCodeField.getText() == null ? "" : inviteCodeField.getText().trim();
 
         // Validate username
-        String userNameError = UserNameRecognizer.checkForValidUserName(userName);
+        String userNameError = InputValidator.checkUserName(userName).getMessage();
         if (!userNameError.isEmpty()) {
             errorLabel.setText(userNameError);
             return;
         }
 
         // Validate password
-        String passwordError = PasswordRecognizer.evaluatePassword(password);
+        String passwordError = InputValidator.checkPassword(password).getMessage();
         if (!passwordError.isEmpty()) {
             errorLabel.setText(passwordError);
             return;
@@ -680,27 +678,19 @@ public class InitialAccessPage {
         String password = passwordField.getText();
 
         try {
-            String role = databaseHelper.getUserRole(userName);
-            if (role == null) {
+            // account, temporary password and roles in one lookup
+            UserAccount account = databaseHelper.getUserAccount(userName);
+            if (account == null) {
                 errorLabel.setText("User account doesn't exist.");
                 return;
             }
 
-            String loginResult = databaseHelper.loginWithOTPcheck(userName, password, role);
+            String loginResult = databaseHelper.login(account, password);
 
             if ("normal".equals(loginResult)) {
-                List<String> roleList = databaseHelper.allUserRoles(userName);
-                roleList.remove("user");
+                List<User.Role> roleList = account.getSelectableRoles();
                 if (roleList.size() == 1) {
-                    String finalRole = roleList.get(0);
-
-                    User dbUser = databaseHelper.getUserByName(userName);
-                    if (dbUser == null) {
-                        errorLabel.setText("Error loading user from database");
-                        return;
-                    }
-
-                    dbUser.setRole(finalRole);
+                    User dbUser = account.toUser(roleList.get(0));
                     StatusData.currUser = dbUser;
 
                     new WelcomeLoginPage().show(primaryStage, StatusData.currUser);
@@ -709,10 +699,11 @@ public class InitialAccessPage {
                 }
 
             } else if ("temp".equals(loginResult)) {
-                User user = User.createUser(userName, password, role);
+                User user = account.toUser(User.Role.fromString(account.getRole()));
+                user.setPassword(password);
+                user.setTempPw(null);
                 StatusData.currUser = user;
                 errorLabel.setText("Please reset your password.");
-                databaseHelper.loadUserDetails(user);
                 ResetPasswordPage resetPasswordPage = new ResetPasswordPage(databaseHelper, user);
                 resetPasswordPage.show(primaryStage, "Please reset your temporary password");
 
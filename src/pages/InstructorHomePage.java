@@ -7,14 +7,21 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 
 import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import logic.*;
 import model.*;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 import databasePart1.DatabaseHelper;
 
 /**********
@@ -119,26 +126,11 @@ public class InstructorHomePage {
             }
         });
 
-        // Show all roles a user currently has
+        // Show all roles a user currently has, loaded in bulk for the listed users
+        Map<String, EnumSet<User.Role>> rolesByUser = new HashMap<>();
         TableColumn<User, String> allRolesCol = new TableColumn<>("All Roles");
-        allRolesCol.setCellFactory(col -> new TableCell<>() {
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
-                if (!empty) {
-                    User user = getTableRow().getItem();
-                    if (user != null) {
-                        try {
-                            List<String> roles = databaseHelper.allUserRoles(user.getUserName());
-                            setText(String.join(", ", roles));
-
-                        } catch (SQLException e) {
-                            setText("Error loading roles");
-                        }
-                    }
-                }
-            }
-        });
+        allRolesCol.setCellValueFactory(cd -> new SimpleStringProperty(
+                AdminHomePage.rolesText(rolesByUser.get(cd.getValue().getUserName()))));
 
         // instructor accepts or denies student
         TableColumn<User, String> acceptCol = new TableColumn<>("Accept or Deny");
@@ -236,14 +228,6 @@ public class InstructorHomePage {
             }
         });
         
-        //retrieve user table info fron reviewer request table
-        try {
-            ObservableList<User> users = databaseHelper.getAllReviewerRequest();
-            userTable.setItems(users);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-
         layout.getChildren().addAll(instructorLabel, userTable, tableTitle, detailsBox);
         borderPane.setCenter(layout);
 
@@ -251,6 +235,24 @@ public class InstructorHomePage {
         stage.setScene(instructorScene);
         stage.setTitle("Instructor Page");
         stage.show();
+
+        //retrieve user table info fron reviewer request table, then the roles of those users
+        AsyncDatabaseHelper.Scope scope = StatusData.async().newScope().bindTo(instructorScene);
+        scope.load(db -> db.getAllReviewerRequest(), users -> {
+            userTable.setItems(users);
+            List<String> names = users.stream().map(User::getUserName).collect(Collectors.toList());
+            scope.load(db -> db.getRolesByUser(names), roles -> {
+                rolesByUser.putAll(roles);
+                userTable.refresh();
+            });
+        });
+
+        // an accepted request grants the reviewer role
+        scope.subscribe(DataEvent.UserRolesChanged.class, e ->
+            scope.load(db -> db.getRolesByUser(List.of(e.getUserName())), roles -> {
+                rolesByUser.putAll(roles);
+                userTable.refresh();
+            }));
     }     
     
     /**********
@@ -1,5 +1,8 @@
 package pages;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,8 +13,13 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
 import logic.*;
 import model.*;
@@ -19,9 +27,12 @@ import model.User.Role;
 /**
  * InvitePage class represents the page where an admin can generate an invitation code.
  * The invitation code is displayed upon clicking a button.
+ * A whole class roster can also be imported from a CSV file to create one code per student.
  */
 public class InvitationPage {
 
+    private AsyncDatabaseHelper.Scope scope;
+
     /**
      * Displays the Invite Page in the provided primary stage.
      *
@@ -131,17 +142,116 @@ public class InvitationPage {
         });
 
 
-        layout.getChildren().addAll(userLabel, roleLabel, roleBox, showCodeButton, inviteCodeLabel);
+        // Roster import: one code per CSV line (name, email, roles)
+        Label rosterLabel = new Label("Or invite a whole class from a roster (name, email, roles):");
+        rosterLabel.setStyle("-fx-font-size: 14px; -fx-padding: 20 0 5 0;");
+        rosterLabel.setWrapText(true);
+
+        Button importButton = new Button("Import Roster...");
+        importButton.setStyle("-fx-font-size: 14px; -fx-padding: 10 20;");
+
+        Label rosterStatus = new Label("");
+        rosterStatus.setWrapText(true);
+
+        importButton.setOnAction(a -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Import Roster");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+            File file = chooser.showOpenDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            importButton.setDisable(true);
+            rosterStatus.setText("Importing " + file.getName() + "...");
+            scope.load(db -> RosterOnboarding.onboard(db, Files.readAllLines(file.toPath())), rows -> {
+                importButton.setDisable(false);
+                rosterStatus.setText(rosterSummary(rows));
+                showRosterResults(primaryStage, rows);
+            }, ex -> {
+                importButton.setDisable(false);
+                rosterStatus.setText("");
+                Alert err = new Alert(Alert.AlertType.ERROR, "Failed to import roster: " + ex.getMessage()
+                        + "\nNo invitation codes were created.");
+                err.showAndWait();
+            });
+        });
+
+        layout.getChildren().addAll(userLabel, roleLabel, roleBox, showCodeButton, inviteCodeLabel,
+                rosterLabel, importButton, rosterStatus);
         
         BorderPane.setAlignment(layout, Pos.CENTER);
         borderPane.setCenter(layout);
         
         Scene inviteScene = new Scene(borderPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
+        scope = StatusData.async().newScope().bindTo(inviteScene);
 
         primaryStage.setScene(inviteScene);
         primaryStage.setTitle("Invite Page");
     }
 
+    private static String rosterSummary(List<RosterOnboarding.Row> rows) {
+        long created = rows.stream().filter(r -> r.getCode() != null).count();
+        long rejected = rows.size() - created;
+        return created + " invitation codes created, " + rejected + " rows with problems";
+    }
+
+    /**
+     * Show every roster row with its code or its problems, and let the admin save them as CSV
+     * to mail the codes out or fix the rejected rows.
+     */
+    private void showRosterResults(Stage owner, List<RosterOnboarding.Row> rows) {
+        Stage popup = new Stage();
+        popup.initOwner(owner);
+        popup.initModality(Modality.WINDOW_MODAL);
+        popup.setTitle("Roster Import Results");
+
+        TableView<RosterOnboarding.Row> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.getColumns().add(column("Line", "line"));
+        table.getColumns().add(column("Name", "name"));
+        table.getColumns().add(column("Email", "email"));
+        table.getColumns().add(column("Roles", "rolesText"));
+        table.getColumns().add(column("Code", "code"));
+        table.getColumns().add(column("Problems", "errorText"));
+        table.getItems().setAll(rows);
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Button saveButton = new Button("Save Results...");
+        saveButton.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Save Roster Results");
+            chooser.setInitialFileName("roster-codes.csv");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+            File file = chooser.showSaveDialog(popup);
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.write(file.toPath(), RosterOnboarding.toCsv(rows));
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                Alert err = new Alert(Alert.AlertType.ERROR, "Failed to save " + file.getName() + ": " + ex.getMessage());
+                err.showAndWait();
+            }
+        });
+        Button closeButton = new Button("Close");
+        closeButton.setOnAction(e -> popup.close());
+
+        HBox buttons = new HBox(10, saveButton, closeButton);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox box = new VBox(10, new Label(rosterSummary(rows)), table, buttons);
+        box.setPadding(new Insets(15));
+        popup.setScene(new Scene(box, 800, 500));
+        popup.show();
+    }
+
+    private static <T> TableColumn<RosterOnboarding.Row, T> column(String title, String property) {
+        TableColumn<RosterOnboarding.Row, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        return column;
+    }
+
     /**
      * Method to prevent repeated checked box code
      */
@@ -12,9 +12,10 @@ import javafx.stage.Stage;
 import model.Messages;
 import javafx.beans.property.SimpleStringProperty;
 
-import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 import logic.*;
 import pages.*;
@@ -28,6 +29,7 @@ public class MessagingPage {
 	private TableView<Messages> messageTable;
 	private TableView<Messages> sentMessageTable;
 	private TableView<Clarification> suggestionTable;
+	private TableView<InboxSummary.Conversation> conversationTable;
 	private TextArea messageContentArea;
 	private TextArea suggestionContentArea;
 	private ComboBox<String> recipientDropDown;
@@ -35,6 +37,19 @@ public class MessagingPage {
 	Label unreadCountLabel;
 	Label unreadSuggestionsCount;
 	
+	// Inbox and sent lists are loaded one page at a time as the tables are scrolled
+	private static final int PAGE_SIZE = 50;
+	private String nextInboxCursor;
+	private String nextSentCursor;
+	private boolean loadingInbox = false;
+	private boolean loadingSent = false;
+	
+	// Database calls run off the FX thread and are dropped when the page is left
+	private AsyncDatabaseHelper.Scope scope;
+	
+	// Kept current by the message writes, so the counts are redrawn without a query
+	private InboxSummary summary;
+	
 	public void show(Stage stage) {
 		stage.setTitle("Messages");
 		
@@ -177,6 +192,44 @@ public class MessagingPage {
         VBox sentBox = new VBox(10, sentMessageTable, new Label("Sent Message:"), sentContentArea);
         Tab sentTab = new Tab("📤 Sent", sentBox);
         
+        //Conversations tab: one row per person, drawn from the cached inbox summary
+        conversationTable = new TableView<>();
+        conversationTable.setPrefHeight(250);
+        
+        TableColumn<InboxSummary.Conversation, String> withCol = new TableColumn<>("With");
+        withCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getOtherUserName()));
+        withCol.setPrefWidth(120);
+        
+        TableColumn<InboxSummary.Conversation, String> newCol = new TableColumn<>("New");
+        newCol.setCellValueFactory(data -> new SimpleStringProperty(
+        		data.getValue().getUnreadCount() > 0 ? String.valueOf(data.getValue().getUnreadCount()) : ""));
+        newCol.setPrefWidth(60);
+        
+        TableColumn<InboxSummary.Conversation, String> lastCol = new TableColumn<>("Last Message");
+        lastCol.setCellValueFactory(data -> new SimpleStringProperty(
+        		(data.getValue().getLastSenderId() == currentUser.getId() ? "You: " : "") + data.getValue().getLastMessage()));
+        lastCol.setPrefWidth(250);
+        
+        TableColumn<InboxSummary.Conversation, String> lastDateCol = new TableColumn<>("Time");
+        lastDateCol.setCellValueFactory(data -> new SimpleStringProperty(
+        		data.getValue().getLastTimestamp() == null ? "" :
+        		data.getValue().getLastTimestamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+        ));
+        lastDateCol.setPrefWidth(150);
+        
+        conversationTable.getColumns().addAll(List.of(withCol, newCol, lastCol, lastDateCol));
+        
+        TextArea threadArea = new TextArea();
+        threadArea.setEditable(false);
+        threadArea.setWrapText(true);
+        threadArea.setPrefRowCount(10);
+        conversationTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+        	if (newVal != null) openConversation(newVal, threadArea);
+        });
+        
+        VBox conversationBox = new VBox(10, conversationTable, new Label("Conversation:"), threadArea);
+        Tab conversationTab = new Tab("💬 Conversations", conversationBox);
+        
         //Suggestions tab
         suggestionTable = new TableView<>();
         suggestionContentArea = new TextArea();
@@ -194,7 +247,7 @@ public class MessagingPage {
         Tab suggestionTab = new Tab("💡 Suggestions", suggestionBox);
         //suggestionTab.setContent(suggestionBox);
         
-        tabPane.getTabs().addAll(receivedTab, sentTab, suggestionTab);
+        tabPane.getTabs().addAll(receivedTab, sentTab, conversationTab, suggestionTab);
         VBox messageBox = new VBox(10, headerBox, tabPane, writeBtn);
         messageBox.setPadding(new Insets(15));
         
@@ -207,29 +260,49 @@ public class MessagingPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
+        subscribeToChanges();
         
+        ScrollPaging.onScrolledToEnd(messageTable, this::loadMoreInbox);
+        ScrollPaging.onScrolledToEnd(sentMessageTable, this::loadMoreSent);
         loadMessages();  
 	}
 	
 	private void displayMessageContent(Messages msg) {
 		messageContentArea.setText(msg.getMessage());
 		
-		try {
-			databaseHelper.markMessagesAsRead(msg.getId());
-			loadMessages();
-		} catch (SQLException ex) {
-			ex.printStackTrace();
+		if (!msg.isRead()) {
+			scope.update(db -> db.markMessagesAsRead(msg.getId()));
+		}
+	}
+	
+	/**
+	 * Show the whole conversation, oldest first, and mark the other user's messages read in one write.
+	 */
+	private void openConversation(InboxSummary.Conversation c, TextArea threadArea) {
+		int userId = currentUser.getId();
+		int otherId = c.getOtherUserId();
+		threadArea.setText("Loading...");
+		scope.load(db -> db.getMessagesBetweenUsers(userId, otherId), thread -> {
+			StringBuilder text = new StringBuilder();
+			for (int i = thread.size() - 1; i >= 0; i--) {
+				Messages m = thread.get(i);
+				text.append(m.getSenderId() == userId ? "You" : c.getOtherUserName())
+					.append(" (").append(m.getTimestamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))).append("): ")
+					.append(m.getMessage()).append("\n");
+			}
+			threadArea.setText(text.toString());
+		});
+		if (c.getUnreadCount() > 0) {
+			scope.update(db -> db.markThreadRead(userId, otherId));
 		}
 	}
 	
 	private void displaySuggestionContent(Clarification c) {
 		suggestionContentArea.setText(c.getContent());
 		
-		try {
-			databaseHelper.markClarificationAsRead(c.getId());
-			loadMessages();
-		} catch (SQLException ex) {
-			ex.printStackTrace();
+		if (!c.isRead()) {
+			scope.update(db -> db.markClarificationAsRead(c.getId()));
 		}
 	}
 	
@@ -273,17 +346,34 @@ public class MessagingPage {
 			reply.setSenderName(currentUser.getUserName());
 			reply.setRecipientName(msg.getSenderName());
 			
-			databaseHelper.sendMessage(reply);
-			new Alert(Alert.AlertType.INFORMATION, "Reply sent successfully!").show();
-			loadMessages();
+			scope.update(db -> db.sendMessage(reply),
+					() -> new Alert(Alert.AlertType.INFORMATION, "Reply sent successfully!").show());
 		});		
 	}
 	
 	private void loadMessages() {
+		int userId = currentUser.getId();
+		// The four reads are independent, so run them side by side
+		CompletableFuture<Page<Messages>> inbox = scope.supply(db -> db.getMessagesForUserPage(userId, null, PAGE_SIZE));
+		CompletableFuture<Page<Messages>> sent = scope.supply(db -> db.getSentMessagesForUserPage(userId, null, PAGE_SIZE));
+		CompletableFuture<List<Clarification>> suggestions = scope.supply(db -> db.loadClarificationsForUser(userId));
+		// Unread counts and conversations come from the summary the writes keep current
+		CompletableFuture<InboxSummary> summary = scope.supply(db -> db.getInboxSummary(userId));
+		
+		scope.deliver(CompletableFuture.allOf(inbox, sent, suggestions, summary),
+				v -> showMessages(inbox.join(), sent.join(), suggestions.join(), summary.join()),
+				e -> {
+					e.printStackTrace();
+					messageTable.setPlaceholder(new Label("Failed to load messages."));
+				});
+	}
+	
+	private void showMessages(Page<Messages> inboxPage, Page<Messages> sentPage, List<Clarification> suggestions, InboxSummary summary) {
 		try {
-			List<Messages> inboxMessages = databaseHelper.getMessagesForUser(currentUser.getId());
-			List<Messages> sentMessages = databaseHelper.getSentMessagesForUser(currentUser.getId());
-			List<Clarification> suggestions = databaseHelper.loadClarificationsForUser(currentUser.getId());
+			nextInboxCursor = inboxPage.getNextCursor();
+			nextSentCursor = sentPage.getNextCursor();
+			List<Messages> inboxMessages = inboxPage.getItems();
+			List<Messages> sentMessages = sentPage.getItems();
 			
 			//*******debugging
 			/*System.out.println("Current user ID: " + currentUser.getId());
@@ -300,11 +390,8 @@ public class MessagingPage {
 			//ObservableList<Messages> inbox = FXCollections.observableArrayList();
 			//ObservableList<Messages> sent = FXCollections.observableArrayList();
 			
-			//count unread messages
-			long unreadCount = inboxMessages.stream().filter(m -> !m.isRead()).count();
-			long unreadSuggestions = suggestions.stream().filter(c -> !c.isRead()).count();
-			unreadCountLabel.setText("Unread PMs: " + unreadCount);
-			unreadSuggestionsCount.setText("Unread Suggestions: " + unreadSuggestions);
+			this.summary = summary;
+			refreshSummary();
 
 			messageTable.setItems(FXCollections.observableArrayList(inboxMessages));
 			messageTable.setRowFactory(tv -> new TableRow<>() {
@@ -348,6 +435,103 @@ public class MessagingPage {
 		}
 	}
 	
+	/**
+	 * Apply sent messages, new suggestions and read marks to the tables as they are written,
+	 * instead of loading every list again after each send or read.
+	 */
+	private void subscribeToChanges() {
+		int userId = currentUser.getId();
+		scope.subscribe(DataEvent.MessageSent.class, e -> {
+			Messages msg = e.getMessage();
+			if (msg.getRecipientId() == userId) {
+				messageTable.getItems().add(0, msg);
+			}
+			if (msg.getSenderId() == userId) {
+				sentMessageTable.getItems().add(0, msg);
+			}
+			refreshSummary();
+		});
+		scope.subscribe(DataEvent.MessageRead.class, e -> {
+			if (e.getRecipientId() == userId) {
+				markInboxRead(m -> m.getId() == e.getMessageId());
+			}
+		});
+		scope.subscribe(DataEvent.ThreadRead.class, e -> {
+			if (e.getUserId() == userId) {
+				markInboxRead(m -> m.getSenderId() == e.getOtherUserId());
+			}
+		});
+		scope.subscribe(DataEvent.ClarificationCreated.class, e -> {
+			if (e.getClarification().getRecipientId() == userId) {
+				suggestionTable.getItems().add(e.getClarification());
+				refreshSummary();
+			}
+		});
+		scope.subscribe(DataEvent.ClarificationRead.class, e -> {
+			if (e.getRecipientId() != userId) {
+				return;
+			}
+			for (Clarification c : suggestionTable.getItems()) {
+				if (c.getId() == e.getClarificationId()) {
+					c.setIsRead(true);
+				}
+			}
+			suggestionTable.refresh();
+			refreshSummary();
+		});
+	}
+	
+	private void markInboxRead(Predicate<Messages> which) {
+		for (Messages m : messageTable.getItems()) {
+			if (which.test(m)) {
+				m.setIsRead(true);
+			}
+		}
+		messageTable.refresh();
+		refreshSummary();
+	}
+	
+	private void refreshSummary() {
+		if (summary == null) {
+			return; // first load still running; it draws the counts itself
+		}
+		unreadCountLabel.setText("Unread PMs: " + summary.getUnreadMessages());
+		unreadSuggestionsCount.setText("Unread Suggestions: " + summary.getUnreadClarifications());
+		conversationTable.getItems().setAll(summary.getConversations());
+	}
+	
+	private void loadMoreInbox() {
+		if (nextInboxCursor == null || loadingInbox) {
+			return;
+		}
+		loadingInbox = true;
+		String cursor = nextInboxCursor;
+		scope.load(db -> db.getMessagesForUserPage(currentUser.getId(), cursor, PAGE_SIZE), page -> {
+			messageTable.getItems().addAll(page.getItems());
+			nextInboxCursor = page.getNextCursor();
+			loadingInbox = false;
+		}, e -> {
+			e.printStackTrace();
+			loadingInbox = false;
+		});
+	}
+	
+	private void loadMoreSent() {
+		if (nextSentCursor == null || loadingSent) {
+			return;
+		}
+		loadingSent = true;
+		String cursor = nextSentCursor;
+		scope.load(db -> db.getSentMessagesForUserPage(currentUser.getId(), cursor, PAGE_SIZE), page -> {
+			sentMessageTable.getItems().addAll(page.getItems());
+			nextSentCursor = page.getNextCursor();
+			loadingSent = false;
+		}, e -> {
+			e.printStackTrace();
+			loadingSent = false;
+		});
+	}
+	
 	private void writePopup(Stage owner) {
 		Stage popup = new Stage();
 		popup.setTitle("Compose Message");
@@ -357,7 +541,8 @@ public class MessagingPage {
 		
 		ComboBox<User> recipientBox = new ComboBox<>();
 		recipientBox.setPromptText("Select recipient");
-		recipientBox.setItems(FXCollections.observableArrayList(databaseHelper.getAllUsersExcept(currentUser.getId())));
+		scope.load(db -> db.getAllUsersExcept(currentUser.getId()),
+				users -> recipientBox.setItems(FXCollections.observableArrayList(users)));
 		
 		TextArea messageArea = new TextArea();
 		messageArea.setPromptText("Enter your message...");
@@ -381,9 +566,13 @@ public class MessagingPage {
 			}
 			
 			Messages msg = new Messages(currentUser.getId(), recipient.getId(), content);
-			databaseHelper.sendMessage(msg);
-			popup.close();
-			loadMessages();
+			msg.setSenderName(currentUser.getUserName());
+			msg.setRecipientName(recipient.getUserName());
+			sendBtn.setDisable(true);
+			scope.update(db -> db.sendMessage(msg), popup::close, ex -> {
+				sendBtn.setDisable(false);
+				new Alert(Alert.AlertType.ERROR, "Failed to send message: " + ex.getMessage()).show();
+			});
 		});
 		
 		layout.getChildren().addAll(new Label("To:"), recipientBox, new Label("Message:"), messageArea, sendBtn);
@@ -13,7 +13,6 @@ import model.Answers;
 import model.Question;
 import model.Questions;
 
-import java.sql.SQLException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,16 +27,9 @@ public class MyPostsPage extends Application {
 	
 	@Override
 	public void start(Stage stage) {
-		db = new DatabaseHelper();
-		try {
-			db.connectToDatabase();
-		}
-		catch (SQLException e) {
-			e.printStackTrace();
-			System.err.println("Failed to connect to db");
-		}
-		
-		questions = new Questions(db);
+		// Shared managers; no second connection or reload needed
+		db = StatusData.databaseHelper;
+		questions = StatusData.questions;
 		stage.setTitle("My Posts");
 		
 		Label keywordSearchLabel = new Label("Search by Keyword:");
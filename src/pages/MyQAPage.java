@@ -10,6 +10,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import databasePart1.AsyncDatabaseHelper;
 import logic.Result;
 import logic.StatusData;
 import model.Clarification;
@@ -21,7 +22,6 @@ import model.User.Role;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 
-import java.util.List;
 
 /**
  * The MyQAPage class displays questions created by the logged-in user.
@@ -33,6 +33,9 @@ public class MyQAPage {
     
     private TableView<Question> questionTable;
     private TextArea questionDetails;
+
+    // Database calls run off the FX thread and are dropped when the page is left
+    private AsyncDatabaseHelper.Scope scope;
     
     private Stage stage;
     private User user;
@@ -45,7 +48,7 @@ public class MyQAPage {
         this.stage = stage;
         this.user = user;
         
-        questions = new Questions(StatusData.databaseHelper);
+        questions = StatusData.questions;
         
         stage.setTitle("My Questions");
         
@@ -221,6 +224,7 @@ public class MyQAPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
         
         loadUserQuestions();
     }
@@ -350,11 +354,9 @@ public class MyQAPage {
     
     private void loadUserQuestions() {
         // Load only questions authored by the logged-in user
-        List<Question> allQuestions = StatusData.databaseHelper.loadAllQs();
-        List<Question> userQuestions = allQuestions.stream()
+        scope.load(db -> db.loadAllQs().stream()
             .filter(q -> q.getAuthor().equals(user.getName()))
-            .toList();
-        questionTable.getItems().setAll(userQuestions);
+            .toList(), userQuestions -> questionTable.getItems().setAll(userQuestions));
     }
     
     private void displayQuestionDetails(Question q) {
@@ -380,11 +382,10 @@ public class MyQAPage {
     }
 
     private void loadSuggestionsForQs(Question question, ListView<String> suggestionList) {
-        suggestionList.getItems().clear();
+        suggestionList.getItems().setAll("Loading suggestions...");
         
-        try {
-            List<Clarification> list = StatusData.databaseHelper.loadClarificationsforQ(question.getQuestionId());
-            
+        scope.load(db -> db.loadClarificationsforQ(question.getQuestionId()), list -> {
+            suggestionList.getItems().clear();
             if (list == null || list.isEmpty()) {
                 suggestionList.getItems().add("No suggestions yet.");
             }
@@ -393,11 +394,10 @@ public class MyQAPage {
                     suggestionList.getItems().add(c.getAuthor() + ": " + c.getContent());
                 }
             }
-        }
-        catch (Exception e) {
-            suggestionList.getItems().add("Error loading suggestions: " + e.getMessage());
+        }, e -> {
+            suggestionList.getItems().setAll("Error loading suggestions: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
     
     private void showAlert(Alert.AlertType type, String title, String message) {
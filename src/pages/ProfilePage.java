@@ -10,9 +10,7 @@ import javafx.stage.Stage;
 import logic.StatusData;
 import model.NavigationBar;
 import model.User;
-import logic.UserNameRecognizer;
-import logic.EmailRecognizer;
-import logic.PasswordRecognizer;
+import logic.InputValidator;
 
 import java.sql.SQLException;
 
@@ -234,7 +232,7 @@ public class ProfilePage {
         
         if (!newUserName.equals(oldUserName)) {
          	
-         	String userNameError = UserNameRecognizer.checkForValidUserName(newUserName);
+         	String userNameError = InputValidator.checkUserName(newUserName).getMessage();
          	if (!userNameError.isEmpty()) {
          		System.out.println(userNameError);
          		errorLabel.setText(userNameError);
@@ -254,7 +252,7 @@ public class ProfilePage {
                 showError("New passwords do not match.");
                 return;
             }
-            String pwError = PasswordRecognizer.evaluatePassword(newPw);
+            String pwError = InputValidator.checkPassword(newPw).getMessage();
             if (!pwError.isEmpty()) {
                 showError(pwError);
                 return;
@@ -265,7 +263,7 @@ public class ProfilePage {
      // Validate email
         if (!email.isEmpty()) {
         	if (!email.equals(oldEmail)) {
-        		String emailError = EmailRecognizer.validate(email);
+        		String emailError = InputValidator.checkEmail(email).getMessage();
         		if (!emailError.isEmpty()) {
         			System.out.println(emailError);
         			errorLabel.setText(emailError);
@@ -5,7 +5,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import logic.PasswordRecognizer;
+import logic.InputValidator;
 import logic.StatusData;
 import model.NavigationBar;
 import model.User;
@@ -69,7 +69,7 @@ public class ResetPasswordPage {
 				}
 				
 				// Validate new password based on FSM
-				String passwordError = PasswordRecognizer.evaluatePassword(newPw);
+				String passwordError = InputValidator.checkPassword(newPw).getMessage();
 				if (!passwordError.isEmpty()) {
 					System.out.println(passwordError);
 					errorLabel.setText(passwordError);
@@ -11,7 +11,6 @@ import model.*;
 import logic.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ReviewPage - shows either:
@@ -40,7 +39,7 @@ public class ReviewPage {
   
         this.user = user;
         this.stage = stage; 
-        this.reviewsManager = new Reviews(StatusData.databaseHelper);
+        this.reviewsManager = StatusData.reviews;
 
         stage.setTitle("My Reviews");
 
@@ -71,7 +70,7 @@ public class ReviewPage {
 	public void showForAnswer(Stage stage, User user, Answer answer) {
         this.user = user;
         this.stage = stage; // Added: Store stage reference
-        this.reviewsManager = new Reviews(StatusData.databaseHelper);
+        this.reviewsManager = StatusData.reviews;
 
         stage.setTitle("Reviews for Answer #" + answer.getAnswerId());
 
@@ -262,19 +261,14 @@ public class ReviewPage {
 
     // filters reviews to show only those written by current user
     private void loadUserReviews() {
-        this.reviewsManager = new Reviews(StatusData.databaseHelper);
-        List<Review> all = reviewsManager.readAll();
-        List<Review> mine = all.stream()
-                .filter(r -> r.getAuthor().equals(user.getName()))
-                .collect(Collectors.toList());
+        List<Review> mine = reviewsManager.readByAuthor(user.getName());
         reviewTable.getItems().setAll(mine);
     }
     
     
     // shows all reviews for a specific answer
     private void loadReviewsForAnswer(int answerId) {
-        this.reviewsManager = new Reviews(StatusData.databaseHelper);
-        List<Review> list = reviewsManager.search(answerId, "", null); // returns reviews for that answer
+        List<Review> list = reviewsManager.readByAnswerId(answerId); // returns reviews for that answer
         reviewTable.getItems().setAll(list);
     }
     
@@ -10,7 +10,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import logic.StatusData;
 import model.User;
-import model.User.Role;
+import model.UserAccount;
 
 /**
  * RoleSelectionPage lets users choose which role to act as if they have multiple.
@@ -34,26 +34,18 @@ public class RoleSelectionPage {
         layout.getChildren().add(prompt);
 
         try {
-            List<String> roleStrings = StatusData.databaseHelper.allUserRoles(userName);
+            // usually still cached from the login that led here
+            UserAccount account = StatusData.databaseHelper.getUserAccount(userName);
+            List<User.Role> roles = account == null ? List.of() : account.getSelectableRoles();
 
-            // Remove the default "user" role if it exists
-            roleStrings.removeIf(role -> role.equalsIgnoreCase("user"));
-
-            if (roleStrings.isEmpty()) {
+            if (roles.isEmpty()) {
                 Label noRoles = new Label("No roles found for this user.");
                 noRoles.setStyle("-fx-text-fill: red;");
                 layout.getChildren().add(noRoles);
             }
 
-            for (String roleStr : roleStrings) {
-                // Convert string to Role enum
-                User.Role role = User.Role.fromString(roleStr);
-                
-                // Skip UNKNOWN roles
-                if (role == User.Role.UNKNOWN) {
-                    continue;
-                }
-                
+            for (User.Role role : roles) {
+                String roleStr = role.name();
                 String displayName = roleStr.substring(0, 1).toUpperCase() + roleStr.substring(1).toLowerCase();
                 Button roleButton = new Button(displayName);
                 roleButton.setStyle(
@@ -63,24 +55,13 @@ public class RoleSelectionPage {
                 );
 
                 roleButton.setOnAction(_ -> {
-                    try {
-                        User dbUser = StatusData.databaseHelper.getUserByName(userName);
-                        if (dbUser == null) {
-                            System.err.println("RoleSelectionPage: could not load user " + userName);
-                            return;
-                        }
-
-                        // Set role using the enum (not string)
-                        dbUser.setRole(role);
-                        StatusData.currUser = dbUser;
+                    User dbUser = account.toUser(role);
+                    StatusData.currUser = dbUser;
 
-                        // Debug print to verify the selected role
-                        System.out.println("Selected role: " + StatusData.currUser.getRoleName() + ", id=" + StatusData.currUser.getId());
+                    // Debug print to verify the selected role
+                    System.out.println("Selected role: " + StatusData.currUser.getRoleName() + ", id=" + StatusData.currUser.getId());
 
-                        new WelcomeLoginPage().show(primaryStage, StatusData.currUser);
-                    } catch (SQLException ex) {
-                        ex.printStackTrace();
-                    }
+                    new WelcomeLoginPage().show(primaryStage, StatusData.currUser);
                 });
 
                 layout.getChildren().add(roleButton);
@@ -0,0 +1,59 @@
+package pages;
+
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+/**
+ * Fetch-more-on-scroll support for tables backed by a keyset-paginated query
+ * (see {@link databasePart1.Page}).
+ *
+ * <p>The table's vertical scroll bar is only created together with its skin, so the listener
+ * is attached once the skin exists.
+ */
+final class ScrollPaging {
+
+    private static final String HOOKED_KEY = ScrollPaging.class.getName();
+
+    private ScrollPaging() {}
+
+    /**
+     * Run {@code loadMore} whenever the user scrolls to the bottom of {@code table}.
+     * The callback should append the next page to the table's items, and do nothing when
+     * there are no more pages.
+     *
+     * @param table table to watch
+     * @param loadMore callback run on the JavaFX thread
+     */
+    static void onScrolledToEnd(TableView<?> table, Runnable loadMore) {
+        if (table.getSkin() != null) {
+            hook(table, loadMore);
+        } else {
+            table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+                if (newSkin != null) {
+                    Platform.runLater(() -> hook(table, loadMore));
+                }
+            });
+        }
+    }
+
+    private static void hook(TableView<?> table, Runnable loadMore) {
+        if (table.getProperties().containsKey(HOOKED_KEY)) {
+            return;
+        }
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar bar = (ScrollBar) node;
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= bar.getMax() && oldVal.doubleValue() < bar.getMax()) {
+                        loadMore.run();
+                    }
+                });
+                table.getProperties().put(HOOKED_KEY, Boolean.TRUE);
+                return;
+            }
+        }
+    }
+}
@@ -9,11 +9,15 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import logic.StatusData;
 import model.*;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Staff Announcement Management Page
@@ -23,6 +27,8 @@ public class StaffAnnouncementPage {
     private Stage stage;
     private User user;
     private TableView<Announcement> announcementTable;
+    private AsyncDatabaseHelper.Scope scope;
+    private Map<Integer, Integer> readCounts = new HashMap<>(); // announcement id -> readers
 
     public void show(Stage stage, User user) {
         this.stage = stage;
@@ -131,6 +137,13 @@ public class StaffAnnouncementPage {
             ));
         typeCol.setPrefWidth(150);
 
+        TableColumn<Announcement, Integer> readCol = new TableColumn<>("Read By");
+        readCol.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleObjectProperty<>(
+                readCounts.getOrDefault(cellData.getValue().getAnnouncementId(), 0)
+            ));
+        readCol.setPrefWidth(70);
+
         // Actions column
         TableColumn<Announcement, Void> actionsCol = new TableColumn<>("Actions");
         actionsCol.setPrefWidth(200);
@@ -162,7 +175,7 @@ public class StaffAnnouncementPage {
         });
 
         announcementTable.getColumns().addAll(
-            idCol, titleCol, priorityCol, statusCol, startCol, endCol, typeCol, actionsCol
+            idCol, titleCol, priorityCol, statusCol, startCol, endCol, typeCol, readCol, actionsCol
         );
 
         // Buttons
@@ -192,13 +205,45 @@ public class StaffAnnouncementPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
+        subscribeToChanges();
 
         loadAnnouncements();
     }
 
+    /**
+     * Keep the table in step with announcement writes (from this page or elsewhere) without
+     * reloading the whole list.
+     */
+    private void subscribeToChanges() {
+        scope.subscribe(DataEvent.AnnouncementPublished.class,
+                e -> announcementTable.getItems().add(0, e.getAnnouncement()));
+        scope.subscribe(DataEvent.AnnouncementUpdated.class, e -> {
+            Announcement changed = e.getAnnouncement();
+            List<Announcement> items = announcementTable.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).getAnnouncementId() == changed.getAnnouncementId()) {
+                    items.set(i, changed);
+                }
+            }
+        });
+        scope.subscribe(DataEvent.AnnouncementDeleted.class, e -> {
+            readCounts.remove(e.getAnnouncementId());
+            announcementTable.getItems().removeIf(a -> a.getAnnouncementId() == e.getAnnouncementId());
+        });
+        // only first reads are published, so each event is one more reader
+        scope.subscribe(DataEvent.AnnouncementMarkedRead.class, e -> {
+            readCounts.merge(e.getAnnouncementId(), 1, Integer::sum);
+            announcementTable.refresh();
+        });
+    }
+
     private void loadAnnouncements() {
-        List<Announcement> announcements = StatusData.databaseHelper.getAllAnnouncements();
-        announcementTable.getItems().setAll(announcements);
+        scope.load(db -> db.getAllAnnouncements(), announcements -> announcementTable.getItems().setAll(announcements));
+        scope.load(db -> db.getAnnouncementReadCounts(), counts -> {
+            readCounts = counts;
+            announcementTable.refresh();
+        });
     }
 
     private void showCreateAnnouncementDialog() {
@@ -404,7 +449,6 @@ public class StaffAnnouncementPage {
                 boolean success = StatusData.databaseHelper.updateAnnouncement(existingAnnouncement);
                 if (success) {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Announcement updated successfully!");
-                    loadAnnouncements();
                     dialog.close();
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Error", "Failed to update announcement.");
@@ -419,7 +463,6 @@ public class StaffAnnouncementPage {
                 if (success) {
                     showAlert(Alert.AlertType.INFORMATION, "Success", 
                              "Announcement created successfully!");
-                    loadAnnouncements();
                     dialog.close();
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Error", "Failed to create announcement.");
@@ -444,7 +487,6 @@ public class StaffAnnouncementPage {
                 if (deleted) {
                     showAlert(Alert.AlertType.INFORMATION, "Success", 
                              "Announcement deleted successfully.");
-                    loadAnnouncements();
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete announcement.");
                 }
@@ -22,6 +22,9 @@ import javafx.stage.Stage;
 import logic.StatusData;
 import model.*;
 
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
+
 import java.util.List;
 
 /**
@@ -56,6 +59,11 @@ public class StaffFAQMgmtPage {
      */
     private TableView<FAQ> faqTable;
 
+    /**
+     * Runs this page's database calls off the FX thread; cancelled when the page is left.
+     */
+    private AsyncDatabaseHelper.Scope scope;
+
     /**
      * Build and display the FAQ management UI.
      *
@@ -170,19 +178,44 @@ public class StaffFAQMgmtPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
+        subscribeToChanges();
 
         loadFAQs();
     }
 
+    /**
+     * Applies FAQ writes to the table as they happen instead of reloading it.
+     *
+     * <p>Edits and removals change the matching rows. A newly marked FAQ still reloads the
+     * list, since its row needs the question title and its place in the category order.</p>
+     */
+    private void subscribeToChanges() {
+        scope.subscribe(DataEvent.FaqUpdated.class, e -> {
+            FAQ changed = e.getFaq();
+            List<FAQ> items = faqTable.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                FAQ f = items.get(i);
+                if (f.getFaqId() == changed.getFaqId() && f != changed) {
+                    changed.setQuestionTitle(f.getQuestionTitle());
+                    items.set(i, changed);
+                }
+            }
+            faqTable.refresh();
+        });
+        scope.subscribe(DataEvent.FaqRemoved.class, e -> faqTable.getItems()
+                .removeIf(f -> f.getQuestionId() == e.getQuestionId()));
+        scope.subscribe(DataEvent.FaqMarked.class, e -> loadFAQs());
+    }
+
     /**
      * Loads all FAQs from the database and populates the table.
      *
-     * <p>This method retrieves the list from {@link logic.StatusData#databaseHelper} and
-     * replaces the table items with the returned list.</p>
+     * <p>The list is read on the database executor and the table items are replaced
+     * with it on the FX thread.</p>
      */
     private void loadFAQs() {
-        List<FAQ> faqs = StatusData.databaseHelper.getAllFAQs();
-        faqTable.getItems().setAll(faqs);
+        scope.load(db -> db.getAllFAQs(), faqs -> faqTable.getItems().setAll(faqs));
     }
 
     /**
@@ -253,7 +286,6 @@ public class StaffFAQMgmtPage {
             boolean success = StatusData.databaseHelper.updateFAQ(faq);
             if (success) {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "FAQ updated successfully!");
-                loadFAQs();
                 dialog.close();
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error", "Failed to update FAQ.");
@@ -279,7 +311,6 @@ public class StaffFAQMgmtPage {
                 boolean removed = StatusData.databaseHelper.removeQuestionFromFAQ(faq.getQuestionId());
                 if (removed) {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "FAQ removed successfully.");
-                    loadFAQs();
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Error", "Failed to remove FAQ.");
                 }
@@ -7,11 +7,14 @@ import javafx.scene.control.cell.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.DataEvent;
 import logic.StatusData;
 import model.*;
 
-import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -31,6 +34,14 @@ public class TrustedReviewersPage {
 	private List<Integer> trustedIds = new ArrayList<>();
 	private TableView<TrustedReviewDisplayRow> trustedReviewsTable = new TableView<>();
 	
+	// Reviews are paged out of the cached feed (see DatabaseHelper#getTrustedReviewFeed)
+	private static final int REVIEW_PAGE_SIZE = 50;
+	private String nextReviewCursor;
+	private boolean loadingReviews = false;
+	
+	// Database calls run off the FX thread and are dropped when the page is left
+	private AsyncDatabaseHelper.Scope scope;
+	
 	public void show(Stage stage) {
 		this.stage = stage;
 		this.user = StatusData.currUser;
@@ -97,28 +108,13 @@ public class TrustedReviewersPage {
 	        	
 	        	addBtn.setOnAction(e -> {
 	        		User reviewer = getTableView().getItems().get(getIndex());
-
-	        		try {
-	        			boolean added = StatusData.databaseHelper.addTrustedReviewer(user.getId(), reviewer.getId());
-	        			if (added) {
-	        				StatusData.databaseHelper.updateTrustedReviewerRating(user.getId(), reviewer.getId(), 3);
-	        			}
-	        			reloadTrustedData();
-	        		} catch (Exception ex) {
-	        			ex.printStackTrace();
-	        			showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
-	        		}
+	        		addTrustedReviewer(reviewer, added -> {});
 	        	});
 	        	
 	        	removeBtn.setOnAction(e -> {
 	                User reviewer = getTableView().getItems().get(getIndex());
-	                try {
-	                    StatusData.databaseHelper.removeTrustedReviewer(user.getId(), reviewer.getId());
-	                    reloadTrustedData();
-	                } catch (Exception ex) {
-	                    ex.printStackTrace();
-	                    showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
-	                }
+	                scope.update(db -> db.removeTrustedReviewer(user.getId(), reviewer.getId()),
+	                        TrustedReviewersPage.this::reloadTrustedData, TrustedReviewersPage.this::showDatabaseError);
 	            });
 	        }
 	        @Override
@@ -185,17 +181,11 @@ public class TrustedReviewersPage {
 		            Integer newRating = combo.getValue();
 		            if (row != null && newRating != null) {
 		                row.setRating(newRating);
-		                try {
-		                    StatusData.databaseHelper.updateTrustedReviewerRating(
+		                scope.update(db -> db.updateTrustedReviewerRating(
 		                            user.getId(),
 		                            row.getReviewerId(),
 		                            newRating
-		                    );
-		                    loadTrustedReviews();
-		                } catch (SQLException ex) {
-		                    ex.printStackTrace();
-		                    showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
-		                }
+		                    ), TrustedReviewersPage.this::loadTrustedReviews, TrustedReviewersPage.this::showDatabaseError);
 		            }
 		        });
 		    }
@@ -304,9 +294,15 @@ public class TrustedReviewersPage {
 		Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
 		stage.setScene(scene);
 		stage.show();
+		scope = StatusData.async().newScope().bindTo(scene);
 		
-		reloadTrustedData();
-		loadTrustedReviews();
+		// The feed itself is kept up to date by the database helper; these reload the shown page
+		scope.subscribe(DataEvent.ReviewCreated.class, e -> loadTrustedReviews());
+		scope.subscribe(DataEvent.ReviewUpdated.class, e -> loadTrustedReviews());
+		scope.subscribe(DataEvent.ReviewDeleted.class, e -> loadTrustedReviews());
+		
+		ScrollPaging.onScrolledToEnd(trustedReviewsTable, this::loadMoreTrustedReviews);
+		reloadTrustedData(); // also loads the trusted reviews
 	}
 	
 	private void showAlert(Alert.AlertType type, String title, String message) {
@@ -317,65 +313,86 @@ public class TrustedReviewersPage {
         alert.showAndWait();
     }
 	
+	private void showDatabaseError(Throwable ex) {
+		ex.printStackTrace();
+		showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
+	}
+	
+	/**
+	 * Add a reviewer to the current user's trusted list with the default rating of 3,
+	 * then reload the tables. {@code onDone} gets false if the reviewer was already trusted.
+	 */
+	private void addTrustedReviewer(User reviewer, Consumer<Boolean> onDone) {
+		scope.load(db -> {
+			boolean added = db.addTrustedReviewer(user.getId(), reviewer.getId());
+			if (added) {
+				db.updateTrustedReviewerRating(user.getId(), reviewer.getId(), 3);
+			}
+			return added;
+		}, added -> {
+			if (added) {
+				reloadTrustedData();
+			}
+			onDone.accept(added);
+		}, this::showDatabaseError);
+	}
+	
 	private void onAddTrustedReviewer() {
 		String searchText = addUserField.getText() == null ? "" : addUserField.getText().trim();
 		if(searchText.isEmpty()) {
 			showAlert(Alert.AlertType.WARNING, "Validation", "Please enter a reviewer username.");
 			return;
 		}
-		try {
-			List<User>reviewers = StatusData.databaseHelper.getUsersByRole(User.Role.REVIEWER);
-			
-			String lower = searchText.toLowerCase();
-			List<User> matches = reviewers.stream()
-					.filter(u -> {
-						String un = u.getUserName() == null ? "" : u.getUserName().toLowerCase();
-						String nm = u.getName() == null ? "" : u.getName().toLowerCase();
-						return un.contains(lower) || nm.contains(lower);
-					}).toList();
-			
-			if (matches.isEmpty()) {
-				showAlert(Alert.AlertType.INFORMATION, "No Match", "No reviewers found matching: \"" + searchText + "\"");
-				return;
-			}
-			
-			matches = matches.stream()
-					.filter(u -> u.getId() != user.getId()).toList();
+		scope.load(db -> db.getUsersByRole(User.Role.REVIEWER),
+				reviewers -> offerTrustedReviewer(searchText, reviewers), this::showDatabaseError);
+	}
+	
+	private void offerTrustedReviewer(String searchText, List<User> reviewers) {
+		String lower = searchText.toLowerCase();
+		List<User> matches = reviewers.stream()
+				.filter(u -> {
+					String un = u.getUserName() == null ? "" : u.getUserName().toLowerCase();
+					String nm = u.getName() == null ? "" : u.getName().toLowerCase();
+					return un.contains(lower) || nm.contains(lower);
+				}).toList();
+		
+		if (matches.isEmpty()) {
+			showAlert(Alert.AlertType.INFORMATION, "No Match", "No reviewers found matching: \"" + searchText + "\"");
+			return;
+		}
+		
+		matches = matches.stream()
+				.filter(u -> u.getId() != user.getId()).toList();
+		
+		if (matches.isEmpty()) {
+			showAlert(Alert.AlertType.ERROR, "Invalid", "You cannot add yourself as a trusted reviewer.");
+			return;
+		}
+		
+		if (matches.size() == 1) {
+			User reviewer = matches.get(0);
+			String namePart = reviewer.getName() != null && !reviewer.getName().isEmpty()
+					? reviewer.getName() + " (" + reviewer.getUserName() + ")"
+					: reviewer.getUserName();
 			
-			if (matches.isEmpty()) {
-				showAlert(Alert.AlertType.ERROR, "Invalid", "You cannot add yourself as a trusted reviewer.");
-				return;
-			}
+			Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+			confirm.setTitle("Confirm Trusted Reviewer");
+			confirm.setHeaderText("Add Trusted Reviewer");
+			confirm.setContentText("Do you want to add " + namePart + " as a trusted reviewer?");
 			
-			if (matches.size() == 1) {
-				User reviewer = matches.get(0);
-				String namePart = reviewer.getName() != null && !reviewer.getName().isEmpty()
-						? reviewer.getName() + " (" + reviewer.getUserName() + ")"
-						: reviewer.getUserName();
-				
-				Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
-				confirm.setTitle("Confirm Trusted Reviewer");
-				confirm.setHeaderText("Add Trusted Reviewer");
-				confirm.setContentText("Do you want to add " + namePart + " as a trusted reviewer?");
-				
-				var result = confirm.showAndWait();
-				if (result.isPresent() && result.get() == ButtonType.OK) {
-					boolean added = StatusData.databaseHelper.addTrustedReviewer(user.getId(), reviewer.getId());
+			var result = confirm.showAndWait();
+			if (result.isPresent() && result.get() == ButtonType.OK) {
+				addTrustedReviewer(reviewer, added -> {
 					if (added) {
-						StatusData.databaseHelper.updateTrustedReviewerRating(user.getId(), reviewer.getId(), 3);
 						addUserField.clear();
-						reloadTrustedData();
 						showAlert(Alert.AlertType.INFORMATION, "Success", "Added " + namePart + " to your trusted reviewers.");
 					} else {
 						showAlert(Alert.AlertType.INFORMATION, "No Change", namePart + " is already in your trusted reviewers.");
 					}
-				}
-			} else {
-				showReviewerSelectionPopup(matches);
+				});
 			}
-		} catch (Exception ex) {
-			ex.printStackTrace();
-			showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
+		} else {
+			showReviewerSelectionPopup(matches);
 		}
 	}
 	
@@ -395,83 +412,89 @@ public class TrustedReviewersPage {
 	}
 	
 	private void reloadTrustedData() {
-		try {
-			List<User> reviewers = StatusData.databaseHelper.getUsersByRole(User.Role.REVIEWER);
-			allReviewersTable.getItems().setAll(reviewers);
-			
-			var ratingsMap = StatusData.databaseHelper.getTrustedReviewerRatings(user.getId());
-			trustedIds = new ArrayList<>(ratingsMap.keySet());
-			
+		int userId = user.getId();
+		CompletableFuture<List<User>> reviewers = scope.supply(db -> db.getUsersByRole(User.Role.REVIEWER));
+		CompletableFuture<List<TrustedReviewerRow>> trusted = scope.supply(db -> {
+			Map<Integer, Integer> ratings = db.getTrustedReviewerRatings(userId);
 			List<TrustedReviewerRow> rows = new ArrayList<>();
-			for (var entry : ratingsMap.entrySet()) {
-				int reviewerId = entry.getKey();
-				int rating = entry.getValue();
-				
-				User u = StatusData.databaseHelper.getUserById(reviewerId);
-				if (u != null) {
-					rows.add(new TrustedReviewerRow(
-							reviewerId,
-							u.getUserName(),
-							u.getName(),
-							rating
-					));
-				}
+			for (User u : db.getTrustedReviewers(userId)) {
+				rows.add(new TrustedReviewerRow(
+						u.getId(),
+						u.getUserName(),
+						u.getName(),
+						ratings.getOrDefault(u.getId(), 0)
+				));
 			}
-			
+			return rows;
+		});
+		
+		scope.deliver(CompletableFuture.allOf(reviewers, trusted), v -> {
+			allReviewersTable.getItems().setAll(reviewers.join());
+			List<TrustedReviewerRow> rows = trusted.join();
+			trustedIds = rows.stream().map(TrustedReviewerRow::getReviewerId).collect(Collectors.toList());
 			trustedTable.getItems().setAll(rows);
 			loadTrustedReviews();
-		} catch (Exception ex) {
+		}, ex -> {
 			ex.printStackTrace();
 			allReviewersTable.getItems().clear();
 			trustedTable.getItems().clear();
-		}
+		});
 	}
 	
 	private void loadTrustedReviews() {
-		try {
-			var ratingsMap = StatusData.databaseHelper.getTrustedReviewerRatings(user.getId());
-			if (ratingsMap == null || ratingsMap.isEmpty()) {
-				trustedReviewsTable.getItems().clear();
-				return;
-			}
-		
-			Reviews reviewsManager = new Reviews(StatusData.databaseHelper);
-			List<Review> allReviews = reviewsManager.readAll();
-		
-			List<TrustedReviewDisplayRow> rows = allReviews.stream()
-					.filter(r -> ratingsMap.containsKey(r.getUserId()))
-					.map(r -> {
-						int rating = ratingsMap.getOrDefault(r.getUserId(), 0);
-						String content = r.getContent();
-						String preview = content == null ? "" : (content.length() > 70 ? content.substring(0,70) + "..." : content);
-						
-						return new TrustedReviewDisplayRow(
-							r.getReviewId(),
-							r.getAuthor(),
-							rating,
-							r.getAnswerId(),
-							preview,
-							content
-						);
-					})
-					.sorted((a,b) -> Integer.compare(b.getRating(), a.getRating())).toList();
-		
-			trustedReviewsTable.getItems().setAll(rows);
-		} catch (Exception ex) {
+		scope.load(db -> db.getTrustedReviewFeedPage(user.getId(), null, REVIEW_PAGE_SIZE), page -> {
+			trustedReviewsTable.getItems().setAll(toDisplayRows(page.getItems()));
+			nextReviewCursor = page.getNextCursor();
+		}, ex -> {
 			ex.printStackTrace();
 			trustedReviewsTable.getItems().clear();
+		});
+	}
+	
+	private void loadMoreTrustedReviews() {
+		if (nextReviewCursor == null || loadingReviews) {
+			return;
 		}
+		loadingReviews = true;
+		String cursor = nextReviewCursor;
+		scope.load(db -> db.getTrustedReviewFeedPage(user.getId(), cursor, REVIEW_PAGE_SIZE), page -> {
+			trustedReviewsTable.getItems().addAll(toDisplayRows(page.getItems()));
+			nextReviewCursor = page.getNextCursor();
+			loadingReviews = false;
+		}, ex -> {
+			ex.printStackTrace();
+			loadingReviews = false;
+		});
+	}
+	
+	private static List<TrustedReviewDisplayRow> toDisplayRows(List<TrustedReviewFeed.Entry> entries) {
+		List<TrustedReviewDisplayRow> rows = new ArrayList<>();
+		for (TrustedReviewFeed.Entry entry : entries) {
+			Review r = entry.getReview();
+			String content = r.getContent();
+			String preview = content == null ? "" : (content.length() > 70 ? content.substring(0,70) + "..." : content);
+			
+			rows.add(new TrustedReviewDisplayRow(
+				r.getReviewId(),
+				r.getAuthor(),
+				entry.getWeight(),
+				r.getAnswerId(),
+				preview,
+				content
+			));
+		}
+		return rows;
 	}
 	
 	private void showTrustedReviewPopup(TrustedReviewDisplayRow row) {
 		try {
-			Answer answer = StatusData.databaseHelper.getAnswerById(row.getAnswerId());
+			Answer answer = StatusData.answers.read(row.getAnswerId());
 			if (answer == null) {
 				showAlert(Alert.AlertType.ERROR, "Not Found", "Could not find the answer for this review (Answer ID = " + row.getAnswerId() + ").");
 				return;
 			}
 			
-			Question question = StatusData.databaseHelper.getQuestionById(answer.getQuestionId());
+			Question question = StatusData.questions.read(answer.getQuestionId());
 			
 			String qTitle = (question != null ? question.getTitle() : "(Unknown Question)");
 			String answerText = answer.getContent();
@@ -623,11 +646,8 @@ public class TrustedReviewersPage {
 	                    return;
 	                }
 
-	                try {
-	                    boolean added = StatusData.databaseHelper.addTrustedReviewer(user.getId(), reviewer.getId());
+	                addTrustedReviewer(reviewer, added -> {
 	                    if (added) {
-	                    	StatusData.databaseHelper.updateTrustedReviewerRating(user.getId(), reviewer.getId(), 3);
-	                        reloadTrustedData();
 	                        showAlert(Alert.AlertType.INFORMATION, "Success",
 	                                "Added " + reviewer.getName() + " (" + reviewer.getUserName() + ") as trusted.");
 	                        dialog.close();
@@ -635,10 +655,7 @@ public class TrustedReviewersPage {
 	                        showAlert(Alert.AlertType.INFORMATION, "No Change",
 	                                "This reviewer is already in your trusted list.");
 	                    }
-	                } catch (Exception ex) {
-	                    ex.printStackTrace();
-	                    showAlert(Alert.AlertType.ERROR, "Database Error", ex.getMessage());
-	                }
+	                });
 	            });
 	        }
 
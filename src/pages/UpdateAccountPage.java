@@ -6,10 +6,8 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import logic.EmailRecognizer;
-import logic.PasswordRecognizer;
+import logic.InputValidator;
 import logic.StatusData;
-import logic.UserNameRecognizer;
 import model.NavigationBar;
 import model.User;
 
@@ -121,7 +119,7 @@ public class UpdateAccountPage {
             
             if (!newUserName.equals(oldUserName)) {
             	
-            	String userNameError = UserNameRecognizer.checkForValidUserName(newUserName);
+            	String userNameError = InputValidator.checkUserName(newUserName).getMessage();
             	if (!userNameError.isEmpty()) {
             		System.out.println(userNameError);
             		errorLabel.setText(userNameError);
@@ -143,7 +141,7 @@ public class UpdateAccountPage {
             		return;
             	}
             	//Validate new password based on FSM
-                String passwordError = PasswordRecognizer.evaluatePassword(newPw);
+                String passwordError = InputValidator.checkPassword(newPw).getMessage();
                 if (!passwordError.isEmpty()) {
                 	System.out.println(passwordError);
                 	errorLabel.setText(passwordError);
@@ -155,7 +153,7 @@ public class UpdateAccountPage {
             // Validate email
             if (!newEmail.isEmpty()) {
             	if (!newEmail.equals(oldEmail)) {
-            		String emailError = EmailRecognizer.validate(newEmail);
+            		String emailError = InputValidator.checkEmail(newEmail).getMessage();
             		if (!emailError.isEmpty()) {
             			System.out.println(emailError);
             			errorLabel.setText(emailError);
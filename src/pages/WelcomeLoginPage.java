@@ -7,7 +7,13 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import databasePart1.AsyncDatabaseHelper;
+import databasePart1.Page;
 import logic.*;
 import model.*;
 
@@ -23,6 +29,18 @@ public class WelcomeLoginPage {
 
     private TableView<Question> questionTable;
     private TextArea questionDetails;
+    private Label questionCount;
+
+    // Questions are loaded one page at a time as the table is scrolled
+    private static final int PAGE_SIZE = 100;
+    private String nextQuestionCursor;
+    private boolean loadingQuestions = false;
+
+    // Solution/FAQ flags of the loaded rows, fetched per page so cells never query on their own
+    private final Map<Integer, QuestionStatus> statuses = new HashMap<>();
+
+    // Database calls run off the FX thread and are dropped when the page is left
+    private AsyncDatabaseHelper.Scope scope;
 
     private Stage stage;
     private User user;
@@ -42,20 +60,10 @@ public class WelcomeLoginPage {
 			e.printStackTrace();
 		}
     	
-    	try {
-    	    List<Question> allQs = StatusData.databaseHelper.loadAllQs();
-    	    for (Question q : allQs) {
-    	        boolean hasSol = StatusData.databaseHelper.questionHasSolution(q.getQuestionId());
-    	        System.out.println("Q#" + q.getQuestionId() + " has solution: " + hasSol);
-    	    }
-    	} catch (Exception e) {
-    	    e.printStackTrace();
-    	}
-    	
         this.stage = stage;
         this.user = user;
 
-        questions = new Questions(StatusData.databaseHelper);
+        questions = StatusData.questions;
 
         stage.setTitle("Home");
 
@@ -102,7 +110,7 @@ public class WelcomeLoginPage {
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
         
-        Label questionCount = new Label("Loading...");
+        questionCount = new Label("Loading...");
         questionCount.setStyle(
             "-fx-background-color: #e3f2fd; " +
             "-fx-text-fill: #1976d2; " +
@@ -420,7 +428,8 @@ public class WelcomeLoginPage {
                     if (question == null) return;
 
                     try {
-                        boolean already = StatusData.databaseHelper.isQuestionMarkedAsFAQ(question.getQuestionId());
+                        QuestionStatus status = statuses.get(question.getQuestionId());
+                        boolean already = status != null && status.isFAQ();
 
                         if (already) {
                             Alert confirm = new Alert(Alert.AlertType.CONFIRMATION, 
@@ -485,19 +494,15 @@ public class WelcomeLoginPage {
                     return;
                 }
 
-                // Safely check DB state
-                boolean hasSolution = false;
-                boolean isAlreadyFAQ = false;
-                try {
-                    hasSolution = StatusData.databaseHelper.questionHasSolution(question.getQuestionId());
-                    isAlreadyFAQ = StatusData.databaseHelper.isQuestionMarkedAsFAQ(question.getQuestionId());
-                    System.out.println("  -> hasSolution: " + hasSolution + ", isAlreadyFAQ: " + isAlreadyFAQ);
-                } catch (Exception ex) {
-                    System.out.println("  -> Exception: " + ex.getMessage());
-                    ex.printStackTrace();
-                    markFAQBtn.setTooltip(new Tooltip("Error checking FAQ state"));
+                // Flags come with the page of questions; the cell is redrawn once they arrive
+                QuestionStatus status = statuses.get(question.getQuestionId());
+                if (status == null) {
+                    System.out.println("  -> Returning: status not loaded yet");
                     return;
                 }
+                boolean hasSolution = status.hasSolution();
+                boolean isAlreadyFAQ = status.isFAQ();
+                System.out.println("  -> hasSolution: " + hasSolution + ", isAlreadyFAQ: " + isAlreadyFAQ);
 
                 // Only show the control if there's a solution (per your requirement)
                 if (!hasSolution) {
@@ -661,6 +666,7 @@ public class WelcomeLoginPage {
         Scene scene = new Scene(mainPane, StatusData.WINDOW_WIDTH, StatusData.WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        scope = StatusData.async().newScope().bindTo(scene);
         
         questionTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
         	if (newVal != null) {
@@ -670,8 +676,8 @@ public class WelcomeLoginPage {
         });
         
  
+        ScrollPaging.onScrolledToEnd(questionTable, this::loadMoreQuestions);
         loadAllQuestions();
-        questionCount.setText(questionTable.getItems().size() + " total");
         
     }
 
@@ -971,8 +977,50 @@ public class WelcomeLoginPage {
 
 
     private void loadAllQuestions() {
-        List<Question> allQuestions = StatusData.databaseHelper.loadAllQs();
-        questionTable.getItems().setAll(allQuestions);
+        CompletableFuture<Page<Question>> first = scope.supply(db -> db.loadQuestionsPage(null, PAGE_SIZE, Page.Sort.NEWEST_FIRST));
+        CompletableFuture<Integer> total = scope.supply(db -> db.countQuestions());
+        scope.deliver(CompletableFuture.allOf(first, total), v -> {
+            Page<Question> page = first.join();
+            statuses.clear();
+            questionTable.getItems().setAll(page.getItems());
+            nextQuestionCursor = page.getNextCursor();
+            questionCount.setText(total.join() + " total");
+            loadStatuses(page.getItems());
+        }, e -> {
+            e.printStackTrace();
+            questionTable.setPlaceholder(new Label("Failed to load questions."));
+        });
+    }
+
+    private void loadMoreQuestions() {
+        if (nextQuestionCursor == null || loadingQuestions) {
+            return;
+        }
+        loadingQuestions = true;
+        String cursor = nextQuestionCursor;
+        scope.load(db -> db.loadQuestionsPage(cursor, PAGE_SIZE, Page.Sort.NEWEST_FIRST), page -> {
+            questionTable.getItems().addAll(page.getItems());
+            nextQuestionCursor = page.getNextCursor();
+            loadingQuestions = false;
+            loadStatuses(page.getItems());
+        }, e -> {
+            e.printStackTrace();
+            loadingQuestions = false;
+        });
+    }
+
+    /**
+     * Fetch the solution/FAQ flags of newly shown rows in one call and redraw the table.
+     */
+    private void loadStatuses(List<Question> rows) {
+        List<Integer> ids = new ArrayList<>(rows.size());
+        for (Question q : rows) {
+            ids.add(q.getQuestionId());
+        }
+        scope.load(db -> db.getQuestionStatuses(ids), loaded -> {
+            statuses.putAll(loaded);
+            questionTable.refresh();
+        });
     }
 
     public void reloadQuestions() {
@@ -1078,11 +1126,10 @@ public class WelcomeLoginPage {
 	}
     
     private void loadSuggestionsForQs(Question question, ListView<String> suggestionList) {
-    	suggestionList.getItems().clear();
+    	suggestionList.getItems().setAll("Loading suggestions...");
     	
-    	try {
-    		List<Clarification> list = StatusData.databaseHelper.loadClarificationsforQ(question.getQuestionId());
-    		
+    	scope.load(db -> db.loadClarificationsforQ(question.getQuestionId()), list -> {
+    		suggestionList.getItems().clear();
     		if (list == null || list.isEmpty()) {
     			suggestionList.getItems().add("No suggestions yet.");
     		}
@@ -1091,11 +1138,10 @@ public class WelcomeLoginPage {
     				suggestionList.getItems().add(c.getAuthor() + ": " + c.getContent());
     			}
     		}
-    	}
-    	catch (Exception e) {
-    		suggestionList.getItems().add("Error loading suggestions: " + e.getMessage());
+    	}, e -> {
+    		suggestionList.getItems().setAll("Error loading suggestions: " + e.getMessage());
     		e.printStackTrace();
-    	}
+    	});
     }
     
     @SuppressWarnings("unused")
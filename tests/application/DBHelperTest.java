@@ -147,6 +147,180 @@ public class DBHelperTest {
 		assertTrue(found, "Inserted answer not found in answers list.");
 	}
 	
+/**
+ * Inserts several answers with one batched call and verifies each gets its own generated id
+ * and can be read back.
+ * <p>
+ * Uses {@link DatabaseHelper#insertAnswers(List)} and {@link DatabaseHelper#loadAnswersForQs(int)}.
+ * 
+ * @throws SQLException if database error occurs.
+ * @see Answer
+ */
+	@Test
+	public void testInsertAnswersBatch() throws SQLException {
+		List<Question> results = dbHelper.searchQuestions("SQL", null, "studentA");
+		assertFalse(results.isEmpty());
+		int questionId = results.get(0).getQuestionId();
+		
+		List<Answer> batch = new ArrayList<>();
+		for (int i = 1; i <= 3; i++) {
+			batch.add(new Answer(0, 1, questionId, "batchUser", "Batched answer " + i));
+		}
+		assertEquals(3, dbHelper.insertAnswers(batch));
+		
+		Set<Integer> ids = new HashSet<>();
+		for (Answer a : batch) {
+			assertTrue(a.getAnswerId() > 0, "Generated id should be set on every answer");
+			ids.add(a.getAnswerId());
+		}
+		assertEquals(3, ids.size(), "Each answer gets its own id");
+		
+		long stored = dbHelper.loadAnswersForQs(questionId).stream()
+				.filter(a -> ids.contains(a.getAnswerId()) && a.getAuthor().equals("batchUser"))
+				.count();
+		assertEquals(3, stored, "All batched answers are stored");
+	}
+
+/**
+ * Runs a search and verifies the query metrics count the call under the method's name,
+ * including the rows it read.
+ *
+ * @throws SQLException if database error occurs.
+ * @see QueryMetrics
+ * @see DatabaseHelper#getQueryMetrics()
+ */
+	@Test
+	public void testQueryMetricsRecordOperation() throws SQLException {
+		QueryMetrics metrics = dbHelper.getQueryMetrics();
+		assertNotNull(metrics);
+		QueryMetrics.Stats before = metrics.getOperation("searchQuestions");
+		long calls = before == null ? 0 : before.getCount();
+		long rows = before == null ? 0 : before.getRows();
+
+		List<Question> results = dbHelper.searchQuestions("JUnit", null, null);
+
+		QueryMetrics.Stats stats = metrics.getOperation("searchQuestions");
+		assertNotNull(stats, "searchQuestions should be timed");
+		assertEquals(calls + 1, stats.getCount());
+		assertTrue(stats.getRows() - rows >= results.size(), "Rows read should be counted");
+		assertTrue(stats.getP99Millis() >= stats.getP50Millis());
+		assertFalse(metrics.getStatements().isEmpty());
+	}
+
+/**
+ * Subscribes to answer events, then inserts an answer and saves it as a solution. Verifies the
+ * events carry the stored answer, that a solution is also delivered as an update, and that a
+ * cancelled subscription hears nothing more.
+ *
+ * @throws SQLException if database error occurs.
+ * @see DataEventBus
+ * @see DatabaseHelper#getEventBus()
+ */
+	@Test
+	public void testWritesPublishEvents() throws SQLException {
+		List<Question> results = dbHelper.searchQuestions("SQL", null, "studentA");
+		assertFalse(results.isEmpty());
+		int questionId = results.get(0).getQuestionId();
+
+		List<DataEvent> seen = new ArrayList<>();
+		DataEventBus.Subscription created = dbHelper.getEventBus().subscribe(DataEvent.AnswerCreated.class, seen::add);
+		DataEventBus.Subscription updated = dbHelper.getEventBus().subscribe(DataEvent.AnswerUpdated.class, seen::add);
+		try {
+			Answer answer = new Answer(0, 1, questionId, "eventUser", "Answer with events");
+			dbHelper.insertAnswer(answer);
+			answer.setSolution(true);
+			dbHelper.updateAnswer(answer);
+
+			assertEquals(2, seen.size());
+			assertSame(answer, ((DataEvent.AnswerCreated) seen.get(0)).getAnswer());
+			assertTrue(answer.getAnswerId() > 0, "Event should carry the generated id");
+			assertTrue(seen.get(1) instanceof DataEvent.AnswerMarkedSolution, "Solution should be published as such");
+			assertEquals(questionId, ((DataEvent.AnswerMarkedSolution) seen.get(1)).getQuestionId());
+		} finally {
+			created.cancel();
+			updated.cancel();
+		}
+
+		dbHelper.insertAnswer(new Answer(0, 1, questionId, "eventUser", "Nobody listens"));
+		assertEquals(2, seen.size(), "Cancelled subscriptions should not be called");
+	}
+
+/**
+ * Marks an announcement read by two users, one of them twice, and verifies the stored bitmap
+ * counts each reader once, that only first reads are published, and that deleting the
+ * announcement removes its receipts.
+ *
+ * @see ReadBitmap
+ * @see DatabaseHelper#markAnnouncementAsRead(int, int)
+ */
+	@Test
+	public void testAnnouncementReadReceipts() throws SQLException {
+		// announcements reference the staff member who created them
+		UserAccount staff = dbHelper.getUserAccount("receiptStaff");
+		if (staff == null) {
+			dbHelper.register(User.createUser("receiptStaff", "Password123!", User.Role.STAFF,
+					"Receipt Staff", "receipts@example.com", null));
+			staff = dbHelper.getUserAccount("receiptStaff");
+		}
+
+		Announcement ann = new Announcement();
+		ann.setTitle("Receipts");
+		ann.setContent("Who read this?");
+		ann.setPriority(Announcement.Priority.NORMAL);
+		ann.setStartDate("2025-01-01T00:00:00");
+		ann.setDisplayType(Announcement.DisplayType.SHOW_ONCE);
+		ann.setCreatedByStaffId(staff.getId());
+		assertTrue(dbHelper.createAnnouncement(ann));
+		int annId = ann.getAnnouncementId();
+
+		List<DataEvent> seen = new ArrayList<>();
+		DataEventBus.Subscription reads = dbHelper.getEventBus().subscribe(DataEvent.AnnouncementMarkedRead.class, seen::add);
+		try {
+			assertTrue(dbHelper.markAnnouncementAsRead(annId, 500));
+			assertTrue(dbHelper.markAnnouncementAsRead(annId, 70000)); // a second chunk
+			assertTrue(dbHelper.markAnnouncementAsRead(annId, 500));
+		} finally {
+			reads.cancel();
+		}
+		assertEquals(2, seen.size(), "Only first reads should be published");
+		assertTrue(dbHelper.hasUserReadAnnouncement(annId, 500));
+		assertTrue(dbHelper.hasUserReadAnnouncement(annId, 70000));
+		assertFalse(dbHelper.hasUserReadAnnouncement(annId, 501));
+		assertEquals(2, dbHelper.getAnnouncementReadCount(annId));
+		assertEquals(2, dbHelper.getAnnouncementReadCounts().get(annId));
+
+		assertTrue(dbHelper.deleteAnnouncement(annId));
+		assertNull(dbHelper.getAnnouncementReadCounts().get(annId));
+		assertFalse(dbHelper.hasUserReadAnnouncement(annId, 500));
+	}
+
+/**
+ * Loads the statuses of two questions in one call, then answers one of them with a solution and
+ * verifies the next call reflects the new answer while an unknown id stays absent.
+ *
+ * @throws SQLException if database error occurs.
+ * @see QuestionStatus
+ * @see DatabaseHelper#getQuestionStatuses(java.util.Collection)
+ */
+	@Test
+	public void testQuestionStatuses() throws SQLException {
+		int catsId = dbHelper.searchQuestions("cats", null, "testUser1").get(0).getQuestionId();
+		int hoursId = dbHelper.searchQuestions("office hours", null, "studentB").get(0).getQuestionId();
+
+		Map<Integer, QuestionStatus> before = dbHelper.getQuestionStatuses(List.of(catsId, hoursId, -1));
+		assertEquals(2, before.size(), "Unknown ids are left out");
+		assertFalse(before.get(catsId).isFAQ());
+		int answers = before.get(catsId).getAnswerCount();
+
+		dbHelper.insertAnswer(new Answer(0, 1, catsId, "statusUser", "Here is my cat.", LocalDateTime.now().toString().substring(0,19), true));
+
+		QuestionStatus after = dbHelper.getQuestionStatuses(List.of(catsId)).get(catsId);
+		assertEquals(answers + 1, after.getAnswerCount());
+		assertTrue(after.hasSolution());
+		assertSame(before.get(hoursId), dbHelper.getQuestionStatuses(List.of(hoursId)).get(hoursId),
+				"Statuses of untouched questions stay cached");
+	}
+
 /**
  * Inserts a clarification into a specific question and verifies it is properly stored in the database.
  * <p>
@@ -241,6 +415,35 @@ public class DBHelperTest {
 
 	}
 	
+/**
+ * Creates invitation codes for a small roster in one call and verifies that every code is new,
+ * unused, and carries the roles it was created with.
+ * 
+ * @throws SQLException if database error occurs.
+ * @see DatabaseHelper#createInvitationCodes(List)
+ */
+	@Test
+	public void testCreateInvitationCodes() throws SQLException {
+		List<List<User.Role>> roles = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			roles.add(i % 5 == 0 ? List.of(User.Role.STUDENT, User.Role.REVIEWER) : List.of(User.Role.STUDENT));
+		}
+		
+		List<String> codes = dbHelper.createInvitationCodes(roles);
+		assertEquals(25, codes.size(), "Expected one code per roster row");
+		assertEquals(25, new HashSet<>(codes).size(), "Expected every code to be different");
+		
+		for (int i = 0; i < codes.size(); i++) {
+			Set<String> expected = new HashSet<>();
+			for (User.Role role : roles.get(i)) {
+				expected.add(role.name());
+			}
+			assertEquals(expected, new HashSet<>(dbHelper.allCodeRoles(codes.get(i))));
+			assertTrue(dbHelper.validateInvitationCode(codes.get(i)), "Expected code to be unused");
+		}
+		assertTrue(dbHelper.createInvitationCodes(List.of()).isEmpty());
+	}
+	
 	//@Order
 	/*@Test
 	public void testGetFollowUp() throws SQLException {
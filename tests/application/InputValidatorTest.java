@@ -0,0 +1,132 @@
+package application;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import logic.InputValidator;
+import logic.ValidationResult;
+import logic.ValidationResult.Code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link InputValidator}. The expected messages and error positions are the ones the
+ * old static recognizers (UserNameRecognizer, PasswordRecognizer, EmailRecognizer) produced for
+ * the same inputs.
+ */
+public class InputValidatorTest {
+
+    private static void assertRejected(ValidationResult result, Code code, String message, int index) {
+        assertFalse(result.isValid());
+        assertEquals(code, result.getCode());
+        assertEquals(message, result.getMessage());
+        assertEquals(index, result.getErrorIndex());
+    }
+
+    @Test
+    public void testUserNameRules() {
+        assertSame(ValidationResult.VALID, InputValidator.checkUserName("abcd"));
+        assertSame(ValidationResult.VALID, InputValidator.checkUserName("John.Doe_1"));
+        assertSame(ValidationResult.VALID, InputValidator.checkUserName("abcdefghijklmnop"));
+
+        assertRejected(InputValidator.checkUserName(""), Code.EMPTY,
+                "\n*** ERROR *** The input is empty", 0);
+        assertRejected(InputValidator.checkUserName("1abc"), Code.MUST_START_WITH_LETTER,
+                "\n*** ERROR *** A UserName must start with a letter (A-Z or a-z).", 0);
+        assertRejected(InputValidator.checkUserName("abc"), Code.TOO_SHORT,
+                "\n*** ERROR *** A UserName must have at least 4 characters.\n", 3);
+        assertRejected(InputValidator.checkUserName("ab..cd"), Code.SEPARATOR_NOT_FOLLOWED,
+                "\n*** ERROR *** A special character ('.', '-', '_') must be followed by a letter or digit.", 3);
+        assertRejected(InputValidator.checkUserName("abcd."), Code.SEPARATOR_NOT_FOLLOWED,
+                "\n*** ERROR *** A special character ('.', '-', '_') must be followed by a letter or number (A-Z, a-z, 0-9).\n", 5);
+        assertRejected(InputValidator.checkUserName("abcdefghijklmnopq"), Code.TOO_LONG,
+                "\n*** ERROR *** A UserName must have no more than 16 character.\n", 16);
+        // the machine stops on the 17th character before leaving the separator state
+        assertRejected(InputValidator.checkUserName("abcdefghijklmno.p"), Code.SEPARATOR_NOT_FOLLOWED,
+                "\n*** ERROR *** A special character ('.', '-', '_') must be followed by a letter or number (A-Z, a-z, 0-9).\n", 16);
+
+        ValidationResult bad = InputValidator.checkUserName("ab$cd");
+        assertEquals(Code.INVALID_CHARACTER, bad.getCode());
+        assertEquals(2, bad.getErrorIndex());
+    }
+
+    @Test
+    public void testPasswordRules() {
+        ValidationResult valid = InputValidator.checkPassword("6Valid_Pass");
+        assertSame(ValidationResult.VALID, valid);
+        assertEquals(ValidationResult.ALL_CRITERIA, valid.getCriteria());
+
+        assertRejected(InputValidator.checkPassword(""), Code.EMPTY, "*** Error *** The password is empty!", 0);
+        assertRejected(InputValidator.checkPassword("Other7ch@r╡"), Code.INVALID_CHARACTER,
+                "*** Error *** An invalid character has been found!", 10);
+
+        ValidationResult tooShort = InputValidator.checkPassword("short1!");
+        assertRejected(tooShort, Code.MISSING_CRITERIA,
+                "The password must have at least one upper case character.\n"
+                + "The password must be at least 8 characters long.\n"
+                + "Try again...", 7);
+        assertTrue(tooShort.meets(ValidationResult.LOWER_CASE | ValidationResult.DIGIT | ValidationResult.SPECIAL_CHARACTER));
+        assertFalse(tooShort.meets(ValidationResult.UPPER_CASE));
+        assertFalse(tooShort.meets(ValidationResult.MIN_LENGTH));
+
+        assertRejected(InputValidator.checkPassword("vw"), Code.MISSING_CRITERIA,
+                "The password must have at least one upper case character.\n"
+                + "The password must have at least one number.\n"
+                + "The password must have at least one special character (~`!@#$%^&*()_-+{}[]|:,.?/).\n"
+                + "The password must be at least 8 characters long.\n"
+                + "Try again...", 2);
+    }
+
+    @Test
+    public void testEmailRules() {
+        assertSame(ValidationResult.VALID, InputValidator.checkEmail("First.Last@mail.Example.EDU"));
+
+        assertRejected(InputValidator.checkEmail(""), Code.EMPTY, "Email is required", -1);
+        assertRejected(InputValidator.checkEmail("a b@c.com"), Code.WHITESPACE, "Email cannot contain whitespace characters", 1);
+        assertRejected(InputValidator.checkEmail("a..b@c.com"), Code.CONSECUTIVE_PERIODS, "Email cannot contain consecutive periods", 1);
+        assertRejected(InputValidator.checkEmail("ab.com"), Code.MISSING_AT, "Email must contain exactly one '@'", 0);
+        assertRejected(InputValidator.checkEmail("a@b@c.com"), Code.MULTIPLE_AT, "Email cannot contain more than one '@'", 1);
+        assertRejected(InputValidator.checkEmail("@b.com"), Code.EMPTY_LOCAL_PART, "Invalid email: empty local part before '@'", 0);
+        assertRejected(InputValidator.checkEmail("a@"), Code.EMPTY_DOMAIN, "Invalid email: empty domain address after '@'", 2);
+        assertRejected(InputValidator.checkEmail("-a@b.com"), Code.BAD_LOCAL_PART_EDGE,
+                "Email cannot start or end with \".\" or \"-\"\nInvalid input: -a\n", 0);
+        assertRejected(InputValidator.checkEmail("a@.com"), Code.EMPTY_DOMAIN_LABEL, "Invalid domain: empty address", -1);
+        assertRejected(InputValidator.checkEmail("a@b-.com"), Code.BAD_DOMAIN_LABEL_EDGE,
+                "Invalid domain: domain cannot start or end with '-'", -1);
+        assertRejected(InputValidator.checkEmail("a@."), Code.TOO_FEW_DOMAIN_LABELS, "Invalid domain: empty domain", -1);
+
+        String extension = "Invalid domain extension. Accepted: .com, .net, .org, .edu";
+        assertRejected(InputValidator.checkEmail("a@b.com."), Code.BAD_DOMAIN_EXTENSION, extension, -1);
+        assertRejected(InputValidator.checkEmail("a_b@c.com"), Code.BAD_DOMAIN_EXTENSION, extension, -1);
+        assertRejected(InputValidator.checkEmail("a@b.xyz"), Code.BAD_DOMAIN_EXTENSION, extension, -1);
+    }
+
+    @Test
+    public void testConcurrentChecksDoNotInterfere() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final boolean validInputs = t % 2 == 0;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ValidationResult r = InputValidator.checkPassword(validInputs ? "6Valid_Pass" : "short1!");
+                        if (r.isValid() != validInputs || (!validInputs && r.getErrorIndex() != 7)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -225,4 +225,71 @@ public class PrivateMessageTests {
 		assertTrue(updatedMsg.get().isRead(), "Message should now be marked as read.");
 		
 	}
+
+	/**
+	 * This test verifies that the cached inbox summary follows sends and reads without being reloaded.
+	 * <p>
+	 * The unread count and the conversation with the sender go up when a message arrives and the
+	 * count goes back down once it is marked read.
+	 * </p>
+	 * 
+	 * @see DatabaseHelper#getInboxSummary(int)
+	 * @see model.InboxSummary
+	 */
+	@Test
+	@DisplayName("Inbox Summary - Incremental Unread Count")
+	public void testInboxSummaryTracksUnread() throws SQLException {
+		InboxSummary summary = dbHelper.getInboxSummary(receiverId);
+		int unreadBefore = summary.getUnreadMessages();
+		
+		Messages msg = new Messages(senderId, receiverId, "Summary should count me");
+		dbHelper.sendMessage(msg);
+		assertTrue(msg.getId() > 0, "Sent message should get its generated id.");
+		
+		assertSame(summary, dbHelper.getInboxSummary(receiverId), "Summary should be cached, not rebuilt.");
+		assertEquals(unreadBefore + 1, summary.getUnreadMessages());
+		InboxSummary.Conversation latest = summary.getConversations().get(0);
+		assertEquals(senderId, latest.getOtherUserId(), "Newest conversation should be with the sender.");
+		assertEquals(msg.getId(), latest.getLastMessageId());
+		
+		dbHelper.markMessagesAsRead(msg.getId());
+		assertEquals(unreadBefore, summary.getUnreadMessages());
+		
+		// marking it again must not count down twice
+		dbHelper.markMessagesAsRead(msg.getId());
+		assertEquals(unreadBefore, summary.getUnreadMessages());
+	}
+
+	/**
+	 * This test verifies that both directions of a conversation share one thread and that
+	 * marking the thread read marks every message the other user sent.
+	 * 
+	 * @throws SQLException if a database error occurs.
+	 * @see DatabaseHelper#markThreadRead(int, int)
+	 * @see DatabaseHelper#getMessagesBetweenUsers(int, int)
+	 */
+	@Test
+	@DisplayName("Conversation Thread - Mark Whole Thread Read")
+	public void testMarkThreadRead() throws SQLException {
+		Messages first = new Messages(senderId, receiverId, "Thread message one");
+		Messages reply = new Messages(receiverId, senderId, "Thread reply");
+		Messages second = new Messages(senderId, receiverId, "Thread message two");
+		dbHelper.sendMessage(first);
+		dbHelper.sendMessage(reply);
+		dbHelper.sendMessage(second);
+		
+		assertTrue(first.getThreadId() > 0, "Message should be stored in a thread.");
+		assertEquals(first.getThreadId(), reply.getThreadId(), "Both directions share a thread.");
+		assertEquals(first.getThreadId(), second.getThreadId());
+		
+		assertTrue(dbHelper.markThreadRead(receiverId, senderId) >= 2, "Both unread messages should be marked.");
+		assertEquals(0, dbHelper.markThreadRead(receiverId, senderId), "Nothing left to mark the second time.");
+		
+		List<Messages> thread = dbHelper.getMessagesBetweenUsers(senderId, receiverId);
+		assertTrue(thread.stream().allMatch(m -> m.getThreadId() == first.getThreadId()));
+		assertTrue(thread.stream().filter(m -> m.getRecipientId() == receiverId).allMatch(Messages::isRead),
+				"Every message to the reader should now be read.");
+		assertFalse(thread.stream().filter(m -> m.getId() == reply.getId()).findFirst().get().isRead(),
+				"The reader's own reply stays unread for the other user.");
+	}
 }
@@ -0,0 +1,95 @@
+package application;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import logic.RosterOnboarding;
+import logic.RosterOnboarding.Row;
+import model.User.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for reading and checking a class roster with {@link RosterOnboarding}. Creating the
+ * codes themselves is covered by DBHelperTest.
+ */
+public class RosterOnboardingTest {
+
+    private static List<Row> check(String... lines) {
+        return RosterOnboarding.validate(RosterOnboarding.parse(List.of(lines)));
+    }
+
+    @Test
+    public void testParseSkipsHeaderAndBlankLines() {
+        List<Row> rows = check(
+                "name,email,roles",
+                "Ada Lovelace,ada@asu.edu,STUDENT",
+                "",
+                "\"Hopper, Grace\",grace@asu.edu,student;reviewer");
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).getLine());
+        assertEquals(List.of(Role.STUDENT), rows.get(0).getRoles());
+        assertTrue(rows.get(0).isValid());
+
+        assertEquals(4, rows.get(1).getLine());
+        assertEquals("Hopper, Grace", rows.get(1).getName());
+        assertEquals(List.of(Role.STUDENT, Role.REVIEWER), rows.get(1).getRoles());
+        assertEquals("STUDENT;REVIEWER", rows.get(1).getRolesText());
+        assertTrue(rows.get(1).isValid());
+    }
+
+    @Test
+    public void testRowsWithProblemsAreReported() {
+        List<Row> rows = check(
+                "Ada Lovelace,ada@asu.edu",
+                ",nobody@asu.edu,STUDENT",
+                "Alan Turing,alan@asu,STUDENT",
+                "Grace Hopper,grace@asu.edu,STUDENT;WIZARD",
+                "Linus,linus@asu.edu,",
+                "Ada Again,ADA@asu.edu,STUDENT",
+                "Ada Twice,ada@asu.edu,STUDENT");
+
+        assertEquals("Expected 3 columns (name, email, roles) but found 2", rows.get(0).getErrorText());
+        assertEquals(List.of("Name is required"), rows.get(1).getErrors());
+        assertEquals(1, rows.get(2).getErrors().size());
+        assertEquals(List.of("Unknown role: WIZARD"), rows.get(3).getErrors());
+        assertEquals(List.of(Role.STUDENT), rows.get(3).getRoles());
+        assertEquals(List.of("At least one role is required"), rows.get(4).getErrors());
+
+        // the malformed first row does not claim its email; the first valid-looking one does
+        assertTrue(rows.get(5).isValid());
+        assertEquals(List.of("Same email as line 6"), rows.get(6).getErrors());
+        for (Row row : rows) {
+            assertNull(row.getCode());
+        }
+    }
+
+    @Test
+    public void testValidateKeepsRosterOrder() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            lines.add("Student " + i + ",student" + i + "@asu.edu," + (i % 7 == 0 ? "BOGUS" : "STUDENT"));
+        }
+        List<Row> rows = RosterOnboarding.validate(RosterOnboarding.parse(lines));
+
+        assertEquals(500, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            assertEquals(i + 1, row.getLine());
+            assertEquals("student" + (i + 1) + "@asu.edu", row.getEmail());
+            assertEquals((i + 1) % 7 != 0, row.isValid());
+        }
+    }
+
+    @Test
+    public void testResultsAsCsv() {
+        List<Row> rows = check("\"Hopper, Grace\",grace@asu.edu,STUDENT", "Alan,alan@asu.edu,WIZARD");
+        List<String> csv = RosterOnboarding.toCsv(rows);
+
+        assertEquals("name,email,roles,code,errors", csv.get(0));
+        assertEquals("\"Hopper, Grace\",grace@asu.edu,STUDENT,,", csv.get(1));
+        assertEquals("Alan,alan@asu.edu,,,Unknown role: WIZARD", csv.get(2));
+    }
+}
@@ -0,0 +1,104 @@
+package application;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import databasePart1.DatabaseHelper;
+import logic.SearchIndex;
+import model.Answer;
+import model.Question;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link SearchIndex}: tokenizing/stemming, BM25 ranking and incremental updates.
+ * The index is built from an in-memory MockDatabaseHelper, so no database is needed.
+ */
+public class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = SearchIndex.getInstance();
+        index.clear();
+
+        List<Question> qs = new ArrayList<>();
+        Question junit = new Question(1, 10, "alice", "How do I run JUnit tests?",
+                "My tests are not running from Eclipse.", "2025-10-01 10:00:00", "open", new ArrayList<>());
+        junit.getAnswers().add(new Answer(100, 11, 1, "bob", "Right-click the class and choose Run As JUnit Test.",
+                "2025-10-01 11:00:00", false));
+        qs.add(junit);
+        qs.add(new Question(2, 10, "alice", "Eclipse keeps crashing",
+                "Eclipse crashes when I open the workspace. Tests are unrelated.", "2025-10-02 10:00:00", "open", new ArrayList<>()));
+        qs.add(new Question(3, 12, "carol", "Merge conflicts in git",
+                "How should I resolve merge conflicts?", "2025-10-03 10:00:00", "open", new ArrayList<>()));
+
+        index.ensureLoaded(new MockDatabaseHelper(qs));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        index.clear();
+    }
+
+    @Test
+    public void testTokenizeStemsAndDropsStopWords() {
+        assertEquals(List.of("test", "test", "test"), SearchIndex.tokenize("Testing the tests, tested!"));
+        assertEquals(List.of("rebas", "rebas"), SearchIndex.tokenize("rebase rebasing"));
+        assertTrue(SearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    public void testTitleMatchRanksFirst() {
+        List<Integer> ids = index.searchQuestions("eclipse");
+        assertEquals(List.of(2, 1), ids, "Question with 'Eclipse' in the title should rank first");
+    }
+
+    @Test
+    public void testStemmedQueryMatches() {
+        assertEquals(List.of(3), index.searchQuestions("merging conflict"));
+        assertEquals(List.of(100), index.searchAnswers("running junit"));
+        assertTrue(index.searchQuestions("the").isEmpty(), "Stop words alone match nothing");
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        Question q = new Question(4, 12, "carol", "Maven build fails", "Dependency not found", "2025-10-04 10:00:00", "open", new ArrayList<>());
+        index.indexQuestion(q);
+        assertEquals(List.of(4), index.searchQuestions("maven"));
+
+        q.setTitle("Gradle build fails");
+        index.indexQuestion(q);
+        assertTrue(index.searchQuestions("maven").isEmpty());
+        assertEquals(List.of(4), index.searchQuestions("gradle"));
+
+        index.indexAnswer(new Answer(101, 10, 4, "alice", "Refresh the gradle project.", "2025-10-04 11:00:00", false));
+        assertEquals(List.of(101), index.searchAnswers("gradle"));
+
+        index.removeQuestion(4);
+        assertTrue(index.searchQuestions("gradle").isEmpty());
+        assertTrue(index.searchAnswers("gradle").isEmpty(), "Answers go with their question");
+
+        index.removeAnswer(100);
+        assertTrue(index.searchAnswers("junit").isEmpty());
+    }
+
+    /**
+     * Serves a fixed question list instead of reading the database.
+     */
+    private static class MockDatabaseHelper extends DatabaseHelper {
+        private final List<Question> questions;
+
+        MockDatabaseHelper(List<Question> questions) {
+            super();
+            this.questions = questions;
+        }
+
+        @Override
+        public List<Question> loadAllQs() {
+            return questions;
+        }
+    }
+}
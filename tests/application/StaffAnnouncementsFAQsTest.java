@@ -330,6 +330,90 @@ public class StaffAnnouncementsFAQsTest {
         assertFalse(result);
     }
 
+    @Test
+    public void testActiveAnnouncements_windowAndPriorityOrder() {
+        System.out.println("▶ TEST: Active announcement set honours start/end dates and priority order");
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+
+        Announcement normal = new Announcement();
+        normal.setAnnouncementId(1);
+        normal.setTitle("Normal, running");
+        normal.setPriority(Announcement.Priority.NORMAL);
+        normal.setStartDate(now.minusDays(1).toString());
+        normal.setDisplayType(Announcement.DisplayType.SHOW_ALWAYS);
+
+        Announcement urgent = new Announcement();
+        urgent.setAnnouncementId(2);
+        urgent.setTitle("Urgent, ends tomorrow");
+        urgent.setPriority(Announcement.Priority.URGENT);
+        urgent.setStartDate(now.minusHours(1).toString());
+        urgent.setEndDate(now.plusDays(1).toString());
+        urgent.setDisplayType(Announcement.DisplayType.SHOW_ONCE);
+
+        Announcement later = new Announcement();
+        later.setAnnouncementId(3);
+        later.setTitle("Starts in an hour");
+        later.setPriority(Announcement.Priority.IMPORTANT);
+        later.setStartDate(now.plusHours(1).toString());
+        later.setDisplayType(Announcement.DisplayType.SHOW_ALWAYS);
+
+        Announcement ended = new Announcement();
+        ended.setAnnouncementId(4);
+        ended.setTitle("Ended yesterday");
+        ended.setPriority(Announcement.Priority.URGENT);
+        ended.setStartDate(now.minusDays(3).toString());
+        ended.setEndDate(now.minusDays(1).toString());
+        ended.setDisplayType(Announcement.DisplayType.SHOW_ALWAYS);
+
+        ActiveAnnouncements cache = new ActiveAnnouncements(List.of(normal, later, ended, urgent));
+        List<Announcement> active = cache.getActive();
+        active.forEach(a -> System.out.println(" - " + a.getTitle() + " (" + a.getPriority() + ")"));
+
+        assertEquals(List.of(urgent, normal), active, "Only running announcements, urgent first");
+        assertEquals(later.getStartDate(), cache.getNextBoundary().toString(),
+                "Next change is when the pending announcement starts");
+        cache.close();
+    }
+
+    @Test
+    public void testFAQView_groupsAndAppliesWrites() {
+        System.out.println("▶ TEST: FAQ view groups entries and applies question/answer writes");
+        FAQ setup = new FAQ(1, 10, "Setup", "Install Eclipse", null, 1);
+        setup.setDateMarked("2025-01-01 10:00:00");
+        setup.setQuestionDescription("How do I install Eclipse?");
+        FAQ junit = new FAQ(2, 20, "Testing", "JUnit basics", null, 1);
+        junit.setDateMarked("2025-01-02 10:00:00");
+        junit.setQuestionDescription("How do I use JUnit?");
+        junit.getSolutions().add(new Answer(200, 5, 20, "ta", "Use @Test", "2025-01-01T09:00:00", true));
+        FAQ mocks = new FAQ(3, 30, "Testing", "Mocks", null, 1);
+        mocks.setDateMarked("2025-01-03 10:00:00");
+        mocks.setQuestionDescription("What is a mock?");
+
+        FAQView view = new FAQView(List.of(setup, junit, mocks));
+        Map<String, List<FAQ>> before = view.getByCategory();
+        assertEquals(List.of("Setup", "Testing"), new ArrayList<>(before.keySet()));
+        assertEquals(List.of(3, 2), before.get("Testing").stream().map(FAQ::getFaqId).collect(Collectors.toList()),
+                "Newest marked first");
+
+        Question edited = new Question(10, 1, "student", "Install Eclipse IDE", "Where do I download Eclipse?");
+        view.updateQuestion(edited);
+        view.updateAnswer(new Answer(100, 5, 10, "ta", "eclipse.org", "2025-01-01T11:00:00", true));
+        view.updateAnswer(new Answer(200, 5, 20, "ta", "Use @Test", "2025-01-01T09:00:00", false));
+
+        FAQ setupNow = view.getByCategory().get("Setup").get(0);
+        assertEquals("Where do I download Eclipse?", setupNow.getQuestionDescription());
+        assertEquals(1, setupNow.getSolutions().size());
+        assertTrue(view.getByCategory().get("Testing").stream().allMatch(f -> f.getSolutions().isEmpty()),
+                "An answer that is no longer a solution leaves the view");
+        assertEquals("How do I install Eclipse?", before.get("Setup").get(0).getQuestionDescription(),
+                "Earlier snapshots do not change");
+
+        view.removeQuestion(30);
+        view.removeAnswer(100);
+        assertEquals(2, view.size());
+        assertTrue(view.getByCategory().get("Setup").get(0).getSolutions().isEmpty());
+    }
+
     // -------------------------
     // MockDatabaseHelper
     // -------------------------
@@ -1,15 +1,21 @@
 package application;
 
 import databasePart1.DatabaseHelper;
+import databasePart1.Page;
+import model.Review;
+import model.TrustedReviewFeed;
 import model.User;
+import model.UserAccount;
 import pages.TrustedReviewersPage;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +43,7 @@ public class TylerJUnitTests {
         // Clean tables that matter so each test starts fresh
         try (Statement stmt = db.getConnection().createStatement()) {
             stmt.executeUpdate("DELETE FROM trustedReviewers");
+            stmt.executeUpdate("DELETE FROM UserRoles");
             stmt.executeUpdate("DELETE FROM cse360users");
         }
 
@@ -203,4 +210,237 @@ public class TylerJUnitTests {
 
         assertTrue(matches.isEmpty(), "Should return empty list when nothing matches.");
     }
+
+    // ---------- DatabaseHelper: trusted review feed ----------
+
+    /**
+     * Tests that the trusted review feed ranks reviews by reviewer weight, pages through them,
+     * and follows review writes and changes to the trusted list.
+     * @throws SQLException
+     */
+    @Test
+    void trustedReviewFeed_ranksByWeight_andFollowsWrites() throws SQLException {
+        try (Statement stmt = db.getConnection().createStatement()) {
+            stmt.executeUpdate("DELETE FROM reviews WHERE user_id IN (" + reviewer1.getId() + ", " + reviewer2.getId() + ")");
+        }
+        db.invalidateTrustedReviewFeeds();
+
+        db.addTrustedReviewer(student.getId(), reviewer1.getId());
+        db.updateTrustedReviewerRating(student.getId(), reviewer1.getId(), 2);
+        Review amy1 = new Review(0, reviewer1.getId(), 0, "reviewerAmy", "Amy's first review");
+        Review amy2 = new Review(0, reviewer1.getId(), 0, "reviewerAmy", "Amy's second review");
+        Review bob = new Review(0, reviewer2.getId(), 0, "reviewerBob", "Bob's review");
+        db.insertReviews(List.of(amy1, amy2, bob));
+
+        // only trusted reviewers, newest first within a weight
+        assertEquals(List.of(amy2.getReviewId(), amy1.getReviewId()), feedIds(), "Only Amy's reviews should be in the feed.");
+
+        // trusting Bob with a higher weight puts his review first
+        db.addTrustedReviewer(student.getId(), reviewer2.getId());
+        db.updateTrustedReviewerRating(student.getId(), reviewer2.getId(), 5);
+        assertEquals(List.of(bob.getReviewId(), amy2.getReviewId(), amy1.getReviewId()), feedIds(),
+                "Bob's review should be ranked first after he is trusted with weight 5.");
+
+        // paging walks the same order
+        Page<TrustedReviewFeed.Entry> first = db.getTrustedReviewFeedPage(student.getId(), null, 2);
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.hasMore(), "A third review should remain.");
+        Page<TrustedReviewFeed.Entry> second = db.getTrustedReviewFeedPage(student.getId(), first.getNextCursor(), 2);
+        assertEquals(1, second.getItems().size());
+        assertEquals(amy1.getReviewId(), second.getItems().get(0).getReview().getReviewId());
+        assertFalse(second.hasMore());
+
+        // edits, deletes, weight changes and removals apply without a reload
+        amy1.setContent("Amy's edited review");
+        db.updateReview(amy1);
+        db.deleteReview(amy2.getReviewId());
+        db.updateTrustedReviewerRating(student.getId(), reviewer1.getId(), 5);
+        List<TrustedReviewFeed.Entry> ranked = db.getTrustedReviewFeed(student.getId()).getRanked();
+        assertEquals(List.of(bob.getReviewId(), amy1.getReviewId()), feedIds());
+        assertEquals("Amy's edited review", ranked.get(1).getReview().getContent());
+        assertEquals(5, ranked.get(1).getWeight());
+
+        db.removeTrustedReviewer(student.getId(), reviewer2.getId());
+        assertEquals(List.of(amy1.getReviewId()), feedIds(), "Bob's review should leave the feed with him.");
+
+        // the cached feed matches a fresh load
+        List<Integer> cached = feedIds();
+        db.invalidateTrustedReviewFeeds();
+        assertEquals(cached, feedIds());
+
+        db.deleteReview(amy1.getReviewId());
+        db.deleteReview(bob.getReviewId());
+    }
+
+    /**
+     * Tests that the trusted reviewers are read with their user details.
+     * @throws SQLException
+     */
+    @Test
+    void getTrustedReviewers_returnsUsers() throws SQLException {
+        db.addTrustedReviewer(student.getId(), reviewer1.getId());
+        db.addTrustedReviewer(student.getId(), reviewer2.getId());
+
+        List<User> trusted = db.getTrustedReviewers(student.getId());
+        assertEquals(2, trusted.size(), "Student should have 2 trusted reviewers.");
+        assertTrue(trusted.stream().anyMatch(u -> "reviewerAmy".equals(u.getUserName())));
+        assertTrue(trusted.stream().anyMatch(u -> "Bob Reviewer".equals(u.getName())));
+    }
+
+    // ---------- DatabaseHelper: login ----------
+
+    /**
+     * Tests that an account is read with its granted roles and then served from the cache.
+     * @throws SQLException
+     */
+    @Test
+    void getUserAccount_readsRoles_andIsCached() throws SQLException {
+        db.addUserRoles("student1", User.Role.STUDENT);
+        db.addUserRoles("student1", User.Role.REVIEWER);
+
+        UserAccount account = db.getUserAccount("student1");
+        assertNotNull(account);
+        assertEquals(student.getId(), account.getId());
+        assertEquals("s1@example.com", account.getEmail());
+        assertEquals(EnumSet.of(User.Role.STUDENT, User.Role.REVIEWER), account.getRoles());
+        assertEquals(List.of(User.Role.STUDENT, User.Role.REVIEWER), account.getSelectableRoles());
+        assertEquals(User.Role.REVIEWER, account.toUser(User.Role.REVIEWER).getRole());
+
+        long hits = db.getUserCache().getHits();
+        assertSame(account, db.getUserAccount("student1"), "Second lookup should come from the cache.");
+        assertEquals(hits + 1, db.getUserCache().getHits());
+
+        assertNull(db.getUserAccount("nobody"));
+        assertEquals(EnumSet.of(User.Role.REVIEWER), db.getUserAccount("reviewerAmy").getRoles(),
+                "An account always holds its own role.");
+    }
+
+    /**
+     * Tests that login accepts the password, and only the temporary password while one is set.
+     * @throws SQLException
+     */
+    @Test
+    void login_checksPasswordAndTemporaryPassword() throws SQLException {
+        UserAccount account = db.getUserAccount("student1");
+        assertEquals("normal", db.login(account, "Password123!"));
+        assertNull(db.login(account, "wrong"));
+
+        String otp = db.generatePassword("student1");
+        assertNotNull(otp);
+        account = db.getUserAccount("student1");
+        assertEquals(otp, account.getTempPassword(), "Setting a temporary password should drop the cached account.");
+        assertNull(db.login(account, "Password123!"));
+        assertEquals("temp", db.login(account, otp));
+
+        assertNull(db.getUserAccount("student1").getTempPassword(), "A used temporary password should be cleared.");
+    }
+
+    /**
+     * Tests that role and profile writes are visible through the cached account.
+     * @throws SQLException
+     */
+    @Test
+    void userWrites_invalidateCachedAccount() throws SQLException {
+        db.addUserRoles("student1", User.Role.STUDENT);
+        assertEquals(List.of("STUDENT"), db.allUserRoles("student1"));
+
+        db.addUserRoles("student1", User.Role.ADMIN);
+        assertEquals(List.of("ADMIN", "STUDENT"), db.allUserRoles("student1"));
+
+        db.deleteUserRole("student1", User.Role.STUDENT);
+        assertEquals(EnumSet.of(User.Role.ADMIN), db.getUserAccount("student1").getRoles());
+
+        db.updateUserProfile(student.getId(), "Student One", "new@example.com", null, null);
+        assertEquals("new@example.com", db.getUserAccount("student1").getEmail());
+
+        student.setPassword("Changed456!");
+        db.updateUser(student, "student1");
+        assertEquals("normal", db.login(db.getUserAccount("student1"), "Changed456!"));
+    }
+
+    /**
+     * Tests that the roles of many users are read in bulk, for all users or for a given few.
+     * @throws SQLException
+     */
+    @Test
+    void getRolesByUser_groupsRolesPerUser() throws SQLException {
+        db.addUserRoles("student1", User.Role.STUDENT);
+        db.addUserRoles("student1", User.Role.REVIEWER);
+        db.addUserRoles("reviewerAmy", User.Role.REVIEWER);
+
+        Map<String, EnumSet<User.Role>> all = db.getRolesByUser();
+        assertEquals(EnumSet.of(User.Role.STUDENT, User.Role.REVIEWER), all.get("student1"));
+        assertEquals(EnumSet.of(User.Role.REVIEWER), all.get("reviewerAmy"));
+        assertEquals(EnumSet.of(User.Role.REVIEWER), all.get("reviewerBob"), "Registering grants the account's own role.");
+
+        db.deleteUserRole("reviewerBob", User.Role.REVIEWER);
+        assertFalse(db.getRolesByUser().containsKey("reviewerBob"), "A user without roles should be missing.");
+
+        Map<String, EnumSet<User.Role>> some = db.getRolesByUser(List.of("reviewerAmy", "reviewerBob"));
+        assertEquals(2, some.size());
+        assertEquals(EnumSet.of(User.Role.REVIEWER), some.get("reviewerAmy"));
+        assertTrue(some.get("reviewerBob").isEmpty(), "A requested user without roles should get an empty set.");
+    }
+
+    /**
+     * Tests that users are found by any role they hold, not only the role they registered with.
+     * @throws SQLException
+     */
+    @Test
+    void getUsersByRole_findsGrantedRoles() throws SQLException {
+        assertEquals(List.of("reviewerAmy", "reviewerBob"), userNames(db.getUsersByRole(User.Role.REVIEWER)));
+        assertEquals(List.of("student1"), userNames(db.getUsersByRole(User.Role.STUDENT)));
+
+        db.addUserRoles("student1", User.Role.REVIEWER);
+        assertEquals(List.of("reviewerAmy", "reviewerBob", "student1"), userNames(db.getUsersByRole(User.Role.REVIEWER)));
+
+        db.deleteUserRole("reviewerAmy", User.Role.REVIEWER);
+        assertEquals(List.of("reviewerBob", "student1"), userNames(db.getUsersByRole(User.Role.REVIEWER)));
+        assertTrue(db.getUsersByRole(User.Role.TA).isEmpty());
+    }
+
+    /**
+     * Tests that a renamed user keeps the roles granted before the rename.
+     * @throws SQLException
+     */
+    @Test
+    void updateUser_rename_keepsRoles() throws SQLException {
+        db.addUserRoles("student1", User.Role.REVIEWER);
+        db.getUserAccount("student1"); // cached under the old name
+
+        student.setUserName("student9");
+        db.updateUser(student, "student1");
+
+        assertNull(db.getUserAccount("student1"));
+        assertEquals(EnumSet.of(User.Role.STUDENT, User.Role.REVIEWER), db.getUserAccount("student9").getRoles());
+        assertEquals(List.of("STUDENT", "REVIEWER"), db.allUserRoles("student9"));
+    }
+
+    /**
+     * Tests that changing a user's role takes the old role away and keeps separately granted ones.
+     * @throws SQLException
+     */
+    @Test
+    void updateUserRole_swapsRoleBits() throws SQLException {
+        db.addUserRoles("student1", User.Role.REVIEWER);
+        db.getUserAccount("student1"); // cached before the change
+
+        db.updateUserRole(student.getId(), "INSTRUCTOR");
+
+        assertEquals(EnumSet.of(User.Role.INSTRUCTOR, User.Role.REVIEWER), db.getUserAccount("student1").getRoles());
+        assertEquals("INSTRUCTOR", db.getUserAccount("student1").getRole());
+        assertTrue(db.getUsersByRole(User.Role.STUDENT).isEmpty());
+        assertEquals(List.of("student1"), userNames(db.getUsersByRole(User.Role.INSTRUCTOR)));
+        assertEquals(EnumSet.of(User.Role.INSTRUCTOR, User.Role.REVIEWER), db.getRolesByUser().get("student1"));
+    }
+
+    private static List<String> userNames(List<User> users) {
+        return users.stream().map(User::getUserName).sorted().collect(Collectors.toList());
+    }
+
+    private List<Integer> feedIds() {
+        return db.getTrustedReviewFeed(student.getId()).getRanked().stream()
+                .map(e -> e.getReview().getReviewId())
+                .collect(Collectors.toList());
+    }
 }